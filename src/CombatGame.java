@@ -1,19 +1,55 @@
 import controller.battle.BattleController;
 import controller.factory.*;
+import controller.io.CsvFileDataLoader;
+import controller.io.EnchantmentFileDataLoader;
 import controller.io.ErrorLogger;
+import controller.io.EventJournal;
+import controller.io.IndexedTextFileDataLoader;
+import controller.io.InvalidItemDataSourceException;
 import controller.io.ItemDatabaseManager;
+import controller.io.InvalidLeaderboardException;
+import controller.io.InvalidSaveGameException;
+import controller.io.JournalSession;
+import controller.io.JsonLinesDataLoader;
+import controller.io.LeaderboardManager;
+import controller.io.PlayerStore;
+import controller.io.PlayerStoreSession;
+import controller.io.SaveGameCodec;
+import controller.io.SaveGameManager;
 import controller.io.TextFileDataLoader;
 import controller.player.CharacterController;
+import controller.shop.ConcurrentStockLedger;
+import controller.shop.PricingEngine;
 import controller.shop.ShopController;
+import controller.shop.ShopScheduler;
+import model.GameRandom;
 import model.enchantment.EnchantmentDatabase;
+import model.enchantment.InvalidEnchantmentException;
 import model.item.InvalidItemDatabaseException;
 import model.item.ItemDatabase;
+import model.item.LazyItemDatabase;
 import model.item.armour.ArmourItem;
 import model.item.weapon.WeaponItem;
+import model.leaderboard.Leaderboard;
 import model.player.character.CharacterPlayer;
+import tool.SessionScriptGenerator;
+import view.menu.InputSource;
 import view.menu.MenuDirectory;
+import view.menu.ScriptInputSource;
+import view.menu.StreamInputSource;
+import view.ui.LeaderboardView;
+import view.ui.ScreenRenderer;
+import view.ui.SessionSummary;
+import view.ui.TerminalScreen;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.FileHandler;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
@@ -21,9 +57,71 @@ import java.util.logging.SimpleFormatter;
 
 public class CombatGame
 {
+    /** Command line option for only loading an index of the item catalog */
+    private static final String LAZY_CATALOG_OPTION = "--lazy-catalog";
+
+    /** Maximum number of catalog items kept in memory when the catalog is loaded lazily */
+    private static final int CATALOG_CACHE_CAPACITY = 256;
+
+    /** Command line option for the live event mode, where the shop has limited stock of every item */
+    private static final String EVENT_STOCK_OPTION = "--event-stock";
+
+    /** Stock of every item in the live event mode, restocked by a fixed amount every period */
+    private static final int EVENT_STOCK = 5;
+    private static final int EVENT_RESTOCK_AMOUNT = 1;
+    private static final long EVENT_RESTOCK_PERIOD_SECONDS = 30;
+
+    /** Command line option for prices that follow recent demand */
+    private static final String DYNAMIC_PRICING_OPTION = "--dynamic-pricing";
+
+    /** Demand halves every half-life, every item of demand raises the price by the elasticity */
+    private static final double PRICING_HALF_LIFE_SECONDS = 120.0;
+    private static final double PRICING_ELASTICITY = 0.05;
+    private static final long PRICING_PUBLISH_PERIOD_SECONDS = 5;
+
+    /** Command line options for rendering on an ANSI terminal, sending only changed lines or always the whole screen */
+    private static final String ANSI_OPTION = "--ansi";
+    private static final String ANSI_FULL_REDRAW_OPTION = "--ansi-full-redraw";
+
+    /** Command line option for playing a script of inputs headless, followed by the file of the script */
+    private static final String SCRIPT_OPTION = "--script";
+
+    /** Command line option for seeding all randomness of the game, followed by the seed */
+    private static final String SEED_OPTION = "--seed";
+
+    /** Command line option for keeping the game saved, followed by the file of the save game */
+    private static final String SAVE_OPTION = "--save";
+
+    /** Command line option for journaling the game to recover it after a crash, followed by the journal directory */
+    private static final String JOURNAL_OPTION = "--journal";
+
+    /** Journal is committed every commit interval and truncated by a checkpoint every checkpoint interval */
+    private static final int JOURNAL_SHARDS = 16;
+    private static final long JOURNAL_COMMIT_INTERVAL_MILLIS = 20;
+    private static final long JOURNAL_CHECKPOINT_INTERVAL_MILLIS = 60000;
+
+    /** Journal session of the single local player */
+    private static final int JOURNAL_SESSION_ID = 0;
+
+    /** Command line options for keeping the game inside a player store, followed by the store directory and the
+     *  player id the character is stored under */
+    private static final String PLAYER_STORE_OPTION = "--player-store";
+    private static final String PLAYER_ID_OPTION = "--player-id";
+
+    /** Player id of the single local player unless given */
+    private static final long DEFAULT_PLAYER_ID = 0;
+
+    /** Command line option for recording the result of every game on a leaderboard, followed by its file */
+    private static final String LEADERBOARD_OPTION = "--leaderboard";
+
     public static void main(String[] args)
     {
+        final PrintStream console = System.out;
         ErrorLogger errorLogger = ErrorLogger.getInstance();
+        final ShopScheduler shopScheduler = new ShopScheduler();
+        EventJournal eventJournal = null;
+        PlayerStore playerStore = null;
+        LeaderboardManager leaderboardManager = null;
         try
         {
             /* Initialise error logging objects with formatting and link to error.log */
@@ -32,44 +130,211 @@ public class CombatGame
             fileHandler.setFormatter(simpleFormatter);
             errorLogger.setFileHandler(fileHandler);
 
+            /* Seed the game before anything random happens, so a session can be replayed exactly */
+            final String seed = getOptionValue(args, SEED_OPTION);
+            if(seed != null)
+            {
+                GameRandom.setSeed(Long.parseLong(seed));
+            }
+
             /* Initialise factories */
             final ItemFactory itemFactory = new ItemFactory();
-            final EnchantmentFactory enchantmentFactory = new EnchantmentFactory();
             final EnemyFactory enemyFactory = new EnemyFactory();
 
-            /* Initialise data source */
-            final TextFileDataLoader textFileDataLoader = new TextFileDataLoader(itemFactory);
+            /* Initialise data source and item database - lazy catalog only loads an index of the text file */
+            final ItemDatabase itemDatabase;
+            final ItemDatabaseManager itemDatabaseManager;
+            if(Arrays.asList(args).contains(LAZY_CATALOG_OPTION))
+            {
+                final IndexedTextFileDataLoader indexedFileDataLoader = new IndexedTextFileDataLoader(itemFactory);
+                itemDatabase = new LazyItemDatabase(indexedFileDataLoader.buildIndex(), indexedFileDataLoader, CATALOG_CACHE_CAPACITY);
+                itemDatabaseManager = new ItemDatabaseManager(itemFactory, itemDatabase);
+            }
+            else
+            {
+                final TextFileDataLoader textFileDataLoader = new TextFileDataLoader(itemFactory);
+                itemDatabase = new ItemDatabase();
+                itemDatabaseManager = new ItemDatabaseManager(itemFactory, itemDatabase);
+                itemDatabaseManager.addLoader(textFileDataLoader);
+
+                /* Structured catalogs are optional and only loaded if present */
+                if(new File(CsvFileDataLoader.DEFAULT_FILENAME).isFile())
+                {
+                    itemDatabaseManager.addLoader(new CsvFileDataLoader(itemFactory));
+                }
+
+                if(new File(JsonLinesDataLoader.DEFAULT_FILENAME).isFile())
+                {
+                    itemDatabaseManager.addLoader(new JsonLinesDataLoader(itemFactory));
+                }
+            }
 
             /* Initialise databases */
-            final ItemDatabase itemDatabase = new ItemDatabase();
-            final ItemDatabaseManager itemDatabaseManager = new ItemDatabaseManager(itemFactory, itemDatabase);
-            itemDatabaseManager.addLoader(textFileDataLoader);
             itemDatabaseManager.constructDatabase();
             final EnchantmentDatabase enchantmentDatabase = new EnchantmentDatabase();
-            enchantmentDatabase.populateDefault();
+            // Default enchantments are used unless the definition file holds at least one valid enchantment
+            if(!new File(EnchantmentFileDataLoader.DEFAULT_FILENAME).isFile()
+                    || new EnchantmentFileDataLoader().load(enchantmentDatabase) == 0)
+            {
+                enchantmentDatabase.populateDefault();
+            }
+            final EnchantmentFactory enchantmentFactory = new EnchantmentFactory(enchantmentDatabase);
+
+            /* Load the saved Character, otherwise create Character with default weapon and armour */
+            final String saveFilename = getOptionValue(args, SAVE_OPTION);
+            SaveGameManager saveGameManager = null;
+            CharacterPlayer savedPlayer = null;
+            if(saveFilename != null)
+            {
+                saveGameManager = new SaveGameManager(Paths.get(saveFilename), new SaveGameCodec(itemDatabase, enchantmentDatabase), enemyFactory);
+                if(saveGameManager.exists())
+                {
+                    savedPlayer = saveGameManager.load();
+                }
+            }
 
-            /* Create Character with default weapon and armour */
-            WeaponItem weapon = itemDatabase.getCheapestWeapon();
-            ArmourItem armour = itemDatabase.getCheapestArmour();
-            final CharacterPlayer player = new CharacterPlayer(weapon, armour);
+            /* Load the stored Character of the player, kept instead of or alongside the save game */
+            final String playerStoreDirectory = getOptionValue(args, PLAYER_STORE_OPTION);
+            PlayerStoreSession playerStoreSession = null;
+            if(playerStoreDirectory != null)
+            {
+                final String playerId = getOptionValue(args, PLAYER_ID_OPTION);
+                playerStore = new PlayerStore(Paths.get(playerStoreDirectory), new SaveGameCodec(itemDatabase, enchantmentDatabase));
+                playerStoreSession = new PlayerStoreSession(playerStore, playerId == null ? DEFAULT_PLAYER_ID : Long.parseLong(playerId), enemyFactory);
+                final CharacterPlayer storedPlayer = playerStoreSession.load();
+                if(storedPlayer != null)
+                {
+                    savedPlayer = storedPlayer;
+                }
+            }
+
+            /* Recover the journaled Character, which is never older than the save game */
+            final String journalDirectory = getOptionValue(args, JOURNAL_OPTION);
+            if(journalDirectory != null)
+            {
+                eventJournal = new EventJournal(Paths.get(journalDirectory), JOURNAL_SHARDS, new SaveGameCodec(itemDatabase, enchantmentDatabase),
+                        JOURNAL_COMMIT_INTERVAL_MILLIS, JOURNAL_CHECKPOINT_INTERVAL_MILLIS);
+                eventJournal.recover();
+                final JournalSession recoveredSession = eventJournal.getSession(JOURNAL_SESSION_ID);
+                if(recoveredSession != null)
+                {
+                    savedPlayer = recoveredSession.getCharacter();
+                    enemyFactory.setStage(recoveredSession.getStage());
+                }
+            }
+
+            final CharacterPlayer player;
+            if(savedPlayer != null)
+            {
+                player = savedPlayer;
+            }
+            else
+            {
+                WeaponItem weapon = itemDatabase.getCheapestWeapon();
+                ArmourItem armour = itemDatabase.getCheapestArmour();
+                player = new CharacterPlayer(weapon, armour);
+            }
 
             /* Create Controllers */
             final CharacterController characterController = new CharacterController(player);
-            final ShopController shopController = new ShopController(player, enchantmentFactory);
+            ConcurrentStockLedger stockLedger = null;
+            if(Arrays.asList(args).contains(EVENT_STOCK_OPTION))
+            {
+                stockLedger = new ConcurrentStockLedger(EVENT_STOCK, EVENT_RESTOCK_AMOUNT);
+                shopScheduler.schedule(stockLedger::restock, EVENT_RESTOCK_PERIOD_SECONDS, TimeUnit.SECONDS);
+            }
+
+            PricingEngine pricingEngine = null;
+            if(Arrays.asList(args).contains(DYNAMIC_PRICING_OPTION))
+            {
+                pricingEngine = new PricingEngine(PRICING_HALF_LIFE_SECONDS, PRICING_ELASTICITY);
+                shopScheduler.schedule(pricingEngine::publish, PRICING_PUBLISH_PERIOD_SECONDS, TimeUnit.SECONDS);
+            }
+            final ShopController shopController = new ShopController(player, enchantmentFactory, stockLedger, pricingEngine);
             final BattleController battleController = new BattleController(enemyFactory);
+            if(saveGameManager != null)
+            {
+                saveGameManager.track(player, shopController, battleController);
+            }
+            if(playerStoreSession != null)
+            {
+                playerStoreSession.track(player, shopController, battleController);
+            }
+            if(eventJournal != null)
+            {
+                eventJournal.open(JOURNAL_SESSION_ID, player, enemyFactory, battleController);
+            }
+
+            final String leaderboardFilename = getOptionValue(args, LEADERBOARD_OPTION);
+            if(leaderboardFilename != null)
+            {
+                leaderboardManager = new LeaderboardManager(Paths.get(leaderboardFilename), new Leaderboard());
+                leaderboardManager.load();
+                leaderboardManager.track(player, battleController, enemyFactory);
+            }
+
+            /* Initialise screen and input - a script is played headless, on an ANSI terminal messages go through the
+             * screen, so they are kept below the next frame */
+            final String scriptFilename = getOptionValue(args, SCRIPT_OPTION);
+            OutputStream screenOutput = System.out;
+            final InputSource input;
+            ScriptInputSource script = null;
+            SessionSummary sessionSummary = null;
+            if(scriptFilename != null)
+            {
+                script = new ScriptInputSource(Files.readAllLines(Paths.get(scriptFilename)));
+                input = script;
+                screenOutput = OutputStream.nullOutputStream();
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+                // Scripted battle turns left over once a battle is over belong to no menu and are skipped
+                final ScriptInputSource battleScript = script;
+                battleController.addBattleEndObserver(deadPlayer -> battleScript.skipPast(SessionScriptGenerator.END_BATTLE_MARKER));
+                sessionSummary = new SessionSummary(player, battleController);
+            }
+            else
+            {
+                // Standard input is read ahead on its own thread, so it is only opened by an interactive session
+                input = StreamInputSource.getStandardInput();
+                if(Arrays.asList(args).contains(ANSI_OPTION) || Arrays.asList(args).contains(ANSI_FULL_REDRAW_OPTION))
+                {
+                    final TerminalScreen terminalScreen = new TerminalScreen(System.out, !Arrays.asList(args).contains(ANSI_FULL_REDRAW_OPTION));
+                    System.setOut(new PrintStream(terminalScreen.getMessageStream(), true));
+                    screenOutput = terminalScreen;
+                }
+            }
 
             /* Initialize menu manager */
-            final MenuFactory menuFactory = new MenuFactory(player, itemDatabase, enchantmentDatabase, characterController, shopController, battleController);
+            final MenuFactory menuFactory = new MenuFactory(player, itemDatabase, enchantmentDatabase, characterController,
+                    shopController, battleController, new ScreenRenderer(screenOutput), input);
             menuFactory.initialiseMenuTree();
 
+            /* Game over observers are notified in the order they were added - the leaderboard manager records the
+             * result before the menus show the game over banner, and the leaderboard is shown below the banner */
+            if(leaderboardManager != null)
+            {
+                final LeaderboardView leaderboardView = new LeaderboardView(player, leaderboardManager.getLeaderboard());
+                player.addGameOverObserver(leaderboardView);
+            }
+
             /* Get the root directory and display */
             MenuDirectory root = menuFactory.getRoot();
-            root.show();
+            if(sessionSummary != null)
+            {
+                sessionSummary.start();
+                root.show();
+                sessionSummary.finish();
+                console.print(sessionSummary.getOutput(script.getLinesRead()));
+            }
+            else
+            {
+                root.show();
+            }
 
             /* Close file handler */
             fileHandler.close();
         }
-        catch (InvalidMenuFactoryException | IOException | IllegalArgumentException | InvalidItemDatabaseException e)
+        catch (InvalidMenuFactoryException | IOException | IllegalArgumentException | InvalidItemDatabaseException | InvalidItemDataSourceException | InvalidEnchantmentException | InvalidSaveGameException | InvalidLeaderboardException e)
         {
             // Fatal exceptions - All exceptions caught will be labeled as severe. Further information will be in error.log
             Logger logger = errorLogger.createLogger(CombatGame.class.getName());
@@ -80,7 +345,64 @@ public class CombatGame
         }
         finally
         {
+            shopScheduler.stop();
+            if(eventJournal != null)
+            {
+                try
+                {
+                    eventJournal.close();
+                }
+                catch(IOException e)
+                {
+                    errorLogger.createLogger(CombatGame.class.getName()).severe("Journal could not be closed - " + e.getMessage() + "\n");
+                }
+            }
+            if(playerStore != null)
+            {
+                try
+                {
+                    playerStore.close();
+                }
+                catch(IOException e)
+                {
+                    errorLogger.createLogger(CombatGame.class.getName()).severe("Player store could not be closed - " + e.getMessage() + "\n");
+                }
+            }
+            if(leaderboardManager != null)
+            {
+                try
+                {
+                    leaderboardManager.close();
+                }
+                catch(IOException e)
+                {
+                    errorLogger.createLogger(CombatGame.class.getName()).severe("Leaderboard could not be closed - " + e.getMessage() + "\n");
+                }
+            }
+            System.setOut(console);
             System.out.println("Program Terminated - Thank You");
         }
     }
+
+    /**
+     * Method for obtaining the value following a command line option
+     *
+     * RETURN
+     * - String     : value of the option, null if the option is not given
+     */
+    private static String getOptionValue(String[] args, String option)
+    {
+        for(int i = 0; i < args.length; i++)
+        {
+            if(args[i].equals(option))
+            {
+                if(i + 1 >= args.length)
+                {
+                    throw new IllegalArgumentException("Command line option " + option + " requires a value");
+                }
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
 }
@@ -2,21 +2,29 @@ package controller.battle;
 
 import controller.factory.EnemyFactory;
 import model.item.potion.PotionItem;
+import model.player.BattleEndObserver;
 import model.player.CombatPlayer;
 import model.player.character.CharacterPlayer;
 import model.player.character.CharacterPlayerException;
 import model.player.enemy.EnemyPlayer;
 
+import java.util.LinkedList;
+import java.util.List;
+
 /**
  * Controller class for the battle game mechanics:
  * - facilitate fighting
  * - facilitate using potion
  * - create enemy from the factory
  * - rewarding player for winning a battle
+ * - attaching battle end observers to every enemy created, e.g. to follow a whole session of battles
+ * - notifying battle reward observers once the character has been rewarded, e.g. to save the game after a win
  */
 public class BattleController
 {
     private final EnemyFactory enemyFactory;
+    private final List<BattleEndObserver> battleEndObservers;
+    private final List<BattleEndObserver> battleRewardObservers;
 
     public BattleController(EnemyFactory enemyFactory)
     {
@@ -26,6 +34,8 @@ public class BattleController
         }
 
         this.enemyFactory = enemyFactory;
+        this.battleEndObservers = new LinkedList<>();
+        this.battleRewardObservers = new LinkedList<>();
     }
 
     /**
@@ -70,6 +80,12 @@ public class BattleController
         EnemyPlayer enemy = enemyFactory.createEnemyRandomly();
         enemyFactory.updateStage();
 
+        // Observers are attached before any view of the battle, so they are notified first
+        for(BattleEndObserver battleEndObserver : battleEndObservers)
+        {
+            enemy.addBattleOverObserver(battleEndObserver);
+        }
+
         return enemy;
     }
 
@@ -88,5 +104,49 @@ public class BattleController
         int currentHealth = character.getHealth();
         double healthReward = (double)currentHealth * 1.5;
         character.setHealth((int)healthReward); // Reverted back to int since CombatPlayer setHealth() expects integer
+
+        notifyBattleRewardObservers(enemy);
+    }
+
+    /**
+     * Method for obtaining the stage reached - the number of enemies created so far
+     */
+    public int getStage()
+    {
+        return enemyFactory.getStage();
+    }
+
+    /**
+     * Methods for adding and removing BattleEndObservers attached to every enemy created from now on
+     */
+    public void addBattleEndObserver(BattleEndObserver battleEndObserver)
+    {
+        battleEndObservers.add(battleEndObserver);
+    }
+
+    public void removeBattleEndObserver(BattleEndObserver battleEndObserver)
+    {
+        battleEndObservers.remove(battleEndObserver);
+    }
+
+    /**
+     * Methods for adding, removing and notifying BattleEndObservers notified after the character is rewarded for a win
+     */
+    public void addBattleRewardObserver(BattleEndObserver battleRewardObserver)
+    {
+        battleRewardObservers.add(battleRewardObserver);
+    }
+
+    public void removeBattleRewardObserver(BattleEndObserver battleRewardObserver)
+    {
+        battleRewardObservers.remove(battleRewardObserver);
+    }
+
+    public void notifyBattleRewardObservers(CombatPlayer deadPlayer)
+    {
+        for(BattleEndObserver battleRewardObserver : battleRewardObservers)
+        {
+            battleRewardObserver.showBattleEnd(deadPlayer);
+        }
     }
 }
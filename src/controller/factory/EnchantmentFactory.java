@@ -1,50 +1,48 @@
 package controller.factory;
 
-import model.enchantment.DamageEnchantmentA;
-import model.enchantment.DamageEnchantmentB;
-import model.enchantment.FireEnchantment;
-import model.enchantment.PowerUpEnchantment;
+import model.enchantment.DefinedEnchantment;
+import model.enchantment.EnchantmentDatabase;
 import model.item.weapon.WeaponItem;
 
 /**
  * Factory class for decorating weapons with enchantments
+ * - enchantments are created from the definitions held by the enchantment database, therefore
+ *   new enchantments can be added to the database without changing this class
  */
 public class EnchantmentFactory
 {
+    private final EnchantmentDatabase enchantmentDatabase;
+
+    public EnchantmentFactory(EnchantmentDatabase enchantmentDatabase)
+    {
+        if(enchantmentDatabase == null)
+        {
+            throw new IllegalArgumentException("Enchantment database cannot be null");
+        }
+
+        this.enchantmentDatabase = enchantmentDatabase;
+    }
 
     /**
-     * Enchants weapon based on enchantment name.
-     * If enchantment name does not match pre-defined enchantments,
+     * Enchants weapon based on enchantment id.
+     * If enchantment id does not match a definition inside the enchantment database,
      * enchantment process is interrupted and throws exception
      */
-    public WeaponItem enchantWeapon(WeaponItem oldWeapon, String enchantmentName) throws InvalidEnchantmentFactoryException
+    public WeaponItem enchantWeapon(WeaponItem oldWeapon, int enchantmentId) throws InvalidEnchantmentFactoryException
     {
         if(oldWeapon == null)
         {
             throw new InvalidEnchantmentFactoryException("Weapon cannot be null");
         }
 
-        // Decorate weapon with enchantment
-        WeaponItem newWeapon;
-        switch(enchantmentName)
+        try
         {
-            case "Damage +2":
-                newWeapon = new DamageEnchantmentA(oldWeapon);
-                break;
-            case "Damage +5":
-                newWeapon = new DamageEnchantmentB(oldWeapon);
-                break;
-            case "Fire Damage":
-                newWeapon = new FireEnchantment(oldWeapon);
-                break;
-            case "Power-Up":
-                newWeapon = new PowerUpEnchantment(oldWeapon);
-                break;
-            default:
-                throw new InvalidEnchantmentFactoryException("Enchantment type does not exist");
+            // Decorate weapon with enchantment
+            return new DefinedEnchantment(oldWeapon, enchantmentDatabase.retrieve(enchantmentId));
+        }
+        catch(IllegalArgumentException e)
+        {
+            throw new InvalidEnchantmentFactoryException("Enchantment type does not exist", e);
         }
-
-        return newWeapon;
     }
 }
-
@@ -1,5 +1,6 @@
 package controller.factory;
 
+import model.GameRandom;
 import model.player.enemy.*;
 
 /**
@@ -31,7 +32,7 @@ public class EnemyFactory
         int dragonProbability = (15 * stage);
 
         // Get a number between 0 - 99
-        int num = (int)(Math.random() * 100.0);
+        int num = GameRandom.get().nextInt(100);
 
         String enemyName = "";
 
@@ -95,6 +96,24 @@ public class EnemyFactory
         this.stage++;
     }
 
+    public int getStage()
+    {
+        return this.stage;
+    }
+
+    /**
+     * Sets the current stage, e.g. when a saved game is loaded
+     */
+    public void setStage(int stage)
+    {
+        if(stage < 0)
+        {
+            throw new IllegalArgumentException("Stage cannot be negative");
+        }
+
+        this.stage = stage;
+    }
+
     /**
      * Resets the stage back to zero for future use
      * For example - if game doesn't end when player loses
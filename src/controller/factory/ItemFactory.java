@@ -26,32 +26,32 @@ public class ItemFactory
         //Check for invalid parameters
         if(name.isEmpty())
         {
-            errorMsg += "\n - Name cannot be blank nor empty";
+            errorMsg += "\n - " + ItemRejection.BLANK_NAME.getDescription();
         }
 
         if(cost < 0)
         {
-            errorMsg += "\n - Cost must not be negative";
+            errorMsg += "\n - " + ItemRejection.NEGATIVE_COST.getDescription();
         }
 
         if(minEffect < 0)
         {
-            errorMsg += "\n - Minimum effect must be positive";
+            errorMsg += "\n - " + ItemRejection.NEGATIVE_MIN_EFFECT.getDescription();
         }
 
         if(maxEffect < 0)
         {
-            errorMsg += "\n - Maximum effect must be positive";
+            errorMsg += "\n - " + ItemRejection.NEGATIVE_MAX_EFFECT.getDescription();
         }
 
         if(minEffect > maxEffect)
         {
-            errorMsg += "\n - Minimum effect cannot be greater than the maximum effect";
+            errorMsg += "\n - " + ItemRejection.MIN_EFFECT_EXCEEDS_MAX.getDescription();
         }
 
         if (type.isEmpty())
         {
-            errorMsg += "\n - Item type must not be null";
+            errorMsg += "\n - " + ItemRejection.BLANK_TYPE.getDescription();
         }
 
         if(errorMsg.equals(""))
@@ -63,7 +63,7 @@ public class ItemFactory
                 case "W":
                     if (attributes.length < 2)
                     {
-                        errorMsg += "\n - Weapon damageType and/or weaponType are missing";
+                        errorMsg += "\n - " + ItemRejection.MISSING_WEAPON_ATTRIBUTES.getDescription();
                     }
                     else
                     {
@@ -76,7 +76,7 @@ public class ItemFactory
                 case "A":
                     if (attributes.length < 1)
                     {
-                        errorMsg += "\n - Armour materialType is missing";
+                        errorMsg += "\n - " + ItemRejection.MISSING_MATERIAL_TYPE.getDescription();
                     }
                     else
                     {
@@ -88,7 +88,7 @@ public class ItemFactory
                 case "P":
                     if (attributes.length < 1)
                     {
-                        errorMsg += "\n - Potion potionType is missing";
+                        errorMsg += "\n - " + ItemRejection.MISSING_POTION_TYPE.getDescription();
                     }
                     else
                     {
@@ -98,7 +98,7 @@ public class ItemFactory
                     }
                     break;
                 default:
-                    errorMsg += "\n - Item Type cannot be recognised";
+                    errorMsg += "\n - " + ItemRejection.UNKNOWN_TYPE.getDescription();
             }
         }
 
@@ -106,6 +106,96 @@ public class ItemFactory
         throw new InvalidItemFactoryException("Item Name - " + name + errorMsg);
     }
 
+    /**
+     * Validates input parameters with the same checks as createItem() without creating the item
+     * - returns the first reason the item would be rejected, or null if the item can be created
+     * - does not format any message, therefore cheap enough to call for every line of a data source
+     *
+     * NOTE - Attributes are expected to be trimmed the same way createItem() trims them
+     */
+    public ItemRejection validate(String type, String name, int minEffect, int maxEffect, int cost, String[] attributes)
+    {
+        if(name.isEmpty())
+        {
+            return ItemRejection.BLANK_NAME;
+        }
+
+        if(cost < 0)
+        {
+            return ItemRejection.NEGATIVE_COST;
+        }
+
+        if(minEffect < 0)
+        {
+            return ItemRejection.NEGATIVE_MIN_EFFECT;
+        }
+
+        if(maxEffect < 0)
+        {
+            return ItemRejection.NEGATIVE_MAX_EFFECT;
+        }
+
+        if(minEffect > maxEffect)
+        {
+            return ItemRejection.MIN_EFFECT_EXCEEDS_MAX;
+        }
+
+        if(type.isEmpty())
+        {
+            return ItemRejection.BLANK_TYPE;
+        }
+
+        // Type specific checks - single character types are compared without upper casing
+        if(type.length() != 1)
+        {
+            return ItemRejection.UNKNOWN_TYPE;
+        }
+
+        switch(Character.toUpperCase(type.charAt(0)))
+        {
+            case 'W':
+                if(attributes.length < 2)
+                {
+                    return ItemRejection.MISSING_WEAPON_ATTRIBUTES;
+                }
+                if(isBlank(attributes[0]))
+                {
+                    return ItemRejection.BLANK_DAMAGE_TYPE;
+                }
+                if(isBlank(attributes[1]))
+                {
+                    return ItemRejection.BLANK_WEAPON_TYPE;
+                }
+                return null;
+            case 'A':
+                if(attributes.length < 1)
+                {
+                    return ItemRejection.MISSING_MATERIAL_TYPE;
+                }
+                if(isBlank(attributes[0]))
+                {
+                    return ItemRejection.BLANK_MATERIAL_TYPE;
+                }
+                return null;
+            case 'P':
+                if(attributes.length < 1)
+                {
+                    return ItemRejection.MISSING_POTION_TYPE;
+                }
+                if(isBlank(attributes[0]))
+                {
+                    return ItemRejection.BLANK_POTION_TYPE;
+                }
+                if(!isPotionType(attributes[0]))
+                {
+                    return ItemRejection.UNKNOWN_POTION_TYPE;
+                }
+                return null;
+            default:
+                return ItemRejection.UNKNOWN_TYPE;
+        }
+    }
+
     /**
      * Creates weapon object
      */
@@ -113,12 +203,12 @@ public class ItemFactory
     {
         if(damageType.isEmpty())
         {
-            throw new InvalidItemFactoryException("Damage type must not be empty nor blank");
+            throw new InvalidItemFactoryException(ItemRejection.BLANK_DAMAGE_TYPE.getDescription());
         }
 
         if(weaponType.isEmpty())
         {
-            throw new InvalidItemFactoryException("Weapon type must not be empty nor blank");
+            throw new InvalidItemFactoryException(ItemRejection.BLANK_WEAPON_TYPE.getDescription());
         }
 
         return new Weapon(name, minEffect, maxEffect, cost, damageType, weaponType);
@@ -131,7 +221,7 @@ public class ItemFactory
     {
         if(materialType.isEmpty())
         {
-            throw new InvalidItemFactoryException("Material type must not be empty nor blank");
+            throw new InvalidItemFactoryException(ItemRejection.BLANK_MATERIAL_TYPE.getDescription());
         }
 
         return new ArmourItem(name, minEffect, maxEffect, cost, materialType);
@@ -144,7 +234,7 @@ public class ItemFactory
     {
         if(potionType == null || potionType.isEmpty())
         {
-            throw new InvalidItemFactoryException("Potion type must not be empty nor blank");
+            throw new InvalidItemFactoryException(ItemRejection.BLANK_POTION_TYPE.getDescription());
         }
 
         // Create potion item
@@ -158,9 +248,34 @@ public class ItemFactory
                 potionItem = new DamagePotion(name, minEffect, maxEffect, cost);
                 break;
             default:
-                throw new InvalidItemFactoryException("Potion type cannot be recognised");
+                throw new InvalidItemFactoryException(ItemRejection.UNKNOWN_POTION_TYPE.getDescription());
         }
 
         return potionItem;
     }
+
+    /**
+     * Checks if an attribute is blank once trimmed, without creating a trimmed copy
+     * - same characters as String.trim() are treated as blank
+     */
+    private static boolean isBlank(String attribute)
+    {
+        for(int i = 0; i < attribute.length(); i++)
+        {
+            if(attribute.charAt(i) > ' ')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if an attribute is a recognised potion type (H or D) once trimmed
+     */
+    private static boolean isPotionType(String attribute)
+    {
+        String potionType = attribute.trim();
+        return potionType.equalsIgnoreCase("H") || potionType.equalsIgnoreCase("D");
+    }
 }
@@ -0,0 +1,66 @@
+package controller.factory;
+
+/**
+ * Enumeration of reasons an item or enchantment definition can be rejected
+ * - each reason is linked to the field it concerns and the message shown to the user
+ * - used as compact error codes so that no message has to be formatted while loading items and enchantments
+ */
+public enum ItemRejection
+{
+    /* Data source rejections */
+    TOO_FEW_FIELDS("line", "Item input from data cannot be parsed - not enough information"),
+    MALFORMED_MIN_EFFECT("minEffect", "Integer parameter cannot be parsed : minEffect"),
+    MALFORMED_MAX_EFFECT("maxEffect", "Integer parameter cannot be parsed : maxEffect"),
+    MALFORMED_COST("cost", "Integer parameter cannot be parsed : cost"),
+    DUPLICATE_ITEM("name", "Item already exists in database"),
+    MALFORMED_RECORD("line", "Record cannot be tokenised - check quoting and syntax"),
+    MISSING_FIELD("field", "Field required by the schema is missing"),
+    UNKNOWN_FIELD("field", "Field is not declared by the schema"),
+    WRONG_FIELD_TYPE("field", "Field value does not match the type declared by the schema"),
+    UNEXPECTED_ATTRIBUTE("attributes", "Attribute is not declared for this item type by the schema"),
+
+    /* Common item rejections */
+    BLANK_NAME("name", "Name cannot be blank nor empty"),
+    NEGATIVE_COST("cost", "Cost must not be negative"),
+    NEGATIVE_MIN_EFFECT("minEffect", "Minimum effect must be positive"),
+    NEGATIVE_MAX_EFFECT("maxEffect", "Maximum effect must be positive"),
+    MIN_EFFECT_EXCEEDS_MAX("minEffect", "Minimum effect cannot be greater than the maximum effect"),
+    BLANK_TYPE("type", "Item type must not be null"),
+    UNKNOWN_TYPE("type", "Item Type cannot be recognised"),
+
+    /* Item type specific rejections */
+    MISSING_WEAPON_ATTRIBUTES("attributes", "Weapon damageType and/or weaponType are missing"),
+    BLANK_DAMAGE_TYPE("damageType", "Damage type must not be empty nor blank"),
+    BLANK_WEAPON_TYPE("weaponType", "Weapon type must not be empty nor blank"),
+    MISSING_MATERIAL_TYPE("attributes", "Armour materialType is missing"),
+    BLANK_MATERIAL_TYPE("materialType", "Material type must not be empty nor blank"),
+    MISSING_POTION_TYPE("attributes", "Potion potionType is missing"),
+    BLANK_POTION_TYPE("potionType", "Potion type must not be empty nor blank"),
+    UNKNOWN_POTION_TYPE("potionType", "Potion type cannot be recognised"),
+
+    /* Enchantment definition rejections */
+    WRONG_ENCHANTMENT_FIELD_COUNT("line", "Enchantment definition needs name, cost, additive, random minimum, random maximum and multiplier"),
+    MALFORMED_ENCHANTMENT_NUMBER("line", "Number parameter of enchantment definition cannot be parsed"),
+    DUPLICATE_ENCHANTMENT("name", "Enchantment already exists in database"),
+    INVALID_ENCHANTMENT("line", "Enchantment definition is not valid - check name, cost, random bonus range and multiplier");
+
+    private final String field;
+    private final String description;
+
+    ItemRejection(String field, String description)
+    {
+        this.field = field;
+        this.description = description;
+    }
+
+    /** ACCESSORS */
+    public String getField()
+    {
+        return field;
+    }
+
+    public String getDescription()
+    {
+        return description;
+    }
+}
@@ -2,13 +2,18 @@ package controller.factory;
 
 import controller.battle.BattleController;
 import controller.player.CharacterController;
+import controller.shop.EnchantmentOptimizer;
 import controller.shop.ShopController;
+import controller.shop.UpgradeAdvisor;
 import model.enchantment.EnchantmentDatabase;
 import model.item.ItemDatabase;
 import model.player.character.CharacterPlayer;
-import view.menu.MenuAction;
+import view.menu.InputSource;
+import view.menu.MenuDefinition;
 import view.menu.MenuDirectory;
+import view.menu.StreamInputSource;
 import view.ui.MainMenuDirectory;
+import view.ui.ScreenRenderer;
 import view.ui.battle.BattleView;
 import view.ui.change.ChangeArmourView;
 import view.ui.change.ChangeNameView;
@@ -18,6 +23,8 @@ import view.ui.shop.EnchantView;
 import view.ui.shop.SellView;
 import view.ui.shop.ShopMenuDirectory;
 
+import java.util.List;
+
 /**
  * Class for managing hierarchy of menus.
  * This has been implemented to allow ease of constructing new
@@ -30,9 +37,39 @@ import view.ui.shop.ShopMenuDirectory;
  *
  * This also allows the separation of concerns between different
  * sections and segments of the game.
+ *
+ * The hierarchy is defined once and shared by every session. Only the root is created up front,
+ * every other menu interface is created when the user navigates to it and released when the user
+ * leaves it, therefore a session only holds the menu interfaces in use.
  */
 public class MenuFactory
 {
+    // Menu tree shared by every session - menu interfaces are created from the models and controllers of the session
+    private static final MenuDefinition<MenuFactory> MENU_TREE = MenuDefinition.directory("Main Menu",
+            session -> new MainMenuDirectory(session.player),
+            List.of(
+                    // Main menu interfaces - First level
+                    MenuDefinition.directory(ShopMenuDirectory.MENU_LABEL,
+                            session -> new ShopMenuDirectory(session.player, session.itemDatabase),
+                            List.of(
+                                    // Shop interfaces - Second level (shop)
+                                    MenuDefinition.action(BuyView.MENU_LABEL,
+                                            session -> new BuyView(session.player, session.itemDatabase,
+                                                    new UpgradeAdvisor(session.itemDatabase, session.shopController), session.shopController)),
+                                    MenuDefinition.action(SellView.MENU_LABEL,
+                                            session -> new SellView(session.player, session.shopController)),
+                                    MenuDefinition.action(EnchantView.MENU_LABEL,
+                                            session -> new EnchantView(session.player, session.enchantmentDatabase,
+                                                    new EnchantmentOptimizer(session.enchantmentDatabase), session.shopController)))),
+                    MenuDefinition.action(ChangeNameView.MENU_LABEL,
+                            session -> new ChangeNameView(session.player, session.characterController)),
+                    MenuDefinition.action(ChangeWeaponView.MENU_LABEL,
+                            session -> new ChangeWeaponView(session.player, session.characterController)),
+                    MenuDefinition.action(ChangeArmourView.MENU_LABEL,
+                            session -> new ChangeArmourView(session.player, session.characterController)),
+                    MenuDefinition.action(BattleView.MENU_LABEL,
+                            session -> new BattleView(session.player, session.battleController))));
+
     // Root directory
     private MenuDirectory root;
 
@@ -46,8 +83,20 @@ public class MenuFactory
     private final ShopController shopController;
     private final BattleController battleController;
 
+    // Session
+    private final ScreenRenderer screen;
+    private final InputSource input;
+
     public MenuFactory(CharacterPlayer player, ItemDatabase itemDatabase, EnchantmentDatabase enchantmentDatabase,
                        CharacterController characterController, ShopController shopController, BattleController battleController)
+    {
+        this(player, itemDatabase, enchantmentDatabase, characterController, shopController, battleController,
+                new ScreenRenderer(System.out), StreamInputSource.getStandardInput());
+    }
+
+    public MenuFactory(CharacterPlayer player, ItemDatabase itemDatabase, EnchantmentDatabase enchantmentDatabase,
+                       CharacterController characterController, ShopController shopController, BattleController battleController,
+                       ScreenRenderer screen, InputSource input)
     {
         this.player = player;
         this.itemDatabase = itemDatabase;
@@ -56,6 +105,9 @@ public class MenuFactory
         this.characterController = characterController;
         this.shopController = shopController;
         this.battleController = battleController;
+
+        this.screen = screen;
+        this.input = input;
     }
 
     /**
@@ -94,7 +146,17 @@ public class MenuFactory
 
         if(battleController == null)
         {
-            errorMessage += "Battle controller ";
+            errorMessage += "Battle controller, ";
+        }
+
+        if(screen == null)
+        {
+            errorMessage += "Screen renderer, ";
+        }
+
+        if(input == null)
+        {
+            errorMessage += "Input source ";
         }
 
         if(!errorMessage.equals(""))
@@ -103,32 +165,12 @@ public class MenuFactory
             throw new InvalidMenuFactoryException(errorMessage);
         }
 
-        // Initialise the root
-        this.root = new MainMenuDirectory(player);
-
-        // Create main menu interfaces - First level
-        MenuDirectory shop = new ShopMenuDirectory(player, itemDatabase);
-        MenuAction battle = new BattleView(player, battleController);
-        MenuAction nameChange = new ChangeNameView(player, characterController);
-        MenuAction weaponChange = new ChangeWeaponView(player, characterController);
-        MenuAction armourChange = new ChangeArmourView(player, characterController);
-
-        // Add main menu interfaces
-        this.root.add(shop);
-        this.root.add(nameChange);
-        this.root.add(weaponChange);
-        this.root.add(armourChange);
-        this.root.add(battle);
-
-        // Create Shop interfaces - Second level (shop)
-        MenuAction buy = new BuyView(itemDatabase, shopController);
-        MenuAction sell = new SellView(player, shopController);
-        MenuAction enchant = new EnchantView(player, enchantmentDatabase, shopController);
-
-        // Add Shop interfaces
-        shop.add(buy);
-        shop.add(sell);
-        shop.add(enchant);
+        // Initialise the root - the menu interfaces under it are created once navigated to
+        this.root = MENU_TREE.createDirectory(this);
+
+        // Render the whole tree with the renderer and read it from the input source of this session
+        this.root.setScreenRenderer(screen);
+        this.root.setInputSource(input);
 
     }
 
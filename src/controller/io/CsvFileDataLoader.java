@@ -0,0 +1,189 @@
+package controller.io;
+
+import controller.factory.ItemFactory;
+import controller.factory.ItemRejection;
+import model.item.GameItem;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Strategy class CsvFileDataLoader implementing ItemDatabaseLoader interface
+ * - loads items from a quoted comma separated values file, so names may contain commas and quotes
+ * - the first row is a header naming the schema field of every column, e.g.
+ *   type,name,minEffect,maxEffect,cost,damageType,weaponType,materialType,potionType
+ * - an optional "#schema <version>" line before the header declares the schema version, other # lines are comments
+ * - columns not used by an item type must be left empty
+ *
+ * The header is checked against the schema before any item is loaded. A header with unknown or missing
+ * required columns is fatal, rejected rows are recorded and reported once loading is done.
+ */
+public class CsvFileDataLoader implements ItemDatabaseLoader
+{
+    public static final String DEFAULT_FILENAME = "./item_database.csv";
+
+    private final Logger logger = ErrorLogger.getInstance().createLogger(CsvFileDataLoader.class.getName());
+    private final ItemRecordProcessor processor;
+    private final String csvFilename;
+
+    public CsvFileDataLoader(ItemFactory itemFactory)
+    {
+        this(itemFactory, DEFAULT_FILENAME);
+    }
+
+    public CsvFileDataLoader(ItemFactory itemFactory, String csvFilename)
+    {
+        this.processor = new ItemRecordProcessor(itemFactory, logger);
+        this.csvFilename = csvFilename;
+    }
+
+    @Override
+    public List<GameItem> load() throws InvalidItemDataSourceException
+    {
+        // Do not want to have the logger output warnings to user
+        logger.setUseParentHandlers(false);
+
+        LoaderDiagnostics diagnostics = new LoaderDiagnostics(csvFilename);
+        try(CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(new FileInputStream(csvFilename), StandardCharsets.UTF_8)))
+        {
+            List<GameItem> items = new LinkedList<>();
+            int version = ItemSchema.CURRENT_VERSION;
+            ItemSchema schema = null;
+            ItemSchema.Field[] columns = null;
+            int[] fieldSpans = new int[ItemSchema.Field.values().length];
+
+            while(tokenizer.nextRecord())
+            {
+                if(isBlank(tokenizer))
+                {
+                    continue;
+                }
+
+                if(isDirective(tokenizer))
+                {
+                    // Schema version can only be declared before the header
+                    if(schema == null)
+                    {
+                        version = this.readSchemaDirective(tokenizer, version);
+                    }
+                    continue;
+                }
+
+                if(schema == null)
+                {
+                    schema = ItemSchema.forVersion(version);
+                    columns = this.readHeader(schema, tokenizer);
+                    continue;
+                }
+
+                if(tokenizer.getSpanCount() > columns.length)
+                {
+                    diagnostics.reject(tokenizer.getLineNumber(), ItemRejection.UNKNOWN_FIELD);
+                    continue;
+                }
+
+                // Map every column of the row to its schema field - missing trailing columns stay absent
+                Arrays.fill(fieldSpans, -1);
+                for(int column = 0; column < tokenizer.getSpanCount(); column++)
+                {
+                    fieldSpans[columns[column].ordinal()] = column;
+                }
+
+                GameItem newItem = processor.process(schema, tokenizer, fieldSpans, false, diagnostics);
+                if(newItem != null)
+                {
+                    items.add(newItem);
+                }
+            }
+
+            return items;
+        }
+        catch(IOException e)
+        {
+            // Fatal exception - let main handle
+            throw new InvalidItemDataSourceException("Unable to read file - " + csvFilename, e);
+        }
+        finally
+        {
+            diagnostics.report(logger);
+        }
+    }
+
+    /**
+     * Method for reading the header row
+     * - every column must name a field declared by the schema, and all required fields must be present
+     *
+     * RETURN
+     * - schema field of every column
+     */
+    private ItemSchema.Field[] readHeader(ItemSchema schema, CsvTokenizer tokenizer) throws InvalidItemDataSourceException
+    {
+        ItemSchema.Field[] columns = new ItemSchema.Field[tokenizer.getSpanCount()];
+        boolean[] found = new boolean[ItemSchema.Field.values().length];
+
+        for(int column = 0; column < columns.length; column++)
+        {
+            ItemSchema.Field field = schema.findField(tokenizer, column, column);
+            if(field == null)
+            {
+                throw new InvalidItemDataSourceException("Column is not declared by item schema version " + schema.getVersion()
+                        + " - " + tokenizer.getString(column) + " in " + csvFilename);
+            }
+
+            if(found[field.ordinal()])
+            {
+                throw new InvalidItemDataSourceException("Column is declared more than once - " + field.getFieldName() + " in " + csvFilename);
+            }
+
+            found[field.ordinal()] = true;
+            columns[column] = field;
+        }
+
+        for(ItemSchema.Field field : schema.getFields())
+        {
+            if(field.isRequired() && !found[field.ordinal()])
+            {
+                throw new InvalidItemDataSourceException("Required column is missing - " + field.getFieldName() + " in " + csvFilename);
+            }
+        }
+
+        return columns;
+    }
+
+    /**
+     * Method for reading a "#schema <version>" directive - other directives are comments and are ignored
+     */
+    private int readSchemaDirective(CsvTokenizer tokenizer, int version) throws InvalidItemDataSourceException
+    {
+        String directive = tokenizer.getString(0);
+        if(!directive.startsWith(ItemSchema.SCHEMA_DIRECTIVE))
+        {
+            return version;
+        }
+
+        long declaredVersion = ItemRecordProcessor.parseInteger(directive.substring(ItemSchema.SCHEMA_DIRECTIVE.length()));
+        if(declaredVersion == ItemRecordProcessor.INVALID_INTEGER)
+        {
+            throw new InvalidItemDataSourceException("Invalid schema directive - " + directive + " in " + csvFilename);
+        }
+        return (int) declaredVersion;
+    }
+
+    private static boolean isBlank(CsvTokenizer tokenizer)
+    {
+        return tokenizer.getSpanCount() == 1 && !tokenizer.hasFlag(0, SpanTokenizer.STRING)
+                && tokenizer.getStart(0) == tokenizer.getEnd(0);
+    }
+
+    private static boolean isDirective(CsvTokenizer tokenizer)
+    {
+        return !tokenizer.hasFlag(0, SpanTokenizer.STRING) && tokenizer.getStart(0) < tokenizer.getEnd(0)
+                && tokenizer.getChars().charAt(tokenizer.getStart(0)) == '#';
+    }
+}
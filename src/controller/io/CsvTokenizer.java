@@ -0,0 +1,162 @@
+package controller.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizer class for quoted comma separated values inheriting from SpanTokenizer
+ * - fields are separated by commas and records by line breaks
+ * - quoted fields may contain commas, line breaks and doubled quotes ("") for a quote
+ * - whitespace around fields is ignored, whitespace inside quotes is kept
+ * - text after a closing quote other than a separator marks the record as malformed
+ */
+class CsvTokenizer extends SpanTokenizer
+{
+    CsvTokenizer(Reader reader)
+    {
+        super(reader);
+    }
+
+    @Override
+    protected int parseRecord() throws IOException
+    {
+        int pos = 0;
+        int c = this.charAt(pos);
+        if(c == -1)
+        {
+            return END_OF_INPUT;
+        }
+
+        while(true)
+        {
+            while(c == ' ' || c == '\t')
+            {
+                c = this.charAt(++pos);
+            }
+
+            if(c == '"')
+            {
+                pos = this.parseQuotedField(pos);
+                c = this.charAt(pos);
+                while(c == ' ' || c == '\t')
+                {
+                    c = this.charAt(++pos);
+                }
+
+                if(c != ',' && c != '\n' && c != '\r' && c != -1)
+                {
+                    // Skip the rest of the line - the record cannot be trusted
+                    this.markMalformed();
+                    while(c != '\n' && c != -1)
+                    {
+                        c = this.charAt(++pos);
+                    }
+                }
+            }
+            else
+            {
+                int start = pos;
+                while(c != ',' && c != '\n' && c != '\r' && c != -1)
+                {
+                    c = this.charAt(++pos);
+                }
+
+                int end = pos;
+                while(end > start && Character.isWhitespace(this.charAt(end - 1)))
+                {
+                    end--;
+                }
+                this.addSpan(start, end, 0);
+            }
+
+            if(c == ',')
+            {
+                c = this.charAt(++pos);
+            }
+            else
+            {
+                return this.endRecord(pos, c);
+            }
+        }
+    }
+
+    /**
+     * Method for tokenising a quoted field starting at the opening quote
+     *
+     * RETURN
+     * - position after the closing quote
+     */
+    private int parseQuotedField(int pos) throws IOException
+    {
+        int start = pos + 1;
+        int spanFlags = STRING;
+
+        pos = start;
+        int c = this.charAt(pos);
+        while(c != -1)
+        {
+            if(c == '"')
+            {
+                if(this.charAt(pos + 1) != '"')
+                {
+                    this.addSpan(start, pos, spanFlags);
+                    return pos + 1;
+                }
+
+                // Doubled quote inside a quoted field
+                spanFlags |= ESCAPED;
+                pos++;
+            }
+            else if(c == '\n')
+            {
+                this.newLine();
+            }
+
+            c = this.charAt(++pos);
+        }
+
+        // Quote is never closed
+        this.markMalformed();
+        this.addSpan(start, pos, spanFlags);
+        return pos;
+    }
+
+    /**
+     * Method for consuming the line break ending a record
+     */
+    private int endRecord(int pos, int c) throws IOException
+    {
+        if(c == '\r')
+        {
+            pos++;
+            if(this.charAt(pos) == '\n')
+            {
+                pos++;
+            }
+            this.newLine();
+        }
+        else if(c == '\n')
+        {
+            pos++;
+            this.newLine();
+        }
+        return pos;
+    }
+
+    @Override
+    protected String unescape(CharSequence chars, int start, int end)
+    {
+        StringBuilder value = new StringBuilder(end - start);
+        for(int i = start; i < end; i++)
+        {
+            char c = chars.charAt(i);
+            value.append(c);
+            if(c == '"')
+            {
+                // Skip the second quote of a doubled quote
+                i++;
+            }
+        }
+        return value.toString();
+    }
+}
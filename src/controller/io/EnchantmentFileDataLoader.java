@@ -0,0 +1,128 @@
+package controller.io;
+
+import controller.factory.ItemRejection;
+import model.enchantment.EnchantmentDatabase;
+import model.enchantment.InvalidEnchantmentException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * I/O class for loading enchantment definitions from a text file into the enchantment database
+ * - every line declares one enchantment as : name, cost, additive, random minimum, random maximum, multiplier
+ *   e.g. "Fire Damage, 20, 0, 5, 10, 1.0"
+ * - blank lines and lines starting with # are ignored
+ * - invalid lines are skipped and reported once through the loader diagnostics, the remaining enchantments are still
+ *   loaded
+ * - the default enchantments of EnchantmentDatabase.populateDefault are the only copy of the defaults, a file only
+ *   replaces them
+ */
+public class EnchantmentFileDataLoader
+{
+    public static final String DEFAULT_FILENAME = "./enchantment_database.txt";
+
+    private static final String COMMENT_PREFIX = "#";
+    private static final int FIELD_COUNT = 6;
+
+    private final Logger logger = ErrorLogger.getInstance().createLogger(EnchantmentFileDataLoader.class.getName());
+    private final String filename;
+
+    public EnchantmentFileDataLoader()
+    {
+        this(DEFAULT_FILENAME);
+    }
+
+    public EnchantmentFileDataLoader(String filename)
+    {
+        this.filename = filename;
+    }
+
+    /**
+     * Method for loading all enchantment definitions of the file into the database
+     *
+     * RETURN
+     * - number of enchantments loaded
+     */
+    public int load(EnchantmentDatabase enchantmentDatabase) throws InvalidEnchantmentException
+    {
+        // Do not want to have the logger output warnings to user
+        logger.setUseParentHandlers(false);
+
+        LoaderDiagnostics diagnostics = new LoaderDiagnostics(filename);
+        try(BufferedReader bfrReader = new BufferedReader(new FileReader(new File(filename))))
+        {
+            int lineNumber = 1;
+            String line = bfrReader.readLine();
+            while(line != null)
+            {
+                String trimmed = line.trim();
+                if(!trimmed.isEmpty() && !trimmed.startsWith(COMMENT_PREFIX))
+                {
+                    ItemRejection rejection = this.processLine(trimmed, enchantmentDatabase);
+                    if(rejection == null)
+                    {
+                        diagnostics.accept();
+                    }
+                    else
+                    {
+                        diagnostics.reject(lineNumber, rejection);
+                    }
+                }
+
+                line = bfrReader.readLine();
+                lineNumber++;
+            }
+        }
+        catch(IOException e)
+        {
+            // Fatal exception - let main handle
+            throw new InvalidEnchantmentException("Unable to read file - " + filename, e);
+        }
+
+        diagnostics.report(logger);
+        return diagnostics.getAcceptedCount();
+    }
+
+    /**
+     * Method for parsing a single enchantment definition and adding it to the database
+     *
+     * RETURN
+     * - ItemRejection  : reason the definition is rejected, null if it was added
+     */
+    private ItemRejection processLine(String line, EnchantmentDatabase enchantmentDatabase)
+    {
+        String[] fields = line.split(",", -1);
+        if(fields.length != FIELD_COUNT)
+        {
+            return ItemRejection.WRONG_ENCHANTMENT_FIELD_COUNT;
+        }
+
+        String name = fields[0].trim();
+        if(enchantmentDatabase.contains(name))
+        {
+            return ItemRejection.DUPLICATE_ENCHANTMENT;
+        }
+
+        try
+        {
+            enchantmentDatabase.add(name,
+                    Integer.parseInt(fields[1].trim()),
+                    Integer.parseInt(fields[2].trim()),
+                    Integer.parseInt(fields[3].trim()),
+                    Integer.parseInt(fields[4].trim()),
+                    Double.parseDouble(fields[5].trim()));
+            return null;
+        }
+        catch(NumberFormatException e)
+        {
+            return ItemRejection.MALFORMED_ENCHANTMENT_NUMBER;
+        }
+        catch(InvalidEnchantmentException e)
+        {
+            return ItemRejection.INVALID_ENCHANTMENT;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package controller.io;
+
+import controller.battle.BattleController;
+import controller.factory.EnemyFactory;
+import model.player.character.CharacterPlayer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * I/O class for journaling the changes of many sessions, so they can be recovered after the program stops
+ *
+ * This class is responsible for
+ * - spreading sessions over shards by their id, each shard appending to its own journal file
+ * - committing the records of all sessions of a shard together every commit interval, with a single fsync
+ * - writing a checkpoint of every shard every checkpoint interval, which truncates the journal
+ * - recovering all sessions from the checkpoints and the journal written since
+ *
+ * Sessions never wait for the disk, therefore the changes of the last commit interval are lost if the program
+ * stops without closing the journal.
+ *
+ * FIELDS
+ * - directory                  : Path - directory of the journal and checkpoint files
+ * - shards                     : JournalShard[]
+ * - commitInterval             : long - milliseconds between commits
+ * - checkpointInterval         : long - milliseconds between checkpoints
+ * - lastCheckpoint             : long - time of the last checkpoint in milliseconds
+ * - committer                  : ScheduledExecutorService - commits and checkpoints, started once recovered
+ */
+public class EventJournal
+{
+    /** EventJournal specific Fields **/
+    private final Path directory;
+    private final JournalShard[] shards;
+    private final long commitInterval;
+    private final long checkpointInterval;
+    private long lastCheckpoint;
+    private ScheduledExecutorService committer;
+
+    /** Logger field */
+    private final Logger logger = ErrorLogger.getInstance().createLogger(EventJournal.class.getName());
+
+    public EventJournal(Path directory, int shardCount, SaveGameCodec codec, long commitInterval, long checkpointInterval) throws IOException
+    {
+        if(directory == null || codec == null)
+        {
+            throw new IllegalArgumentException("Journal directory and codec cannot be null");
+        }
+
+        if(shardCount <= 0 || commitInterval <= 0 || checkpointInterval <= 0)
+        {
+            throw new IllegalArgumentException("Shard count, commit interval and checkpoint interval must be positive");
+        }
+
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.shards = new JournalShard[shardCount];
+        for(int i = 0; i < shardCount; i++)
+        {
+            shards[i] = new JournalShard(i, directory, codec);
+        }
+        this.commitInterval = commitInterval;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Method for recovering every session of the journal and starting to commit
+     *
+     * RETURN
+     * - number of sessions recovered
+     */
+    public synchronized int recover() throws IOException, InvalidSaveGameException
+    {
+        if(committer != null)
+        {
+            throw new IllegalStateException("Journal is already recovered");
+        }
+
+        int sessionCount = 0;
+        for(JournalShard shard : shards)
+        {
+            sessionCount += shard.recover();
+        }
+
+        lastCheckpoint = System.currentTimeMillis();
+        committer = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "event-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commit, commitInterval, commitInterval, TimeUnit.MILLISECONDS);
+        return sessionCount;
+    }
+
+    /**
+     * Method for obtaining a recovered session
+     *
+     * RETURN
+     * - JournalSession     : session with its recovered character and stage, null if the session was not recovered
+     */
+    public JournalSession getSession(int sessionId)
+    {
+        return this.getShard(sessionId).findSession(sessionId);
+    }
+
+    /**
+     * Method for journaling a session from now on - a recovered session continues its journal
+     */
+    public JournalSession open(int sessionId, CharacterPlayer character, EnemyFactory enemyFactory, BattleController battleController) throws InvalidSaveGameException
+    {
+        if(character == null || enemyFactory == null || battleController == null)
+        {
+            throw new IllegalArgumentException("Character, enemy factory and battle controller cannot be null");
+        }
+
+        JournalSession session = this.getShard(sessionId).getSession(sessionId);
+        session.open(character, enemyFactory, battleController);
+        return session;
+    }
+
+    /**
+     * Method for committing the records of every shard
+     */
+    public void flush() throws IOException
+    {
+        for(JournalShard shard : shards)
+        {
+            shard.flush();
+        }
+    }
+
+    /**
+     * Method for writing a checkpoint of every shard
+     */
+    public void checkpoint() throws IOException, InvalidSaveGameException
+    {
+        for(JournalShard shard : shards)
+        {
+            shard.checkpoint();
+        }
+        lastCheckpoint = System.currentTimeMillis();
+    }
+
+    /**
+     * Method for stopping to commit and committing the records left
+     */
+    public synchronized void close() throws IOException
+    {
+        if(committer != null)
+        {
+            committer.shutdown();
+            try
+            {
+                committer.awaitTermination(commitInterval * 10, TimeUnit.MILLISECONDS);
+            }
+            catch(InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            committer = null;
+        }
+
+        for(JournalShard shard : shards)
+        {
+            shard.close();
+        }
+    }
+
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Method run every commit interval - a failed commit is logged and retried by the next one
+     */
+    private void commit()
+    {
+        try
+        {
+            this.flush();
+            if(System.currentTimeMillis() - lastCheckpoint >= checkpointInterval)
+            {
+                this.checkpoint();
+            }
+        }
+        catch(IOException | InvalidSaveGameException e)
+        {
+            logger.warning("Journal could not be committed - " + e.getMessage());
+        }
+    }
+
+    private JournalShard getShard(int sessionId)
+    {
+        if(sessionId < 0)
+        {
+            throw new IllegalArgumentException("Session id cannot be negative");
+        }
+        return shards[sessionId % shards.length];
+    }
+}
@@ -0,0 +1,191 @@
+package controller.io;
+
+import controller.factory.ItemFactory;
+import controller.factory.ItemRejection;
+import model.item.GameItem;
+import model.item.InvalidItemDatabaseException;
+import model.item.ItemDatabase;
+import model.item.ItemIndex;
+import model.item.ItemIndexSource;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Strategy class IndexedTextFileDataLoader inheriting from TextFileDataLoader
+ * - builds a compact ItemIndex of the text file instead of a list of game items
+ * - acts as the ItemIndexSource which materialises single items from their byte offset in the file
+ *
+ * Lines are validated the same way as TextFileDataLoader while indexing, therefore only lines that
+ * would have been loaded eagerly are indexed. Items created while indexing are discarded straight away.
+ */
+public class IndexedTextFileDataLoader extends TextFileDataLoader implements ItemIndexSource
+{
+    /** Number of bytes read at a time when materialising a single line */
+    private static final int READ_CHUNK_SIZE = 256;
+
+    private final Logger logger = ErrorLogger.getInstance().createLogger(IndexedTextFileDataLoader.class.getName());
+    private final String indexedFilename;
+
+    public IndexedTextFileDataLoader(ItemFactory itemFactory)
+    {
+        this(itemFactory, filename);
+    }
+
+    public IndexedTextFileDataLoader(ItemFactory itemFactory, String indexedFilename)
+    {
+        super(itemFactory);
+
+        this.indexedFilename = indexedFilename;
+    }
+
+    /**
+     * Method for building the index of the text file
+     * - records name hash, type, cost, expected effect and byte offset of every valid line
+     * - duplicates are skipped the same way ItemDatabaseManager skips them when loading eagerly
+     */
+    public ItemIndex buildIndex() throws InvalidItemDataSourceException
+    {
+        // Do not want to have the logger output warnings to user
+        logger.setUseParentHandlers(false);
+
+        ItemIndex index = new ItemIndex();
+        Set<String> indexedItems = new HashSet<>();
+        LoaderDiagnostics diagnostics = new LoaderDiagnostics(indexedFilename);
+
+        try(InputStream in = new BufferedInputStream(new FileInputStream(indexedFilename)))
+        {
+            ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+            long offset = 0;
+            long lineStart = 0;
+            int lineNumber = 1;
+
+            int b = in.read();
+            while(b != -1)
+            {
+                offset++;
+                if(b == '\n')
+                {
+                    this.indexLine(index, indexedItems, diagnostics, lineBuffer, lineStart, lineNumber);
+                    lineBuffer.reset();
+                    lineStart = offset;
+                    lineNumber++;
+                }
+                else
+                {
+                    lineBuffer.write(b);
+                }
+                b = in.read();
+            }
+
+            // Last line may not be terminated by a new line
+            this.indexLine(index, indexedItems, diagnostics, lineBuffer, lineStart, lineNumber);
+
+            return index;
+        }
+        catch(IOException e)
+        {
+            // Fatal exception - let main handle
+            throw new InvalidItemDataSourceException("Unable to read file - " + indexedFilename, e);
+        }
+        finally
+        {
+            diagnostics.report(logger);
+        }
+    }
+
+    /**
+     * Method for materialising the item found at the given byte offset of the text file
+     */
+    @Override
+    public GameItem readItem(long offset) throws InvalidItemDatabaseException
+    {
+        try(RandomAccessFile file = new RandomAccessFile(indexedFilename, "r"))
+        {
+            file.seek(offset);
+
+            // Read in chunks rather than byte by byte until the end of the line is found
+            ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[READ_CHUNK_SIZE];
+            boolean endOfLine = false;
+            int read = file.read(chunk);
+            while(!endOfLine && read != -1)
+            {
+                int length = 0;
+                while(length < read && chunk[length] != '\n')
+                {
+                    length++;
+                }
+
+                lineBuffer.write(chunk, 0, length);
+                endOfLine = length < read;
+                if(!endOfLine)
+                {
+                    read = file.read(chunk);
+                }
+            }
+
+            LoaderDiagnostics diagnostics = new LoaderDiagnostics(indexedFilename);
+            GameItem item = this.processLine(decode(lineBuffer), 0, diagnostics);
+            if(item == null)
+            {
+                throw new InvalidItemDatabaseException("Indexed item can no longer be created at offset " + offset + " - "
+                        + (diagnostics.getExampleCount() > 0 ? diagnostics.getRejection(0).getDescription() : "unknown error"));
+            }
+            return item;
+        }
+        catch(IOException e)
+        {
+            throw new InvalidItemDatabaseException("Unable to read indexed item at offset " + offset, e);
+        }
+    }
+
+    /**
+     * Method for validating and indexing a single line
+     */
+    private void indexLine(ItemIndex index, Set<String> indexedItems, LoaderDiagnostics diagnostics,
+                           ByteArrayOutputStream lineBuffer, long lineStart, int lineNumber)
+    {
+        String line = decode(lineBuffer);
+
+        /* Ignore Blank Lines - trim() removes leading and trailing spaces */
+        if(line.trim().length() > 0)
+        {
+            GameItem item = this.processLine(line, lineNumber, diagnostics);
+            if(item != null)
+            {
+                // Only keep the first occurrence of identical items
+                if(indexedItems.add(item.toString()))
+                {
+                    index.add(ItemIndex.hashName(item.getName()), ItemIndex.typeOf(item), item.getCost(),
+                            ItemDatabase.getExpectedEffect(item), lineStart);
+                }
+                else
+                {
+                    diagnostics.reject(lineNumber, ItemRejection.DUPLICATE_ITEM);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for decoding a line of bytes - trailing carriage returns are dropped
+     */
+    private static String decode(ByteArrayOutputStream lineBuffer)
+    {
+        String line = new String(lineBuffer.toByteArray(), StandardCharsets.UTF_8);
+        if(line.endsWith("\r"))
+        {
+            line = line.substring(0, line.length() - 1);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,14 @@
+package controller.io;
+
+public class InvalidLeaderboardException extends Exception
+{
+    public InvalidLeaderboardException(String msg)
+    {
+        super(msg);
+    }
+
+    public InvalidLeaderboardException(String msg, Throwable cause)
+    {
+        super(msg, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package controller.io;
+
+public class InvalidSaveGameException extends Exception
+{
+    public InvalidSaveGameException(String msg)
+    {
+        super(msg);
+    }
+
+    public InvalidSaveGameException(String msg, Throwable cause)
+    {
+        super(msg, cause);
+    }
+}
@@ -2,12 +2,11 @@ package controller.io;
 
 import controller.factory.InvalidItemFactoryException;
 import controller.factory.ItemFactory;
+import controller.factory.ItemRejection;
 import model.item.GameItem;
 import model.item.InvalidItemDatabaseException;
 import model.item.ItemDatabase;
 import model.item.ItemDatabaseChangeObserver;
-import model.item.armour.ArmourItem;
-import model.item.weapon.WeaponItem;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -28,6 +27,10 @@ public class ItemDatabaseManager implements ItemDatabaseChangeObserver
     /** List of ItemDatabaseLoaders */
     private List<ItemDatabaseLoader> loaders = new LinkedList<>();
 
+    /** Diagnostics of items rejected by this manager - reported once per construction or on request */
+    private final LoaderDiagnostics diagnostics = new LoaderDiagnostics(ItemDatabaseManager.class.getSimpleName(),
+            LoaderDiagnostics.ITEM, LoaderDiagnostics.DEFAULT_EXAMPLE_LIMIT);
+
     public ItemDatabaseManager(ItemFactory itemFactory, ItemDatabase itemDatabase)
     {
         if(itemFactory == null)
@@ -42,6 +45,9 @@ public class ItemDatabaseManager implements ItemDatabaseChangeObserver
 
         this.itemFactory = itemFactory;
         this.itemDatabase = itemDatabase;
+
+        // Do not want to have the logger output warnings to user
+        logger.setUseParentHandlers(false);
     }
 
     public void addLoader(ItemDatabaseLoader loader)
@@ -56,11 +62,18 @@ public class ItemDatabaseManager implements ItemDatabaseChangeObserver
             {
                 List<GameItem> items = loader.load();
 
+                // Loaders have already reported their own lines - duplicates are located by the number of items
+                // this manager has handled since the last report, and reported as items rather than lines
                 for(GameItem item : items)
                 {
                     if(!itemDatabase.contains(item))
                     {
                         itemDatabase.addItem(item);
+                        diagnostics.accept();
+                    }
+                    else
+                    {
+                        diagnostics.reject(diagnostics.getAcceptedCount() + diagnostics.getRejectedCount() + 1, ItemRejection.DUPLICATE_ITEM);
                     }
                 }
             }
@@ -74,7 +87,9 @@ public class ItemDatabaseManager implements ItemDatabaseChangeObserver
             }
         }
 
-        if(itemDatabase.getAllItems().size() < 2)
+        this.reportDiagnostics();
+
+        if(itemDatabase.getItemCount() < 2)
         {
             throw new InvalidItemDatabaseException("Not enough items to proceed into the game");
         }
@@ -85,25 +100,23 @@ public class ItemDatabaseManager implements ItemDatabaseChangeObserver
         }
     }
 
+    /**
+     * Method to emit a single summarised report of all items rejected since the last report
+     */
+    public void reportDiagnostics()
+    {
+        diagnostics.report(logger);
+        diagnostics.clear();
+    }
+
     /**
      * Method to check for database requirements for the program to proceed
+     * - uses the cheapest item queries so that indexed databases do not need to materialise the whole catalog
      */
     private boolean checkDatabaseRequirements()
     {
-        boolean foundWeapon = false;
-        boolean foundArmour = false;
-
-        for(GameItem item : itemDatabase.getAllItems())
-        {
-            if(item instanceof WeaponItem)
-            {
-                foundWeapon = true;
-            }
-            else if(item instanceof ArmourItem)
-            {
-                foundArmour = true;
-            }
-        }
+        boolean foundWeapon = itemDatabase.getCheapestWeapon() != null;
+        boolean foundArmour = itemDatabase.getCheapestArmour() != null;
 
         return foundWeapon && foundArmour;
     }
@@ -116,23 +129,31 @@ public class ItemDatabaseManager implements ItemDatabaseChangeObserver
     @Override
     public void addNewItem(String type, String name, int minEffect, int maxEffect, int cost, String[] attributes)
     {
-        GameItem newItem;
+        // Rejections are only recorded here - call reportDiagnostics() to emit them
+        int position = diagnostics.getAcceptedCount() + diagnostics.getRejectedCount() + 1;
+        ItemRejection rejection = itemFactory.validate(type, name, minEffect, maxEffect, cost, attributes);
+        if(rejection != null)
+        {
+            diagnostics.reject(position, rejection);
+            return;
+        }
+
         try
         {
-            newItem = itemFactory.createItem(type, name, minEffect, maxEffect, cost, attributes);
-            if(newItem != null)
+            GameItem newItem = itemFactory.createItem(type, name, minEffect, maxEffect, cost, attributes);
+            if(itemDatabase.contains(newItem))
+            {
+                diagnostics.reject(position, ItemRejection.DUPLICATE_ITEM);
+            }
+            else
             {
                 itemDatabase.addItem(newItem);
+                diagnostics.accept();
             }
         }
-        catch (InvalidItemFactoryException e)
-        {
-            // Item already exists in database - therefore only as info and can be ignored
-            logger.info("Attempted to add item to database but received error : " + e.getMessage() + "\n * * Moving on without parsing this line\n");
-        }
-        catch (InvalidItemDatabaseException e)
+        catch (InvalidItemFactoryException | InvalidItemDatabaseException e)
         {
-            // Item is not valid item - therefore must be a warning in error.log
+            // Unexpected since parameters were validated - therefore must be a warning in error.log
             logger.warning("Attempted to create an item in factory but received error : " + e.getMessage() + "\n * * Moving on without parsing this line\n");
         }
     }
@@ -0,0 +1,222 @@
+package controller.io;
+
+import controller.factory.InvalidItemFactoryException;
+import controller.factory.ItemFactory;
+import controller.factory.ItemRejection;
+import model.item.GameItem;
+
+import java.util.logging.Logger;
+
+/**
+ * I/O class shared by the item data loaders for turning parsed fields into game items
+ * - validates with ItemFactory before creating so that no error message is formatted for rejected records
+ * - rejected records are recorded inside the loader's diagnostics
+ * - tokenised records of structured data sources are additionally checked against an ItemSchema
+ */
+class ItemRecordProcessor
+{
+    /** Returned by parseInteger() when a field cannot be parsed */
+    static final long INVALID_INTEGER = Long.MIN_VALUE;
+
+    /** ItemRecordProcessor specific Fields **/
+    private final ItemFactory itemFactory;
+    private final Logger logger;
+
+    ItemRecordProcessor(ItemFactory itemFactory, Logger logger)
+    {
+        this.itemFactory = itemFactory;
+        this.logger = logger;
+    }
+
+    /**
+     * Method for creating an item from parsed fields
+     * - integers that could not be parsed are passed as INVALID_INTEGER
+     * - invalid items are recorded inside the diagnostics and null is returned
+     */
+    GameItem create(String type, String name, long minEffect, long maxEffect, long cost, String[] attributes,
+                    int lineNumber, LoaderDiagnostics diagnostics)
+    {
+        if(minEffect == INVALID_INTEGER)
+        {
+            diagnostics.reject(lineNumber, ItemRejection.MALFORMED_MIN_EFFECT);
+            return null;
+        }
+
+        if(maxEffect == INVALID_INTEGER)
+        {
+            diagnostics.reject(lineNumber, ItemRejection.MALFORMED_MAX_EFFECT);
+            return null;
+        }
+
+        if(cost == INVALID_INTEGER)
+        {
+            diagnostics.reject(lineNumber, ItemRejection.MALFORMED_COST);
+            return null;
+        }
+
+        // Validate before creating so that no error message is formatted for rejected lines
+        ItemRejection rejection = itemFactory.validate(type, name, (int) minEffect, (int) maxEffect, (int) cost, attributes);
+        if(rejection != null)
+        {
+            diagnostics.reject(lineNumber, rejection);
+            return null;
+        }
+
+        try
+        {
+            GameItem newItem = itemFactory.createItem(type, name, (int) minEffect, (int) maxEffect, (int) cost, attributes);
+            diagnostics.accept();
+            return newItem;
+        }
+        catch (InvalidItemFactoryException e)
+        {
+            // Parameters were validated beforehand, therefore factory exceptions are unexpected and logged straight away
+            logger.warning("Attempted to add item to database but received error : " + e.getMessage() + "\n * * Moving on without parsing this line\n");
+            return null;
+        }
+    }
+
+    /**
+     * Method for creating an item from a tokenised record of a structured data source
+     * - fieldSpans holds the span of each schema field by field ordinal, -1 if the field is not present
+     * - typedValues requires integer fields to be numbers and other fields to be strings (e.g. JSON values)
+     * - strings are only created for the name and the attributes of the record's item type
+     */
+    GameItem process(ItemSchema schema, SpanTokenizer tokenizer, int[] fieldSpans, boolean typedValues,
+                     LoaderDiagnostics diagnostics)
+    {
+        int lineNumber = tokenizer.getLineNumber();
+        if(tokenizer.isMalformed())
+        {
+            diagnostics.reject(lineNumber, ItemRejection.MALFORMED_RECORD);
+            return null;
+        }
+
+        for(ItemSchema.Field field : schema.getFieldArray())
+        {
+            int span = fieldSpans[field.ordinal()];
+            if(span == -1)
+            {
+                if(field.isRequired())
+                {
+                    diagnostics.reject(lineNumber, ItemRejection.MISSING_FIELD);
+                    return null;
+                }
+            }
+            else if(typedValues && !tokenizer.hasFlag(span, field.isInteger() ? SpanTokenizer.NUMBER : SpanTokenizer.STRING))
+            {
+                diagnostics.reject(lineNumber, ItemRejection.WRONG_FIELD_TYPE);
+                return null;
+            }
+        }
+
+        CharSequence chars = tokenizer.getChars();
+
+        /* Item type - only declared item types are accepted */
+        int typeSpan = fieldSpans[ItemSchema.Field.TYPE.ordinal()];
+        int typePosition = schema.findItemType(chars, tokenizer.getStart(typeSpan), tokenizer.getEnd(typeSpan));
+        if(typePosition == -1)
+        {
+            boolean blank = tokenizer.getString(typeSpan).trim().isEmpty();
+            diagnostics.reject(lineNumber, blank ? ItemRejection.BLANK_TYPE : ItemRejection.UNKNOWN_TYPE);
+            return null;
+        }
+
+        /* Attributes - in the order declared for the item type, stopping at the first missing attribute */
+        ItemSchema.Field[] attributeFields = schema.getAttributeFields(typePosition);
+        int attributeCount = 0;
+        while(attributeCount < attributeFields.length && fieldSpans[attributeFields[attributeCount].ordinal()] != -1)
+        {
+            attributeCount++;
+        }
+
+        String[] attributes = new String[attributeCount];
+        for(int i = 0; i < attributeCount; i++)
+        {
+            attributes[i] = tokenizer.getString(fieldSpans[attributeFields[i].ordinal()]);
+        }
+
+        /* Attributes of other item types must be absent or empty */
+        for(ItemSchema.Field field : schema.getFieldArray())
+        {
+            int span = fieldSpans[field.ordinal()];
+            if(!field.isRequired() && span != -1 && tokenizer.getEnd(span) > tokenizer.getStart(span)
+                    && !schema.isAttributeOf(typePosition, field))
+            {
+                diagnostics.reject(lineNumber, ItemRejection.UNEXPECTED_ATTRIBUTE);
+                return null;
+            }
+        }
+
+        return this.create(schema.getItemTypeName(typePosition),
+                tokenizer.getString(fieldSpans[ItemSchema.Field.NAME.ordinal()]).trim(),
+                parseSpan(tokenizer, fieldSpans[ItemSchema.Field.MIN_EFFECT.ordinal()]),
+                parseSpan(tokenizer, fieldSpans[ItemSchema.Field.MAX_EFFECT.ordinal()]),
+                parseSpan(tokenizer, fieldSpans[ItemSchema.Field.COST.ordinal()]),
+                attributes, lineNumber, diagnostics);
+    }
+
+    private static long parseSpan(SpanTokenizer tokenizer, int span)
+    {
+        return parseInteger(tokenizer.getChars(), tokenizer.getStart(span), tokenizer.getEnd(span));
+    }
+
+    /**
+     * Method for parsing an integer field while ignoring all whitespace
+     */
+    static long parseInteger(String field)
+    {
+        return parseInteger(field, 0, field.length());
+    }
+
+    /**
+     * Method for parsing an integer from a span of characters while ignoring all whitespace
+     * - does not throw so that no exception message is created for malformed fields
+     *
+     * RETURN
+     * - parsed integer, INVALID_INTEGER if the field is not a valid integer
+     */
+    static long parseInteger(CharSequence chars, int start, int end)
+    {
+        long value = 0;
+        boolean negative = false;
+        boolean foundDigit = false;
+        boolean foundSign = false;
+
+        for(int i = start; i < end; i++)
+        {
+            char c = chars.charAt(i);
+            if(c >= '0' && c <= '9')
+            {
+                value = value * 10 + (c - '0');
+                foundDigit = true;
+
+                if(value > (long) Integer.MAX_VALUE + 1)
+                {
+                    return INVALID_INTEGER;
+                }
+            }
+            else if((c == '-' || c == '+') && !foundDigit && !foundSign)
+            {
+                negative = c == '-';
+                foundSign = true;
+            }
+            else if(!Character.isWhitespace(c))
+            {
+                return INVALID_INTEGER;
+            }
+        }
+
+        if(!foundDigit)
+        {
+            return INVALID_INTEGER;
+        }
+
+        value = negative ? -value : value;
+        if(value > Integer.MAX_VALUE || value < Integer.MIN_VALUE)
+        {
+            return INVALID_INTEGER;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,222 @@
+package controller.io;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * I/O class for the declared schema of structured item data sources
+ * - declares the fields of an item record, which of them are integers and which are required
+ * - declares the item types and the attribute fields each item type uses, in the order ItemFactory expects them
+ * - schemas are versioned so that data sources can declare which version they were written against
+ *
+ * Field names are matched against tokenised spans in place, therefore no string is created
+ * for field names while loading.
+ *
+ * FIELDS
+ * - version        : int
+ * - fields         : List of Field declared by this version
+ * - itemTypes      : char array of item types
+ * - itemTypeNames  : String array of item types as passed to ItemFactory
+ * - typeAttributes : array of Field arrays - attribute fields of each item type
+ */
+public class ItemSchema
+{
+    /** Version used when a data source does not declare one */
+    public static final int CURRENT_VERSION = 1;
+
+    /** Line declaring the schema version of a text based data source, followed by the version number */
+    public static final String SCHEMA_DIRECTIVE = "#schema";
+
+    /**
+     * Fields of an item record
+     */
+    public enum Field
+    {
+        TYPE("type", false, true),
+        NAME("name", false, true),
+        MIN_EFFECT("minEffect", true, true),
+        MAX_EFFECT("maxEffect", true, true),
+        COST("cost", true, true),
+        DAMAGE_TYPE("damageType", false, false),
+        WEAPON_TYPE("weaponType", false, false),
+        MATERIAL_TYPE("materialType", false, false),
+        POTION_TYPE("potionType", false, false);
+
+        private final String fieldName;
+        private final boolean integer;
+        private final boolean required;
+
+        Field(String fieldName, boolean integer, boolean required)
+        {
+            this.fieldName = fieldName;
+            this.integer = integer;
+            this.required = required;
+        }
+
+        /** ACCESSORS */
+        public String getFieldName()
+        {
+            return fieldName;
+        }
+
+        public boolean isInteger()
+        {
+            return integer;
+        }
+
+        public boolean isRequired()
+        {
+            return required;
+        }
+    }
+
+    /** Version 1 schema - the same items the positional text file describes */
+    private static final ItemSchema VERSION_1 = new ItemSchema(1,
+            Field.values(),
+            new char[]{'W', 'A', 'P'},
+            new Field[][]{
+                    {Field.DAMAGE_TYPE, Field.WEAPON_TYPE},
+                    {Field.MATERIAL_TYPE},
+                    {Field.POTION_TYPE}
+            });
+
+    /** ItemSchema specific Fields **/
+    private final int version;
+    private final List<Field> fields;
+    private final Field[] fieldArray;
+    private final char[] itemTypes;
+    private final String[] itemTypeNames;
+    private final Field[][] typeAttributes;
+
+    private ItemSchema(int version, Field[] fields, char[] itemTypes, Field[][] typeAttributes)
+    {
+        this.version = version;
+        this.fieldArray = fields.clone();
+        this.fields = Collections.unmodifiableList(Arrays.asList(fieldArray));
+        this.itemTypes = itemTypes;
+        this.typeAttributes = typeAttributes;
+
+        // Type names are created once since every record needs one
+        this.itemTypeNames = new String[itemTypes.length];
+        for(int i = 0; i < itemTypes.length; i++)
+        {
+            itemTypeNames[i] = String.valueOf(itemTypes[i]);
+        }
+    }
+
+    /**
+     * Method for obtaining the schema of a declared version
+     */
+    public static ItemSchema forVersion(int version) throws InvalidItemDataSourceException
+    {
+        if(version == 1)
+        {
+            return VERSION_1;
+        }
+
+        throw new InvalidItemDataSourceException("Unsupported item schema version - " + version);
+    }
+
+    /** ACCESSORS */
+    public int getVersion()
+    {
+        return version;
+    }
+
+    public List<Field> getFields()
+    {
+        return fields;
+    }
+
+    /** Declared fields without the list wrapper - used for every record while loading */
+    Field[] getFieldArray()
+    {
+        return fieldArray;
+    }
+
+    /**
+     * Method for finding the declared field named by a tokenised span
+     * - fields are tried from the hint onwards first since records usually list fields in schema order
+     *
+     * RETURN
+     * - matching field, null if the name is not declared by this schema
+     */
+    Field findField(SpanTokenizer tokenizer, int span, int hint)
+    {
+        for(int i = 0; i < fieldArray.length; i++)
+        {
+            Field field = fieldArray[(hint + i) % fieldArray.length];
+            if(tokenizer.spanEquals(span, field.getFieldName()))
+            {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method for finding the item type named by a span of characters - leading and trailing whitespace is ignored
+     *
+     * RETURN
+     * - position of the item type, -1 if the type is not declared by this schema
+     */
+    public int findItemType(CharSequence chars, int start, int end)
+    {
+        while(start < end && Character.isWhitespace(chars.charAt(start)))
+        {
+            start++;
+        }
+
+        while(end > start && Character.isWhitespace(chars.charAt(end - 1)))
+        {
+            end--;
+        }
+
+        if(end - start == 1)
+        {
+            char type = Character.toUpperCase(chars.charAt(start));
+            for(int i = 0; i < itemTypes.length; i++)
+            {
+                if(itemTypes[i] == type)
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public char getItemType(int typePosition)
+    {
+        return itemTypes[typePosition];
+    }
+
+    public String getItemTypeName(int typePosition)
+    {
+        return itemTypeNames[typePosition];
+    }
+
+    /**
+     * Method for obtaining the attribute fields of an item type in the order ItemFactory expects them
+     */
+    public Field[] getAttributeFields(int typePosition)
+    {
+        return typeAttributes[typePosition];
+    }
+
+    /**
+     * Method for checking if a field is an attribute of an item type
+     */
+    public boolean isAttributeOf(int typePosition, Field field)
+    {
+        for(Field attribute : typeAttributes[typePosition])
+        {
+            if(attribute == field)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,389 @@
+package controller.io;
+
+import controller.battle.BattleController;
+import controller.factory.EnemyFactory;
+import model.item.GameItem;
+import model.item.armour.ArmourItem;
+import model.item.weapon.WeaponItem;
+import model.player.BattleEndObserver;
+import model.player.CombatPlayer;
+import model.player.character.CharacterChangeObserver;
+import model.player.character.CharacterPlayer;
+import model.player.character.CharacterPlayerException;
+import model.player.character.GameOverObserver;
+import model.player.character.Inventory;
+import model.player.character.InventoryEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * I/O class for the journal of a single session, i.e. of a single character
+ *
+ * This class is responsible for
+ * - turning every change of the character into a compact journal record, appended to the shard of the session
+ * - applying journal records to the character when the journal is replayed
+ *
+ * A record holds the session id followed by the changes applied together, e.g. by a single shop transaction.
+ * Changes are recorded as resulting values - gold after the change, the number of an item owned after the change,
+ * the item equipped - therefore replaying a record which is already part of a checkpoint changes nothing.
+ * Health and stage are recorded once the character is rewarded for a battle won, and the session is ended once the
+ * game is over.
+ *
+ * Records of changes are built under the character's lock, the only lock taken while building them.
+ *
+ * FIELDS
+ * - sessionId      : int
+ * - shard          : JournalShard - records are appended to
+ * - codec          : SaveGameCodec - writes snapshots and item references
+ * - character      : CharacterPlayer - null until restored or opened
+ * - enemyFactory   : EnemyFactory - stage of the session
+ * - record         : RecordBuffer - record being built, empty if no changes are pending
+ * - ended          : boolean - true once the game of the session is over
+ */
+public class JournalSession implements CharacterChangeObserver, BattleEndObserver, GameOverObserver
+{
+    /** Record operations */
+    static final int SNAPSHOT = 1;
+    static final int GOLD = 2;
+    static final int ITEM_COUNT = 3;
+    static final int EQUIP = 4;
+    static final int NAME = 5;
+    static final int HEALTH = 6;
+    static final int STAGE = 7;
+    static final int END = 8;
+
+    /** JournalSession specific Fields **/
+    private final int sessionId;
+    private final JournalShard shard;
+    private final SaveGameCodec codec;
+    private CharacterPlayer character;
+    private EnemyFactory enemyFactory;
+    private final RecordBuffer record;
+    private final DataOutputStream out;
+    private boolean ended;
+
+    /** Logger field */
+    private final Logger logger = ErrorLogger.getInstance().createLogger(JournalSession.class.getName());
+
+    JournalSession(int sessionId, JournalShard shard, SaveGameCodec codec)
+    {
+        this.sessionId = sessionId;
+        this.shard = shard;
+        this.codec = codec;
+        this.enemyFactory = new EnemyFactory();
+        this.record = new RecordBuffer();
+        this.out = new DataOutputStream(record);
+    }
+
+    /**
+     * Method for journaling a character from now on
+     * - a snapshot of the character is recorded first, so the session can be recovered from this point onwards
+     */
+    void open(CharacterPlayer character, EnemyFactory enemyFactory, BattleController battleController) throws InvalidSaveGameException
+    {
+        byte[] snapshot = codec.encode(character, enemyFactory.getStage());
+        synchronized(character)
+        {
+            this.character = character;
+            this.enemyFactory = enemyFactory;
+            this.ended = false;
+
+            this.record(SNAPSHOT, () ->
+            {
+                SaveGameCodec.writeVarInt(out, snapshot.length);
+                out.write(snapshot);
+            });
+            this.showChangesCompleted(character);
+        }
+
+        character.addCharacterChangeObserver(this);
+        character.addGameOverObserver(this);
+        battleController.addBattleRewardObserver(this);
+    }
+
+    /** ACCESSORS */
+    public int getSessionId()
+    {
+        return sessionId;
+    }
+
+    public CharacterPlayer getCharacter()
+    {
+        return character;
+    }
+
+    public int getStage()
+    {
+        return enemyFactory.getStage();
+    }
+
+    boolean isEnded()
+    {
+        return ended;
+    }
+
+    /**
+     * Method for obtaining a snapshot of the session for a checkpoint
+     */
+    byte[] snapshot() throws InvalidSaveGameException
+    {
+        return codec.encode(character, enemyFactory.getStage());
+    }
+
+    /**
+     * Method for restoring the session from a snapshot
+     */
+    void restore(byte[] snapshot) throws InvalidSaveGameException
+    {
+        this.character = codec.decode(snapshot, enemyFactory);
+        this.ended = false;
+    }
+
+    /**
+     * Observer Methods recording the changes of the character
+     */
+    @Override
+    public void showGoldChange(CharacterPlayer character, double gold)
+    {
+        this.record(GOLD, () -> out.writeDouble(gold));
+    }
+
+    @Override
+    public void showItemCountChange(CharacterPlayer character, GameItem item, int count)
+    {
+        this.record(ITEM_COUNT, () ->
+        {
+            codec.writeItem(out, item);
+            SaveGameCodec.writeVarInt(out, count);
+        });
+    }
+
+    @Override
+    public void showEquipChange(CharacterPlayer character, GameItem item)
+    {
+        this.record(EQUIP, () -> codec.writeItem(out, item));
+    }
+
+    @Override
+    public void showNameChange(CharacterPlayer character, String name)
+    {
+        this.record(NAME, () -> out.writeUTF(name));
+    }
+
+    /**
+     * Observer Method appending the changes applied together as a single record
+     */
+    @Override
+    public void showChangesCompleted(CharacterPlayer character)
+    {
+        if(record.size() > 0)
+        {
+            shard.append(record.toByteArray());
+            record.reset();
+        }
+    }
+
+    /**
+     * Observer Method recording the health and stage once the character is rewarded for a battle won
+     */
+    @Override
+    public void showBattleEnd(CombatPlayer deadPlayer)
+    {
+        synchronized(character)
+        {
+            this.record(HEALTH, () -> SaveGameCodec.writeVarInt(out, character.getHealth()));
+            this.record(STAGE, () -> SaveGameCodec.writeVarInt(out, enemyFactory.getStage()));
+            this.showChangesCompleted(character);
+        }
+    }
+
+    /**
+     * Observer Method ending the session once the game is over - the session is left out of the next checkpoint
+     */
+    @Override
+    public void showEndGame()
+    {
+        synchronized(character)
+        {
+            this.record(END, () -> { });
+            this.showChangesCompleted(character);
+            ended = true;
+        }
+        shard.end(this);
+    }
+
+    /**
+     * Method for adding an operation to the record - the session id starts every record
+     * - an operation on an item outside of the catalog cannot be journaled and is left out of the record
+     */
+    private void record(int operation, RecordWriter payload)
+    {
+        int mark = record.size();
+        try
+        {
+            if(mark == 0)
+            {
+                SaveGameCodec.writeVarInt(out, sessionId);
+            }
+            out.writeByte(operation);
+            payload.write();
+        }
+        catch(InvalidSaveGameException e)
+        {
+            record.truncate(mark);
+            logger.warning("Change of session " + sessionId + " could not be journaled - " + e.getMessage());
+        }
+        catch(IOException e)
+        {
+            // Writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method for applying the operations of a record to the session, the session id is already read
+     */
+    void replay(DataInputStream in) throws IOException, InvalidSaveGameException
+    {
+        while(in.available() > 0)
+        {
+            int operation = in.readUnsignedByte();
+            if(operation == SNAPSHOT)
+            {
+                byte[] snapshot = new byte[SaveGameCodec.readVarInt(in)];
+                in.readFully(snapshot);
+                this.restore(snapshot);
+            }
+            else if(character == null)
+            {
+                throw new InvalidSaveGameException("Session " + sessionId + " has no snapshot to apply changes to");
+            }
+            else if(operation == END)
+            {
+                ended = true;
+            }
+            else
+            {
+                this.replayChange(operation, in);
+            }
+        }
+    }
+
+    private void replayChange(int operation, DataInputStream in) throws IOException, InvalidSaveGameException
+    {
+        try
+        {
+            switch(operation)
+            {
+                case GOLD:
+                    character.setGold(in.readDouble());
+                    break;
+                case ITEM_COUNT:
+                    GameItem item = codec.readItem(in);
+                    this.replayItemCount(item, SaveGameCodec.readVarInt(in));
+                    break;
+                case EQUIP:
+                    this.replayEquip(codec.readItem(in));
+                    break;
+                case NAME:
+                    character.setName(in.readUTF());
+                    break;
+                case HEALTH:
+                    character.setHealth(SaveGameCodec.readVarInt(in));
+                    break;
+                case STAGE:
+                    enemyFactory.setStage(SaveGameCodec.readVarInt(in));
+                    break;
+                default:
+                    throw new InvalidSaveGameException("Unknown journal operation " + operation);
+            }
+        }
+        catch(CharacterPlayerException | IllegalArgumentException e)
+        {
+            throw new InvalidSaveGameException("Journal record of session " + sessionId + " cannot be applied - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method for changing the number of items identical to an item owned by the character
+     * - items are removed from entries which are not equipped first
+     */
+    private void replayItemCount(GameItem item, int count) throws CharacterPlayerException, InvalidSaveGameException
+    {
+        int current = character.getItemCount(item);
+        if(count > current && Inventory.isStackable(item))
+        {
+            character.addToInventory(item, count - current);
+        }
+        else if(count > current)
+        {
+            character.addToInventory(item);
+            for(int i = current + 1; i < count; i++)
+            {
+                character.addToInventory(codec.copyItem(item));
+            }
+        }
+        else if(count < current && Inventory.isStackable(item))
+        {
+            InventoryEntry entry = character.findInventoryEntry(item);
+            character.removeFromInventory(entry.getId(), current - count);
+        }
+        else
+        {
+            for(InventoryEntry entry : character.getInventoryEntries(Inventory.Category.of(item)))
+            {
+                if(current > count && !entry.isEquipped() && entry.getItem().isIdentical(item))
+                {
+                    character.removeFromInventory(entry.getId(), entry.getQuantity());
+                    current -= entry.getQuantity();
+                }
+            }
+        }
+    }
+
+    private void replayEquip(GameItem item) throws CharacterPlayerException
+    {
+        InventoryEntry entry = character.findInventoryEntry(item);
+        if(entry == null)
+        {
+            throw new CharacterPlayerException("Equipped item is not owned");
+        }
+
+        if(entry.getItem() instanceof WeaponItem)
+        {
+            character.equipWeapon((WeaponItem) entry.getItem());
+        }
+        else if(entry.getItem() instanceof ArmourItem)
+        {
+            character.equipArmour((ArmourItem) entry.getItem());
+        }
+    }
+
+    /**
+     * Functional Interface for writing the payload of an operation to the record
+     */
+    private interface RecordWriter
+    {
+        void write() throws IOException, InvalidSaveGameException;
+    }
+
+    /**
+     * Buffer of the record being built, which can drop an operation that could not be written completely
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream
+    {
+        RecordBuffer()
+        {
+            super(64);
+        }
+
+        void truncate(int size)
+        {
+            count = size;
+        }
+    }
+}
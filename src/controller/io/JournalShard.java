@@ -0,0 +1,416 @@
+package controller.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * I/O class for a single shard of the event journal - the sessions whose id falls into the shard
+ *
+ * This class is responsible for
+ * - queueing records of its sessions without blocking them, and writing every queued record with a single fsync
+ * - writing checkpoints holding a snapshot of every session, after which older journal files are deleted
+ * - recovering its sessions from the last checkpoint and the journal files written since
+ *
+ * The journal is split into generations, one file each. A checkpoint first moves new records to the next generation
+ * and then takes the snapshots, therefore every record of older generations is part of the checkpoint, and records of
+ * the next generation are either part of it or are replayed on top of it. Replaying changes nothing that is already
+ * part of the checkpoint, see JournalSession.
+ *
+ * Files of shard n
+ * - shard-n.checkpoint     : magic int "CGCP", version byte, first generation to replay long, session count int,
+ *                            then every session id and snapshot, both preceded by variable length numbers
+ * - shard-n-g.journal      : magic int "CGJL", version byte, then records of generation g, each preceded by its
+ *                            length int and CRC32 int - recovery stops at the first incomplete or damaged record
+ *
+ * FIELDS
+ * - index          : int - shard number
+ * - directory      : Path - directory of the journal
+ * - codec          : SaveGameCodec
+ * - sessions       : Map of Key = session id, Value = JournalSession
+ * - pending        : Queue of records appended but not written
+ * - channel        : FileChannel - journal file of the current generation, null until recovered
+ * - generation     : long - current generation
+ */
+class JournalShard
+{
+    static final int JOURNAL_MAGIC = 0x43474A4C;
+    static final int CHECKPOINT_MAGIC = 0x43474350;
+    static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 5;
+    private static final int FRAME_LENGTH = 8;
+
+    /** JournalShard specific Fields **/
+    private final int index;
+    private final Path directory;
+    private final SaveGameCodec codec;
+    private final Map<Integer, JournalSession> sessions;
+    private final Queue<byte[]> pending;
+    private FileChannel channel;
+    private long generation;
+    private ByteBuffer writeBuffer;
+
+    /** Logger field */
+    private final Logger logger = ErrorLogger.getInstance().createLogger(JournalShard.class.getName());
+
+    JournalShard(int index, Path directory, SaveGameCodec codec)
+    {
+        this.index = index;
+        this.directory = directory;
+        this.codec = codec;
+        this.sessions = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.writeBuffer = ByteBuffer.allocate(64 * 1024);
+    }
+
+    /**
+     * Method for recovering the sessions of the shard and starting a new generation to append to
+     *
+     * RETURN
+     * - number of sessions recovered
+     */
+    synchronized int recover() throws IOException, InvalidSaveGameException
+    {
+        long firstGeneration = 0;
+        if(Files.isRegularFile(this.getCheckpointPath()))
+        {
+            firstGeneration = this.readCheckpoint();
+        }
+
+        long lastGeneration = firstGeneration - 1;
+        for(long journalGeneration : this.listGenerations())
+        {
+            if(journalGeneration < firstGeneration)
+            {
+                Files.deleteIfExists(this.getJournalPath(journalGeneration));
+            }
+            else
+            {
+                this.replay(journalGeneration);
+                lastGeneration = journalGeneration;
+            }
+        }
+
+        sessions.values().removeIf(session -> session.isEnded() || session.getCharacter() == null);
+        this.startGeneration(lastGeneration + 1);
+        return sessions.size();
+    }
+
+    /**
+     * Method for obtaining a session - created if the shard does not hold it yet
+     */
+    JournalSession getSession(int sessionId)
+    {
+        return sessions.computeIfAbsent(sessionId, id -> new JournalSession(id, this, codec));
+    }
+
+    JournalSession findSession(int sessionId)
+    {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Method for removing a session whose game is over
+     */
+    void end(JournalSession session)
+    {
+        sessions.remove(session.getSessionId(), session);
+    }
+
+    int getSessionCount()
+    {
+        return sessions.size();
+    }
+
+    /**
+     * Method for queueing a record to be written by the next flush - never blocks the session
+     */
+    void append(byte[] record)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_LENGTH + record.length);
+        frame.putInt(record.length);
+        frame.putInt((int) crc.getValue());
+        frame.put(record);
+        pending.add(frame.array());
+    }
+
+    /**
+     * Method for writing every queued record to the journal file with a single fsync
+     *
+     * RETURN
+     * - number of records written
+     */
+    synchronized int flush() throws IOException
+    {
+        if(channel == null || pending.isEmpty())
+        {
+            return 0;
+        }
+
+        int records = 0;
+        writeBuffer.clear();
+        byte[] frame;
+        while((frame = pending.poll()) != null)
+        {
+            if(frame.length > writeBuffer.remaining())
+            {
+                this.write();
+                if(frame.length > writeBuffer.capacity())
+                {
+                    writeBuffer = ByteBuffer.allocate(frame.length);
+                }
+            }
+            writeBuffer.put(frame);
+            records++;
+        }
+        this.write();
+        channel.force(false);
+        return records;
+    }
+
+    private void write() throws IOException
+    {
+        writeBuffer.flip();
+        while(writeBuffer.hasRemaining())
+        {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Method for writing a checkpoint of every session and deleting the journal files it covers
+     */
+    synchronized void checkpoint() throws IOException, InvalidSaveGameException
+    {
+        // Records queued from here on go to the next generation, which is replayed on top of the checkpoint
+        this.flush();
+        long coveredGeneration = generation;
+        this.startGeneration(generation + 1);
+
+        List<Integer> sessionIds = new ArrayList<>();
+        List<byte[]> snapshots = new ArrayList<>();
+        for(JournalSession session : sessions.values())
+        {
+            if(!session.isEnded() && session.getCharacter() != null)
+            {
+                sessionIds.add(session.getSessionId());
+                snapshots.add(session.snapshot());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(coveredGeneration + 1);
+        out.writeInt(sessionIds.size());
+        for(int i = 0; i < sessionIds.size(); i++)
+        {
+            SaveGameCodec.writeVarInt(out, sessionIds.get(i));
+            SaveGameCodec.writeVarInt(out, snapshots.get(i).length);
+            out.write(snapshots.get(i));
+        }
+
+        // Checkpoint replaces the previous one only once it is completely on disk
+        Path temporaryPath = this.getCheckpointPath().resolveSibling(this.getCheckpointPath().getFileName() + ".tmp");
+        try(FileChannel checkpointChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while(buffer.hasRemaining())
+            {
+                checkpointChannel.write(buffer);
+            }
+            checkpointChannel.force(true);
+        }
+
+        try
+        {
+            Files.move(temporaryPath, this.getCheckpointPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(AtomicMoveNotSupportedException e)
+        {
+            Files.move(temporaryPath, this.getCheckpointPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        for(long journalGeneration : this.listGenerations())
+        {
+            if(journalGeneration <= coveredGeneration)
+            {
+                Files.deleteIfExists(this.getJournalPath(journalGeneration));
+            }
+        }
+    }
+
+    /**
+     * Method for writing every queued record and closing the journal file
+     */
+    synchronized void close() throws IOException
+    {
+        if(channel != null)
+        {
+            this.flush();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Method for closing the journal file of the current generation and starting the file of a new generation
+     */
+    private void startGeneration(long newGeneration) throws IOException
+    {
+        if(channel != null)
+        {
+            channel.close();
+        }
+
+        channel = FileChannel.open(this.getJournalPath(newGeneration), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(JOURNAL_MAGIC);
+        header.put((byte) VERSION);
+        header.flip();
+        while(header.hasRemaining())
+        {
+            channel.write(header);
+        }
+        channel.force(true);
+        generation = newGeneration;
+    }
+
+    /**
+     * Method for restoring every session of the checkpoint
+     *
+     * RETURN
+     * - first generation to replay on top of the checkpoint
+     */
+    private long readCheckpoint() throws IOException, InvalidSaveGameException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(this.getCheckpointPath())));
+        if(in.readInt() != CHECKPOINT_MAGIC || in.readUnsignedByte() != VERSION)
+        {
+            throw new InvalidSaveGameException("Checkpoint of journal shard " + index + " is not supported");
+        }
+
+        long firstGeneration = in.readLong();
+        int sessionCount = in.readInt();
+        for(int i = 0; i < sessionCount; i++)
+        {
+            int sessionId = SaveGameCodec.readVarInt(in);
+            byte[] snapshot = new byte[SaveGameCodec.readVarInt(in)];
+            in.readFully(snapshot);
+            this.getSession(sessionId).restore(snapshot);
+        }
+        return firstGeneration;
+    }
+
+    /**
+     * Method for replaying every complete record of a journal file
+     * - a record which cannot be applied is skipped, so a single damaged session does not stop the recovery
+     */
+    private void replay(long journalGeneration) throws IOException, InvalidSaveGameException
+    {
+        byte[] bytes = Files.readAllBytes(this.getJournalPath(journalGeneration));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if(bytes.length < HEADER_LENGTH || buffer.getInt() != JOURNAL_MAGIC || buffer.get() != VERSION)
+        {
+            throw new InvalidSaveGameException("Journal file of shard " + index + " generation " + journalGeneration + " is not supported");
+        }
+
+        CRC32 crc = new CRC32();
+        while(buffer.remaining() >= FRAME_LENGTH)
+        {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if(length < 0 || length > buffer.remaining())
+            {
+                break;
+            }
+
+            crc.reset();
+            crc.update(bytes, buffer.position(), length);
+            if((int) crc.getValue() != checksum)
+            {
+                break;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, buffer.position(), length));
+            buffer.position(buffer.position() + length);
+            try
+            {
+                this.getSession(SaveGameCodec.readVarInt(in)).replay(in);
+            }
+            catch(InvalidSaveGameException | IOException e)
+            {
+                logger.warning("Journal record of shard " + index + " skipped - " + e.getMessage());
+            }
+        }
+
+        if(buffer.hasRemaining())
+        {
+            logger.warning("Journal of shard " + index + " generation " + journalGeneration + " ends with "
+                    + buffer.remaining() + " bytes of an incomplete record, which are ignored");
+        }
+    }
+
+    /**
+     * Method for listing the generations of the journal files of this shard, oldest first
+     */
+    private List<Long> listGenerations() throws IOException
+    {
+        List<Long> generations = new ArrayList<>();
+        String prefix = "shard-" + index + "-";
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*.journal"))
+        {
+            for(Path file : files)
+            {
+                String name = file.getFileName().toString();
+                try
+                {
+                    generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - ".journal".length())));
+                }
+                catch(NumberFormatException e)
+                {
+                    logger.warning("Unknown journal file ignored : " + name);
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private Path getJournalPath(long journalGeneration)
+    {
+        return directory.resolve("shard-" + index + "-" + journalGeneration + ".journal");
+    }
+
+    private Path getCheckpointPath()
+    {
+        return directory.resolve("shard-" + index + ".checkpoint");
+    }
+}
@@ -0,0 +1,160 @@
+package controller.io;
+
+import controller.factory.ItemFactory;
+import controller.factory.ItemRejection;
+import model.item.GameItem;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Strategy class JsonLinesDataLoader implementing ItemDatabaseLoader interface
+ * - loads items from a line delimited JSON file with one flat object per line, e.g.
+ *   {"type": "W", "name": "Short Sword", "minEffect": 5, "maxEffect": 9, "cost": 10, "damageType": "slashing", "weaponType": "Sword"}
+ * - an optional first line {"schema": <version>} declares the schema version
+ * - keys must be fields declared by the schema, integer fields must be numbers and other fields must be strings
+ *
+ * Rejected lines are recorded and reported once loading is done.
+ */
+public class JsonLinesDataLoader implements ItemDatabaseLoader
+{
+    public static final String DEFAULT_FILENAME = "./item_database.jsonl";
+
+    /** Key of the schema declaration line */
+    private static final String SCHEMA_KEY = "schema";
+
+    private final Logger logger = ErrorLogger.getInstance().createLogger(JsonLinesDataLoader.class.getName());
+    private final ItemRecordProcessor processor;
+    private final String jsonFilename;
+
+    public JsonLinesDataLoader(ItemFactory itemFactory)
+    {
+        this(itemFactory, DEFAULT_FILENAME);
+    }
+
+    public JsonLinesDataLoader(ItemFactory itemFactory, String jsonFilename)
+    {
+        this.processor = new ItemRecordProcessor(itemFactory, logger);
+        this.jsonFilename = jsonFilename;
+    }
+
+    @Override
+    public List<GameItem> load() throws InvalidItemDataSourceException
+    {
+        // Do not want to have the logger output warnings to user
+        logger.setUseParentHandlers(false);
+
+        LoaderDiagnostics diagnostics = new LoaderDiagnostics(jsonFilename);
+        try(JsonLinesTokenizer tokenizer = new JsonLinesTokenizer(new InputStreamReader(new FileInputStream(jsonFilename), StandardCharsets.UTF_8)))
+        {
+            List<GameItem> items = new LinkedList<>();
+            ItemSchema schema = null;
+            int[] fieldSpans = new int[ItemSchema.Field.values().length];
+
+            while(tokenizer.nextRecord())
+            {
+                /* Ignore Blank Lines */
+                if(tokenizer.getSpanCount() == 0 && !tokenizer.isMalformed())
+                {
+                    continue;
+                }
+
+                if(schema == null)
+                {
+                    // Schema version can only be declared by the first line
+                    if(this.isSchemaDeclaration(tokenizer))
+                    {
+                        schema = ItemSchema.forVersion(this.readSchemaVersion(tokenizer));
+                        continue;
+                    }
+                    schema = ItemSchema.forVersion(ItemSchema.CURRENT_VERSION);
+                }
+
+                if(this.mapFields(schema, tokenizer, fieldSpans, diagnostics))
+                {
+                    GameItem newItem = processor.process(schema, tokenizer, fieldSpans, true, diagnostics);
+                    if(newItem != null)
+                    {
+                        items.add(newItem);
+                    }
+                }
+            }
+
+            return items;
+        }
+        catch(IOException e)
+        {
+            // Fatal exception - let main handle
+            throw new InvalidItemDataSourceException("Unable to read file - " + jsonFilename, e);
+        }
+        finally
+        {
+            diagnostics.report(logger);
+        }
+    }
+
+    /**
+     * Method for mapping every key of the line to its schema field
+     * - malformed lines are left to the record processor to reject
+     *
+     * RETURN
+     * - false if the line has been rejected
+     */
+    private boolean mapFields(ItemSchema schema, JsonLinesTokenizer tokenizer, int[] fieldSpans, LoaderDiagnostics diagnostics)
+    {
+        Arrays.fill(fieldSpans, -1);
+        if(tokenizer.isMalformed())
+        {
+            return true;
+        }
+
+        int hint = 0;
+        for(int key = 0; key < tokenizer.getSpanCount(); key += 2)
+        {
+            ItemSchema.Field field = schema.findField(tokenizer, key, hint);
+            if(field == null)
+            {
+                diagnostics.reject(tokenizer.getLineNumber(), ItemRejection.UNKNOWN_FIELD);
+                return false;
+            }
+
+            if(fieldSpans[field.ordinal()] != -1)
+            {
+                // Same key declared twice
+                diagnostics.reject(tokenizer.getLineNumber(), ItemRejection.MALFORMED_RECORD);
+                return false;
+            }
+
+            fieldSpans[field.ordinal()] = key + 1;
+            hint = field.ordinal() + 1;
+        }
+        return true;
+    }
+
+    private boolean isSchemaDeclaration(JsonLinesTokenizer tokenizer)
+    {
+        return !tokenizer.isMalformed() && tokenizer.getSpanCount() == 2
+                && tokenizer.spanEquals(0, SCHEMA_KEY);
+    }
+
+    private int readSchemaVersion(JsonLinesTokenizer tokenizer) throws InvalidItemDataSourceException
+    {
+        long version = ItemRecordProcessor.INVALID_INTEGER;
+        if(tokenizer.hasFlag(1, SpanTokenizer.NUMBER))
+        {
+            version = ItemRecordProcessor.parseInteger(tokenizer.getChars(), tokenizer.getStart(1), tokenizer.getEnd(1));
+        }
+
+        if(version == ItemRecordProcessor.INVALID_INTEGER)
+        {
+            throw new InvalidItemDataSourceException("Invalid schema declaration - " + tokenizer.getString(1) + " in " + jsonFilename);
+        }
+        return (int) version;
+    }
+}
@@ -0,0 +1,257 @@
+package controller.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizer class for line delimited JSON inheriting from SpanTokenizer
+ * - every line holds one flat JSON object, blank lines are ignored
+ * - spans alternate between keys and values: span 2n is a key and span 2n + 1 is its value
+ * - values are flagged as STRING, NUMBER or LITERAL (true, false, null)
+ * - nested objects and arrays are not part of the item schema and mark the record as malformed
+ */
+class JsonLinesTokenizer extends SpanTokenizer
+{
+    JsonLinesTokenizer(Reader reader)
+    {
+        super(reader);
+    }
+
+    @Override
+    protected int parseRecord() throws IOException
+    {
+        if(this.charAt(0) == -1)
+        {
+            return END_OF_INPUT;
+        }
+
+        int pos = this.skipWhitespace(0);
+        int c = this.charAt(pos);
+        if(c == '\n' || c == -1)
+        {
+            // Blank line - record without spans
+            return this.endLine(pos);
+        }
+
+        if(c != '{')
+        {
+            return this.skipMalformedLine(pos);
+        }
+
+        pos = this.skipWhitespace(pos + 1);
+        if(this.charAt(pos) == '}')
+        {
+            return this.endLine(this.skipWhitespace(pos + 1));
+        }
+
+        while(true)
+        {
+            // Key
+            if(this.charAt(pos) != '"')
+            {
+                return this.skipMalformedLine(pos);
+            }
+
+            int next = this.parseString(pos);
+            if(next == -1)
+            {
+                return this.skipMalformedLine(pos);
+            }
+
+            pos = this.skipWhitespace(next);
+            if(this.charAt(pos) != ':')
+            {
+                return this.skipMalformedLine(pos);
+            }
+
+            // Value
+            pos = this.skipWhitespace(pos + 1);
+            c = this.charAt(pos);
+            if(c == '"')
+            {
+                next = this.parseString(pos);
+                if(next == -1)
+                {
+                    return this.skipMalformedLine(pos);
+                }
+                pos = next;
+            }
+            else if(c == '-' || (c >= '0' && c <= '9'))
+            {
+                int start = pos;
+                c = this.charAt(++pos);
+                while((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-')
+                {
+                    c = this.charAt(++pos);
+                }
+                this.addSpan(start, pos, NUMBER);
+            }
+            else if(c >= 'a' && c <= 'z')
+            {
+                int start = pos;
+                while(c >= 'a' && c <= 'z')
+                {
+                    c = this.charAt(++pos);
+                }
+                this.addSpan(start, pos, LITERAL);
+            }
+            else
+            {
+                return this.skipMalformedLine(pos);
+            }
+
+            pos = this.skipWhitespace(pos);
+            c = this.charAt(pos);
+            if(c == ',')
+            {
+                pos = this.skipWhitespace(pos + 1);
+            }
+            else if(c == '}')
+            {
+                return this.endLine(this.skipWhitespace(pos + 1));
+            }
+            else
+            {
+                return this.skipMalformedLine(pos);
+            }
+        }
+    }
+
+    /**
+     * Method for tokenising a string starting at the opening quote
+     *
+     * RETURN
+     * - position after the closing quote, -1 if the string is not closed on the same line
+     */
+    private int parseString(int pos) throws IOException
+    {
+        int start = pos + 1;
+        int spanFlags = STRING;
+
+        pos = start;
+        int c = this.charAt(pos);
+        while(c != -1 && c != '\n')
+        {
+            if(c == '"')
+            {
+                this.addSpan(start, pos, spanFlags);
+                return pos + 1;
+            }
+
+            if(c == '\\')
+            {
+                spanFlags |= ESCAPED;
+                pos++;
+            }
+
+            c = this.charAt(++pos);
+        }
+        return -1;
+    }
+
+    private int skipWhitespace(int pos) throws IOException
+    {
+        int c = this.charAt(pos);
+        while(c == ' ' || c == '\t' || c == '\r')
+        {
+            c = this.charAt(++pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Method for consuming the end of a line - anything other than whitespace after the object is malformed
+     */
+    private int endLine(int pos) throws IOException
+    {
+        int c = this.charAt(pos);
+        if(c == '\n')
+        {
+            this.newLine();
+            return pos + 1;
+        }
+
+        if(c == -1)
+        {
+            return pos;
+        }
+
+        return this.skipMalformedLine(pos);
+    }
+
+    private int skipMalformedLine(int pos) throws IOException
+    {
+        this.markMalformed();
+
+        int c = this.charAt(pos);
+        while(c != '\n' && c != -1)
+        {
+            c = this.charAt(++pos);
+        }
+
+        if(c == '\n')
+        {
+            this.newLine();
+            pos++;
+        }
+        return pos;
+    }
+
+    @Override
+    protected String unescape(CharSequence chars, int start, int end)
+    {
+        StringBuilder value = new StringBuilder(end - start);
+        for(int i = start; i < end; i++)
+        {
+            char c = chars.charAt(i);
+            if(c != '\\' || i + 1 >= end)
+            {
+                value.append(c);
+                continue;
+            }
+
+            c = chars.charAt(++i);
+            switch(c)
+            {
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if(i + 4 < end)
+                    {
+                        try
+                        {
+                            value.append((char) Integer.parseInt(chars.subSequence(i + 1, i + 5).toString(), 16));
+                            i += 4;
+                        }
+                        catch(NumberFormatException e)
+                        {
+                            value.append(c);
+                        }
+                    }
+                    else
+                    {
+                        value.append(c);
+                    }
+                    break;
+                default:
+                    // Quote, backslash and slash are kept as they are
+                    value.append(c);
+                    break;
+            }
+        }
+        return value.toString();
+    }
+}
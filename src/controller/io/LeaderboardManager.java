@@ -0,0 +1,365 @@
+package controller.io;
+
+import controller.battle.BattleController;
+import controller.factory.EnemyFactory;
+import model.leaderboard.Leaderboard;
+import model.leaderboard.LeaderboardEntry;
+import model.player.BattleEndObserver;
+import model.player.CombatPlayer;
+import model.player.character.CharacterPlayer;
+import model.player.character.GameOverObserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * I/O class responsible for keeping the leaderboard in an append-only file
+ *
+ * This class is responsible for
+ * - loading the leaderboard from its file when the game starts
+ * - recording the result of a game once it is over - stage reached, gold and enemies defeated - and appending it
+ * - compacting the file in the background once most of its results are no longer the best of their name
+ *
+ * Format of version 1, numbers are big endian and stage and enemies defeated are variable length
+ * - magic int "CGLB", version byte
+ * - then for every result: name UTF, stage, gold double, enemies defeated
+ *
+ * Only results which become the best of their name are appended. A compaction writes the ranked results to a
+ * temporary file, appends the results recorded meanwhile and moves it over the file. A result left incomplete by the
+ * program stopping while appending is dropped when the file is loaded.
+ *
+ * FIELDS
+ * - path               : Path - file of the leaderboard
+ * - leaderboard        : Leaderboard
+ * - channel            : FileChannel - results are appended to, null until loaded
+ * - recordCount        : int - number of results inside the file
+ * - compactor          : ExecutorService - compacts the file on a daemon thread
+ * - compacting         : List of results recorded during a compaction, null while not compacting
+ * - character          : CharacterPlayer - character being tracked, null until tracked
+ * - enemyFactory       : EnemyFactory - stage reached by the tracked character
+ * - enemiesDefeated    : int - enemies defeated by the tracked character
+ */
+public class LeaderboardManager implements BattleEndObserver, GameOverObserver
+{
+    /** Leaderboard file header */
+    public static final int MAGIC = 0x43474C42;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 5;
+
+    /** File is compacted once it holds more than the minimum and more than twice the results ranked */
+    private static final int COMPACTION_MINIMUM = 1024;
+
+    /** LeaderboardManager specific Fields **/
+    private final Path path;
+    private final Path temporaryPath;
+    private final Leaderboard leaderboard;
+    private FileChannel channel;
+    private int recordCount;
+    private final ExecutorService compactor;
+    private List<LeaderboardEntry> compacting;
+    private CharacterPlayer character;
+    private EnemyFactory enemyFactory;
+    private int enemiesDefeated;
+
+    /** Logger field */
+    private final Logger logger = ErrorLogger.getInstance().createLogger(LeaderboardManager.class.getName());
+
+    public LeaderboardManager(Path path, Leaderboard leaderboard)
+    {
+        if(path == null || leaderboard == null)
+        {
+            throw new IllegalArgumentException("Leaderboard file and leaderboard cannot be null");
+        }
+
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.leaderboard = leaderboard;
+        this.compactor = Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "leaderboard-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Leaderboard getLeaderboard()
+    {
+        return leaderboard;
+    }
+
+    /**
+     * Method for loading every result of the file into the leaderboard - a new file is created if none exists
+     */
+    public synchronized void load() throws IOException, InvalidLeaderboardException
+    {
+        if(channel != null)
+        {
+            throw new IllegalStateException("Leaderboard is already loaded");
+        }
+
+        if(!Files.isRegularFile(path))
+        {
+            this.writeFile(path, new ArrayList<>());
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if(bytes.length < HEADER_LENGTH || in.readInt() != MAGIC || in.readUnsignedByte() != VERSION)
+        {
+            throw new InvalidLeaderboardException("File is not a leaderboard of version " + VERSION);
+        }
+
+        int complete = HEADER_LENGTH;
+        try
+        {
+            while(in.available() > 0)
+            {
+                String name = in.readUTF();
+                int stage = SaveGameCodec.readVarInt(in);
+                double gold = in.readDouble();
+                int defeated = SaveGameCodec.readVarInt(in);
+
+                leaderboard.record(name, stage, gold, defeated);
+                recordCount++;
+                complete = bytes.length - in.available();
+            }
+        }
+        catch(EOFException e)
+        {
+            logger.warning("Leaderboard ends with " + (bytes.length - complete) + " bytes of an incomplete result, which are dropped");
+        }
+        catch(IllegalArgumentException | InvalidSaveGameException e)
+        {
+            throw new InvalidLeaderboardException("Leaderboard holds an invalid result - " + e.getMessage(), e);
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.truncate(complete);
+        channel.position(complete);
+        this.compactIfWasteful();
+    }
+
+    /**
+     * Method for recording the result of a game - appended to the file if it is the best result of the name
+     *
+     * RETURN
+     * - LeaderboardEntry   : result recorded, null if the name already has a result at least as good
+     */
+    public synchronized LeaderboardEntry record(String name, int stage, double gold, int defeated) throws IOException
+    {
+        if(channel == null)
+        {
+            throw new IllegalStateException("Leaderboard is not loaded");
+        }
+
+        LeaderboardEntry entry = leaderboard.record(name, stage, gold, defeated);
+        if(entry != null)
+        {
+            this.write(channel, entry);
+            channel.force(false);
+            recordCount++;
+            if(compacting != null)
+            {
+                compacting.add(entry);
+            }
+            this.compactIfWasteful();
+        }
+        return entry;
+    }
+
+    /**
+     * Method for recording the result of a character once its game is over
+     * - enemies are counted from every battle won after tracking starts
+     */
+    public void track(CharacterPlayer character, BattleController battleController, EnemyFactory enemyFactory)
+    {
+        if(character == null || battleController == null || enemyFactory == null)
+        {
+            throw new IllegalArgumentException("Character, battle controller and enemy factory cannot be null");
+        }
+
+        this.character = character;
+        this.enemyFactory = enemyFactory;
+        this.enemiesDefeated = 0;
+        battleController.addBattleRewardObserver(this);
+        character.addGameOverObserver(this);
+    }
+
+    /**
+     * Observer Method counting the enemies defeated by the tracked character
+     */
+    @Override
+    public void showBattleEnd(CombatPlayer deadPlayer)
+    {
+        enemiesDefeated++;
+    }
+
+    /**
+     * Observer Method recording the result of the tracked character - a failed record is logged, the game goes on
+     */
+    @Override
+    public void showEndGame()
+    {
+        try
+        {
+            this.record(character.getName(), enemyFactory.getStage(), character.getGold(), enemiesDefeated);
+        }
+        catch(IOException e)
+        {
+            logger.warning("Result could not be added to the leaderboard - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Method for waiting on a running compaction and closing the file
+     */
+    public void close() throws IOException
+    {
+        compactor.shutdown();
+        try
+        {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized(this)
+        {
+            if(channel != null)
+            {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private void compactIfWasteful()
+    {
+        if(compacting == null && !compactor.isShutdown() && recordCount > COMPACTION_MINIMUM && recordCount > 2 * leaderboard.size())
+        {
+            compacting = new ArrayList<>();
+            final List<LeaderboardEntry> entries = leaderboard.getEntries();
+            compactor.execute(() -> this.compact(entries));
+        }
+    }
+
+    /**
+     * Method for replacing the file with the ranked results, run on the compactor thread
+     * - results recorded while the ranked results are written are appended before the file is replaced
+     */
+    private void compact(List<LeaderboardEntry> entries)
+    {
+        try
+        {
+            this.writeFile(temporaryPath, entries);
+            synchronized(this)
+            {
+                try(FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+                {
+                    for(LeaderboardEntry entry : compacting)
+                    {
+                        this.write(temporaryChannel, entry);
+                    }
+                    temporaryChannel.force(false);
+                }
+
+                try
+                {
+                    Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch(AtomicMoveNotSupportedException e)
+                {
+                    Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                if(channel != null)
+                {
+                    channel.close();
+                    channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                recordCount = entries.size() + compacting.size();
+            }
+        }
+        catch(IOException e)
+        {
+            logger.warning("Leaderboard could not be compacted - " + e.getMessage());
+        }
+        finally
+        {
+            synchronized(this)
+            {
+                compacting = null;
+            }
+        }
+    }
+
+    /**
+     * Method for writing a leaderboard file holding the given results, forced to the disk
+     */
+    private void writeFile(Path file, List<LeaderboardEntry> entries) throws IOException
+    {
+        try(FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            for(LeaderboardEntry entry : entries)
+            {
+                this.writeEntry(out, entry);
+                if(bytes.size() >= 60 * 1024)
+                {
+                    this.writeFully(fileChannel, bytes.toByteArray());
+                    bytes.reset();
+                }
+            }
+            this.writeFully(fileChannel, bytes.toByteArray());
+            fileChannel.force(false);
+        }
+    }
+
+    private void write(FileChannel fileChannel, LeaderboardEntry entry) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        this.writeEntry(new DataOutputStream(bytes), entry);
+        this.writeFully(fileChannel, bytes.toByteArray());
+    }
+
+    private void writeEntry(DataOutputStream out, LeaderboardEntry entry) throws IOException
+    {
+        out.writeUTF(entry.getName());
+        SaveGameCodec.writeVarInt(out, entry.getStage());
+        out.writeDouble(entry.getGold());
+        SaveGameCodec.writeVarInt(out, entry.getEnemiesDefeated());
+    }
+
+    private void writeFully(FileChannel fileChannel, byte[] bytes) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while(buffer.hasRemaining())
+        {
+            fileChannel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package controller.io;
+
+import controller.factory.ItemRejection;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * I/O class for collecting diagnostics while loading items from a data source
+ * - only the first rejected lines, up to the example limit, are recorded as packed line number and rejection
+ *   code pairs
+ * - counts are kept per rejection type, and for all rejected lines
+ * - nothing is formatted until the summarised report is requested at the end of loading
+ * - rejections are located by line number, or by item position for sources which are not read line by line
+ *
+ * FIELDS
+ * - sourceName     : String
+ * - locationLabel  : String - what the recorded numbers are, LINE or ITEM
+ * - exampleLimit   : Number of example rejections shown in the report
+ * - records        : long array of packed (line number, rejection ordinal) pairs, at most exampleLimit
+ * - rejectedCount  : Number of lines rejected, recorded or not
+ * - counts         : int array of rejection counts per rejection type
+ * - acceptedCount  : Number of lines accepted
+ */
+public class LoaderDiagnostics
+{
+    /** Default number of example rejections shown in a report */
+    public static final int DEFAULT_EXAMPLE_LIMIT = 5;
+
+    /** Labels of the recorded numbers - line numbers of a file, or positions of items within a loaded list */
+    public static final String LINE = "line";
+    public static final String ITEM = "item";
+
+    /** Cached since values() creates a new array every call */
+    private static final ItemRejection[] REJECTIONS = ItemRejection.values();
+
+    /** LoaderDiagnostics specific Fields **/
+    private final String sourceName;
+    private final String locationLabel;
+    private final int exampleLimit;
+    private final long[] records;
+    private int recordCount;
+    private int rejectedCount;
+    private final int[] counts;
+    private int acceptedCount;
+
+    public LoaderDiagnostics(String sourceName)
+    {
+        this(sourceName, DEFAULT_EXAMPLE_LIMIT);
+    }
+
+    public LoaderDiagnostics(String sourceName, int exampleLimit)
+    {
+        this(sourceName, LINE, exampleLimit);
+    }
+
+    /**
+     * CONSTRUCTOR - with the label of the recorded numbers, LINE or ITEM
+     */
+    public LoaderDiagnostics(String sourceName, String locationLabel, int exampleLimit)
+    {
+        if(exampleLimit < 0)
+        {
+            throw new IllegalArgumentException("Example limit cannot be negative");
+        }
+
+        if(locationLabel == null)
+        {
+            throw new IllegalArgumentException("Location label cannot be null");
+        }
+
+        this.sourceName = sourceName;
+        this.locationLabel = locationLabel;
+        this.exampleLimit = exampleLimit;
+        this.records = new long[exampleLimit];
+        this.counts = new int[REJECTIONS.length];
+    }
+
+    /**
+     * Method for recording a rejected line - or item, located by its position
+     */
+    public void reject(int location, ItemRejection rejection)
+    {
+        if(recordCount < records.length)
+        {
+            records[recordCount] = ((long) location << 8) | rejection.ordinal();
+            recordCount++;
+        }
+
+        rejectedCount++;
+        counts[rejection.ordinal()]++;
+    }
+
+    /**
+     * Method for recording an accepted line
+     */
+    public void accept()
+    {
+        acceptedCount++;
+    }
+
+    /** ACCESSORS */
+    public int getAcceptedCount()
+    {
+        return acceptedCount;
+    }
+
+    public int getRejectedCount()
+    {
+        return rejectedCount;
+    }
+
+    /**
+     * Method for obtaining the number of rejected lines recorded as examples, the first ones rejected
+     */
+    public int getExampleCount()
+    {
+        return recordCount;
+    }
+
+    public int getCount(ItemRejection rejection)
+    {
+        return counts[rejection.ordinal()];
+    }
+
+    public int getRejectedLine(int index)
+    {
+        checkIndex(index);
+        return (int) (records[index] >>> 8);
+    }
+
+    public ItemRejection getRejection(int index)
+    {
+        checkIndex(index);
+        return REJECTIONS[(int) (records[index] & 0xFF)];
+    }
+
+    public boolean hasRejections()
+    {
+        return rejectedCount > 0;
+    }
+
+    /**
+     * Method for clearing all recorded diagnostics
+     */
+    public void clear()
+    {
+        recordCount = 0;
+        rejectedCount = 0;
+        acceptedCount = 0;
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * Method for obtaining the summarised report
+     * - counts per rejection type and the first few rejected lines
+     */
+    public String getReport()
+    {
+        StringBuilder report = new StringBuilder();
+        report.append("Loaded ").append(sourceName).append(" : ")
+                .append(acceptedCount).append(" accepted, ")
+                .append(rejectedCount).append(" rejected");
+
+        for(ItemRejection rejection : REJECTIONS)
+        {
+            int count = counts[rejection.ordinal()];
+            if(count > 0)
+            {
+                report.append("\n - ").append(rejection).append(" (").append(rejection.getField()).append(") x")
+                        .append(count).append(" : ").append(rejection.getDescription());
+            }
+        }
+
+        if(recordCount > 0)
+        {
+            report.append("\n * * First ").append(recordCount).append(" rejected ").append(locationLabel).append("(s) :");
+            for(int i = 0; i < recordCount; i++)
+            {
+                report.append("\n   ").append(locationLabel).append(' ').append(this.getRejectedLine(i))
+                        .append(" - ").append(this.getRejection(i));
+            }
+        }
+
+        return report.append("\n").toString();
+    }
+
+    /**
+     * Method for emitting the summarised report to a logger
+     * - a single warning is logged only if there were rejections
+     */
+    public void report(Logger logger)
+    {
+        if(this.hasRejections())
+        {
+            logger.warning(this.getReport());
+        }
+    }
+
+    private void checkIndex(int index)
+    {
+        if(index < 0 || index >= recordCount)
+        {
+            throw new IndexOutOfBoundsException("Diagnostics index out of bounds : " + index);
+        }
+    }
+}
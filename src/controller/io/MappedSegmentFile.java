@@ -0,0 +1,166 @@
+package controller.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * I/O class for a file mapped into memory in segments of a fixed size
+ *
+ * This class is responsible for
+ * - mapping the file one segment at a time, since a single mapping cannot exceed 2 GB
+ * - growing the file by a segment whenever a position past its end is needed
+ * - reading and writing numbers and bytes at absolute positions of the file
+ *
+ * Numbers are read and written inside a single segment, the caller keeps them from crossing a segment boundary.
+ * Bytes may cross segment boundaries.
+ *
+ * FIELDS
+ * - channel        : FileChannel - file being mapped
+ * - segmentSize    : int - size of every segment in bytes
+ * - segments       : List of MappedByteBuffer - segments from the start of the file
+ */
+class MappedSegmentFile implements Closeable
+{
+    /** MappedSegmentFile specific Fields **/
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments;
+
+    MappedSegmentFile(Path path, int segmentSize) throws IOException
+    {
+        if(segmentSize <= 0)
+        {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segmentSize = segmentSize;
+        this.segments = new ArrayList<>();
+        this.ensureCapacity(Math.max(channel.size(), 1));
+    }
+
+    /**
+     * Method for obtaining the number of bytes mapped, always a whole number of segments
+     */
+    long getCapacity()
+    {
+        return (long) segments.size() * segmentSize;
+    }
+
+    /**
+     * Method for mapping segments until the file holds at least the given number of bytes
+     */
+    void ensureCapacity(long capacity) throws IOException
+    {
+        while(this.getCapacity() < capacity)
+        {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, this.getCapacity(), segmentSize));
+        }
+    }
+
+    byte getByte(long position)
+    {
+        return this.getSegment(position).get(this.getOffset(position));
+    }
+
+    void putByte(long position, byte value)
+    {
+        this.getSegment(position).put(this.getOffset(position), value);
+    }
+
+    int getInt(long position)
+    {
+        return this.getSegment(position).getInt(this.getOffset(position));
+    }
+
+    void putInt(long position, int value)
+    {
+        this.getSegment(position).putInt(this.getOffset(position), value);
+    }
+
+    long getLong(long position)
+    {
+        return this.getSegment(position).getLong(this.getOffset(position));
+    }
+
+    void putLong(long position, long value)
+    {
+        this.getSegment(position).putLong(this.getOffset(position), value);
+    }
+
+    /**
+     * Method for reading bytes starting at a position, across segment boundaries
+     */
+    void read(long position, byte[] bytes, int offset, int length)
+    {
+        while(length > 0)
+        {
+            ByteBuffer view = this.getSegment(position).duplicate();
+            view.position(this.getOffset(position));
+            int chunk = Math.min(length, view.remaining());
+            view.get(bytes, offset, chunk);
+
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Method for writing bytes starting at a position, across segment boundaries
+     */
+    void write(long position, byte[] bytes, int offset, int length) throws IOException
+    {
+        this.ensureCapacity(position + length);
+        while(length > 0)
+        {
+            ByteBuffer view = this.getSegment(position).duplicate();
+            view.position(this.getOffset(position));
+            int chunk = Math.min(length, view.remaining());
+            view.put(bytes, offset, chunk);
+
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Method for forcing every change of the mapped segments to the disk
+     */
+    void force()
+    {
+        for(MappedByteBuffer segment : segments)
+        {
+            segment.force();
+        }
+    }
+
+    /**
+     * Method for closing the file - the segments are unmapped once they are no longer referenced
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.force();
+        segments.clear();
+        channel.close();
+    }
+
+    private MappedByteBuffer getSegment(long position)
+    {
+        return segments.get((int) (position / segmentSize));
+    }
+
+    private int getOffset(long position)
+    {
+        return (int) (position % segmentSize);
+    }
+}
@@ -0,0 +1,158 @@
+package controller.io;
+
+import java.util.Arrays;
+
+/**
+ * I/O class for an index from player id to the slot of the player inside the player store
+ *
+ * This class is responsible for
+ * - finding the slot of a player without a single object per player, ids and slots are kept in two arrays
+ * - resolving collisions by open addressing, probing the next position until the id or an empty position is found
+ * - growing the arrays once three quarters of the positions are in use, which also drops removed positions
+ *
+ * FIELDS
+ * - ids        : long[] - player id of every position
+ * - slots      : int[] - slot of every position, EMPTY or REMOVED if the position holds no player
+ * - size       : int - number of players
+ * - used       : int - number of positions holding a player or a removed player
+ */
+class PlayerIndex
+{
+    /** Value of a position which never held a player, or held a removed player */
+    static final int EMPTY = -1;
+    private static final int REMOVED = -2;
+
+    /** PlayerIndex specific Fields **/
+    private long[] ids;
+    private int[] slots;
+    private int size;
+    private int used;
+
+    PlayerIndex(int expectedSize)
+    {
+        int capacity = 16;
+        while(capacity * 3 / 4 <= expectedSize)
+        {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Method for finding the slot of a player
+     *
+     * RETURN
+     * - int    : slot of the player, EMPTY if the index does not hold the player
+     */
+    int get(long playerId)
+    {
+        int position = this.find(playerId);
+        return position == -1 ? EMPTY : slots[position];
+    }
+
+    /**
+     * Method for setting the slot of a player
+     */
+    void put(long playerId, int slot)
+    {
+        if(slot < 0)
+        {
+            throw new IllegalArgumentException("Slot cannot be negative");
+        }
+
+        int position = this.find(playerId);
+        if(position != -1)
+        {
+            slots[position] = slot;
+            return;
+        }
+
+        if((used + 1) * 4 > slots.length * 3)
+        {
+            this.rehash(size * 2 >= slots.length / 2 ? slots.length * 2 : slots.length);
+        }
+
+        // Removed positions are reused once the id is known to be missing
+        position = this.hash(playerId);
+        while(slots[position] >= 0)
+        {
+            position = (position + 1) & (slots.length - 1);
+        }
+
+        if(slots[position] == EMPTY)
+        {
+            used++;
+        }
+        ids[position] = playerId;
+        slots[position] = slot;
+        size++;
+    }
+
+    /**
+     * Method for removing a player
+     *
+     * RETURN
+     * - int    : slot the player had, EMPTY if the index did not hold the player
+     */
+    int remove(long playerId)
+    {
+        int position = this.find(playerId);
+        if(position == -1)
+        {
+            return EMPTY;
+        }
+
+        int slot = slots[position];
+        slots[position] = REMOVED;
+        size--;
+        return slot;
+    }
+
+    private int find(long playerId)
+    {
+        int position = this.hash(playerId);
+        while(slots[position] != EMPTY)
+        {
+            if(slots[position] >= 0 && ids[position] == playerId)
+            {
+                return position;
+            }
+            position = (position + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    private int hash(long playerId)
+    {
+        long mixed = playerId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & (slots.length - 1);
+    }
+
+    private void rehash(int capacity)
+    {
+        long[] oldIds = ids;
+        int[] oldSlots = slots;
+        this.allocate(capacity);
+        for(int i = 0; i < oldSlots.length; i++)
+        {
+            if(oldSlots[i] >= 0)
+            {
+                this.put(oldIds[i], oldSlots[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        ids = new long[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+        used = 0;
+    }
+}
@@ -0,0 +1,405 @@
+package controller.io;
+
+import controller.factory.EnemyFactory;
+import model.player.character.CharacterPlayer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * I/O class for storing a large number of characters inside two memory mapped files, instead of a file each
+ *
+ * This class is responsible for
+ * - saving, loading and deleting characters by player id, encoded by the save game codec
+ * - finding the header of a player through an index held in memory, so a load touches the header and, for large
+ *   inventories, the pages of the overflow area only
+ * - reusing the headers of deleted characters, and compacting the overflow area once most of it is unused
+ *
+ * Files of the store
+ * - players.headers    : magic int "CGPS", version byte, then headers of HEADER_SIZE bytes - state byte,
+ *                        save game length int, player id long, overflow position long, sequence long, and the first
+ *                        INLINE_CAPACITY bytes of the save game
+ * - players.overflow   : rest of every save game longer than INLINE_CAPACITY bytes
+ *
+ * A character is saved to a free header and the previous header of the player is freed afterwards, therefore a
+ * program which stops while saving leaves the previous save game or the new one. If both are left, the one with the
+ * higher sequence is kept when the store is opened. Changes reach the disk once the store is flushed or closed,
+ * until then they only survive the program stopping, not the machine.
+ *
+ * FIELDS
+ * - codec              : SaveGameCodec
+ * - headers            : MappedSegmentFile - header file
+ * - overflow           : MappedSegmentFile - overflow file
+ * - index              : PlayerIndex - header slot of every player
+ * - freeSlots          : Deque of header slots not in use, below slotCount
+ * - slotCount          : int - number of header slots ever used
+ * - overflowEnd        : long - end of the last overflow extent in use
+ * - overflowLive       : long - bytes of the overflow area in use
+ * - sequence           : long - sequence of the last save
+ */
+public class PlayerStore implements Closeable
+{
+    /** Player store header */
+    public static final int MAGIC = 0x43475053;
+    public static final int VERSION = 1;
+
+    /** Size of every header, of the save game bytes inside a header, and of a mapped segment */
+    public static final int HEADER_SIZE = 128;
+    public static final int INLINE_CAPACITY = 96;
+    private static final int SEGMENT_SIZE = 1 << 24;
+
+    /** Header layout */
+    private static final int STATE_OFFSET = 0;
+    private static final int LENGTH_OFFSET = 4;
+    private static final int ID_OFFSET = 8;
+    private static final int OVERFLOW_OFFSET = 16;
+    private static final int SEQUENCE_OFFSET = 24;
+    private static final int DATA_OFFSET = 32;
+
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+
+    /** Overflow extents start at multiples of the alignment */
+    private static final int OVERFLOW_ALIGNMENT = 16;
+
+    /** Overflow area is compacted once the unused bytes exceed both the minimum and the bytes in use */
+    private static final long COMPACTION_MINIMUM = 1 << 20;
+
+    /** PlayerStore specific Fields **/
+    private final SaveGameCodec codec;
+    private final MappedSegmentFile headers;
+    private final MappedSegmentFile overflow;
+    private final PlayerIndex index;
+    private final Deque<Integer> freeSlots;
+    private int slotCount;
+    private long overflowEnd;
+    private long overflowLive;
+    private long sequence;
+
+    public PlayerStore(Path directory, SaveGameCodec codec) throws IOException, InvalidSaveGameException
+    {
+        if(directory == null || codec == null)
+        {
+            throw new IllegalArgumentException("Store directory and codec cannot be null");
+        }
+
+        Files.createDirectories(directory);
+        this.codec = codec;
+        this.headers = new MappedSegmentFile(directory.resolve("players.headers"), SEGMENT_SIZE);
+        this.overflow = new MappedSegmentFile(directory.resolve("players.overflow"), SEGMENT_SIZE);
+        this.index = new PlayerIndex(0);
+        this.freeSlots = new ArrayDeque<>();
+
+        try
+        {
+            this.open();
+        }
+        catch(InvalidSaveGameException e)
+        {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method for reading every header, building the index, the free headers and the end of the overflow area
+     */
+    private void open() throws InvalidSaveGameException
+    {
+        int magic = headers.getInt(0);
+        if(magic == 0)
+        {
+            headers.putInt(0, MAGIC);
+            headers.putByte(4, (byte) VERSION);
+        }
+        else if(magic != MAGIC || headers.getByte(4) != VERSION)
+        {
+            throw new InvalidSaveGameException("File is not a player store of version " + VERSION);
+        }
+
+        // Slot 0 holds the file header, slots after the last used one are free without being listed
+        int capacity = (int) (headers.getCapacity() / HEADER_SIZE);
+        slotCount = 1;
+        for(int slot = 1; slot < capacity; slot++)
+        {
+            if(headers.getByte(this.getPosition(slot) + STATE_OFFSET) == USED)
+            {
+                this.openSlot(slot);
+                slotCount = slot + 1;
+            }
+        }
+
+        for(int slot = slotCount - 1; slot >= 1; slot--)
+        {
+            if(headers.getByte(this.getPosition(slot) + STATE_OFFSET) != USED)
+            {
+                freeSlots.push(slot);
+            }
+        }
+    }
+
+    private void openSlot(int slot)
+    {
+        long position = this.getPosition(slot);
+        long playerId = headers.getLong(position + ID_OFFSET);
+        long slotSequence = headers.getLong(position + SEQUENCE_OFFSET);
+        sequence = Math.max(sequence, slotSequence);
+
+        // Program stopped while saving the player, the older save game is freed
+        int previous = index.get(playerId);
+        if(previous != PlayerIndex.EMPTY)
+        {
+            if(headers.getLong(this.getPosition(previous) + SEQUENCE_OFFSET) > slotSequence)
+            {
+                headers.putByte(position + STATE_OFFSET, FREE);
+                return;
+            }
+            this.free(previous);
+        }
+
+        index.put(playerId, slot);
+        int overflowLength = this.getOverflowLength(headers.getInt(position + LENGTH_OFFSET));
+        if(overflowLength > 0)
+        {
+            long extent = headers.getLong(position + OVERFLOW_OFFSET);
+            overflowEnd = Math.max(overflowEnd, align(extent + overflowLength));
+            overflowLive += align(overflowLength);
+        }
+    }
+
+    /** ACCESSORS */
+    public synchronized int size()
+    {
+        return index.size();
+    }
+
+    public synchronized boolean contains(long playerId)
+    {
+        return index.get(playerId) != PlayerIndex.EMPTY;
+    }
+
+    /**
+     * Method for saving a character and its stage under a player id, replacing the previous save game of the player
+     */
+    public void save(long playerId, CharacterPlayer character, int stage) throws IOException, InvalidSaveGameException
+    {
+        byte[] data = codec.encode(character, stage);
+        synchronized(this)
+        {
+            int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+            long position = this.getPosition(slot);
+            int overflowLength = this.getOverflowLength(data.length);
+            long extent = 0;
+
+            // Overflow and save game bytes are written before the header is marked as used, a slot whose bytes could
+            // not be written is given back while still free
+            boolean written = false;
+            try
+            {
+                headers.ensureCapacity(position + HEADER_SIZE);
+                if(overflowLength > 0)
+                {
+                    extent = overflowEnd;
+                    overflow.write(extent, data, INLINE_CAPACITY, overflowLength);
+                }
+                headers.write(position + DATA_OFFSET, data, 0, data.length - overflowLength);
+                written = true;
+            }
+            finally
+            {
+                if(!written)
+                {
+                    freeSlots.push(slot);
+                }
+            }
+
+            if(overflowLength > 0)
+            {
+                overflowEnd = align(extent + overflowLength);
+                overflowLive += align(overflowLength);
+            }
+
+            headers.putInt(position + LENGTH_OFFSET, data.length);
+            headers.putLong(position + ID_OFFSET, playerId);
+            headers.putLong(position + OVERFLOW_OFFSET, extent);
+            headers.putLong(position + SEQUENCE_OFFSET, ++sequence);
+            headers.putByte(position + STATE_OFFSET, USED);
+
+            int previous = index.get(playerId);
+            index.put(playerId, slot);
+            if(previous != PlayerIndex.EMPTY)
+            {
+                this.release(previous);
+            }
+            this.compactIfWasteful();
+        }
+    }
+
+    /**
+     * Method for loading the character of a player - the enemy factory is moved to the saved stage
+     *
+     * RETURN
+     * - CharacterPlayer    : saved character, null if the store holds no character of the player
+     */
+    public CharacterPlayer load(long playerId, EnemyFactory enemyFactory) throws InvalidSaveGameException
+    {
+        byte[] data;
+        synchronized(this)
+        {
+            int slot = index.get(playerId);
+            if(slot == PlayerIndex.EMPTY)
+            {
+                return null;
+            }
+
+            long position = this.getPosition(slot);
+            data = new byte[headers.getInt(position + LENGTH_OFFSET)];
+            int overflowLength = this.getOverflowLength(data.length);
+            headers.read(position + DATA_OFFSET, data, 0, data.length - overflowLength);
+            if(overflowLength > 0)
+            {
+                overflow.read(headers.getLong(position + OVERFLOW_OFFSET), data, INLINE_CAPACITY, overflowLength);
+            }
+        }
+        return codec.decode(data, enemyFactory);
+    }
+
+    /**
+     * Method for deleting the character of a player
+     *
+     * RETURN
+     * - boolean    : true if the store held a character of the player
+     */
+    public synchronized boolean delete(long playerId)
+    {
+        int slot = index.remove(playerId);
+        if(slot == PlayerIndex.EMPTY)
+        {
+            return false;
+        }
+
+        this.release(slot);
+        this.compactIfWasteful();
+        return true;
+    }
+
+    /**
+     * Method for moving every overflow extent in use towards the start of the overflow area, so new extents are
+     * appended after the last one in use
+     * - an extent is only moved to unused bytes, never over itself, so a program stopping while compacting leaves
+     *   every save game intact
+     */
+    public synchronized void compact() throws IOException
+    {
+        List<long[]> extents = new ArrayList<>();
+        for(int slot = 1; slot < slotCount; slot++)
+        {
+            long position = this.getPosition(slot);
+            int overflowLength = this.getOverflowLength(headers.getInt(position + LENGTH_OFFSET));
+            if(headers.getByte(position + STATE_OFFSET) == USED && overflowLength > 0)
+            {
+                extents.add(new long[] { headers.getLong(position + OVERFLOW_OFFSET), slot, overflowLength });
+            }
+        }
+        extents.sort((first, second) -> Long.compare(first[0], second[0]));
+
+        long end = 0;
+        byte[] bytes = new byte[0];
+        for(long[] extent : extents)
+        {
+            long from = extent[0];
+            int length = (int) extent[2];
+            if(end + length <= from)
+            {
+                if(bytes.length < length)
+                {
+                    bytes = new byte[length];
+                }
+                overflow.read(from, bytes, 0, length);
+                overflow.write(end, bytes, 0, length);
+                headers.putLong(this.getPosition((int) extent[1]) + OVERFLOW_OFFSET, end);
+                from = end;
+            }
+            end = align(from + length);
+        }
+
+        overflowEnd = end;
+        overflowLive = end;
+    }
+
+    /**
+     * Method for forcing every change of the store to the disk
+     */
+    public synchronized void flush()
+    {
+        overflow.force();
+        headers.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        try
+        {
+            overflow.close();
+        }
+        finally
+        {
+            headers.close();
+        }
+    }
+
+    /**
+     * Method for freeing a header and the overflow extent of its save game, the header is reused by the next save
+     */
+    private void release(int slot)
+    {
+        this.free(slot);
+        freeSlots.push(slot);
+    }
+
+    private void free(int slot)
+    {
+        long position = this.getPosition(slot);
+        headers.putByte(position + STATE_OFFSET, FREE);
+        overflowLive -= align(this.getOverflowLength(headers.getInt(position + LENGTH_OFFSET)));
+    }
+
+    private void compactIfWasteful()
+    {
+        long unused = overflowEnd - overflowLive;
+        if(unused > COMPACTION_MINIMUM && unused > overflowLive)
+        {
+            try
+            {
+                this.compact();
+            }
+            catch(IOException e)
+            {
+                // Compaction only moves extents inside the mapped area, which never grows
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private long getPosition(int slot)
+    {
+        return (long) slot * HEADER_SIZE;
+    }
+
+    private int getOverflowLength(int length)
+    {
+        return Math.max(length - INLINE_CAPACITY, 0);
+    }
+
+    private static long align(long position)
+    {
+        return (position + OVERFLOW_ALIGNMENT - 1) / OVERFLOW_ALIGNMENT * OVERFLOW_ALIGNMENT;
+    }
+}
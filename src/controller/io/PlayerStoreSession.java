@@ -0,0 +1,123 @@
+package controller.io;
+
+import controller.battle.BattleController;
+import controller.factory.EnemyFactory;
+import controller.shop.ShopController;
+import controller.shop.ShopTransaction;
+import controller.shop.ShopTransactionObserver;
+import model.player.BattleEndObserver;
+import model.player.CombatPlayer;
+import model.player.character.CharacterPlayer;
+import model.player.character.GameOverObserver;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * I/O class responsible for keeping the character of a single player saved inside a player store
+ *
+ * This class is responsible for
+ * - loading the stored character and stage of the player when the game starts
+ * - saving the character after every shop transaction and after it is rewarded for a battle won
+ * - deleting the character of the player when the game is over, so the next game starts with a new character
+ *
+ * The store itself is shared and closed by its owner, not by a session.
+ *
+ * FIELDS
+ * - store          : PlayerStore
+ * - playerId       : long - id the character is stored under
+ * - enemyFactory   : EnemyFactory - stage is saved and loaded
+ * - character      : CharacterPlayer - character being saved, null until tracked
+ */
+public class PlayerStoreSession implements ShopTransactionObserver, BattleEndObserver, GameOverObserver
+{
+    /** PlayerStoreSession specific Fields **/
+    private final PlayerStore store;
+    private final long playerId;
+    private final EnemyFactory enemyFactory;
+    private CharacterPlayer character;
+
+    /** Logger field */
+    private final Logger logger = ErrorLogger.getInstance().createLogger(PlayerStoreSession.class.getName());
+
+    public PlayerStoreSession(PlayerStore store, long playerId, EnemyFactory enemyFactory)
+    {
+        if(store == null || enemyFactory == null)
+        {
+            throw new IllegalArgumentException("Player store and enemy factory cannot be null");
+        }
+
+        this.store = store;
+        this.playerId = playerId;
+        this.enemyFactory = enemyFactory;
+    }
+
+    /**
+     * Method for loading the stored character of the player - the enemy factory is moved to the saved stage
+     *
+     * RETURN
+     * - CharacterPlayer    : stored character, null if the store holds no character of the player
+     */
+    public CharacterPlayer load() throws InvalidSaveGameException
+    {
+        return store.load(playerId, enemyFactory);
+    }
+
+    /**
+     * Method for saving the character whenever its state is worth keeping
+     * - after every shop transaction
+     * - after the character is rewarded for a battle won
+     * - the character is deleted once the game is over
+     */
+    public void track(CharacterPlayer character, ShopController shopController, BattleController battleController)
+    {
+        if(character == null || shopController == null || battleController == null)
+        {
+            throw new IllegalArgumentException("Character, shop controller and battle controller cannot be null");
+        }
+
+        this.character = character;
+        shopController.addShopTransactionObserver(this);
+        battleController.addBattleRewardObserver(this);
+        character.addGameOverObserver(this);
+    }
+
+    /**
+     * Observer Methods saving the tracked character
+     */
+    @Override
+    public void showShopTransaction(CharacterPlayer character, ShopTransaction transaction)
+    {
+        this.saveTracked();
+    }
+
+    @Override
+    public void showBattleEnd(CombatPlayer deadPlayer)
+    {
+        this.saveTracked();
+    }
+
+    /**
+     * Observer Method deleting the character of the player when the game is over
+     */
+    @Override
+    public void showEndGame()
+    {
+        store.delete(playerId);
+    }
+
+    /**
+     * Method for saving the tracked character - a failed save is logged, the game goes on
+     */
+    private void saveTracked()
+    {
+        try
+        {
+            store.save(playerId, character, enemyFactory.getStage());
+        }
+        catch(IOException | InvalidSaveGameException e)
+        {
+            logger.warning("Character could not be stored - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package controller.io;
+
+import controller.factory.EnemyFactory;
+import model.enchantment.DefinedEnchantment;
+import model.enchantment.EnchantmentDatabase;
+import model.enchantment.WeaponEnchantment;
+import model.item.GameItem;
+import model.item.InvalidItemDatabaseException;
+import model.item.ItemDatabase;
+import model.item.ItemIndex;
+import model.item.armour.ArmourItem;
+import model.item.weapon.WeaponItem;
+import model.player.character.CharacterPlayer;
+import model.player.character.CharacterPlayerException;
+import model.player.character.InventoryEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * I/O class for encoding and decoding the state of a game into a compact binary save game
+ *
+ * This class is responsible for
+ * - writing the character's name, health, gold, inventory with quantities and equipped items, and the enemy stage
+ * - referencing items by their position inside the item catalog and enchantments by their id, instead of by name
+ * - rebuilding the character from the catalog and the enchantment database when loading
+ *
+ * Format of version 1, numbers are big endian and counts, positions and ids are variable length (7 bits per byte)
+ * - magic int "CGSV", version byte
+ * - name UTF, max health, health, gold double, stage
+ * - entry count, then for every inventory entry in order:
+ *   catalog position, catalog item name hash int, quantity, flags byte (bit 0 equipped),
+ *   enchantment count, enchantment ids from the first applied to the last applied
+ *
+ * The name hash guards against loading a save game against a different catalog, where a position refers
+ * to a different item.
+ *
+ * FIELDS
+ * - itemDatabase           : ItemDatabase - catalog items are cloned from
+ * - enchantmentDatabase    : EnchantmentDatabase - enchantments are looked up in
+ * - buffer                 : ByteArrayOutputStream - reused by every encoding
+ */
+public class SaveGameCodec
+{
+    /** Save game header */
+    public static final int MAGIC = 0x43475356;
+    public static final int VERSION = 1;
+
+    private static final int EQUIPPED_FLAG = 1;
+
+    /** SaveGameCodec specific Fields **/
+    private final ItemDatabase itemDatabase;
+    private final EnchantmentDatabase enchantmentDatabase;
+    private final ByteArrayOutputStream buffer;
+
+    public SaveGameCodec(ItemDatabase itemDatabase, EnchantmentDatabase enchantmentDatabase)
+    {
+        if(itemDatabase == null || enchantmentDatabase == null)
+        {
+            throw new IllegalArgumentException("Item database and enchantment database cannot be null");
+        }
+
+        this.itemDatabase = itemDatabase;
+        this.enchantmentDatabase = enchantmentDatabase;
+        this.buffer = new ByteArrayOutputStream(256);
+    }
+
+    /**
+     * Method for encoding the character and the enemy stage
+     * - the character is read under its lock, so a save game never holds half of a shop transaction
+     */
+    public synchronized byte[] encode(CharacterPlayer character, int stage) throws InvalidSaveGameException
+    {
+        if(character == null)
+        {
+            throw new IllegalArgumentException("Character cannot be null");
+        }
+
+        buffer.reset();
+        DataOutputStream out = new DataOutputStream(buffer);
+        try
+        {
+            synchronized(character)
+            {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeUTF(character.getName());
+                writeVarInt(out, character.getMaxHealth());
+                writeVarInt(out, character.getHealth());
+                out.writeDouble(character.getGold());
+                writeVarInt(out, stage);
+
+                writeVarInt(out, character.getInventorySize());
+                for(InventoryEntry entry : character.getInventoryEntries())
+                {
+                    this.writeEntry(out, entry);
+                }
+            }
+        }
+        catch(IOException e)
+        {
+            // Writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+
+        return buffer.toByteArray();
+    }
+
+    private void writeEntry(DataOutputStream out, InventoryEntry entry) throws IOException, InvalidSaveGameException
+    {
+        List<Integer> enchantmentIds = new ArrayList<>();
+        GameItem root = this.unwrap(entry.getItem(), enchantmentIds);
+
+        this.writeReference(out, root);
+        writeVarInt(out, entry.getQuantity());
+        out.writeByte(entry.isEquipped() ? EQUIPPED_FLAG : 0);
+        writeEnchantments(out, enchantmentIds);
+    }
+
+    /**
+     * Method for writing a reference to an item - its catalog position, name hash and enchantments
+     * - also used by the event journal to refer to items
+     */
+    void writeItem(DataOutputStream out, GameItem item) throws IOException, InvalidSaveGameException
+    {
+        List<Integer> enchantmentIds = new ArrayList<>();
+        GameItem root = this.unwrap(item, enchantmentIds);
+
+        this.writeReference(out, root);
+        writeEnchantments(out, enchantmentIds);
+    }
+
+    /**
+     * Method for copying an item including its enchantments - clone() of an enchanted weapon drops its enchantments
+     */
+    GameItem copyItem(GameItem item) throws InvalidSaveGameException
+    {
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        try
+        {
+            this.writeItem(new DataOutputStream(copy), item);
+            return this.readItem(new DataInputStream(new ByteArrayInputStream(copy.toByteArray())));
+        }
+        catch(IOException e)
+        {
+            // Copying in memory does not fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method for unwrapping enchantments from the last applied down to the original weapon
+     *
+     * RETURN
+     * - original item, the ids of its enchantments are added to the list from the last applied
+     */
+    private GameItem unwrap(GameItem item, List<Integer> enchantmentIds) throws InvalidSaveGameException
+    {
+        GameItem root = item;
+        while(root instanceof WeaponEnchantment)
+        {
+            if(!(root instanceof DefinedEnchantment))
+            {
+                throw new InvalidSaveGameException("Only enchantments of the enchantment database can be saved");
+            }
+
+            enchantmentIds.add(((DefinedEnchantment) root).getDefinition().getId());
+            root = ((WeaponEnchantment) root).getNext();
+        }
+        return root;
+    }
+
+    private void writeReference(DataOutputStream out, GameItem root) throws IOException, InvalidSaveGameException
+    {
+        int position = itemDatabase.indexOf(root);
+        if(position == -1)
+        {
+            throw new InvalidSaveGameException("Item is not inside the catalog : " + root.getName());
+        }
+
+        writeVarInt(out, position);
+        out.writeInt(ItemIndex.hashName(root.getName()));
+    }
+
+    private static void writeEnchantments(DataOutputStream out, List<Integer> enchantmentIds) throws IOException
+    {
+        writeVarInt(out, enchantmentIds.size());
+        for(int i = enchantmentIds.size() - 1; i >= 0; i--)
+        {
+            writeVarInt(out, enchantmentIds.get(i));
+        }
+    }
+
+    /**
+     * Method for decoding a save game
+     * - the enemy factory is moved to the saved stage
+     *
+     * RETURN
+     * - character with the saved state, without any observers
+     */
+    public CharacterPlayer decode(byte[] data, EnemyFactory enemyFactory) throws InvalidSaveGameException
+    {
+        if(data == null || enemyFactory == null)
+        {
+            throw new IllegalArgumentException("Save game and enemy factory cannot be null");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        try
+        {
+            if(in.readInt() != MAGIC)
+            {
+                throw new InvalidSaveGameException("File is not a save game");
+            }
+
+            int version = in.readUnsignedByte();
+            if(version != VERSION)
+            {
+                throw new InvalidSaveGameException("Save game version " + version + " is not supported");
+            }
+
+            String name = in.readUTF();
+            int maxHealth = readVarInt(in);
+            int health = readVarInt(in);
+            double gold = in.readDouble();
+            int stage = readVarInt(in);
+            if(maxHealth <= 0 || health <= 0 || health > maxHealth || gold < 0)
+            {
+                throw new InvalidSaveGameException("Save game holds an invalid character");
+            }
+
+            CharacterPlayer character = new CharacterPlayer(name, maxHealth, gold);
+            character.setHealth(health);
+
+            WeaponItem equippedWeapon = null;
+            ArmourItem equippedArmour = null;
+            int entryCount = readVarInt(in);
+            for(int i = 0; i < entryCount; i++)
+            {
+                int position = readVarInt(in);
+                int nameHash = in.readInt();
+                int quantity = readVarInt(in);
+                boolean equipped = (in.readUnsignedByte() & EQUIPPED_FLAG) != 0;
+                GameItem item = this.readItem(in, position, nameHash);
+
+                character.addToInventory(item, quantity);
+                if(equipped && item instanceof WeaponItem)
+                {
+                    equippedWeapon = (WeaponItem) item;
+                }
+                else if(equipped && item instanceof ArmourItem)
+                {
+                    equippedArmour = (ArmourItem) item;
+                }
+            }
+
+            if(equippedWeapon == null || equippedArmour == null)
+            {
+                throw new InvalidSaveGameException("Save game has no equipped weapon or armour");
+            }
+            character.equipWeapon(equippedWeapon);
+            character.equipArmour(equippedArmour);
+
+            enemyFactory.setStage(stage);
+            return character;
+        }
+        catch(IOException e)
+        {
+            throw new InvalidSaveGameException("Save game is incomplete", e);
+        }
+        catch(CharacterPlayerException | IllegalArgumentException e)
+        {
+            throw new InvalidSaveGameException("Save game holds an invalid inventory - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method for reading a reference to an item written by writeItem() - a new item is built from the catalog
+     */
+    GameItem readItem(DataInputStream in) throws IOException, InvalidSaveGameException
+    {
+        int position = readVarInt(in);
+        int nameHash = in.readInt();
+        try
+        {
+            return this.readItem(in, position, nameHash);
+        }
+        catch(IllegalArgumentException e)
+        {
+            throw new InvalidSaveGameException("Item refers to an invalid enchantment - " + e.getMessage(), e);
+        }
+    }
+
+    private GameItem readItem(DataInputStream in, int position, int nameHash) throws IOException, InvalidSaveGameException
+    {
+        GameItem item;
+        try
+        {
+            item = itemDatabase.getItem(position).clone();
+        }
+        catch(InvalidItemDatabaseException e)
+        {
+            throw new InvalidSaveGameException("Save game refers to an item missing from the catalog", e);
+        }
+
+        if(ItemIndex.hashName(item.getName()) != nameHash)
+        {
+            throw new InvalidSaveGameException("Save game does not match the catalog at position " + position);
+        }
+
+        int enchantmentCount = readVarInt(in);
+        if(enchantmentCount > 0 && !(item instanceof WeaponItem))
+        {
+            throw new InvalidSaveGameException("Only weapons can be enchanted");
+        }
+
+        for(int i = 0; i < enchantmentCount; i++)
+        {
+            item = new DefinedEnchantment((WeaponItem) item, enchantmentDatabase.retrieve(readVarInt(in)));
+        }
+        return item;
+    }
+
+    /**
+     * Methods for writing and reading non-negative integers in as few bytes as needed, 7 bits per byte
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException
+    {
+        if(value < 0)
+        {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+
+        while(value >= 0x80)
+        {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException, InvalidSaveGameException
+    {
+        int value = 0;
+        for(int shift = 0; shift < 32; shift += 7)
+        {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+            {
+                if(value < 0)
+                {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new InvalidSaveGameException("Save game holds an invalid number");
+    }
+}
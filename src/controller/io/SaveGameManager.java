@@ -0,0 +1,165 @@
+package controller.io;
+
+import controller.battle.BattleController;
+import controller.factory.EnemyFactory;
+import controller.shop.ShopController;
+import controller.shop.ShopTransaction;
+import controller.shop.ShopTransactionObserver;
+import model.player.BattleEndObserver;
+import model.player.CombatPlayer;
+import model.player.character.CharacterPlayer;
+import model.player.character.GameOverObserver;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Logger;
+
+/**
+ * I/O class responsible for keeping the game saved to a file
+ *
+ * This class is responsible for
+ * - loading the saved character and stage when the game starts
+ * - saving the game after every shop transaction and after the character is rewarded for a battle won
+ * - deleting the save game when the game is over, so the next game starts with a new character
+ *
+ * A save game is written to a temporary file first and then moved over the previous save game, therefore the
+ * game is never left with half of a save game if the program stops while saving.
+ *
+ * FIELDS
+ * - path           : Path - file of the save game
+ * - codec          : SaveGameCodec
+ * - enemyFactory   : EnemyFactory - stage is saved and loaded
+ * - character      : CharacterPlayer - character being saved, null until tracked
+ */
+public class SaveGameManager implements ShopTransactionObserver, BattleEndObserver, GameOverObserver
+{
+    /** SaveGameManager specific Fields **/
+    private final Path path;
+    private final Path temporaryPath;
+    private final SaveGameCodec codec;
+    private final EnemyFactory enemyFactory;
+    private CharacterPlayer character;
+
+    /** Logger field */
+    private final Logger logger = ErrorLogger.getInstance().createLogger(SaveGameManager.class.getName());
+
+    public SaveGameManager(Path path, SaveGameCodec codec, EnemyFactory enemyFactory)
+    {
+        if(path == null || codec == null || enemyFactory == null)
+        {
+            throw new IllegalArgumentException("Save game file, codec and enemy factory cannot be null");
+        }
+
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.codec = codec;
+        this.enemyFactory = enemyFactory;
+    }
+
+    /**
+     * Method for checking if a save game exists
+     */
+    public boolean exists()
+    {
+        return Files.isRegularFile(path);
+    }
+
+    /**
+     * Method for loading the saved character - the enemy factory is moved to the saved stage
+     */
+    public CharacterPlayer load() throws IOException, InvalidSaveGameException
+    {
+        return codec.decode(Files.readAllBytes(path), enemyFactory);
+    }
+
+    /**
+     * Method for saving a character and the current stage
+     */
+    public void save(CharacterPlayer character) throws IOException, InvalidSaveGameException
+    {
+        byte[] data = codec.encode(character, enemyFactory.getStage());
+        synchronized(this)
+        {
+            Files.write(temporaryPath, data);
+            try
+            {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch(AtomicMoveNotSupportedException e)
+            {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Method for saving the character whenever its state is worth keeping
+     * - after every shop transaction
+     * - after the character is rewarded for a battle won
+     * - the save game is deleted once the game is over
+     */
+    public void track(CharacterPlayer character, ShopController shopController, BattleController battleController)
+    {
+        if(character == null || shopController == null || battleController == null)
+        {
+            throw new IllegalArgumentException("Character, shop controller and battle controller cannot be null");
+        }
+
+        this.character = character;
+        shopController.addShopTransactionObserver(this);
+        battleController.addBattleRewardObserver(this);
+        character.addGameOverObserver(this);
+    }
+
+    /**
+     * Observer Methods saving the tracked character
+     */
+    @Override
+    public void showShopTransaction(CharacterPlayer character, ShopTransaction transaction)
+    {
+        this.saveTracked();
+    }
+
+    @Override
+    public void showBattleEnd(CombatPlayer deadPlayer)
+    {
+        this.saveTracked();
+    }
+
+    /**
+     * Observer Method deleting the save game when the game is over
+     */
+    @Override
+    public void showEndGame()
+    {
+        try
+        {
+            synchronized(this)
+            {
+                Files.deleteIfExists(path);
+            }
+        }
+        catch(IOException e)
+        {
+            logger.warning("Save game could not be deleted - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Method for saving the tracked character - a failed save is logged, the game goes on
+     */
+    private void saveTracked()
+    {
+        try
+        {
+            this.save(character);
+        }
+        catch(IOException | InvalidSaveGameException e)
+        {
+            logger.warning("Game could not be saved - " + e.getMessage());
+        }
+    }
+}
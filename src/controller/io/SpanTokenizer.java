@@ -0,0 +1,262 @@
+package controller.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Abstract streaming tokenizer for structured item data sources
+ * - reads the data source in large chunks into a single reusable character buffer
+ * - a record is tokenised into spans (start and end positions) over the buffer instead of substrings
+ * - strings are only created for spans that are actually used, numbers are parsed straight from the buffer
+ *
+ * Records may be larger than the buffer - the buffer is compacted and grown as needed while a record is parsed.
+ * Span positions are kept relative to the start of the current record so that compaction does not move them.
+ *
+ * Subclasses define the record syntax through the parseRecord() hook.
+ */
+abstract class SpanTokenizer implements Closeable
+{
+    /** Span flags */
+    static final int ESCAPED = 1;
+    static final int STRING = 2;
+    static final int NUMBER = 4;
+    static final int LITERAL = 8;
+
+    /** Returned by parseRecord() when the end of input is reached before a record starts */
+    static final int END_OF_INPUT = -1;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** SpanTokenizer specific Fields **/
+    private final Reader reader;
+    private char[] buffer;
+    private CharBuffer view;
+    private int recordStart;
+    private int recordLength;
+    private int limit;
+    private boolean endOfInput;
+
+    private int[] starts;
+    private int[] ends;
+    private int[] flags;
+    private int spanCount;
+    private boolean malformed;
+
+    private int lineNumber;
+    private int recordLineNumber;
+
+    SpanTokenizer(Reader reader)
+    {
+        this.reader = reader;
+        this.buffer = new char[DEFAULT_BUFFER_SIZE];
+        this.view = CharBuffer.wrap(buffer);
+        this.starts = new int[16];
+        this.ends = new int[16];
+        this.flags = new int[16];
+        this.lineNumber = 1;
+    }
+
+    /**
+     * Template Method Hook to tokenise the record starting at offset 0
+     *
+     * RETURN
+     * - number of characters consumed by the record, END_OF_INPUT if no record is left
+     */
+    protected abstract int parseRecord() throws IOException;
+
+    /** Template Method Hook to create the string value of an escaped span */
+    protected abstract String unescape(CharSequence chars, int start, int end);
+
+    /**
+     * Method for moving to the next record
+     *
+     * RETURN
+     * - false if there are no records left
+     */
+    public boolean nextRecord() throws IOException
+    {
+        recordStart += recordLength;
+        recordLength = 0;
+        spanCount = 0;
+        malformed = false;
+        recordLineNumber = lineNumber;
+
+        int consumed = this.parseRecord();
+        if(consumed == END_OF_INPUT)
+        {
+            return false;
+        }
+
+        recordLength = consumed;
+        return true;
+    }
+
+    /**
+     * Method for obtaining a character of the current record
+     * - more input is read as needed
+     *
+     * RETURN
+     * - character at the offset from the start of the record, -1 if the end of input is reached
+     */
+    protected final int charAt(int offset) throws IOException
+    {
+        while(recordStart + offset >= limit)
+        {
+            if(!this.fill())
+            {
+                return -1;
+            }
+        }
+        return buffer[recordStart + offset];
+    }
+
+    /** Method for recording a span of the current record - positions are offsets from the start of the record */
+    protected final void addSpan(int start, int end, int spanFlags)
+    {
+        if(spanCount == starts.length)
+        {
+            starts = Arrays.copyOf(starts, spanCount * 2);
+            ends = Arrays.copyOf(ends, spanCount * 2);
+            flags = Arrays.copyOf(flags, spanCount * 2);
+        }
+
+        starts[spanCount] = start;
+        ends[spanCount] = end;
+        flags[spanCount] = spanFlags;
+        spanCount++;
+    }
+
+    protected final void markMalformed()
+    {
+        malformed = true;
+    }
+
+    /** Method for counting a line break consumed by the current record */
+    protected final void newLine()
+    {
+        lineNumber++;
+    }
+
+    /** ACCESSORS */
+    public int getSpanCount()
+    {
+        return spanCount;
+    }
+
+    /** Start of a span - relative to getChars() */
+    public int getStart(int span)
+    {
+        return recordStart + starts[span];
+    }
+
+    /** End of a span (exclusive) - relative to getChars() */
+    public int getEnd(int span)
+    {
+        return recordStart + ends[span];
+    }
+
+    public boolean hasFlag(int span, int flag)
+    {
+        return (flags[span] & flag) != 0;
+    }
+
+    public boolean isMalformed()
+    {
+        return malformed;
+    }
+
+    public int getLineNumber()
+    {
+        return recordLineNumber;
+    }
+
+    /**
+     * Method for obtaining the characters the spans refer to
+     * - only valid until the next record is read
+     */
+    public CharSequence getChars()
+    {
+        return view;
+    }
+
+    /**
+     * Method for comparing a span with a string without creating a new string
+     */
+    public boolean spanEquals(int span, String text)
+    {
+        int start = this.getStart(span);
+        int length = this.getEnd(span) - start;
+        if(length != text.length())
+        {
+            return false;
+        }
+
+        for(int i = 0; i < length; i++)
+        {
+            if(buffer[start + i] != text.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method for creating the string value of a span
+     */
+    public String getString(int span)
+    {
+        int start = this.getStart(span);
+        int end = this.getEnd(span);
+
+        if(this.hasFlag(span, ESCAPED))
+        {
+            return this.unescape(view, start, end);
+        }
+        return new String(buffer, start, end - start);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+
+    /**
+     * Method for reading more input into the buffer
+     * - consumed records are discarded first, the buffer only grows if the current record fills it
+     */
+    private boolean fill() throws IOException
+    {
+        if(endOfInput)
+        {
+            return false;
+        }
+
+        if(recordStart > 0)
+        {
+            System.arraycopy(buffer, recordStart, buffer, 0, limit - recordStart);
+            limit -= recordStart;
+            recordStart = 0;
+        }
+
+        if(limit == buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            view = CharBuffer.wrap(buffer);
+        }
+
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if(read == -1)
+        {
+            endOfInput = true;
+            return false;
+        }
+
+        limit += read;
+        return true;
+    }
+}
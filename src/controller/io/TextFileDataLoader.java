@@ -1,7 +1,7 @@
 package controller.io;
 
-import controller.factory.InvalidItemFactoryException;
 import controller.factory.ItemFactory;
+import controller.factory.ItemRejection;
 import model.item.GameItem;
 
 import java.io.BufferedReader;
@@ -15,18 +15,19 @@ import java.util.logging.Logger;
 
 /**
  * Strategy class TextFileDataLoader implementing ItemDatabaseLoader interface
- * - logs if any warning detected when parsing in items from data source
+ * - records rejected lines while parsing and logs a single summarised report once loading is done
  * - contains load() strategy method which returns a list of game items
  */
 public class TextFileDataLoader implements ItemDatabaseLoader
 {
-    private static final String filename = "./item_database.txt";
+    static final String filename = "./item_database.txt";
+
     private final Logger logger = ErrorLogger.getInstance().createLogger(TextFileDataLoader.class.getName());
-    private final ItemFactory itemFactory;
+    private final ItemRecordProcessor processor;
 
     public TextFileDataLoader(ItemFactory itemFactory)
     {
-        this.itemFactory = itemFactory;
+        this.processor = new ItemRecordProcessor(itemFactory, logger);
     }
 
     @Override
@@ -34,12 +35,13 @@ public class TextFileDataLoader implements ItemDatabaseLoader
     {
         // Do not want to have the logger output warnings to user
         logger.setUseParentHandlers(false);
-        try
-        {
-            File file = new File(filename);
-            BufferedReader bfrReader = new BufferedReader(new FileReader(file));
 
+        // Rejected lines are only recorded while loading and reported once at the end
+        LoaderDiagnostics diagnostics = new LoaderDiagnostics(filename);
+        try(BufferedReader bfrReader = new BufferedReader(new FileReader(new File(filename))))
+        {
             String line = bfrReader.readLine();
+            int lineNumber = 1;
 
             List<GameItem> items = new LinkedList<>();
             while(line != null)
@@ -47,21 +49,14 @@ public class TextFileDataLoader implements ItemDatabaseLoader
                 /* Ignore Blank Lines - trim() removes leading and trailing spaces */
                 if(line.trim().length() > 0)
                 {
-                    try
+                    GameItem newItem = this.processLine(line, lineNumber, diagnostics);
+                    if(newItem != null)
                     {
-                        GameItem newItem = this.processLine(line);
-                        if(newItem != null)
-                        {
-                            items.add(newItem);
-                        }
-                    }
-                    catch (ItemManagerException e)
-                    {
-                        // Item is not valid item - therefore must be a warning in error.log and continue without crashing
-                        logger.warning(e.getMessage() + "\n * * Moving on without parsing this line\n");
+                        items.add(newItem);
                     }
                 }
                 line = bfrReader.readLine();
+                lineNumber++;
             }
 
             return items;
@@ -71,63 +66,39 @@ public class TextFileDataLoader implements ItemDatabaseLoader
             // Fatal exception - let main handle
             throw new InvalidItemDataSourceException("Unable to read file - " +filename);
         }
+        finally
+        {
+            diagnostics.report(logger);
+        }
     }
 
     /**
      * Method for processing each line of a text file
+     * - invalid lines are recorded inside the diagnostics and null is returned
      */
-    private GameItem processLine(String line) throws ItemManagerException
+    GameItem processLine(String line, int lineNumber, LoaderDiagnostics diagnostics)
     {
-        // Attempt to create item
-
         /* Split parameters */
         String[] parameters = line.split(",");
         if(parameters.length < 6)
         {
-            // Item already exists in database - therefore only as info and can be ignored
-            throw new ItemManagerException("Item input from data cannot be parsed - not enough information");
+            diagnostics.reject(lineNumber, ItemRejection.TOO_FEW_FIELDS);
+            return null;
         }
 
-        try
-        {
-            /* Obtain common parameters */
-            String itemType = parameters[0].trim();
-            /* Remove leading whitespace from name*/
-            String itemName = parameters[1].trim();
-            /* Remove all whitespace from numerical parameters*/
-            int itemMin = Integer.parseInt(parameters[2].replaceAll("\\s", ""));
-            int itemMax = Integer.parseInt(parameters[3].replaceAll("\\s", ""));
-            int itemCost = Integer.parseInt(parameters[4].replaceAll("\\s", ""));
-            // Create copy of the attribute array
-            String[] attributes = Arrays.copyOfRange(parameters, 5, parameters.length);
+        /* Obtain common parameters */
+        String itemType = parameters[0].trim();
+        /* Remove leading whitespace from name*/
+        String itemName = parameters[1].trim();
+        /* Remove all whitespace from numerical parameters*/
+        long itemMin = ItemRecordProcessor.parseInteger(parameters[2]);
+        long itemMax = ItemRecordProcessor.parseInteger(parameters[3]);
+        long itemCost = ItemRecordProcessor.parseInteger(parameters[4]);
 
-            // Create and Add new item
-            return this.createItem(itemType, itemName, itemMin, itemMax, itemCost, attributes);
-        }
-        catch(NumberFormatException e)
-        {
-            // If Integer.parseInt() fails...
-            throw new ItemManagerException("Integer parameters cannot be parsed : minEffect, maxEffect, and/or cost");
-        }
-    }
-
-    /**
-     * Method for creating the item based on import parameters
-     * - If item factory exception is caught, simply log to error.log
-     */
-    private GameItem createItem(String type, String name, int minEffect, int maxEffect, int cost, String[] attributes)
-    {
-        GameItem newItem = null;
-        try
-        {
-            newItem = itemFactory.createItem(type, name, minEffect, maxEffect, cost, attributes);
-        }
-        catch (InvalidItemFactoryException e)
-        {
-            // Item already exists in database - therefore only as info and can be ignored
-            logger.info("Attempted to add item to database but received error : " + e.getMessage() + "\n * * Moving on without parsing this line\n");
-        }
+        // Create copy of the attribute array
+        String[] attributes = Arrays.copyOfRange(parameters, 5, parameters.length);
 
-        return newItem;
+        // Create new item - validated first so that no error message is formatted for rejected lines
+        return processor.create(itemType, itemName, itemMin, itemMax, itemCost, attributes, lineNumber, diagnostics);
     }
 }
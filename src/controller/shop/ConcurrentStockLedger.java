@@ -0,0 +1,187 @@
+package controller.shop;
+
+import model.item.GameItem;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controller class for a shared stock ledger with lock-free counters
+ * - every item template has its own counter, taking and restocking update it with compare-and-swap
+ * - buyers therefore only contend on the items they actually buy and never wait for a lock
+ * - templates are tracked the first time they are bought, starting with the default stock, so the catalog does not
+ *   need to be stocked up front - the stock of a template not tracked yet is therefore the default stock, not
+ *   StockLedger.UNLIMITED
+ *
+ * Restocking adds a fixed amount to every counter, up to the stock the counter started with. Items sold back to the
+ * shop are added on top and may take a counter above that stock. A counter packs its stock and the stock it is
+ * restocked up to into a single long, so setting both at once is never seen half done by a restock.
+ *
+ * FIELDS
+ * - counters       : Map of Key = item description, Value = Counter
+ * - defaultStock   : int - stock of a template when first tracked
+ * - restockAmount  : int - amount added to every counter by restock()
+ */
+public class ConcurrentStockLedger implements StockLedger
+{
+    private final Map<String, Counter> counters;
+    private final int defaultStock;
+    private final int restockAmount;
+
+    public ConcurrentStockLedger(int defaultStock, int restockAmount)
+    {
+        if(defaultStock < 0)
+        {
+            throw new IllegalArgumentException("Default stock cannot be negative");
+        }
+
+        if(restockAmount < 0)
+        {
+            throw new IllegalArgumentException("Restock amount cannot be negative");
+        }
+
+        this.counters = new ConcurrentHashMap<>();
+        this.defaultStock = defaultStock;
+        this.restockAmount = restockAmount;
+    }
+
+    /**
+     * Method for setting the stock of an item - also the stock it is restocked up to
+     * - the counter of a tracked item is kept, so buyers already holding it keep taking from the same stock
+     */
+    public void setStock(GameItem item, int quantity)
+    {
+        if(quantity < 0)
+        {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+
+        Counter counter = counters.putIfAbsent(getKey(item), new Counter(quantity));
+        if(counter != null)
+        {
+            counter.state.set(Counter.pack(quantity, quantity));
+        }
+    }
+
+    @Override
+    public int getStock(GameItem item)
+    {
+        Counter counter = counters.get(getKey(item));
+        return counter == null ? defaultStock : Counter.countOf(counter.state.get());
+    }
+
+    @Override
+    public boolean take(GameItem item, int quantity)
+    {
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        Counter counter = counters.computeIfAbsent(getKey(item), key -> new Counter(defaultStock));
+        while(true)
+        {
+            long state = counter.state.get();
+            int stock = Counter.countOf(state);
+            if(stock < quantity)
+            {
+                return false;
+            }
+
+            if(counter.state.compareAndSet(state, Counter.pack(Counter.capacityOf(state), stock - quantity)))
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Method for returning items to stock - items never bought from this ledger are not tracked
+     */
+    @Override
+    public void put(GameItem item, int quantity)
+    {
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        Counter counter = counters.get(getKey(item));
+        if(counter != null)
+        {
+            while(true)
+            {
+                long state = counter.state.get();
+                if(counter.state.compareAndSet(state, Counter.pack(Counter.capacityOf(state), Counter.countOf(state) + quantity)))
+                {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for restocking every tracked item by the restock amount, up to the stock it started with
+     * - counters are restocked one at a time, buyers are never blocked
+     */
+    public void restock()
+    {
+        for(Counter counter : counters.values())
+        {
+            while(true)
+            {
+                long state = counter.state.get();
+                int stock = Counter.countOf(state);
+                int capacity = Counter.capacityOf(state);
+                if(stock >= capacity)
+                {
+                    break;
+                }
+
+                if(counter.state.compareAndSet(state, Counter.pack(capacity, Math.min(capacity, stock + restockAmount))))
+                {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String getKey(GameItem item)
+    {
+        if(item == null)
+        {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        return item.toString();
+    }
+
+    /**
+     * Stock of a single item template - the stock it is restocked up to in the high half of the state, the stock left
+     * in the low half
+     */
+    private static final class Counter
+    {
+        private final AtomicLong state;
+
+        private Counter(int capacity)
+        {
+            this.state = new AtomicLong(pack(capacity, capacity));
+        }
+
+        private static long pack(int capacity, int count)
+        {
+            return ((long) capacity << 32) | (count & 0xFFFFFFFFL);
+        }
+
+        private static int capacityOf(long state)
+        {
+            return (int) (state >>> 32);
+        }
+
+        private static int countOf(long state)
+        {
+            return (int) state;
+        }
+    }
+}
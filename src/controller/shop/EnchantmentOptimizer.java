@@ -0,0 +1,261 @@
+package controller.shop;
+
+import model.enchantment.DamageDistribution;
+import model.enchantment.EnchantmentDatabase;
+import model.enchantment.EnchantmentDefinition;
+import model.item.weapon.WeaponItem;
+import model.player.enemy.EnemyPlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Controller class for finding the best enchantments a character can afford for a weapon
+ * - works on damage distributions, so truncation of multipliers and random bonuses are accounted for
+ * - order of enchantments matters since multipliers only apply to the enchantments below them
+ *
+ * The search is a dynamic program over (gold spent, damage distribution of the chain so far). Every enchantment maps
+ * a distribution that deals more damage to one that deals more damage, therefore a chain whose damage is dominated by
+ * a chain costing the same or less can never lead to a better result and is dropped. This merges chains reaching the
+ * same distribution, e.g. "Damage +2, Damage +5" and "Damage +5, Damage +2", and drops chains that apply bonuses
+ * above a multiplier instead of below it.
+ *
+ * The search works within a bounded budget, so its time and memory do not grow with the gold of the character
+ * - distributions are held on the bounded grid of DamageDistribution
+ * - only the gold amounts chains actually reach are tabled, and at most MAX_CHAINS_PER_SPEND chains with the highest
+ *   expected damage are kept for each of them
+ * - at most MAX_EXTENDED_CHAINS chains are extended, the best chain found by then is recommended
+ * While no gold amount reaches MAX_CHAINS_PER_SPEND chains and the search ends within MAX_EXTENDED_CHAINS, the result
+ * is exact, otherwise it is the best plan found within the budget.
+ *
+ * Enchantments that cost no gold are never recommended since they could be stacked forever.
+ */
+public class EnchantmentOptimizer
+{
+    /** Values closer than this are treated as equal - the cheaper chain is preferred */
+    private static final double TOLERANCE = 1e-9;
+
+    /** Budget of a single query */
+    private static final int MAX_CHAINS_PER_SPEND = 4;
+    private static final int MAX_EXTENDED_CHAINS = 2000;
+
+    private final EnchantmentDatabase enchantmentDatabase;
+
+    public EnchantmentOptimizer(EnchantmentDatabase enchantmentDatabase)
+    {
+        if(enchantmentDatabase == null)
+        {
+            throw new IllegalArgumentException("Enchantment database cannot be null");
+        }
+
+        this.enchantmentDatabase = enchantmentDatabase;
+    }
+
+    /**
+     * Method for finding the enchantments which maximise the expected damage of a single strike
+     */
+    public EnchantmentPlan maximiseExpectedDamage(WeaponItem weapon, int gold)
+    {
+        return this.optimise(weapon, gold, DamageDistribution::getExpectedDamage);
+    }
+
+    /**
+     * Method for finding the enchantments which maximise the probability of defeating an enemy within a number of strikes
+     * - every strike is reduced by the enemy's defence roll, the same way EnemyPlayer blocks damage
+     * - enemy special abilities are not taken into account
+     */
+    public EnchantmentPlan maximiseKillProbability(WeaponItem weapon, int gold, EnemyPlayer enemy, int strikes)
+    {
+        if(enemy == null)
+        {
+            throw new IllegalArgumentException("Enemy cannot be null");
+        }
+
+        if(strikes <= 0)
+        {
+            throw new IllegalArgumentException("Number of strikes must be positive");
+        }
+
+        int minBlock = enemy.getMinDefence() + 1;
+        int maxBlock = Math.max(enemy.getMaxDefence(), minBlock);
+        int health = enemy.getHealth();
+
+        return this.optimise(weapon, gold, distribution ->
+                killProbability(distribution.addUniform(-maxBlock, -minBlock).atLeast(0), health, strikes));
+    }
+
+    /**
+     * Method for calculating the probability that the total damage of a number of strikes reaches the health
+     */
+    static double killProbability(DamageDistribution damage, int health, int strikes)
+    {
+        if(health <= 0)
+        {
+            return 1.0;
+        }
+
+        // Total damage is capped at health since any damage beyond it defeats the enemy just the same
+        double[] totals = new double[health + 1];
+        totals[0] = 1.0;
+        for(int strike = 0; strike < strikes; strike++)
+        {
+            double[] next = new double[health + 1];
+            next[health] = totals[health];
+            for(int total = 0; total < health; total++)
+            {
+                if(totals[total] == 0.0)
+                {
+                    continue;
+                }
+
+                for(int i = 0; i < damage.getSize(); i++)
+                {
+                    int dealt = damage.getDamage(i);
+                    next[(int) Math.max(0, Math.min((long) total + dealt, health))] += totals[total] * damage.getProbabilityAt(i);
+                }
+            }
+            totals = next;
+        }
+        return Math.min(totals[health], 1.0);
+    }
+
+    private EnchantmentPlan optimise(WeaponItem weapon, int gold, ToDoubleFunction<DamageDistribution> objective)
+    {
+        if(weapon == null)
+        {
+            throw new IllegalArgumentException("Weapon cannot be null");
+        }
+
+        // Only enchantments that are ever affordable take part in the search
+        List<EnchantmentDefinition> candidates = new ArrayList<>();
+        for(EnchantmentDefinition enchantment : enchantmentDatabase.retrieveAll())
+        {
+            if(enchantment.getCost() > 0 && enchantment.getCost() <= gold)
+            {
+                candidates.add(enchantment);
+            }
+        }
+
+        Chain best = new Search(candidates, Math.max(gold, 0)).run(DamageDistribution.of(weapon), objective);
+
+        LinkedList<EnchantmentDefinition> enchantments = new LinkedList<>();
+        for(Chain chain = best; chain.enchantment != null; chain = chain.previous)
+        {
+            enchantments.addFirst(chain.enchantment);
+        }
+        return new EnchantmentPlan(enchantments, best.value, best.distribution);
+    }
+
+    /**
+     * Dynamic program of a single query
+     * - chains are extended in order of gold spent, one enchantment at a time
+     * - table of chains by gold spent only keeps chains whose damage is not dominated by a chain costing the same or
+     *   less, and only the ones with the highest expected damage once a gold amount holds too many
+     */
+    private static final class Search
+    {
+        private final List<EnchantmentDefinition> candidates;
+        private final int gold;
+        private final TreeMap<Integer, List<Chain>> chainsBySpent;
+
+        private Search(List<EnchantmentDefinition> candidates, int gold)
+        {
+            this.candidates = candidates;
+            this.gold = gold;
+            this.chainsBySpent = new TreeMap<>();
+        }
+
+        private Chain run(DamageDistribution base, ToDoubleFunction<DamageDistribution> objective)
+        {
+            Chain best = new Chain(null, null, base, 0);
+            chainsBySpent.put(0, new ArrayList<>(Collections.singletonList(best)));
+
+            int extended = 0;
+            while(!chainsBySpent.isEmpty() && extended < MAX_EXTENDED_CHAINS)
+            {
+                // Chains of this amount of gold are no longer needed once extended
+                Map.Entry<Integer, List<Chain>> entry = chainsBySpent.pollFirstEntry();
+                int spent = entry.getKey();
+                for(Chain chain : entry.getValue())
+                {
+                    // Chains are only evaluated once they can no longer be dominated by a cheaper chain
+                    chain.value = objective.applyAsDouble(chain.distribution);
+                    if(chain.value > best.value + TOLERANCE)
+                    {
+                        best = chain;
+                    }
+
+                    for(EnchantmentDefinition enchantment : candidates)
+                    {
+                        int cost = spent + enchantment.getCost();
+                        if(cost <= gold)
+                        {
+                            this.add(new Chain(chain, enchantment, enchantment.applyTo(chain.distribution), cost), spent);
+                        }
+                    }
+                    extended++;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Method for adding a chain to the table unless a chain costing the same or less deals at least as much damage
+         * - chains costing the same that the new chain dominates are removed
+         * - the chain with the lowest expected damage is removed once the gold amount holds too many chains
+         */
+        private void add(Chain chain, int extended)
+        {
+            double expected = chain.distribution.getExpectedDamage();
+            for(List<Chain> chains : chainsBySpent.subMap(extended, false, chain.cost, true).values())
+            {
+                for(Chain other : chains)
+                {
+                    if(other.expectedDamage >= expected - TOLERANCE && chain.distribution.isDominatedBy(other.distribution))
+                    {
+                        return;
+                    }
+                }
+            }
+
+            List<Chain> chains = chainsBySpent.computeIfAbsent(chain.cost, cost -> new ArrayList<>());
+            chains.removeIf(other -> other.expectedDamage <= expected + TOLERANCE
+                    && other.distribution.isDominatedBy(chain.distribution));
+
+            chain.expectedDamage = expected;
+            chains.add(chain);
+            if(chains.size() > MAX_CHAINS_PER_SPEND)
+            {
+                chains.remove(Collections.min(chains, Comparator.comparingDouble(other -> other.expectedDamage)));
+            }
+        }
+    }
+
+    /**
+     * Chain of enchantments - the last enchantment applied and the chain it was applied to
+     */
+    private static final class Chain
+    {
+        private final Chain previous;
+        private final EnchantmentDefinition enchantment;
+        private final DamageDistribution distribution;
+        private final int cost;
+        private double expectedDamage;
+        private double value;
+
+        private Chain(Chain previous, EnchantmentDefinition enchantment, DamageDistribution distribution, int cost)
+        {
+            this.previous = previous;
+            this.enchantment = enchantment;
+            this.distribution = distribution;
+            this.cost = cost;
+            this.expectedDamage = distribution.getExpectedDamage();
+        }
+    }
+}
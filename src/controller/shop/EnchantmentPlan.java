@@ -0,0 +1,90 @@
+package controller.shop;
+
+import model.enchantment.DamageDistribution;
+import model.enchantment.EnchantmentDefinition;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Controller class for the result of an EnchantmentOptimizer query
+ * - immutable
+ * - enchantments are listed in the order they must be applied, the first one wraps the weapon itself
+ *
+ * FIELDS
+ * - enchantments   : List of EnchantmentDefinition
+ * - totalCost      : int
+ * - value          : double - value of the optimised objective
+ * - distribution   : DamageDistribution - damage of a strike once all enchantments are applied
+ */
+public class EnchantmentPlan
+{
+    /** EnchantmentPlan specific Fields **/
+    private final List<EnchantmentDefinition> enchantments;
+    private final int totalCost;
+    private final double value;
+    private final DamageDistribution distribution;
+
+    EnchantmentPlan(List<EnchantmentDefinition> enchantments, double value, DamageDistribution distribution)
+    {
+        this.enchantments = Collections.unmodifiableList(enchantments);
+        this.value = value;
+        this.distribution = distribution;
+
+        int cost = 0;
+        for(EnchantmentDefinition enchantment : enchantments)
+        {
+            cost += enchantment.getCost();
+        }
+        this.totalCost = cost;
+    }
+
+    /** ACCESSORS */
+    public List<EnchantmentDefinition> getEnchantments()
+    {
+        return enchantments;
+    }
+
+    public int getTotalCost()
+    {
+        return totalCost;
+    }
+
+    public double getValue()
+    {
+        return value;
+    }
+
+    public DamageDistribution getDistribution()
+    {
+        return distribution;
+    }
+
+    public boolean isEmpty()
+    {
+        return enchantments.isEmpty();
+    }
+
+    /**
+     * To string method for showing the enchantments in the order they must be applied
+     */
+    @Override
+    public String toString()
+    {
+        if(enchantments.isEmpty())
+        {
+            return "No enchantments";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for(EnchantmentDefinition enchantment : enchantments)
+        {
+            if(builder.length() > 0)
+            {
+                builder.append(" -> ");
+            }
+            builder.append(enchantment.getName());
+        }
+        return builder.append(" (").append(totalCost).append(" gold)").toString();
+    }
+}
@@ -0,0 +1,183 @@
+package controller.shop;
+
+import model.item.GameItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Controller class for adjusting shop prices to recent demand
+ * - every item template has a demand counter, increased by items bought and decreased by items sold
+ * - demand decays exponentially over time, so only recent trades matter
+ * - price of an item is its cost scaled by its demand, within MIN_MULTIPLIER and MAX_MULTIPLIER of its cost
+ *
+ * Recording a trade only updates a single counter in O(1). Prices are read from a table that is republished by
+ * publish(), typically at a fixed rate through a ShopScheduler, so reading a price never computes it. Items that
+ * were not traded before the last publish are sold at their cost.
+ *
+ * FIELDS
+ * - counters         : Map of Key = item description, Value = DemandCounter
+ * - prices           : Map of Key = item description, Value = price - replaced as a whole on every publish
+ * - discountedItems  : List of GameItem priced below their cost by the last publish
+ * - decayRate        : double - decay of demand per nanosecond
+ * - elasticity       : double - change of the price multiplier per item of demand
+ * - clock            : LongSupplier - time in nanoseconds
+ */
+public class PricingEngine
+{
+    /** Bounds of the price multiplier */
+    public static final double MIN_MULTIPLIER = 0.5;
+    public static final double MAX_MULTIPLIER = 2.0;
+
+    private final Map<String, DemandCounter> counters;
+    private volatile Map<String, Integer> prices;
+    private volatile List<GameItem> discountedItems;
+    private final double decayRate;
+    private final double elasticity;
+    private final LongSupplier clock;
+
+    public PricingEngine(double halfLifeSeconds, double elasticity)
+    {
+        this(halfLifeSeconds, elasticity, System::nanoTime);
+    }
+
+    /**
+     * CONSTRUCTOR - with the clock demand decays by, e.g. a simulated clock for reproducible sessions
+     */
+    public PricingEngine(double halfLifeSeconds, double elasticity, LongSupplier clock)
+    {
+        if(halfLifeSeconds <= 0.0)
+        {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+
+        if(elasticity < 0.0)
+        {
+            throw new IllegalArgumentException("Elasticity cannot be negative");
+        }
+
+        if(clock == null)
+        {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        this.counters = new ConcurrentHashMap<>();
+        this.prices = Collections.emptyMap();
+        this.discountedItems = Collections.emptyList();
+        this.decayRate = Math.log(2.0) / (halfLifeSeconds * 1e9);
+        this.elasticity = elasticity;
+        this.clock = clock;
+    }
+
+    /**
+     * Method for recording a trade in O(1)
+     * - quantity is positive for items bought by characters and negative for items sold to the shop
+     */
+    public void recordTrade(GameItem item, int quantity)
+    {
+        counters.computeIfAbsent(getKey(item), key -> new DemandCounter(item))
+                .add(quantity, clock.getAsLong(), decayRate);
+    }
+
+    /**
+     * Method for obtaining the price of buying an item from the last published table
+     */
+    public int getBuyPrice(GameItem item)
+    {
+        Integer price = prices.get(getKey(item));
+        return price == null ? item.getCost() : price;
+    }
+
+    /**
+     * Method for obtaining the price of selling an item to the shop - half its buy price
+     */
+    public int getSellPrice(GameItem item)
+    {
+        return this.getBuyPrice(item) / 2;
+    }
+
+    /**
+     * Method for recomputing the price of every traded item and publishing the new table
+     * - prices read while publishing come from the previous table
+     */
+    public void publish()
+    {
+        long now = clock.getAsLong();
+        Map<String, Integer> published = new HashMap<>();
+        List<GameItem> discounted = new ArrayList<>();
+        for(Map.Entry<String, DemandCounter> counter : counters.entrySet())
+        {
+            int price = this.price(counter.getValue(), now);
+            published.put(counter.getKey(), price);
+            if(price < counter.getValue().item.getCost())
+            {
+                discounted.add(counter.getValue().item);
+            }
+        }
+        prices = Collections.unmodifiableMap(published);
+        discountedItems = Collections.unmodifiableList(discounted);
+    }
+
+    /**
+     * Method for obtaining the items priced below their cost by the last published table - every other item costs
+     * at least its cost
+     */
+    public List<GameItem> getDiscountedItems()
+    {
+        return discountedItems;
+    }
+
+    private int price(DemandCounter counter, long now)
+    {
+        double multiplier = 1.0 + elasticity * counter.getDemand(now, decayRate);
+        multiplier = Math.max(MIN_MULTIPLIER, Math.min(MAX_MULTIPLIER, multiplier));
+        return (int) Math.round(counter.item.getCost() * multiplier);
+    }
+
+    private static String getKey(GameItem item)
+    {
+        if(item == null)
+        {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        return item.toString();
+    }
+
+    /**
+     * Exponentially decayed demand of a single item template
+     * - demand is stored as of the last update and decayed lazily when read or updated
+     */
+    private static final class DemandCounter
+    {
+        private final GameItem item;
+        private double demand;
+        private long lastUpdate;
+        private boolean updated;
+
+        private DemandCounter(GameItem item)
+        {
+            this.item = item;
+        }
+
+        private synchronized void add(int quantity, long now, double decayRate)
+        {
+            demand = this.getDemand(now, decayRate) + quantity;
+            lastUpdate = now;
+            updated = true;
+        }
+
+        private synchronized double getDemand(long now, double decayRate)
+        {
+            if(!updated)
+            {
+                return 0.0;
+            }
+            return demand * Math.exp(-decayRate * Math.max(0L, now - lastUpdate));
+        }
+    }
+}
@@ -2,23 +2,75 @@ package controller.shop;
 
 import controller.factory.EnchantmentFactory;
 import controller.factory.InvalidEnchantmentFactoryException;
+import model.enchantment.EnchantmentDefinition;
 import model.item.GameItem;
 import model.item.weapon.WeaponItem;
 import model.player.character.CharacterPlayer;
 import model.player.character.CharacterPlayerException;
+import model.player.character.Inventory;
+import model.player.character.InventoryEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Controller class for facilitating shop-related actions
  * - character buy item from shop
  * - character sell item from inventory
  * - weapon can be enchanted
+ *
+ * Every action is a transaction over the character's gold and inventory. The character is read and the changes are
+ * validated and prepared without holding its lock, then committed only if the character has not changed in the
+ * meantime - otherwise the action is retried. A character can therefore be used by several threads at once, e.g. a
+ * player session and an automatic selling job, and a batch either completes entirely or leaves the character untouched,
+ * since CharacterPlayer rolls back a commit which fails part way.
+ *
+ * Characters trading on a shared market use the same StockLedger. Stock is taken before a purchase is committed and
+ * given back if the purchase does not go through. Without a ledger the shop has unlimited supply.
+ *
+ * Prices come from a PricingEngine if one is given, which is told about every completed trade. Without an engine
+ * items are bought at their cost and sold at half of it.
+ *
+ * Observers are notified once per action, whatever its size.
+ *
+ * OBSERVERS
+ * - shopTransactionObservers : List of ShopTransactionObserver
  */
 public class ShopController
 {
+    /** Number of times an action is attempted before giving up on a character that keeps changing */
+    private static final int MAX_ATTEMPTS = 16;
+
     private final EnchantmentFactory enchantmentFactory;
     private final CharacterPlayer character;
+    private final StockLedger stockLedger;
+    private final PricingEngine pricingEngine;
+
+    /** List of observers **/
+    private final List<ShopTransactionObserver> shopTransactionObservers;
 
     public ShopController(CharacterPlayer character, EnchantmentFactory enchantmentFactory)
+    {
+        this(character, enchantmentFactory, null);
+    }
+
+    /**
+     * CONSTRUCTOR - with a stock ledger shared by every character trading on the same market
+     * - stock ledger may be null for unlimited supply
+     */
+    public ShopController(CharacterPlayer character, EnchantmentFactory enchantmentFactory, StockLedger stockLedger)
+    {
+        this(character, enchantmentFactory, stockLedger, null);
+    }
+
+    /**
+     * CONSTRUCTOR - with a stock ledger and a pricing engine shared by every character trading on the same market
+     * - stock ledger may be null for unlimited supply
+     * - pricing engine may be null for fixed prices
+     */
+    public ShopController(CharacterPlayer character, EnchantmentFactory enchantmentFactory, StockLedger stockLedger, PricingEngine pricingEngine)
     {
         if(character == null)
         {
@@ -32,6 +84,9 @@ public class ShopController
 
         this.character = character;
         this.enchantmentFactory = enchantmentFactory;
+        this.stockLedger = stockLedger;
+        this.pricingEngine = pricingEngine;
+        this.shopTransactionObservers = Collections.synchronizedList(new LinkedList<>());
     }
 
     /**
@@ -40,26 +95,100 @@ public class ShopController
      * - checks if Character has enough gold
      */
     public void buy(GameItem item) throws InvalidShopActionException
+    {
+        this.buy(item, 1);
+    }
+
+    /**
+     * Method for buying a quantity of the same item
+     * - checks if item and quantity are valid
+     * - checks if enough is in stock
+     * - checks once if Character has enough gold for all of them
+     *
+     * NOTE - Identical unenchanted items are stacked by the inventory, so a single clone is added with the whole
+     * quantity instead of one clone per item.
+     */
+    public void buy(GameItem item, int quantity) throws InvalidShopActionException
     {
         if (item == null)
         {
             throw new InvalidShopActionException("Item cannot be null");
         }
 
-        int cost = item.getCost();
-        double characterGold = character.getGold();
-
-        if(characterGold < cost)
+        if(quantity <= 0)
         {
-            throw new InvalidShopActionException("Not enough gold");
+            throw new InvalidShopActionException("Quantity must be positive");
         }
 
+        // Long arithmetic so that large quantities cannot overflow into an affordable cost
+        long cost = (long) this.getBuyPrice(item) * quantity;
+
+        // Bought items are prepared once, outside of the character's lock
         GameItem boughtItem = item.clone();
         System.out.println(boughtItem.toString());
-        // Update character's gold based on cost of purchase
-        character.setGold(character.getGold() - cost);
-        // Add to inventory newly bought item
-        character.addToInventory(boughtItem);
+        List<GameItem> boughtItems = new ArrayList<>();
+        boughtItems.add(boughtItem);
+        if(!Inventory.isStackable(boughtItem))
+        {
+            for(int i = 1; i < quantity; i++)
+            {
+                boughtItems.add(item.clone());
+            }
+        }
+
+        if(stockLedger != null && !stockLedger.take(item, quantity))
+        {
+            throw new InvalidShopActionException("Not enough in stock");
+        }
+
+        boolean bought = false;
+        try
+        {
+            this.transact(version ->
+            {
+                if(character.getGold() < cost)
+                {
+                    throw new InvalidShopActionException("Not enough gold");
+                }
+
+                boolean committed = character.commit(version, () ->
+                {
+                    // Update character's gold based on cost of purchase
+                    character.setGold(character.getGold() - cost);
+                    // Add to inventory newly bought items
+                    if(boughtItems.size() == 1)
+                    {
+                        character.addToInventory(boughtItem, quantity);
+                    }
+                    else
+                    {
+                        for(GameItem nextItem : boughtItems)
+                        {
+                            character.addToInventory(nextItem);
+                        }
+                    }
+                });
+                return committed ? new ShopTransaction(ShopTransaction.Type.BUY, item.getName(), quantity, -cost) : null;
+            });
+            bought = true;
+
+            if(pricingEngine != null)
+            {
+                pricingEngine.recordTrade(item, quantity);
+            }
+        }
+        catch(CharacterPlayerException e)
+        {
+            throw new InvalidShopActionException("Purchase could not be finalised. " + e.getMessage(), e);
+        }
+        finally
+        {
+            // Stock goes back to the market if the purchase did not go through
+            if(!bought && stockLedger != null)
+            {
+                stockLedger.put(item, quantity);
+            }
+        }
     }
 
     /**
@@ -69,25 +198,143 @@ public class ShopController
      * - checks if the item is currently equipped
      */
     public void sell(GameItem item) throws InvalidShopActionException
+    {
+        this.sell(item, 1);
+    }
+
+    /**
+     * Method for selling a quantity of the same item
+     * - checks if item and quantity are valid
+     * - checks if character has enough of the item, the last of an equipped item cannot be sold
+     */
+    public void sell(GameItem item, int quantity) throws InvalidShopActionException
     {
         if(item == null)
         {
             throw new InvalidShopActionException("Item must be null");
         }
 
-        if(!character.hasItem(item))
+        if(quantity <= 0)
         {
-            throw new InvalidShopActionException("Item not found in inventory");
+            throw new InvalidShopActionException("Quantity must be positive");
         }
 
         try
         {
-            // Remove from inventory since item is sold
-            character.removeFromInventory(item);
-            // Sale price is only 50% of total price of item
-            int profit = item.getCost() / 2;
-            // Update character's gold based on sale profit
-            character.setGold(character.getGold() + profit);
+            this.transact(version ->
+            {
+                InventoryEntry entry = character.findInventoryEntry(item);
+                if(entry == null)
+                {
+                    throw new InvalidShopActionException("Item not found in inventory");
+                }
+
+                int sellable = this.getSellableQuantity(entry);
+                if(quantity > sellable)
+                {
+                    throw new InvalidShopActionException("Only " + sellable + " of this item can be sold");
+                }
+
+                // Sale price is only 50% of total price of item
+                int profit = this.getSellPrice(entry.getItem()) * quantity;
+
+                boolean committed = character.commit(version, () ->
+                {
+                    // Remove from inventory since items are sold
+                    character.removeFromInventory(entry.getId(), quantity);
+                    // Update character's gold based on sale profit
+                    character.setGold(character.getGold() + profit);
+                });
+
+                if(!committed)
+                {
+                    return null;
+                }
+
+                if(stockLedger != null)
+                {
+                    stockLedger.put(entry.getItem(), quantity);
+                }
+
+                if(pricingEngine != null)
+                {
+                    pricingEngine.recordTrade(entry.getItem(), -quantity);
+                }
+                return new ShopTransaction(ShopTransaction.Type.SELL, entry.getItem().getName(), quantity, profit);
+            });
+        }
+        catch(CharacterPlayerException e)
+        {
+            throw new InvalidShopActionException("Sale could not be finalised. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method for selling every item of a category in a single pass, e.g. all potions
+     * - equipped items are kept, one of them is kept if several are owned
+     */
+    public void sellAll(Inventory.Category category) throws InvalidShopActionException
+    {
+        if(category == null)
+        {
+            throw new InvalidShopActionException("Category cannot be null");
+        }
+
+        try
+        {
+            this.transact(version ->
+            {
+                // Quantities to sell are decided before committing, entries are a copy of the inventory
+                List<InventoryEntry> entries = new ArrayList<>();
+                List<Integer> quantities = new ArrayList<>();
+                int sold = 0;
+                long profit = 0;
+                for(InventoryEntry entry : character.getInventoryEntries(category))
+                {
+                    int quantity = this.getSellableQuantity(entry);
+                    if(quantity > 0)
+                    {
+                        entries.add(entry);
+                        quantities.add(quantity);
+                        sold += quantity;
+                        profit += (long) this.getSellPrice(entry.getItem()) * quantity;
+                    }
+                }
+
+                if(sold == 0)
+                {
+                    throw new InvalidShopActionException("No items of this type can be sold");
+                }
+
+                long totalProfit = profit;
+                boolean committed = character.commit(version, () ->
+                {
+                    for(int i = 0; i < entries.size(); i++)
+                    {
+                        character.removeFromInventory(entries.get(i).getId(), quantities.get(i));
+                    }
+                    character.setGold(character.getGold() + totalProfit);
+                });
+
+                if(!committed)
+                {
+                    return null;
+                }
+
+                for(int i = 0; i < entries.size(); i++)
+                {
+                    if(stockLedger != null)
+                    {
+                        stockLedger.put(entries.get(i).getItem(), quantities.get(i));
+                    }
+
+                    if(pricingEngine != null)
+                    {
+                        pricingEngine.recordTrade(entries.get(i).getItem(), -quantities.get(i));
+                    }
+                }
+                return new ShopTransaction(ShopTransaction.Type.SELL, category.toString(), sold, totalProfit);
+            });
         }
         catch(CharacterPlayerException e)
         {
@@ -98,52 +345,105 @@ public class ShopController
     /**
      * Method for enchanting a weapon
      * - checks if weapon is valid
-     * - checks if enchantment name is valid
-     * - checks if enchantment cost is valid
+     * - checks if enchantment is valid
      * - checks if character has enough gold to afford enchantment cost
      */
-    public void enchant(WeaponItem weapon, String enchantmentName, int enchantmentCost) throws InvalidShopActionException
+    public void enchant(WeaponItem weapon, EnchantmentDefinition enchantment) throws InvalidShopActionException
     {
-        if(weapon == null)
+        if(enchantment == null)
         {
-            throw new InvalidShopActionException("Weapon cannot be null");
+            throw new InvalidShopActionException("Enchantment cannot be null");
+        }
+
+        this.enchant(weapon, Collections.singletonList(enchantment));
+    }
+
+    /**
+     * Method for applying all enchantments of a plan to a weapon
+     */
+    public void enchant(WeaponItem weapon, EnchantmentPlan plan) throws InvalidShopActionException
+    {
+        if(plan == null)
+        {
+            throw new InvalidShopActionException("Enchantment plan cannot be null");
         }
 
-        if(enchantmentName.isEmpty())
+        this.enchant(weapon, plan.getEnchantments());
+    }
+
+    /**
+     * Method for enchanting a weapon with several enchantments, applied in the order given
+     * - checks if weapon and every enchantment are valid
+     * - checks if character owns the weapon
+     * - checks once if character has enough gold to afford all enchantments
+     * - the enchanted weapon is built completely before the inventory is changed
+     */
+    public void enchant(WeaponItem weapon, List<EnchantmentDefinition> enchantments) throws InvalidShopActionException
+    {
+        if(weapon == null)
         {
-            throw new InvalidShopActionException("Enchantment name cannot be empty nor blank");
+            throw new InvalidShopActionException("Weapon cannot be null");
         }
 
-        if(enchantmentCost < 0)
+        if(enchantments == null || enchantments.isEmpty())
         {
-            throw new InvalidShopActionException("Enchantment cost cannot be negative");
+            throw new InvalidShopActionException("At least one enchantment must be chosen");
         }
 
-        // Check if character has enough gold
-        double characterGold = character.getGold();
-        if(characterGold < enchantmentCost)
+        // Cost is taken from the definitions so that it always matches the enchantments applied
+        long enchantmentCost = 0;
+        for(EnchantmentDefinition enchantment : enchantments)
         {
-            throw new InvalidShopActionException("Not enough gold for enchantment - ");
+            if(enchantment == null)
+            {
+                throw new InvalidShopActionException("Enchantment cannot be null");
+            }
+            enchantmentCost += enchantment.getCost();
         }
+        long totalCost = enchantmentCost;
 
         try
         {
-            // Create weapon from factory
-            WeaponItem enchantedWeapon = enchantmentFactory.enchantWeapon(weapon, enchantmentName);
-            // Add to inventory before checking
-            character.addToInventory(enchantedWeapon);
-
-            // Check if weapon is currently equipped
-            if(character.getEquippedWeapon().isIdentical(weapon))
+            // Create weapon from factory, one layer per enchantment
+            WeaponItem builtWeapon = weapon;
+            for(EnchantmentDefinition enchantment : enchantments)
             {
-                // If it is equipped, replace with new enchanted weapon
-                character.equipWeapon(enchantedWeapon);
+                builtWeapon = enchantmentFactory.enchantWeapon(builtWeapon, enchantment.getId());
             }
+            WeaponItem enchantedWeapon = builtWeapon;
+
+            this.transact(version ->
+            {
+                // Check if character has enough gold
+                if(character.getGold() < totalCost)
+                {
+                    throw new InvalidShopActionException("Not enough gold for enchantment - ");
+                }
+
+                if(!character.hasItem(weapon))
+                {
+                    throw new InvalidShopActionException("Weapon not found in inventory");
+                }
 
-            // Remove the un-enchanted weapon from inventory
-            character.removeFromInventory(weapon);
-            // Update character's gold based on cost of enchantment
-            character.setGold(character.getGold() - enchantmentCost);
+                boolean committed = character.commit(version, () ->
+                {
+                    // Add to inventory before checking
+                    character.addToInventory(enchantedWeapon);
+
+                    // Check if weapon is currently equipped
+                    if(character.getEquippedWeapon().isIdentical(weapon))
+                    {
+                        // If it is equipped, replace with new enchanted weapon
+                        character.equipWeapon(enchantedWeapon);
+                    }
+
+                    // Remove the un-enchanted weapon from inventory
+                    character.removeFromInventory(weapon);
+                    // Update character's gold based on cost of enchantment
+                    character.setGold(character.getGold() - totalCost);
+                });
+                return committed ? new ShopTransaction(ShopTransaction.Type.ENCHANT, weapon.getName(), enchantments.size(), -totalCost) : null;
+            });
         }
         catch (InvalidEnchantmentFactoryException e)
         {
@@ -154,4 +454,103 @@ public class ShopController
             throw new InvalidShopActionException("Enchantment transaction could not be finalised - " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Method for running an action until it commits against an unchanged character
+     * - observers are notified once the action has committed
+     */
+    private void transact(Attempt attempt) throws InvalidShopActionException, CharacterPlayerException
+    {
+        for(int i = 0; i < MAX_ATTEMPTS; i++)
+        {
+            ShopTransaction transaction = attempt.run(character.getVersion());
+            if(transaction != null)
+            {
+                this.notifyShopTransactionObservers(transaction);
+                return;
+            }
+
+            // Character changed in the meantime - let the other thread finish before trying again
+            Thread.yield();
+        }
+
+        throw new InvalidShopActionException("Character is busy - transaction abandoned after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Method for obtaining the current price of buying an item
+     */
+    public int getBuyPrice(GameItem item)
+    {
+        return pricingEngine == null ? item.getCost() : pricingEngine.getBuyPrice(item);
+    }
+
+    /**
+     * Method for obtaining the items currently priced below their cost - every other item costs at least its cost
+     */
+    public List<GameItem> getDiscountedItems()
+    {
+        return pricingEngine == null ? Collections.<GameItem>emptyList() : pricingEngine.getDiscountedItems();
+    }
+
+    /**
+     * Method for obtaining the current price of selling an item - sale price is only 50% of its buy price
+     */
+    public int getSellPrice(GameItem item)
+    {
+        return pricingEngine == null ? item.getCost() / 2 : pricingEngine.getSellPrice(item);
+    }
+
+    /**
+     * Method for obtaining the stock left of an item - StockLedger.UNLIMITED without a stock ledger
+     */
+    public int getStock(GameItem item)
+    {
+        return stockLedger == null ? StockLedger.UNLIMITED : stockLedger.getStock(item);
+    }
+
+    /**
+     * Method for obtaining how many items of an entry can be sold - the last of an equipped item is kept
+     */
+    private int getSellableQuantity(InventoryEntry entry)
+    {
+        return entry.isEquipped() ? entry.getQuantity() - 1 : entry.getQuantity();
+    }
+
+    /**
+     * Methods for adding, removing, and notifying ShopTransactionObservers
+     */
+    public void addShopTransactionObserver(ShopTransactionObserver shopTransactionObserver)
+    {
+        shopTransactionObservers.add(shopTransactionObserver);
+    }
+
+    public void removeShopTransactionObserver(ShopTransactionObserver shopTransactionObserver)
+    {
+        shopTransactionObservers.remove(shopTransactionObserver);
+    }
+
+    public void notifyShopTransactionObservers(ShopTransaction transaction)
+    {
+        // Copied so that observers can be added and removed by other threads while notifying
+        List<ShopTransactionObserver> observers;
+        synchronized(shopTransactionObservers)
+        {
+            observers = new ArrayList<>(shopTransactionObservers);
+        }
+
+        for(ShopTransactionObserver shopTransactionObserver : observers)
+        {
+            shopTransactionObserver.showShopTransaction(character, transaction);
+        }
+    }
+
+    /**
+     * Single attempt of an action against the given version of the character
+     * - returns the completed transaction, or null if the character changed and nothing was applied
+     */
+    private interface Attempt
+    {
+        ShopTransaction run(long version) throws InvalidShopActionException, CharacterPlayerException;
+    }
+}
@@ -0,0 +1,79 @@
+package controller.shop;
+
+import controller.io.ErrorLogger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Controller class for running periodic shop tasks, e.g. restocking or republishing prices
+ * - tasks run on a single daemon thread, so they never keep the game running on exit
+ * - a task that fails is logged to error.log and runs again next period, a failure never cancels it
+ *
+ * FIELDS
+ * - scheduler      : ScheduledExecutorService - created when the first task is scheduled
+ * - logger         : Logger - created with the scheduler, i.e. once error logging is set up
+ */
+public class ShopScheduler
+{
+    private ScheduledExecutorService scheduler;
+    private Logger logger;
+
+    /**
+     * Method for running a task every period until stopped
+     */
+    public synchronized void schedule(Runnable task, long period, TimeUnit unit)
+    {
+        if(task == null)
+        {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+
+        if(period <= 0)
+        {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        if(scheduler == null)
+        {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "shop-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            // Do not want to have the logger output warnings to user
+            logger = ErrorLogger.getInstance().createLogger(ShopScheduler.class.getName());
+            logger.setUseParentHandlers(false);
+        }
+
+        final Logger taskLogger = logger;
+        scheduler.scheduleAtFixedRate(() ->
+        {
+            // An exception escaping the task would cancel every later run of it
+            try
+            {
+                task.run();
+            }
+            catch(RuntimeException e)
+            {
+                taskLogger.warning("Scheduled shop task failed and runs again next period - " + e);
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Method for stopping all scheduled tasks
+     */
+    public synchronized void stop()
+    {
+        if(scheduler != null)
+        {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
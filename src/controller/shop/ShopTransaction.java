@@ -0,0 +1,63 @@
+package controller.shop;
+
+/**
+ * Controller class for the event of a completed shop transaction
+ * - immutable
+ * - a batch of purchases, sales or enchantments is a single transaction
+ *
+ * FIELDS
+ * - type       : Type
+ * - itemName   : String - name of the item, the category name when selling all items of a category
+ * - quantity   : int - number of items bought or sold, number of enchantments applied
+ * - goldChange : double - gold gained, negative if gold was spent
+ */
+public class ShopTransaction
+{
+    public enum Type
+    {
+        BUY,
+        SELL,
+        ENCHANT
+    }
+
+    /** ShopTransaction specific Fields **/
+    private final Type type;
+    private final String itemName;
+    private final int quantity;
+    private final double goldChange;
+
+    ShopTransaction(Type type, String itemName, int quantity, double goldChange)
+    {
+        this.type = type;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.goldChange = goldChange;
+    }
+
+    /** ACCESSORS */
+    public Type getType()
+    {
+        return type;
+    }
+
+    public String getItemName()
+    {
+        return itemName;
+    }
+
+    public int getQuantity()
+    {
+        return quantity;
+    }
+
+    public double getGoldChange()
+    {
+        return goldChange;
+    }
+
+    @Override
+    public String toString()
+    {
+        return type + " : " + itemName + " x" + quantity + " (" + (goldChange >= 0 ? "+" : "") + goldChange + " gold)";
+    }
+}
@@ -0,0 +1,13 @@
+package controller.shop;
+
+import model.player.character.CharacterPlayer;
+
+/**
+ * Observer Interface - ShopTransactionObserver
+ * - method showShopTransaction() for displaying event of a completed shop transaction
+ * - notified once per transaction, a batch of purchases or sales is a single transaction
+ */
+public interface ShopTransactionObserver
+{
+    void showShopTransaction(CharacterPlayer character, ShopTransaction transaction);
+}
@@ -0,0 +1,35 @@
+package controller.shop;
+
+import model.item.GameItem;
+
+/**
+ * Interface for the stock of a market shared by many characters
+ * - stock is kept per item template, identified by the description of the item
+ * - items whose stock is not tracked have unlimited supply, selling them does not add stock - unless the ledger
+ *   tracks every item with a default stock, e.g. ConcurrentStockLedger
+ * - implementations must be safe to use from many threads at once
+ */
+public interface StockLedger
+{
+    /** Stock of items that are not tracked */
+    int UNLIMITED = -1;
+
+    /**
+     * Method for obtaining the stock of an item - UNLIMITED if its stock is not tracked, the default stock if the
+     * ledger tracks items with one
+     */
+    int getStock(GameItem item);
+
+    /**
+     * Method for taking a quantity of an item out of stock
+     *
+     * RETURN
+     * - boolean    : false if not enough is in stock, in which case nothing is taken
+     */
+    boolean take(GameItem item, int quantity);
+
+    /**
+     * Method for returning a quantity of an item to stock, e.g. when sold or when a purchase is abandoned
+     */
+    void put(GameItem item, int quantity);
+}
@@ -0,0 +1,135 @@
+package controller.shop;
+
+import model.item.GameItem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller class for a shared stock ledger guarded by striped locks
+ * - every item template belongs to one stripe chosen by the hash of its description
+ * - a stripe has its own lock and its own stock, so characters trading different items rarely wait for each other
+ *
+ * FIELDS
+ * - stripes    : array of Stripe
+ */
+public class StripedStockLedger implements StockLedger
+{
+    public static final int DEFAULT_STRIPE_COUNT = 16;
+
+    private final Stripe[] stripes;
+
+    public StripedStockLedger()
+    {
+        this(DEFAULT_STRIPE_COUNT);
+    }
+
+    public StripedStockLedger(int stripeCount)
+    {
+        if(stripeCount <= 0)
+        {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+
+        this.stripes = new Stripe[stripeCount];
+        for(int i = 0; i < stripeCount; i++)
+        {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Method for tracking the stock of an item - replaces its current stock
+     */
+    public void setStock(GameItem item, int quantity)
+    {
+        if(quantity < 0)
+        {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
+
+        String key = getKey(item);
+        Stripe stripe = this.getStripe(key);
+        synchronized(stripe)
+        {
+            stripe.stock.put(key, quantity);
+        }
+    }
+
+    @Override
+    public int getStock(GameItem item)
+    {
+        String key = getKey(item);
+        Stripe stripe = this.getStripe(key);
+        synchronized(stripe)
+        {
+            return stripe.stock.getOrDefault(key, UNLIMITED);
+        }
+    }
+
+    @Override
+    public boolean take(GameItem item, int quantity)
+    {
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        String key = getKey(item);
+        Stripe stripe = this.getStripe(key);
+        synchronized(stripe)
+        {
+            Integer stock = stripe.stock.get(key);
+            if(stock == null)
+            {
+                return true;
+            }
+
+            if(stock < quantity)
+            {
+                return false;
+            }
+
+            stripe.stock.put(key, stock - quantity);
+            return true;
+        }
+    }
+
+    @Override
+    public void put(GameItem item, int quantity)
+    {
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        String key = getKey(item);
+        Stripe stripe = this.getStripe(key);
+        synchronized(stripe)
+        {
+            stripe.stock.computeIfPresent(key, (k, stock) -> stock + quantity);
+        }
+    }
+
+    private static String getKey(GameItem item)
+    {
+        if(item == null)
+        {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        return item.toString();
+    }
+
+    private Stripe getStripe(String key)
+    {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Stock of the item templates of a single stripe - only accessed while holding the stripe's lock
+     */
+    private static final class Stripe
+    {
+        private final Map<String, Integer> stock = new HashMap<>();
+    }
+}
@@ -0,0 +1,58 @@
+package controller.shop;
+
+import model.item.GameItem;
+
+/**
+ * Controller class for a single recommendation of an UpgradeAdvisor
+ * - immutable
+ *
+ * FIELDS
+ * - item           : GameItem - catalog item recommended
+ * - effectGained   : double - expected damage or damage blocked gained over the equipped item
+ * - price          : int - price of the item in the shop when recommended
+ * - gainPerGold    : double - effect gained per gold spent
+ */
+public class Upgrade
+{
+    /** Upgrade specific Fields **/
+    private final GameItem item;
+    private final double effectGained;
+    private final int price;
+    private final double gainPerGold;
+
+    Upgrade(GameItem item, double effectGained, int price)
+    {
+        this.item = item;
+        this.effectGained = effectGained;
+        this.price = price;
+        // Free items are worth any amount of gold
+        this.gainPerGold = price == 0 ? Double.POSITIVE_INFINITY : effectGained / price;
+    }
+
+    /** ACCESSORS */
+    public GameItem getItem()
+    {
+        return item;
+    }
+
+    public double getEffectGained()
+    {
+        return effectGained;
+    }
+
+    public int getPrice()
+    {
+        return price;
+    }
+
+    public double getGainPerGold()
+    {
+        return gainPerGold;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s (+%.1f for %d gold)", item.getName(), effectGained, price);
+    }
+}
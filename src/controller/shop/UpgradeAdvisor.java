@@ -0,0 +1,159 @@
+package controller.shop;
+
+import model.enchantment.DamageDistribution;
+import model.item.GameItem;
+import model.item.InvalidItemDatabaseException;
+import model.item.ItemDatabase;
+import model.item.UpgradeIndex;
+import model.item.armour.ArmourItem;
+import model.item.weapon.WeaponItem;
+import model.player.character.CharacterPlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Controller class for recommending the catalog items that improve a character's equipment the most per gold spent
+ * - upgrades are the items the character can afford at the shop's current price that are more effective than the
+ *   equipped item, ranked by effect gained per gold
+ * - items are taken from the upgrade index of the item database from the most effect gained per gold at their cost,
+ *   and only until no item left can rank among the best k - so only the items looked at are materialised
+ * - an item sold above its cost ranks lower than its cost suggests and is simply ranked at its price, items sold
+ *   below their cost are few and are ranked up front
+ * - equipped weapons are measured by their exact damage distribution, so enchantments are taken into account
+ *
+ * FIELDS
+ * - itemDatabase   : ItemDatabase
+ * - shopController : ShopController - prices of the shop, null to rank items by their cost
+ */
+public class UpgradeAdvisor
+{
+    /** Highest gain per gold first, then highest gain */
+    private static final Comparator<Upgrade> BEST_FIRST = Comparator.comparingDouble(Upgrade::getGainPerGold)
+            .thenComparingDouble(Upgrade::getEffectGained).reversed();
+
+    private final ItemDatabase itemDatabase;
+    private final ShopController shopController;
+
+    public UpgradeAdvisor(ItemDatabase itemDatabase)
+    {
+        this(itemDatabase, null);
+    }
+
+    /**
+     * CONSTRUCTOR - with the shop whose prices items are ranked by
+     * - shop controller may be null to rank items by their cost
+     */
+    public UpgradeAdvisor(ItemDatabase itemDatabase, ShopController shopController)
+    {
+        if(itemDatabase == null)
+        {
+            throw new IllegalArgumentException("Item database cannot be null");
+        }
+
+        this.itemDatabase = itemDatabase;
+        this.shopController = shopController;
+    }
+
+    /**
+     * Method for finding the best weapon upgrades by expected damage gained per gold spent
+     */
+    public List<Upgrade> recommendWeapons(CharacterPlayer character, int count)
+    {
+        double equipped = DamageDistribution.of(character.getEquippedWeapon()).getExpectedDamage();
+        return this.recommend(itemDatabase.getWeaponUpgrades(), WeaponItem.class, equipped, character.getGold(), count);
+    }
+
+    /**
+     * Method for finding the best armour upgrades by expected damage blocked gained per gold spent
+     */
+    public List<Upgrade> recommendArmours(CharacterPlayer character, int count)
+    {
+        double equipped = ItemDatabase.getExpectedEffect(character.getEquippedArmour());
+        return this.recommend(itemDatabase.getArmourUpgrades(), ArmourItem.class, equipped, character.getGold(), count);
+    }
+
+    private List<Upgrade> recommend(UpgradeIndex index, Class<? extends GameItem> category, double equipped, double gold, int count)
+    {
+        if(count <= 0)
+        {
+            throw new IllegalArgumentException("Number of recommendations must be positive");
+        }
+
+        // Worst of the best upgrades so far sits on top of the heap
+        PriorityQueue<Upgrade> best = new PriorityQueue<>(count + 1, BEST_FIRST.reversed());
+
+        // Discounted catalog items can rank above any item sold at its cost, therefore they are ranked first
+        Set<Integer> discounted = new HashSet<>();
+        if(shopController != null)
+        {
+            for(GameItem item : shopController.getDiscountedItems())
+            {
+                int position = category.isInstance(item) ? itemDatabase.indexOf(item) : -1;
+                if(position != -1 && discounted.add(position))
+                {
+                    this.offer(best, this.getItemOrNull(position), equipped, gold, count);
+                }
+            }
+        }
+
+        // Every other item costs at least its cost, so none after the search's next item ranks above it
+        UpgradeIndex.Search search = index.search(equipped, (int) Math.max(0.0, Math.min(gold, Integer.MAX_VALUE)));
+        while(search.hasNext() && (best.size() < count || best.peek().getGainPerGold() <= search.getNextGainPerGold()))
+        {
+            int position = search.next();
+            if(!discounted.contains(position))
+            {
+                this.offer(best, this.getItemOrNull(position), equipped, gold, count);
+            }
+        }
+
+        List<Upgrade> upgrades = new ArrayList<>(best);
+        upgrades.sort(BEST_FIRST);
+        return Collections.unmodifiableList(upgrades);
+    }
+
+    /**
+     * Method for ranking an item at its current price - items gaining nothing or costing more than the gold are skipped
+     */
+    private void offer(PriorityQueue<Upgrade> best, GameItem item, double equipped, double gold, int count)
+    {
+        if(item == null)
+        {
+            return;
+        }
+
+        double effectGained = ItemDatabase.getExpectedEffect(item) - equipped;
+        int price = shopController == null ? item.getCost() : shopController.getBuyPrice(item);
+        if(effectGained <= 0.0 || price > gold)
+        {
+            return;
+        }
+
+        best.add(new Upgrade(item, effectGained, price));
+        if(best.size() > count)
+        {
+            best.poll();
+        }
+    }
+
+    /**
+     * Method for obtaining a catalog item - an item which can no longer be materialised is not recommended
+     */
+    private GameItem getItemOrNull(int position)
+    {
+        try
+        {
+            return itemDatabase.getItem(position);
+        }
+        catch(InvalidItemDatabaseException e)
+        {
+            return null;
+        }
+    }
+}
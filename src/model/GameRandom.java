@@ -0,0 +1,33 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Model class holding the single source of randomness of the game
+ * - damage, defence, effects, enchantments, enemy spawns and special abilities all draw from it
+ * - seeding it makes a whole session reproducible, e.g. for scripted regression runs
+ *
+ * NOTE - Random is thread safe, however a seeded session is only reproducible if its draws happen in the same order
+ */
+public final class GameRandom
+{
+    private static volatile Random random = new Random();
+
+    private GameRandom()
+    {
+        // Static holder only
+    }
+
+    public static Random get()
+    {
+        return random;
+    }
+
+    /**
+     * Method for replacing the source of randomness by a seeded one
+     */
+    public static void setSeed(long seed)
+    {
+        random = new Random(seed);
+    }
+}
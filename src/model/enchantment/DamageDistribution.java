@@ -0,0 +1,520 @@
+package model.enchantment;
+
+import model.item.weapon.WeaponItem;
+
+import java.util.Random;
+
+/**
+ * Model class for the probability distribution of the damage dealt by a single strike
+ * - immutable, every operation returns a new distribution
+ * - probabilities are stored for damage values on a grid from the minimum to the maximum damage
+ * - the grid holds at most MAX_SUPPORT values, so memory never grows with the damage range. While the range fits,
+ *   the grid step is 1 and the distribution is exact; a wider range, e.g. after stacking many multipliers, is
+ *   rounded to the nearest value of a grid with a larger step
+ * - sampling uses an alias table built on first use, therefore a sample costs O(1) regardless of
+ *   how many operations built the distribution
+ *
+ * FIELDS
+ * - minDamage      : int
+ * - step           : int - distance between the damage values of the grid, 1 if the distribution is exact
+ * - probabilities  : double array - probability of minDamage + index * step
+ * - aliasChance    : double array - alias table acceptance chance of each index
+ * - alias          : int array - alias table fallback index of each index
+ */
+public final class DamageDistribution
+{
+    /** Maximum number of damage values stored */
+    public static final int MAX_SUPPORT = 4096;
+
+    /** Damage values are capped, so that further bonuses cannot overflow */
+    public static final int MAX_DAMAGE = Integer.MAX_VALUE / 4;
+
+    /** Probabilities closer than 1 / EQUALITY_SCALE are treated as equal */
+    private static final double EQUALITY_SCALE = 1e12;
+
+    /** DamageDistribution specific Fields **/
+    private final int minDamage;
+    private final int step;
+    private final double[] probabilities;
+    private double[] aliasChance;
+    private volatile int[] alias;
+
+    private DamageDistribution(int minDamage, int step, double[] probabilities)
+    {
+        this.minDamage = minDamage;
+        this.step = step;
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * Method for creating the distribution of a uniformly random damage roll
+     * - min and max are both inclusive, the same as GameItem.calculateEffect()
+     */
+    public static DamageDistribution uniform(int min, int max)
+    {
+        if(max < min)
+        {
+            throw new IllegalArgumentException("Maximum damage cannot be lower than minimum damage - " + min + " to " + max);
+        }
+        return constant(0).addUniform(min, max);
+    }
+
+    /**
+     * Method for obtaining the distribution of a strike with a weapon - enchanted or not
+     */
+    public static DamageDistribution of(WeaponItem weapon)
+    {
+        if(weapon instanceof WeaponEnchantment)
+        {
+            return ((WeaponEnchantment) weapon).getDamageDistribution();
+        }
+        return uniform(weapon.getMinEffect(), weapon.getMaxEffect());
+    }
+
+    /**
+     * Method for creating the distribution of a fixed damage value
+     */
+    public static DamageDistribution constant(int damage)
+    {
+        return new DamageDistribution(clamp(damage), 1, new double[]{1.0});
+    }
+
+    /**
+     * Method for adding a fixed damage bonus
+     */
+    public DamageDistribution add(int bonus)
+    {
+        if(bonus == 0)
+        {
+            return this;
+        }
+
+        long newMin = (long) minDamage + bonus;
+        if(newMin >= -MAX_DAMAGE && (long) this.getMaxDamage() + bonus <= MAX_DAMAGE)
+        {
+            return new DamageDistribution((int) newMin, step, probabilities);
+        }
+
+        Grid grid = new Grid(newMin, (long) this.getMaxDamage() + bonus);
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            grid.add(this.getDamage(i) + (long) bonus, probabilities[i]);
+        }
+        return grid.build();
+    }
+
+    /**
+     * Method for adding an independent, uniformly random damage bonus between min and max (inclusive)
+     * - every damage value spreads its probability evenly over the values it can reach, accumulated through a
+     *   running sum, therefore O(size of distribution + size of result)
+     */
+    public DamageDistribution addUniform(int min, int max)
+    {
+        if(max < min)
+        {
+            throw new IllegalArgumentException("Maximum bonus cannot be lower than minimum bonus - " + min + " to " + max);
+        }
+
+        if(min == max)
+        {
+            return this.add(min);
+        }
+
+        Grid grid = new Grid((long) minDamage + min, (long) this.getMaxDamage() + max);
+        long width = (long) max - min + 1;
+        int span = (int) Math.max(1, Math.min(Math.round((double) width / grid.step), grid.probabilities.length));
+        double[] changes = new double[grid.probabilities.length + span];
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            if(probabilities[i] == 0.0)
+            {
+                continue;
+            }
+
+            int first = Math.min(grid.indexOf(this.getDamage(i) + (long) min), grid.probabilities.length - span);
+            changes[first] += probabilities[i] / span;
+            changes[first + span] -= probabilities[i] / span;
+        }
+
+        double running = 0.0;
+        for(int i = 0; i < grid.probabilities.length; i++)
+        {
+            running += changes[i];
+            grid.probabilities[i] = Math.max(running, 0.0);
+        }
+        return grid.build();
+    }
+
+    /**
+     * Method for multiplying damage, truncating the result to an integer the same way a strike does
+     */
+    public DamageDistribution multiply(double multiplier)
+    {
+        if(multiplier == 1.0)
+        {
+            return this;
+        }
+
+        long first = (long)(minDamage * multiplier);
+        long last = (long)(this.getMaxDamage() * multiplier);
+        Grid grid = new Grid(Math.min(first, last), Math.max(first, last));
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            grid.add((long)(this.getDamage(i) * multiplier), probabilities[i]);
+        }
+        return grid.build();
+    }
+
+    /**
+     * Method for raising every damage value below the floor to the floor, e.g. damage after blocking cannot be negative
+     */
+    public DamageDistribution atLeast(int floor)
+    {
+        if(floor <= minDamage)
+        {
+            return this;
+        }
+
+        if(floor >= this.getMaxDamage())
+        {
+            return constant(floor);
+        }
+
+        Grid grid = new Grid(floor, this.getMaxDamage());
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            grid.add(Math.max(this.getDamage(i), floor), probabilities[i]);
+        }
+        return grid.build();
+    }
+
+    /**
+     * Method for obtaining the distribution of the total damage of this strike followed by another independent strike
+     */
+    public DamageDistribution plus(DamageDistribution other)
+    {
+        Grid grid = new Grid((long) minDamage + other.minDamage, (long) this.getMaxDamage() + other.getMaxDamage());
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            if(probabilities[i] == 0.0)
+            {
+                continue;
+            }
+
+            for(int j = 0; j < other.probabilities.length; j++)
+            {
+                grid.add((long) this.getDamage(i) + other.getDamage(j), probabilities[i] * other.probabilities[j]);
+            }
+        }
+        return grid.build();
+    }
+
+    /** ACCESSORS */
+    public int getMinDamage()
+    {
+        return minDamage;
+    }
+
+    public int getMaxDamage()
+    {
+        return this.getDamage(probabilities.length - 1);
+    }
+
+    public int getStep()
+    {
+        return step;
+    }
+
+    public boolean isExact()
+    {
+        return step == 1;
+    }
+
+    /**
+     * Methods for visiting the damage values of the grid, from the lowest - cheaper than visiting every damage value
+     * between the minimum and maximum damage once the grid step is larger than 1
+     */
+    public int getSize()
+    {
+        return probabilities.length;
+    }
+
+    public int getDamage(int index)
+    {
+        return minDamage + index * step;
+    }
+
+    public double getProbabilityAt(int index)
+    {
+        return probabilities[index];
+    }
+
+    /**
+     * Method for obtaining the probability of a damage value - 0 for a value between two values of the grid
+     */
+    public double getProbability(int damage)
+    {
+        if(damage < minDamage || damage > this.getMaxDamage() || (damage - minDamage) % step != 0)
+        {
+            return 0.0;
+        }
+        return probabilities[(damage - minDamage) / step];
+    }
+
+    /**
+     * Method for obtaining the probability of dealing at least the given damage
+     */
+    public double getProbabilityAtLeast(int damage)
+    {
+        double total = 0.0;
+        long first = Math.max(((long) damage - minDamage + step - 1) / step, 0);
+        for(long i = first; i < probabilities.length; i++)
+        {
+            total += probabilities[(int) i];
+        }
+        return Math.min(total, 1.0);
+    }
+
+    public double getExpectedDamage()
+    {
+        double expected = 0.0;
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            expected += (double) this.getDamage(i) * probabilities[i];
+        }
+        return expected;
+    }
+
+    /**
+     * Method for checking if another distribution deals at least as much damage as this one
+     * - true if, for every damage value, the other distribution is at least as likely to deal that much damage
+     *   (first order stochastic dominance)
+     * - any objective that prefers more damage can therefore never prefer this distribution
+     */
+    public boolean isDominatedBy(DamageDistribution other)
+    {
+        if(this.getMaxDamage() <= other.minDamage)
+        {
+            return true;
+        }
+
+        if(other.getMaxDamage() < this.getMaxDamage() || other.minDamage < minDamage)
+        {
+            return false;
+        }
+
+        // Compare the probability of dealing at most each damage value of either grid, from the lowest value up
+        double thisAtMost = 0.0;
+        double otherAtMost = 0.0;
+        int i = 0;
+        int j = 0;
+        while(i < probabilities.length)
+        {
+            int damage = j < other.probabilities.length ? Math.min(this.getDamage(i), other.getDamage(j)) : this.getDamage(i);
+            while(i < probabilities.length && this.getDamage(i) <= damage)
+            {
+                thisAtMost += probabilities[i++];
+            }
+            while(j < other.probabilities.length && other.getDamage(j) <= damage)
+            {
+                otherAtMost += other.probabilities[j++];
+            }
+
+            if(otherAtMost > thisAtMost + 1.0 / EQUALITY_SCALE)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method for comparing distributions
+     * - probabilities are compared after rounding, so that distributions built in a different order are equal
+     */
+    @Override
+    public boolean equals(Object other)
+    {
+        if(this == other)
+        {
+            return true;
+        }
+
+        if(!(other instanceof DamageDistribution))
+        {
+            return false;
+        }
+
+        DamageDistribution distribution = (DamageDistribution) other;
+        if(minDamage != distribution.minDamage || step != distribution.step
+                || probabilities.length != distribution.probabilities.length)
+        {
+            return false;
+        }
+
+        for(int i = 0; i < probabilities.length; i++)
+        {
+            if(round(probabilities[i]) != round(distribution.probabilities[i]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = 31 * (31 * minDamage + step) + probabilities.length;
+        for(double probability : probabilities)
+        {
+            hash = 31 * hash + Long.hashCode(round(probability));
+        }
+        return hash;
+    }
+
+    private static long round(double probability)
+    {
+        return Math.round(probability * EQUALITY_SCALE);
+    }
+
+    private static int clamp(long damage)
+    {
+        return (int) Math.max(-MAX_DAMAGE, Math.min(damage, MAX_DAMAGE));
+    }
+
+    /**
+     * Method for drawing a damage value from this distribution in O(1)
+     */
+    public int sample(Random random)
+    {
+        if(probabilities.length == 1)
+        {
+            return minDamage;
+        }
+
+        if(alias == null)
+        {
+            this.buildAliasTable();
+        }
+
+        int index = random.nextInt(probabilities.length);
+        if(random.nextDouble() >= aliasChance[index])
+        {
+            index = alias[index];
+        }
+        return this.getDamage(index);
+    }
+
+    /**
+     * Method for building the alias table (Vose's method)
+     * - every index keeps part of its own probability and hands the rest to a single alias index
+     */
+    private synchronized void buildAliasTable()
+    {
+        if(alias != null)
+        {
+            return;
+        }
+
+        int size = probabilities.length;
+        double[] chance = new double[size];
+        int[] aliases = new int[size];
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        double total = 0.0;
+        for(double probability : probabilities)
+        {
+            total += probability;
+        }
+
+        for(int i = 0; i < size; i++)
+        {
+            scaled[i] = probabilities[i] * size / total;
+            if(scaled[i] < 1.0)
+            {
+                small[smallCount++] = i;
+            }
+            else
+            {
+                large[largeCount++] = i;
+            }
+        }
+
+        while(smallCount > 0 && largeCount > 0)
+        {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            chance[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if(scaled[more] < 1.0)
+            {
+                small[smallCount++] = more;
+            }
+            else
+            {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Remaining indices only differ from 1.0 by rounding errors
+        while(largeCount > 0)
+        {
+            int index = large[--largeCount];
+            chance[index] = 1.0;
+            aliases[index] = index;
+        }
+        while(smallCount > 0)
+        {
+            int index = small[--smallCount];
+            chance[index] = 1.0;
+            aliases[index] = index;
+        }
+
+        this.aliasChance = chance;
+        this.alias = aliases;
+    }
+
+    /**
+     * Grid of the damage values of a new distribution - the smallest step that keeps at most MAX_SUPPORT values
+     * between the minimum and maximum damage, which are capped at MAX_DAMAGE
+     * - damage values are rounded to the nearest value of the grid
+     */
+    private static final class Grid
+    {
+        private final int min;
+        private final int step;
+        private final double[] probabilities;
+
+        private Grid(long min, long max)
+        {
+            this.min = clamp(min);
+            long range = (long) clamp(max) - this.min + 1;
+            this.step = (int) ((range + MAX_SUPPORT - 1) / MAX_SUPPORT);
+            this.probabilities = new double[(int) ((range + step - 1) / step)];
+        }
+
+        private int indexOf(long damage)
+        {
+            long index = Math.round((double) ((long) clamp(damage) - min) / step);
+            return (int) Math.max(0, Math.min(index, probabilities.length - 1));
+        }
+
+        private void add(long damage, double probability)
+        {
+            probabilities[this.indexOf(damage)] += probability;
+        }
+
+        private DamageDistribution build()
+        {
+            return new DamageDistribution(min, step, probabilities);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package model.enchantment;
+
+import model.item.weapon.WeaponItem;
+
+/**
+ * Enchantment class
+ * - applies the effect declared by an enchantment definition of the enchantment database
+ *
+ * FIELDS
+ * - definition : EnchantmentDefinition
+ */
+public class DefinedEnchantment extends WeaponEnchantment
+{
+    private final EnchantmentDefinition definition;
+
+    public DefinedEnchantment(WeaponItem next, EnchantmentDefinition definition)
+    {
+        super(next, definition.getName(), definition.getCost(), definition.getAdditive(),
+                definition.getRandomMin(), definition.getRandomMax(), definition.getMultiplier());
+
+        this.definition = definition;
+    }
+
+    /** ACCESSORS */
+    public EnchantmentDefinition getDefinition()
+    {
+        return definition;
+    }
+}
@@ -3,62 +3,62 @@ import java.util.*;
 
 /**
  * Model class for enchantment database
- * - holds all types of enchantments and corresponding cost in the game
+ * - holds the definitions of all types of enchantments in the game
+ * - every definition is given an id when added, ids are never reused so that lookups by id are O(1)
  *
  * FIELDS
- * - enchantmentNames       : List of String
- * - enchantmentNameCostMap : Map of Key = name, Value = cost
+ * - definitions            : List of EnchantmentDefinition - indexed by id, null if removed
+ * - enchantments           : List of EnchantmentDefinition - available enchantments in the order added
+ * - enchantmentNameIdMap   : Map of Key = name, Value = id
  */
 public class EnchantmentDatabase
 {
-    /** Character Player specific Fields **/
-    private final List<String> enchantmentNames;
-    private final Map<String, Integer> enchantmentNameCostMap;
-    private int size;
+    /** Enchantment Database specific Fields **/
+    private final List<EnchantmentDefinition> definitions;
+    private final List<EnchantmentDefinition> enchantments;
+    private final Map<String, Integer> enchantmentNameIdMap;
 
     /**
      * Default Constructor
-     * - initialises data structures and size
+     * - initialises data structures
      */
     public EnchantmentDatabase()
     {
-        this.enchantmentNames = new LinkedList<>();
-        this.enchantmentNameCostMap = new HashMap<>();
-
-        this.size = enchantmentNames.size();
+        this.definitions = new ArrayList<>();
+        this.enchantments = new ArrayList<>();
+        this.enchantmentNameIdMap = new HashMap<>();
     }
 
     /**
      * Method for populating the database with default enchantments
-     * - Damage +2
-     * - Damage +5
-     * - Fire Damage
-     * - PowerUp
+     * - used when no enchantment definition file is available, or when it holds no valid definition
+     * - only copy of the default enchantments, the game ships no definition file
+     * - Damage +2      : +2 damage
+     * - Damage +5      : +5 damage
+     * - Fire Damage    : +5 to +10 damage
+     * - Power-Up       : damage x 1.1
      */
     public void populateDefault()
     {
-        enchantmentNameCostMap.put("Damage +2", 5);
-        enchantmentNameCostMap.put("Damage +5", 10);
-        enchantmentNameCostMap.put("Fire Damage", 20);
-        enchantmentNameCostMap.put("Power-Up", 10);
-
-        enchantmentNames.add("Damage +2");
-        enchantmentNames.add("Damage +5");
-        enchantmentNames.add("Fire Damage");
-        enchantmentNames.add("Power-Up");
-
-        size = enchantmentNames.size();
+        this.register("Damage +2", 5, 2, 0, 0, 1.0);
+        this.register("Damage +5", 10, 5, 0, 0, 1.0);
+        this.register("Fire Damage", 20, 0, 5, 10, 1.0);
+        this.register("Power-Up", 10, 0, 0, 0, 1.1);
     }
 
     /**
-     * Method for adding an enchantment name and cost to the database
+     * Method for adding an enchantment definition to the database
      * - performs validity checks to ensure database is maintained appropriately
      * - does not allow to add duplicates
+     *
+     * RETURN
+     * - definition with its assigned id
      */
-    public void add(String enchantmentName, int cost) throws InvalidEnchantmentException
+    public EnchantmentDefinition add(String enchantmentName, int cost, int additive, int randomMin, int randomMax,
+                                     double multiplier) throws InvalidEnchantmentException
     {
         // Checks if enchantment name is valid
-        if(enchantmentName.isEmpty() || enchantmentName == null )
+        if(enchantmentName == null || enchantmentName.trim().isEmpty())
         {
             throw new InvalidEnchantmentException("Enchantment name cannot be empty nor blank");
         }
@@ -69,58 +69,91 @@ public class EnchantmentDatabase
             throw new InvalidEnchantmentException("Enchantment cost cannot be negative");
         }
 
+        // Checks if random bonus range is valid
+        if(randomMax < randomMin)
+        {
+            throw new InvalidEnchantmentException("Enchantment random bonus maximum cannot be lower than its minimum");
+        }
+
+        // Checks if multiplier is valid
+        if(!(multiplier > 0.0) || Double.isInfinite(multiplier))
+        {
+            throw new InvalidEnchantmentException("Enchantment multiplier must be a positive number");
+        }
+
         // Checks if database already contains the enchantment data
-        if(enchantmentNameCostMap.containsKey(enchantmentName))
+        if(enchantmentNameIdMap.containsKey(enchantmentName))
         {
             throw new InvalidEnchantmentException("Enchantment database already contains this data");
         }
 
-        // Updates database
-        this.enchantmentNames.add(enchantmentName);
-        this.enchantmentNameCostMap.put(enchantmentName, cost);
-        size++;
+        return this.register(enchantmentName, cost, additive, randomMin, randomMax, multiplier);
     }
 
     /**
-     * Method for removing an enchantment name and cost from the database
-     * - performs validity checks to ensure database is maintained appropriately
+     * Method for removing an enchantment definition from the database
+     * - the id of the removed enchantment is not reused
      * - throws exception if other classes attempts to remove an item that doesn't exist
      */
     public void remove(String enchantmentName)
     {
         // Checks if database already contains the enchantment data
-        if(!enchantmentNameCostMap.containsKey(enchantmentName))
+        Integer id = enchantmentNameIdMap.remove(enchantmentName);
+        if(id == null)
         {
             throw new IllegalArgumentException("Enchantment database does not contain this data");
         }
 
         // Updates database
-        this.enchantmentNames.remove(enchantmentName);
-        size--;
+        this.enchantments.remove(definitions.get(id));
+        this.definitions.set(id, null);
     }
 
     /**
-     * Method for retrieving an enchantment name from database based on cost
-     * - performs validity checks to ensure database is maintained appropriately
+     * Method for retrieving an enchantment definition from database based on id in O(1)
+     * - throws exception if other classes attempts to query an enchantment that doesn't exist in database
+     */
+    public EnchantmentDefinition retrieve(int enchantmentId)
+    {
+        if(enchantmentId < 0 || enchantmentId >= definitions.size() || definitions.get(enchantmentId) == null)
+        {
+            throw new IllegalArgumentException("Enchantment database does not contain this data");
+        }
+
+        return definitions.get(enchantmentId);
+    }
+
+    /**
+     * Method for retrieving the id of an enchantment based on name
      * - throws exception if other classes attempts to query an enchantment name that doesn't exist in database
      */
-    public int retrieveCost(String enchantmentName)
+    public int retrieveId(String enchantmentName)
     {
-        if(!enchantmentNameCostMap.containsKey(enchantmentName))
+        Integer id = enchantmentNameIdMap.get(enchantmentName);
+        if(id == null)
         {
             throw new IllegalArgumentException("Enchantment database does not contain this data");
         }
 
-        return enchantmentNameCostMap.get(enchantmentName);
+        return id;
     }
 
     /**
-     * Method for retrieving all enchantment names available in the database
+     * Method for retrieving an enchantment cost from database based on name
+     * - throws exception if other classes attempts to query an enchantment name that doesn't exist in database
+     */
+    public int retrieveCost(String enchantmentName)
+    {
+        return definitions.get(this.retrieveId(enchantmentName)).getCost();
+    }
+
+    /**
+     * Method for retrieving all enchantment definitions available in the database
      * - ensures list cannot be modified
      */
-    public List<String> retrieveAll()
+    public List<EnchantmentDefinition> retrieveAll()
     {
-        return Collections.unmodifiableList(this.enchantmentNames);
+        return Collections.unmodifiableList(this.enchantments);
     }
 
     /**
@@ -128,7 +161,7 @@ public class EnchantmentDatabase
      */
     public boolean contains(String enchantmentName)
     {
-        return this.enchantmentNames.contains(enchantmentName);
+        return this.enchantmentNameIdMap.containsKey(enchantmentName);
     }
 
     /**
@@ -136,8 +169,21 @@ public class EnchantmentDatabase
      */
     public int getSize()
     {
-        return this.size;
+        return this.enchantments.size();
     }
 
-}
+    /**
+     * Method for creating the definition with the next id and updating the database
+     */
+    private EnchantmentDefinition register(String enchantmentName, int cost, int additive, int randomMin, int randomMax,
+                                           double multiplier)
+    {
+        EnchantmentDefinition definition = new EnchantmentDefinition(definitions.size(), enchantmentName, cost,
+                additive, randomMin, randomMax, multiplier);
 
+        this.definitions.add(definition);
+        this.enchantments.add(definition);
+        this.enchantmentNameIdMap.put(enchantmentName, definition.getId());
+        return definition;
+    }
+}
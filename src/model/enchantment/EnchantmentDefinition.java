@@ -0,0 +1,93 @@
+package model.enchantment;
+
+/**
+ * Model class for the definition of an enchantment type
+ * - immutable, created and given an id by EnchantmentDatabase
+ * - describes the effect of a single enchantment on a strike, which is
+ *   (int)((damage + additive + random bonus between randomMin and randomMax) * multiplier)
+ *
+ * FIELDS
+ * - id         : int - position of the definition inside its database
+ * - name       : String
+ * - cost       : int
+ * - additive   : int
+ * - randomMin  : int
+ * - randomMax  : int
+ * - multiplier : double
+ */
+public final class EnchantmentDefinition
+{
+    /** EnchantmentDefinition specific Fields **/
+    private final int id;
+    private final String name;
+    private final int cost;
+    private final int additive;
+    private final int randomMin;
+    private final int randomMax;
+    private final double multiplier;
+
+    EnchantmentDefinition(int id, String name, int cost, int additive, int randomMin, int randomMax, double multiplier)
+    {
+        this.id = id;
+        this.name = name;
+        this.cost = cost;
+        this.additive = additive;
+        this.randomMin = randomMin;
+        this.randomMax = randomMax;
+        this.multiplier = multiplier;
+    }
+
+    /** ACCESSORS */
+    public int getId()
+    {
+        return id;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getCost()
+    {
+        return cost;
+    }
+
+    public int getAdditive()
+    {
+        return additive;
+    }
+
+    public int getRandomMin()
+    {
+        return randomMin;
+    }
+
+    public int getRandomMax()
+    {
+        return randomMax;
+    }
+
+    public double getMultiplier()
+    {
+        return multiplier;
+    }
+
+    /**
+     * Method for applying this enchantment to the damage distribution of the weapon it wraps
+     * - the same effect a DefinedEnchantment of this definition has on a strike
+     */
+    public DamageDistribution applyTo(DamageDistribution distribution)
+    {
+        return distribution.add(additive).addUniform(randomMin, randomMax).multiply(multiplier);
+    }
+
+    /**
+     * Method to obtain the string of the enchantment as shown in the shop
+     */
+    @Override
+    public String toString()
+    {
+        return name + " : " + cost + " gold";
+    }
+}
@@ -0,0 +1,206 @@
+package model.enchantment;
+
+import model.GameRandom;
+import model.item.weapon.WeaponItem;
+
+import java.util.Arrays;
+
+/**
+ * Model class for the flattened description of an enchantment stack
+ * - compiled once when an enchantment is applied, from the profile of the weapon it wraps
+ * - every layer is stored as an additive bonus, a random bonus range and a multiplier, in the order applied
+ * - a strike of a layer is (int)((damage + additive + random bonus) * multiplier), multipliers of 1.0 are not applied
+ *
+ * The damage distribution of the whole stack is computed from the original weapon's effect range on first use,
+ * so that a strike is a single sample instead of one call per enchantment. The distribution is recomputed if the
+ * effect range of the original weapon changes. Once the damage range outgrows DamageDistribution.MAX_SUPPORT, e.g.
+ * after stacking many multipliers, the distribution is only approximate and a strike rolls every layer instead.
+ *
+ * FIELDS
+ * - root               : WeaponItem - original weapon at the bottom of the stack
+ * - enchantmentCost    : int - total cost of all enchantments
+ * - suffix             : String - enchantment names appended to the original weapon's description
+ * - additives          : int array - fixed bonus of each layer
+ * - randomMins         : int array - minimum random bonus of each layer
+ * - randomMaxs         : int array - maximum random bonus of each layer
+ * - multipliers        : double array - multiplier of each layer
+ */
+final class EnchantmentProfile
+{
+    /** EnchantmentProfile specific Fields **/
+    private final WeaponItem root;
+    private final int enchantmentCost;
+    private final String suffix;
+    private final int[] additives;
+    private final int[] randomMins;
+    private final int[] randomMaxs;
+    private final double[] multipliers;
+
+    /** Distribution cache - replaced as a whole so that the effect range always matches its distribution */
+    private volatile CachedDistribution cached;
+
+    private EnchantmentProfile(WeaponItem root, int enchantmentCost, String suffix, int[] additives,
+                               int[] randomMins, int[] randomMaxs, double[] multipliers)
+    {
+        this.root = root;
+        this.enchantmentCost = enchantmentCost;
+        this.suffix = suffix;
+        this.additives = additives;
+        this.randomMins = randomMins;
+        this.randomMaxs = randomMaxs;
+        this.multipliers = multipliers;
+    }
+
+    /**
+     * Method for compiling the profile of a weapon wrapped by a new enchantment layer
+     * - the profile of an enchanted weapon is extended, the enchantments are not visited again
+     */
+    static EnchantmentProfile compile(WeaponItem next, String enchantmentName, int enchantmentCost,
+                                      int additive, int randomMin, int randomMax, double multiplier)
+    {
+        if(randomMax < randomMin)
+        {
+            throw new IllegalArgumentException("Maximum random bonus cannot be lower than minimum random bonus - "
+                    + randomMin + " to " + randomMax);
+        }
+
+        EnchantmentProfile base;
+        if(next instanceof WeaponEnchantment)
+        {
+            base = ((WeaponEnchantment) next).getProfile();
+        }
+        else
+        {
+            base = new EnchantmentProfile(next, 0, "", new int[0], new int[0], new int[0], new double[0]);
+        }
+
+        int layers = base.additives.length + 1;
+        int[] additives = Arrays.copyOf(base.additives, layers);
+        int[] randomMins = Arrays.copyOf(base.randomMins, layers);
+        int[] randomMaxs = Arrays.copyOf(base.randomMaxs, layers);
+        double[] multipliers = Arrays.copyOf(base.multipliers, layers);
+
+        additives[layers - 1] = additive;
+        randomMins[layers - 1] = randomMin;
+        randomMaxs[layers - 1] = randomMax;
+        multipliers[layers - 1] = multiplier;
+
+        return new EnchantmentProfile(base.root, base.enchantmentCost + enchantmentCost,
+                base.suffix + "(" + enchantmentName + ") ", additives, randomMins, randomMaxs, multipliers);
+    }
+
+    /** ACCESSORS */
+    WeaponItem getRoot()
+    {
+        return root;
+    }
+
+    int getEnchantmentCost()
+    {
+        return enchantmentCost;
+    }
+
+    String getSuffix()
+    {
+        return suffix;
+    }
+
+    int getLayerCount()
+    {
+        return additives.length;
+    }
+
+    /**
+     * Method for obtaining the damage distribution of a strike with the whole stack
+     */
+    DamageDistribution getDistribution()
+    {
+        int minEffect = root.getMinEffect();
+        int maxEffect = root.getMaxEffect();
+
+        CachedDistribution current = cached;
+        if(current == null || current.minEffect != minEffect || current.maxEffect != maxEffect)
+        {
+            current = new CachedDistribution(minEffect, maxEffect, this.applyTo(DamageDistribution.uniform(minEffect, maxEffect)));
+            cached = current;
+        }
+        return current.distribution;
+    }
+
+    /**
+     * Method for applying every layer to the distribution of the original weapon's strike
+     * - consecutive fixed bonuses are fused into a single shift
+     */
+    DamageDistribution applyTo(DamageDistribution distribution)
+    {
+        int pendingBonus = 0;
+        for(int i = 0; i < additives.length; i++)
+        {
+            pendingBonus += additives[i];
+            if(randomMins[i] != randomMaxs[i])
+            {
+                distribution = distribution.addUniform(randomMins[i] + pendingBonus, randomMaxs[i] + pendingBonus);
+                pendingBonus = 0;
+            }
+            else
+            {
+                pendingBonus += randomMins[i];
+            }
+
+            if(multipliers[i] != 1.0)
+            {
+                distribution = distribution.add(pendingBonus).multiply(multipliers[i]);
+                pendingBonus = 0;
+            }
+        }
+        return distribution.add(pendingBonus);
+    }
+
+    /**
+     * Method for striking with the whole stack
+     * - O(1) from the distribution while it is exact
+     * - otherwise every layer is rolled in turn from the flat description, which needs no memory at all
+     */
+    int strike()
+    {
+        DamageDistribution distribution = this.getDistribution();
+        if(distribution.isExact())
+        {
+            return distribution.sample(GameRandom.get());
+        }
+
+        long damage = root.strike();
+        for(int i = 0; i < additives.length; i++)
+        {
+            damage += additives[i] + randomMins[i];
+            if(randomMins[i] != randomMaxs[i])
+            {
+                damage += GameRandom.get().nextInt(randomMaxs[i] - randomMins[i] + 1);
+            }
+
+            if(multipliers[i] != 1.0)
+            {
+                damage = (long)(damage * multipliers[i]);
+            }
+            damage = Math.max(-DamageDistribution.MAX_DAMAGE, Math.min(damage, DamageDistribution.MAX_DAMAGE));
+        }
+        return (int) damage;
+    }
+
+    /**
+     * Distribution computed for an effect range of the original weapon
+     */
+    private static final class CachedDistribution
+    {
+        private final int minEffect;
+        private final int maxEffect;
+        private final DamageDistribution distribution;
+
+        private CachedDistribution(int minEffect, int maxEffect, DamageDistribution distribution)
+        {
+            this.minEffect = minEffect;
+            this.maxEffect = maxEffect;
+            this.distribution = distribution;
+        }
+    }
+}
@@ -6,30 +6,40 @@ import model.item.weapon.WeaponItem;
 /**
  * Abstract model class for weapon enchantments.
  * - extends weapon item
- * - Getters are overridden to get the 'next' weapon's relevant attributes
+ * - Getters are overridden to get the original weapon's relevant attributes
  * - Setters are not overridden so that if the weapon must be modified, the enchantment class is untouched
  *
  * Getters are overridden since weapon enchantment class itself does not inherit from the wrapped
- * weapon. Therefore, getters must be trickled down all the way to the original weapon. If getters were not overridden,
- * they will return null
+ * weapon. Instead of trickling down through every wrapped enchantment, the stack is compiled into a flat
+ * EnchantmentProfile when the enchantment is applied. Getters and strike() therefore go straight to the original
+ * weapon and the profile, regardless of how many enchantments are stacked.
+ *
+ * Subclasses describe their effect through the constructor - a strike of a single enchantment is
+ * (int)((damage + additive + random bonus between randomMin and randomMax) * multiplier)
  *
  * FIELDS
  * - next               : WeaponItem
  * - enchantmentName    : String
  * - enchantmentCost    : int
+ * - profile            : EnchantmentProfile - flattened enchantment stack including this enchantment
  */
 public abstract class WeaponEnchantment extends WeaponItem
 {
     protected WeaponItem next;
     private final String enchantmentName;
     private final int enchantmentCost;
+    private final EnchantmentProfile profile;
+    private String rootDescription;
+    private String description;
 
-    public WeaponEnchantment(WeaponItem next, String enchantmentName, int enchantmentCost)
+    public WeaponEnchantment(WeaponItem next, String enchantmentName, int enchantmentCost,
+                             int additive, int randomMin, int randomMax, double multiplier)
     {
         super(next.getName(), next.getMinEffect(), next.getMaxEffect(), next.getCost(), next.getDamageType(), next.getWeaponType());
 
         this.enchantmentName = enchantmentName;
         this.enchantmentCost = enchantmentCost;
+        this.profile = EnchantmentProfile.compile(next, enchantmentName, enchantmentCost, additive, randomMin, randomMax, multiplier);
 
         this.next = next;
     }
@@ -50,13 +60,37 @@ public abstract class WeaponEnchantment extends WeaponItem
         return enchantmentCost;
     }
 
+    /**
+     * Method to obtaining the weapon this enchantment decorates - the original weapon or the previous enchantment
+     */
+    public WeaponItem getNext()
+    {
+        return next;
+    }
+
+    /**
+     * Method to obtaining the flattened enchantment stack
+     */
+    EnchantmentProfile getProfile()
+    {
+        return profile;
+    }
+
+    /**
+     * Method to obtaining the damage distribution of a strike with all stacked enchantments
+     */
+    public DamageDistribution getDamageDistribution()
+    {
+        return profile.getDistribution();
+    }
+
     /**
      * Overridden method to getting name of actual weapon
      */
     @Override
     public String getName()
     {
-        return next.getName();
+        return profile.getRoot().getName();
     }
 
     /**
@@ -66,7 +100,7 @@ public abstract class WeaponEnchantment extends WeaponItem
     @Override
     public int getCost()
     {
-        return next.getCost() + enchantmentCost;
+        return profile.getRoot().getCost() + profile.getEnchantmentCost();
     }
 
     /**
@@ -75,7 +109,7 @@ public abstract class WeaponEnchantment extends WeaponItem
     @Override
     public int getMaxEffect()
     {
-        return next.getMaxEffect();
+        return profile.getRoot().getMaxEffect();
     }
 
     /**
@@ -84,7 +118,7 @@ public abstract class WeaponEnchantment extends WeaponItem
     @Override
     public int getMinEffect()
     {
-        return next.getMinEffect();
+        return profile.getRoot().getMinEffect();
     }
 
     /**
@@ -93,7 +127,7 @@ public abstract class WeaponEnchantment extends WeaponItem
     @Override
     public String getDamageType()
     {
-        return next.getDamageType();
+        return profile.getRoot().getDamageType();
     }
 
     /**
@@ -102,26 +136,46 @@ public abstract class WeaponEnchantment extends WeaponItem
     @Override
     public String getWeaponType()
     {
-        return next.getWeaponType();
+        return profile.getRoot().getWeaponType();
     }
 
     /**
-     * Decorator method to trickle down to actual weapon.
+     * Decorator method for weapon attack function
+     * - samples the damage distribution of the whole stack instead of trickling down to the actual weapon
      *
-     * More on this inside specific weapon enchantment classes.
+     * RETURN
+     * - total damage   : int
      */
     @Override
     public int strike()
     {
-        return next.strike();
+        return profile.strike();
     }
 
     /**
      * To string method for showing enchantment information
+     * - cached until the description of the actual weapon changes, checked by reference since the actual weapon
+     *   caches its own description until it is modified
      */
     @Override
     public String toString() {
-        return next.toString() + "(" +enchantmentName+ ") " ;
+        String currentRootDescription = profile.getRoot().toString();
+        if(currentRootDescription != rootDescription)
+        {
+            description = currentRootDescription + profile.getSuffix();
+            rootDescription = currentRootDescription;
+        }
+        return description;
+    }
+
+    /**
+     * Overridden method to obtain the description used to find duplicates
+     * - the name of an enchanted weapon is the name of the actual weapon, therefore duplicate markers are kept
+     */
+    @Override
+    protected String getMatchDescription()
+    {
+        return this.toString();
     }
 
     /**
@@ -143,6 +197,6 @@ public abstract class WeaponEnchantment extends WeaponItem
     @Override
     public GameItem clone()
     {
-        return next.clone();
+        return profile.getRoot().clone();
     }
 }
@@ -1,17 +1,23 @@
 package model.item;
 
 
-import java.util.Random;
+import model.GameRandom;
 
 /**
  * Model class for game items
  * - Top level parent class for all item types
+ * - rendered descriptions are cached and only rebuilt after a mutator has been called
+ *
+ * Subclasses add their information through the describe() hook instead of overriding toString(), and must call
+ * invalidateDescription() from their own mutators.
  *
  * Fields :
- * - name       : String
- * - cost       : int
- * - maxEffect  : int
- * - minEffect  : int
+ * - name               : String
+ * - cost               : int
+ * - maxEffect          : int
+ * - minEffect          : int
+ * - description        : String - cached toString()
+ * - matchDescription   : String - cached description without duplicate marker, used by equals()
  */
 public abstract class GameItem
 {
@@ -20,6 +26,8 @@ public abstract class GameItem
     private int cost;
     private int maxEffect;
     private int minEffect;
+    private String description;
+    private String matchDescription;
 
     public GameItem(String name, int minEffect, int maxEffect, int cost)
     {
@@ -27,6 +35,7 @@ public abstract class GameItem
         this.cost = cost;
         this.minEffect = minEffect;
         this.maxEffect = maxEffect;
+        this.invalidateDescription();
     }
 
     public GameItem(GameItem item)
@@ -62,6 +71,7 @@ public abstract class GameItem
     public void setName(String name)
     {
         this.name = name;
+        this.invalidateDescription();
     }
 
     public void setCost(int cost) throws InvalidItemException
@@ -69,6 +79,7 @@ public abstract class GameItem
         if(cost >= 0)
         {
             this.cost = cost;
+            this.invalidateDescription();
         }
         else
         {
@@ -89,6 +100,7 @@ public abstract class GameItem
         }
 
         this.maxEffect = maxEffect;
+        this.invalidateDescription();
     }
 
     public void setMinEffect(int minEffect) throws InvalidItemException
@@ -104,6 +116,7 @@ public abstract class GameItem
         }
 
         this.minEffect = minEffect;
+        this.invalidateDescription();
     }
 
     /**
@@ -118,8 +131,7 @@ public abstract class GameItem
 
         if(maxEffect != minEffect)
         {
-            Random rand = new Random();
-            effect = rand.nextInt(maxEffect - minEffect + 1) + minEffect;
+            effect = GameRandom.get().nextInt(maxEffect - minEffect + 1) + minEffect;
         }
         else
         {
@@ -130,15 +142,52 @@ public abstract class GameItem
     }
 
     /**
-     * To string method for showing game item information
+     * Method for discarding the cached descriptions - called by every mutator
      */
-    @Override
-    public String toString() {
+    protected void invalidateDescription()
+    {
+        this.description = null;
+        this.matchDescription = null;
+    }
+
+    /**
+     * Template method hook for rendering the item information with the given name
+     * - subclasses concatenate their specific information with the description of their parent class
+     */
+    protected String describe(String name)
+    {
         return name +
                 " - COST = " +cost+
                 " gold, ";
     }
 
+    /**
+     * To string method for showing game item information
+     * - rendered once and cached until the item is modified
+     */
+    @Override
+    public String toString() {
+        if(description == null)
+        {
+            description = this.describe(name);
+        }
+        return description;
+    }
+
+    /**
+     * Method for obtaining the description used to find duplicates - rendered without the duplicate marker "(%d)"
+     * - rendered once and cached until the item is modified
+     */
+    protected String getMatchDescription()
+    {
+        if(matchDescription == null)
+        {
+            String nameWithoutDuplicateMarker = name.split("[(]")[0].trim();
+            matchDescription = nameWithoutDuplicateMarker.equals(name) ? this.toString() : this.describe(nameWithoutDuplicateMarker);
+        }
+        return matchDescription;
+    }
+
     /**
      * Equals method for comparison - checks if items are identical items regardless if duplicate item
      * - Useful when looking to prevent duplication in a set
@@ -148,26 +197,8 @@ public abstract class GameItem
      */
     public boolean equals(GameItem item)
     {
-        // Get name of both items
-        String thisName = this.getName();
-        String itemName = item.getName();
-
-        // Obtain name without the duplicate marker "(%d)"
-        String thisNameWithoutDuplicateMarker = thisName.split("[(]")[0].trim();
-        String itemNameWithoutDuplicateMarker = itemName.split("[(]")[0].trim();
-
-        // Temporarily set the names of both items to be the name without duplicate markers
-        this.setName(thisNameWithoutDuplicateMarker);
-        item.setName(itemNameWithoutDuplicateMarker);
-
-        // Call isIdentical
-        boolean identical = this.isIdentical(item);
-
-        // Reset the names back to original names
-        this.setName(thisName);
-        item.setName(itemName);
-
-        return identical;
+        // Compare descriptions of both items without the duplicate markers
+        return this.getMatchDescription().equals(item.getMatchDescription());
     }
 
     /**
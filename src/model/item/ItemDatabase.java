@@ -4,23 +4,43 @@ import model.item.armour.ArmourItem;
 import model.item.potion.PotionItem;
 import model.item.weapon.WeaponItem;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Model class for ItemDatabase
  * - holds all items currently available in the game
+ * - keeps an upgrade index of weapons and of armours by cost and expected effect, rebuilt on first use once items
+ *   are added or removed
+ * - items can be listed a page at a time, a page without a filter or order costs O(page size)
  *
  * FIELDS
- * - itemList       : List of GameItem
+ * - itemList       : List of GameItem - indexed, so an item is found by its position in O(1)
  * - itemCount      : Number of GameItems
+ * - descriptions   : Set of item descriptions without duplicate markers - finds identical items in O(1)
+ * - positions      : Map of Key = item description without duplicate markers, Value = position - built on first
+ *                    lookup and dropped when items are added or removed, null if not built
+ * - weaponUpgrades : UpgradeIndex of weapons by expected damage - null if not built
+ * - armourUpgrades : UpgradeIndex of armours by expected damage blocked - null if not built
  */
 public class ItemDatabase
 {
     /** ItemDatabase specific Fields **/
     private final List<GameItem> itemList;
     private int itemCount;
+    private final Set<String> descriptions;
+    private volatile Map<String, Integer> positions;
+    private volatile UpgradeIndex weaponUpgrades;
+    private volatile UpgradeIndex armourUpgrades;
 
     /**
      * Default Constructor
@@ -28,7 +48,8 @@ public class ItemDatabase
      */
     public ItemDatabase()
     {
-        itemList = new LinkedList<>();
+        itemList = new ArrayList<>();
+        descriptions = new HashSet<>();
 
         itemCount = 0;
     }
@@ -52,7 +73,10 @@ public class ItemDatabase
 
         // Updates database
         itemList.add(item);
+        descriptions.add(item.getMatchDescription());
+        positions = null;
         itemCount++;
+        this.clearUpgradeIndexes();
     }
 
 
@@ -63,14 +87,36 @@ public class ItemDatabase
     public void removeItem(GameItem item) throws InvalidItemDatabaseException
     {
         // Checks if database already contains the item data
-        if(!itemList.contains(item))
+        int index = itemList.indexOf(item);
+        if(index == -1)
         {
             throw new InvalidItemDatabaseException("Item does not exist in database");
         }
 
         // Updates database
-        itemList.remove(item);
+        GameItem removedItem = itemList.remove(index);
+        descriptions.remove(removedItem.getMatchDescription());
+        positions = null;
         itemCount--;
+        this.clearUpgradeIndexes();
+    }
+
+    /**
+     * Method for dropping the upgrade indexes once the catalog changes - used by subclasses which store their items
+     * differently
+     */
+    protected void clearUpgradeIndexes()
+    {
+        weaponUpgrades = null;
+        armourUpgrades = null;
+    }
+
+    /**
+     * Method for obtaining the expected effect of an item - effects are rolled uniformly between minimum and maximum
+     */
+    public static double getExpectedEffect(GameItem item)
+    {
+        return (item.getMinEffect() + item.getMaxEffect()) / 2.0;
     }
 
     /** ACCESSORS */
@@ -91,6 +137,107 @@ public class ItemDatabase
         }
     }
 
+    public int getItemCost(int index) throws InvalidItemDatabaseException
+    {
+        return this.getItem(index).getCost();
+    }
+
+    /**
+     * Method for obtaining a page of the items in the order they were added
+     */
+    public Page<GameItem> getPage(int offset, int limit)
+    {
+        return this.getPage(offset, limit, null, null);
+    }
+
+    /**
+     * Method for obtaining a page of the items matching a filter, in the given order
+     * - positions of the page are positions inside the database, so items are still chosen by getItem()
+     * - filtering and ordering look at every item, only a page without them costs O(page size)
+     *
+     * PARAMETERS
+     * - filter     : Predicate of GameItem - null to list every item
+     * - order      : Comparator of GameItem - null to list items in the order they were added
+     */
+    public Page<GameItem> getPage(int offset, int limit, Predicate<? super GameItem> filter, Comparator<? super GameItem> order)
+    {
+        return Page.of(this.getListing(), offset, limit, filter, order);
+    }
+
+    /**
+     * Method for obtaining the items by position - subclasses storing items elsewhere provide their own listing
+     */
+    protected List<GameItem> getListing()
+    {
+        return Collections.unmodifiableList(itemList);
+    }
+
+    /**
+     * Methods for obtaining the upgrade indexes of weapons and armours - positions listed are positions inside the
+     * database, so items are still obtained by getItem()
+     */
+    public UpgradeIndex getWeaponUpgrades()
+    {
+        UpgradeIndex upgrades = weaponUpgrades;
+        if(upgrades == null)
+        {
+            upgrades = this.buildUpgradeIndex(ItemIndex.WEAPON);
+            weaponUpgrades = upgrades;
+        }
+        return upgrades;
+    }
+
+    public UpgradeIndex getArmourUpgrades()
+    {
+        UpgradeIndex upgrades = armourUpgrades;
+        if(upgrades == null)
+        {
+            upgrades = this.buildUpgradeIndex(ItemIndex.ARMOUR);
+            armourUpgrades = upgrades;
+        }
+        return upgrades;
+    }
+
+    /**
+     * Method for building the upgrade index of every item of a type - subclasses storing items elsewhere provide
+     * the cost and expected effect of their items without materialising them
+     */
+    protected UpgradeIndex buildUpgradeIndex(char type)
+    {
+        int count = 0;
+        int[] itemPositions = new int[itemList.size()];
+        int[] costs = new int[itemList.size()];
+        double[] effects = new double[itemList.size()];
+        for(int i = 0; i < itemList.size(); i++)
+        {
+            GameItem item = itemList.get(i);
+            if(ItemIndex.typeOf(item) == type)
+            {
+                itemPositions[count] = i;
+                costs[count] = item.getCost();
+                effects[count] = getExpectedEffect(item);
+                count++;
+            }
+        }
+        return new UpgradeIndex(Arrays.copyOf(itemPositions, count), Arrays.copyOf(costs, count), Arrays.copyOf(effects, count));
+    }
+
+    /**
+     * Method for counting how many items in the database can be bought with the given gold
+     */
+    public int countAffordable(double gold)
+    {
+        int count = 0;
+        for(GameItem item : itemList)
+        {
+            if(item.getCost() <= gold)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
     public List<WeaponItem> getAllWeapons()
     {
         List<WeaponItem> weapons = new LinkedList<>();
@@ -143,8 +290,8 @@ public class ItemDatabase
     }
 
     /**
-     * Method for obtaining cheapest weapon available from the database
-     * - places all cost available into a list and uses Collections.min() function
+     * Method for obtaining cheapest weapon available from the database in a single pass
+     * - the last one listed is returned if several cost the same
      *
      * RETURN
      * - cheapestWeapon     : WeaponItem
@@ -152,16 +299,9 @@ public class ItemDatabase
     public WeaponItem getCheapestWeapon()
     {
         WeaponItem cheapestWeapon = null;
-        List<Integer> costs = new LinkedList<>();
-
-        // Iterate through all weapons
         for(WeaponItem weapon : this.getAllWeapons())
         {
-            // Add cost to list of costs
-            costs.add(weapon.getCost());
-
-            // If this cost is the minimum, make it the cheapest
-            if(weapon.getCost() == Collections.min(costs))
+            if(cheapestWeapon == null || weapon.getCost() <= cheapestWeapon.getCost())
             {
                 cheapestWeapon = weapon;
             }
@@ -170,8 +310,8 @@ public class ItemDatabase
     }
 
     /**
-     * Method for obtaining cheapest armour available from the database
-     * - places all cost available into a list and uses Collections.min() function
+     * Method for obtaining cheapest armour available from the database in a single pass
+     * - the last one listed is returned if several cost the same
      *
      * RETURN
      * - cheapestArmour     : ArmourItem
@@ -179,16 +319,9 @@ public class ItemDatabase
     public ArmourItem getCheapestArmour()
     {
         ArmourItem cheapestArmour = null;
-        List<Integer> costs = new LinkedList<>();
-
-        // Iterate through all weapons
         for(ArmourItem armour : this.getAllArmours())
         {
-            // Add cost to list of costs
-            costs.add(armour.getCost());
-
-            // If this cost is the minimum, make it the cheapest
-            if(armour.getCost() == Collections.min(costs))
+            if(cheapestArmour == null || armour.getCost() <= cheapestArmour.getCost())
             {
                 cheapestArmour = armour;
             }
@@ -197,8 +330,8 @@ public class ItemDatabase
     }
 
     /**
-     * Method for obtaining cheapest potion available from the database
-     * - places all cost available into a list and uses Collections.min() function
+     * Method for obtaining cheapest potion available from the database in a single pass
+     * - the last one listed is returned if several cost the same
      *
      * RETURN
      * - cheapestPotion     : PotionItem
@@ -206,16 +339,9 @@ public class ItemDatabase
     public PotionItem getCheapestPotion()
     {
         PotionItem cheapestPotion = null;
-        List<Integer> costs = new LinkedList<>();
-
-        // Iterate through all weapons
         for(PotionItem potion : this.getAllPotions())
         {
-            // Add cost to list of costs
-            costs.add(potion.getCost());
-
-            // If this cost is the minimum, make it the cheapest
-            if(potion.getCost() == Collections.min(costs))
+            if(cheapestPotion == null || potion.getCost() <= cheapestPotion.getCost())
             {
                 cheapestPotion = potion;
             }
@@ -225,55 +351,74 @@ public class ItemDatabase
 
     /**
      * Method for checking if database contains imported item
-     * - trims out the duplicate markers (if applicable) and uses that for comparison
+     * - trims out the duplicate markers (if applicable) and uses that for comparison in O(1)
      */
     public boolean contains(GameItem item)
     {
-        for(GameItem checkItem : itemList)
+        return item != null && descriptions.contains(item.getMatchDescription());
+    }
+
+    /**
+     * Method for finding the position of the item identical to the imported item, e.g. the item a bought item was cloned from
+     * - positions are only looked up again after the database changes, so repeated lookups cost O(1)
+     *
+     * RETURN
+     * - position of the identical item, -1 if not found
+     */
+    public int indexOf(GameItem item)
+    {
+        if(item == null)
+        {
+            return -1;
+        }
+
+        // Built completely before it is published, so concurrent lookups never see a partial map
+        Map<String, Integer> built = positions;
+        if(built == null)
         {
-            if(checkItem.equals(item))
+            built = new HashMap<>();
+            for(int i = 0; i < itemList.size(); i++)
             {
-                return true;
+                built.put(itemList.get(i).getMatchDescription(), i);
             }
+            positions = built;
         }
 
-        return false;
+        Integer position = built.get(item.getMatchDescription());
+        return position == null ? -1 : position;
     }
 
     @Override
     public String toString()
     {
-        String out = "";
+        StringBuilder out = new StringBuilder();
 
         int index = 1;
         for(GameItem item : itemList)
         {
-            out += index + "  -  " + item.toString() + "\n";
+            out.append(index).append("  -  ").append(item.toString()).append("\n");
 
             index++;
         }
-        return out;
+        return out.toString();
     }
 
     /**
      * Method for obtaining string representation of all items in database
+     * - NOTE : renders the whole catalog, views render a single page instead
      */
     public String getListString()
     {
-        List<GameItem> itemList = this.getAllItems();
-
-        String out = "\n";
+        StringBuilder out = new StringBuilder("\n");
         int index = 1;
-        for(GameItem item : itemList)
+        for(GameItem item : this.getAllItems())
         {
-            String info = item.toString();
-
-            out += index + "  -  " +info+ "\n";
+            out.append(index).append("  -  ").append(item.toString()).append("\n");
 
             index++;
         }
 
-        return out;
+        return out.toString();
     }
 
 }
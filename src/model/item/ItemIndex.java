@@ -0,0 +1,204 @@
+package model.item;
+
+import model.item.armour.ArmourItem;
+import model.item.potion.PotionItem;
+import model.item.weapon.WeaponItem;
+
+import java.util.Arrays;
+
+/**
+ * Model class for a compact item index
+ * - holds only the information required to answer cheap catalog queries without full item objects
+ * - entries are stored in parallel primitive arrays to keep the resident footprint small
+ *
+ * FIELDS
+ * - nameHashes     : int array of name hashes (duplicate markers removed)
+ * - types          : char array of item types (W, A or P)
+ * - costs          : int array of item costs
+ * - effects        : double array of expected item effects - ranks upgrades without full items
+ * - offsets        : long array of locations of the full item inside its source
+ * - size           : Number of entries
+ */
+public class ItemIndex
+{
+    /** Item type markers - same characters as the data source item types */
+    public static final char WEAPON = 'W';
+    public static final char ARMOUR = 'A';
+    public static final char POTION = 'P';
+
+    /** Initial capacity of the parallel arrays */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** ItemIndex specific Fields **/
+    private int[] nameHashes;
+    private char[] types;
+    private int[] costs;
+    private double[] effects;
+    private long[] offsets;
+    private int size;
+
+    /**
+     * Default Constructor
+     * - initialises data structures and size
+     */
+    public ItemIndex()
+    {
+        nameHashes = new int[DEFAULT_CAPACITY];
+        types = new char[DEFAULT_CAPACITY];
+        costs = new int[DEFAULT_CAPACITY];
+        effects = new double[DEFAULT_CAPACITY];
+        offsets = new long[DEFAULT_CAPACITY];
+
+        size = 0;
+    }
+
+    /**
+     * Method for adding an entry to the end of the index
+     */
+    public void add(int nameHash, char type, int cost, double effect, long offset)
+    {
+        if(size == costs.length)
+        {
+            int capacity = costs.length * 2;
+            nameHashes = Arrays.copyOf(nameHashes, capacity);
+            types = Arrays.copyOf(types, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+            effects = Arrays.copyOf(effects, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+
+        nameHashes[size] = nameHash;
+        types[size] = type;
+        costs[size] = cost;
+        effects[size] = effect;
+        offsets[size] = offset;
+        size++;
+    }
+
+    /**
+     * Method for removing an entry from the index
+     * - later entries are shifted down so that positions stay in catalog order
+     */
+    public void remove(int position)
+    {
+        checkPosition(position);
+
+        int moved = size - position - 1;
+        System.arraycopy(nameHashes, position + 1, nameHashes, position, moved);
+        System.arraycopy(types, position + 1, types, position, moved);
+        System.arraycopy(costs, position + 1, costs, position, moved);
+        System.arraycopy(effects, position + 1, effects, position, moved);
+        System.arraycopy(offsets, position + 1, offsets, position, moved);
+        size--;
+    }
+
+    /** ACCESSORS */
+    public int size()
+    {
+        return size;
+    }
+
+    public int getNameHash(int position)
+    {
+        checkPosition(position);
+        return nameHashes[position];
+    }
+
+    public char getType(int position)
+    {
+        checkPosition(position);
+        return types[position];
+    }
+
+    public int getCost(int position)
+    {
+        checkPosition(position);
+        return costs[position];
+    }
+
+    public double getEffect(int position)
+    {
+        checkPosition(position);
+        return effects[position];
+    }
+
+    public long getOffset(int position)
+    {
+        checkPosition(position);
+        return offsets[position];
+    }
+
+    /**
+     * Method for obtaining the position of the cheapest entry of a given type
+     * - if multiple entries share the cheapest cost, the last one is returned (same as ItemDatabase)
+     *
+     * RETURN
+     * - position of cheapest entry, -1 if no entry of that type exists
+     */
+    public int findCheapest(char type)
+    {
+        int cheapest = -1;
+        for(int i = 0; i < size; i++)
+        {
+            if(types[i] == type && (cheapest == -1 || costs[i] <= costs[cheapest]))
+            {
+                cheapest = i;
+            }
+        }
+        return cheapest;
+    }
+
+    /**
+     * Method for counting how many entries cost no more than the given amount of gold
+     */
+    public int countAffordable(double gold)
+    {
+        int count = 0;
+        for(int i = 0; i < size; i++)
+        {
+            if(costs[i] <= gold)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method for obtaining the index type marker of a game item
+     */
+    public static char typeOf(GameItem item)
+    {
+        if(item instanceof WeaponItem)
+        {
+            return WEAPON;
+        }
+        else if(item instanceof ArmourItem)
+        {
+            return ARMOUR;
+        }
+        else if(item instanceof PotionItem)
+        {
+            return POTION;
+        }
+
+        throw new IllegalArgumentException("Item type cannot be indexed");
+    }
+
+    /**
+     * Method for obtaining the hash of an item name used for index lookups
+     * - duplicate markers "(%d)" are removed the same way GameItem.equals() does
+     */
+    public static int hashName(String name)
+    {
+        return name.split("[(]")[0].trim().hashCode();
+    }
+
+    private void checkPosition(int position)
+    {
+        if(position < 0 || position >= size)
+        {
+            throw new IndexOutOfBoundsException("Index position out of bounds : " + position);
+        }
+    }
+}
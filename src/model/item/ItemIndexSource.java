@@ -0,0 +1,11 @@
+package model.item;
+
+/**
+ * Strategy Interface - ItemIndexSource
+ * - method readItem() for materialising a full game item from its location in the data source
+ * - locations are the offsets stored inside an ItemIndex
+ */
+public interface ItemIndexSource
+{
+    GameItem readItem(long offset) throws InvalidItemDatabaseException;
+}
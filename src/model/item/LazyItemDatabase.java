@@ -0,0 +1,379 @@
+package model.item;
+
+import model.item.armour.ArmourItem;
+import model.item.potion.PotionItem;
+import model.item.weapon.WeaponItem;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model class for LazyItemDatabase inheriting from ItemDatabase
+ * - only holds a compact index of the catalog in memory
+ * - full game items are materialised from the index source on first access
+ * - materialised items are kept inside a bounded least-recently-used cache
+ *
+ * Cost based queries (cheapest item, affordability, item cost) are answered from the index alone,
+ * therefore resident memory is proportional to the items actually browsed in a session.
+ *
+ * Items added during run-time do not exist inside the index source and are therefore pinned in memory.
+ * Their index offsets are stored as negative numbers: -(pinned position + 1)
+ *
+ * Upgrade indexes are built from the costs and expected effects held by the index, so ranking upgrades only
+ * materialises the items recommended.
+ *
+ * FIELDS
+ * - index          : ItemIndex
+ * - source         : ItemIndexSource
+ * - cache          : Map of Key = index position, Value = materialised item
+ * - pinnedItems    : List of GameItem added during run-time
+ */
+public class LazyItemDatabase extends ItemDatabase
+{
+    /** LazyItemDatabase specific Fields **/
+    private final ItemIndex index;
+    private final ItemIndexSource source;
+    private final Map<Integer, GameItem> cache;
+    private final List<GameItem> pinnedItems;
+
+    /**
+     * Constructor
+     * - cache capacity is the maximum number of materialised items kept in memory
+     */
+    public LazyItemDatabase(ItemIndex index, ItemIndexSource source, final int cacheCapacity)
+    {
+        super();
+
+        if(index == null || source == null)
+        {
+            throw new IllegalArgumentException("Item index and index source must be initialised");
+        }
+
+        if(cacheCapacity <= 0)
+        {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+
+        this.index = index;
+        this.source = source;
+        this.pinnedItems = new ArrayList<>();
+
+        // Access ordered map - eldest entry is the least recently used item
+        this.cache = new LinkedHashMap<Integer, GameItem>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, GameItem> eldest)
+            {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Method for adding items to database
+     * - item is pinned in memory since it does not exist inside the index source
+     */
+    @Override
+    public void addItem(GameItem item) throws InvalidItemDatabaseException
+    {
+        if(item == null)
+        {
+            throw new InvalidItemDatabaseException("Item cannot be null");
+        }
+
+        if(this.contains(item))
+        {
+            throw new InvalidItemDatabaseException("Item already exists in database");
+        }
+
+        pinnedItems.add(item);
+        index.add(ItemIndex.hashName(item.getName()), ItemIndex.typeOf(item), item.getCost(), getExpectedEffect(item), -pinnedItems.size());
+        this.clearUpgradeIndexes();
+    }
+
+    /**
+     * Method for removing items from database
+     * - cached positions after the removed item are shifted, therefore the cache is cleared
+     */
+    @Override
+    public void removeItem(GameItem item) throws InvalidItemDatabaseException
+    {
+        int position = this.find(item);
+        if(position == -1)
+        {
+            throw new InvalidItemDatabaseException("Item does not exist in database");
+        }
+
+        index.remove(position);
+        cache.clear();
+        this.clearUpgradeIndexes();
+    }
+
+    /** ACCESSORS */
+    @Override
+    public int getItemCount()
+    {
+        return index.size();
+    }
+
+    @Override
+    public GameItem getItem(int position) throws InvalidItemDatabaseException
+    {
+        if(position < 0 || position >= index.size())
+        {
+            throw new InvalidItemDatabaseException("Index out of bounds.", new IndexOutOfBoundsException());
+        }
+
+        GameItem item = cache.get(position);
+        if(item == null)
+        {
+            item = this.materialise(position);
+            cache.put(position, item);
+        }
+        return item;
+    }
+
+    @Override
+    public int getItemCost(int position) throws InvalidItemDatabaseException
+    {
+        if(position < 0 || position >= index.size())
+        {
+            throw new InvalidItemDatabaseException("Index out of bounds.", new IndexOutOfBoundsException());
+        }
+
+        return index.getCost(position);
+    }
+
+    /**
+     * Method for obtaining the items by position - an item is only materialised when its position is read,
+     * therefore a page without a filter or order only materialises the items on the page
+     */
+    @Override
+    protected List<GameItem> getListing()
+    {
+        return new AbstractList<GameItem>()
+        {
+            @Override
+            public GameItem get(int position)
+            {
+                return LazyItemDatabase.this.getItemOrNull(position);
+            }
+
+            @Override
+            public int size()
+            {
+                return index.size();
+            }
+        };
+    }
+
+    /**
+     * Method for building an upgrade index from the index alone - no item is materialised
+     */
+    @Override
+    protected UpgradeIndex buildUpgradeIndex(char type)
+    {
+        int count = 0;
+        int[] positions = new int[index.size()];
+        int[] costs = new int[index.size()];
+        double[] effects = new double[index.size()];
+        for(int i = 0; i < index.size(); i++)
+        {
+            if(index.getType(i) == type)
+            {
+                positions[count] = i;
+                costs[count] = index.getCost(i);
+                effects[count] = index.getEffect(i);
+                count++;
+            }
+        }
+        return new UpgradeIndex(Arrays.copyOf(positions, count), Arrays.copyOf(costs, count), Arrays.copyOf(effects, count));
+    }
+
+    @Override
+    public int countAffordable(double gold)
+    {
+        return index.countAffordable(gold);
+    }
+
+    @Override
+    public List<WeaponItem> getAllWeapons()
+    {
+        List<WeaponItem> weapons = new LinkedList<>();
+        for(int i = 0; i < index.size(); i++)
+        {
+            if(index.getType(i) == ItemIndex.WEAPON)
+            {
+                weapons.add((WeaponItem) this.getItemOrNull(i));
+            }
+        }
+        return weapons;
+    }
+
+    @Override
+    public List<ArmourItem> getAllArmours()
+    {
+        List<ArmourItem> armours = new LinkedList<>();
+        for(int i = 0; i < index.size(); i++)
+        {
+            if(index.getType(i) == ItemIndex.ARMOUR)
+            {
+                armours.add((ArmourItem) this.getItemOrNull(i));
+            }
+        }
+        return armours;
+    }
+
+    @Override
+    public List<PotionItem> getAllPotions()
+    {
+        List<PotionItem> potions = new LinkedList<>();
+        for(int i = 0; i < index.size(); i++)
+        {
+            if(index.getType(i) == ItemIndex.POTION)
+            {
+                potions.add((PotionItem) this.getItemOrNull(i));
+            }
+        }
+        return potions;
+    }
+
+    /**
+     * Method for obtaining all items
+     * - NOTE : materialises the full catalog, only use when the whole catalog is actually required
+     */
+    @Override
+    public List<GameItem> getAllItems()
+    {
+        List<GameItem> items = new ArrayList<>(index.size());
+        for(int i = 0; i < index.size(); i++)
+        {
+            items.add(this.getItemOrNull(i));
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Cheapest item methods - the cheapest position is found from the index and only that item is materialised
+     */
+    @Override
+    public WeaponItem getCheapestWeapon()
+    {
+        return (WeaponItem) this.getItemOrNull(index.findCheapest(ItemIndex.WEAPON));
+    }
+
+    @Override
+    public ArmourItem getCheapestArmour()
+    {
+        return (ArmourItem) this.getItemOrNull(index.findCheapest(ItemIndex.ARMOUR));
+    }
+
+    @Override
+    public PotionItem getCheapestPotion()
+    {
+        return (PotionItem) this.getItemOrNull(index.findCheapest(ItemIndex.POTION));
+    }
+
+    /**
+     * Method for checking if database contains imported item
+     * - only items with a matching name hash and type are materialised for comparison
+     */
+    @Override
+    public boolean contains(GameItem item)
+    {
+        return this.find(item) != -1;
+    }
+
+    /**
+     * Method for finding the position of the item identical to the imported item
+     * - only items with a matching name hash and type are materialised for comparison
+     */
+    @Override
+    public int indexOf(GameItem item)
+    {
+        return this.find(item);
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder out = new StringBuilder();
+        for(int i = 0; i < index.size(); i++)
+        {
+            out.append(i + 1).append("  -  ").append(this.getItemOrNull(i)).append("\n");
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String getListString()
+    {
+        return "\n" + this.toString();
+    }
+
+    /**
+     * Method for finding the index position of an item
+     *
+     * RETURN
+     * - position of the item, -1 if not found
+     */
+    private int find(GameItem item)
+    {
+        if(item == null)
+        {
+            return -1;
+        }
+
+        int nameHash = ItemIndex.hashName(item.getName());
+        char type = ItemIndex.typeOf(item);
+
+        for(int i = 0; i < index.size(); i++)
+        {
+            if(index.getNameHash(i) == nameHash && index.getType(i) == type)
+            {
+                GameItem checkItem = this.getItemOrNull(i);
+                if(checkItem != null && checkItem.equals(item))
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method for obtaining an item where the accessor cannot throw
+     * - returns null if position is invalid or item cannot be materialised
+     */
+    private GameItem getItemOrNull(int position)
+    {
+        try
+        {
+            return position == -1 ? null : this.getItem(position);
+        }
+        catch(InvalidItemDatabaseException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Method for materialising the full item at an index position
+     */
+    private GameItem materialise(int position) throws InvalidItemDatabaseException
+    {
+        long offset = index.getOffset(position);
+        if(offset < 0)
+        {
+            return pinnedItems.get((int) (-offset - 1));
+        }
+
+        return source.readItem(offset);
+    }
+}
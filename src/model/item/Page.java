@@ -0,0 +1,143 @@
+package model.item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Model class for a single page of a listing, e.g. of the item catalog or of an inventory
+ * - immutable
+ * - every element keeps its position inside the full listing, so it can still be chosen by that position
+ *
+ * FIELDS
+ * - elements       : List of T - elements on this page
+ * - positions      : List of Integer - position of every element inside the full listing, starting at 0
+ * - offset         : int - number of matching elements before this page
+ * - totalCount     : int - number of matching elements over all pages
+ */
+public class Page<T>
+{
+    /** Page specific Fields **/
+    private final List<T> elements;
+    private final List<Integer> positions;
+    private final int offset;
+    private final int totalCount;
+
+    public Page(List<T> elements, List<Integer> positions, int offset, int totalCount)
+    {
+        if(elements.size() != positions.size())
+        {
+            throw new IllegalArgumentException("Every element must have a position");
+        }
+
+        this.elements = Collections.unmodifiableList(elements);
+        this.positions = Collections.unmodifiableList(positions);
+        this.offset = offset;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Method for cutting a page out of a listing
+     * - without a filter or order only the elements up to the end of the page are looked at, apart from counting
+     * - a filter looks at every element, an order also sorts the matching elements
+     *
+     * PARAMETERS
+     * - filter     : Predicate of T - null to keep every element
+     * - order      : Comparator of T - null to keep the order of the listing
+     */
+    public static <T> Page<T> of(List<T> listing, int offset, int limit, Predicate<? super T> filter, Comparator<? super T> order)
+    {
+        checkWindow(offset, limit);
+
+        if(filter == null && order == null)
+        {
+            int end = (int) Math.min((long) offset + limit, listing.size());
+            List<T> elements = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            for(int position = offset; position < end; position++)
+            {
+                elements.add(listing.get(position));
+                positions.add(position);
+            }
+            return new Page<>(elements, positions, offset, listing.size());
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for(int position = 0; position < listing.size(); position++)
+        {
+            if(filter == null || filter.test(listing.get(position)))
+            {
+                matches.add(position);
+            }
+        }
+
+        if(order != null)
+        {
+            matches.sort((first, second) -> order.compare(listing.get(first), listing.get(second)));
+        }
+
+        int end = (int) Math.min((long) offset + limit, matches.size());
+        List<T> elements = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for(int i = offset; i < end; i++)
+        {
+            elements.add(listing.get(matches.get(i)));
+            positions.add(matches.get(i));
+        }
+        return new Page<>(elements, positions, offset, matches.size());
+    }
+
+    /**
+     * Method for checking the window of a page is valid
+     */
+    public static void checkWindow(int offset, int limit)
+    {
+        if(offset < 0)
+        {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        if(limit <= 0)
+        {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+
+    /** ACCESSORS */
+    public List<T> getElements()
+    {
+        return elements;
+    }
+
+    public List<Integer> getPositions()
+    {
+        return positions;
+    }
+
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    public int getTotalCount()
+    {
+        return totalCount;
+    }
+
+    public int size()
+    {
+        return elements.size();
+    }
+
+    public boolean hasPrevious()
+    {
+        return offset > 0;
+    }
+
+    public boolean hasNext()
+    {
+        return offset + elements.size() < totalCount;
+    }
+}
@@ -0,0 +1,336 @@
+package model.item;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Model class for finding the items with the most expected effect gained per gold spent
+ * - every item is a point of cost and expected effect, and its gain per gold over an equipped effect e is the slope
+ *   of the line from (0, e) to the point - the item with the steepest line lies on the upper convex hull of the points
+ * - a segment tree over the items ordered by cost keeps the upper hull of every node, therefore the best item of a
+ *   cost range is found in O(log^2 n) by a binary search on the hulls of O(log n) nodes
+ * - the items are listed from the best by splitting the range of every item listed around it, each item listed
+ *   costs two range searches, i.e. the best k items are found in O(k log^2 n)
+ *
+ * The index is immutable and only holds primitive columns - an item database builds a new index in O(n log n) once its
+ * catalog has changed. Items are identified by their position inside the item database, so only the items listed
+ * have to be materialised.
+ *
+ * FIELDS
+ * - costs      : int array - costs of the items, ordered by cost then by effect
+ * - effects    : double array - expected effects of the items, in the same order
+ * - positions  : int array - positions of the items inside the item database, in the same order
+ * - leafCount  : int - number of leaves of the segment tree, a power of two
+ * - hullStarts : int array - start of the hull of every node of the segment tree inside hulls
+ * - hullEnds   : int array - end of the hull of every node, exclusive
+ * - hulls      : int array - vertices of the hull of every node in turn, ordered by cost, as indexes of the items
+ */
+public class UpgradeIndex
+{
+    /** UpgradeIndex specific Fields **/
+    private final int[] costs;
+    private final double[] effects;
+    private final int[] positions;
+    private final int leafCount;
+    private final int[] hullStarts;
+    private final int[] hullEnds;
+    private int[] hulls;
+
+    /**
+     * Constructor - builds the index of the given items in O(n log n)
+     * - the arrays hold the position, cost and expected effect of every item, in any order
+     */
+    public UpgradeIndex(int[] positions, int[] costs, double[] effects)
+    {
+        if(positions == null || costs == null || effects == null)
+        {
+            throw new IllegalArgumentException("Positions, costs and effects cannot be null");
+        }
+
+        if(positions.length != costs.length || positions.length != effects.length)
+        {
+            throw new IllegalArgumentException("Positions, costs and effects must be of the same length");
+        }
+
+        // Items are ordered by effect, then by cost keeping that order - both sorts pack their key and the item into a long
+        int count = positions.length;
+        double[] sortedEffects = effects.clone();
+        Arrays.sort(sortedEffects);
+        long[] byEffect = new long[count];
+        for(int i = 0; i < count; i++)
+        {
+            byEffect[i] = ((long) Arrays.binarySearch(sortedEffects, effects[i]) << 32) | i;
+        }
+        Arrays.sort(byEffect);
+
+        long[] byCost = new long[count];
+        for(int i = 0; i < count; i++)
+        {
+            byCost[i] = ((long) costs[(int) byEffect[i]] << 32) | i;
+        }
+        Arrays.sort(byCost);
+
+        this.costs = new int[count];
+        this.effects = new double[count];
+        this.positions = new int[count];
+        for(int i = 0; i < count; i++)
+        {
+            int item = (int) byEffect[(int) byCost[i]];
+            this.costs[i] = costs[item];
+            this.effects[i] = effects[item];
+            this.positions[i] = positions[item];
+        }
+
+        int leaves = 1;
+        while(leaves < count)
+        {
+            leaves *= 2;
+        }
+        this.leafCount = leaves;
+        this.hullStarts = new int[2 * leaves];
+        this.hullEnds = new int[2 * leaves];
+        this.hulls = new int[Math.max(2 * count, 16)];
+        this.buildHulls(count);
+    }
+
+    /**
+     * Method for building the hull of every node from the leaves up
+     * - the items of a left child never come after the items of its right child, therefore the hull of a node is the
+     *   hull of the vertices of both child hulls in turn
+     */
+    private void buildHulls(int count)
+    {
+        int end = 0;
+        for(int i = 0; i < count; i++)
+        {
+            hullStarts[leafCount + i] = end;
+            hulls[end++] = i;
+            hullEnds[leafCount + i] = end;
+        }
+        for(int i = count; i < leafCount; i++)
+        {
+            hullStarts[leafCount + i] = end;
+            hullEnds[leafCount + i] = end;
+        }
+
+        for(int node = leafCount - 1; node >= 1; node--)
+        {
+            int left = 2 * node;
+            int right = 2 * node + 1;
+            int length = (hullEnds[left] - hullStarts[left]) + (hullEnds[right] - hullStarts[right]);
+            if(end + length > hulls.length)
+            {
+                hulls = Arrays.copyOf(hulls, Math.max(2 * hulls.length, end + length));
+            }
+
+            hullStarts[node] = end;
+            for(int child = left; child <= right; child++)
+            {
+                for(int i = hullStarts[child]; i < hullEnds[child]; i++)
+                {
+                    // Vertices which no longer turn clockwise are below the hull
+                    int vertex = hulls[i];
+                    while(end - hullStarts[node] >= 2 && this.cross(hulls[end - 2], hulls[end - 1], vertex) >= 0.0)
+                    {
+                        end--;
+                    }
+                    hulls[end++] = vertex;
+                }
+            }
+            hullEnds[node] = end;
+        }
+        hulls = Arrays.copyOf(hulls, end);
+    }
+
+    /**
+     * Method for the cross product of the vectors from item o to items a and b - positive if o, a, b turn anticlockwise
+     */
+    private double cross(int o, int a, int b)
+    {
+        return (double) (costs[a] - costs[o]) * (effects[b] - effects[o]) - (effects[a] - effects[o]) * (double) (costs[b] - costs[o]);
+    }
+
+    public int size()
+    {
+        return costs.length;
+    }
+
+    /**
+     * Method for starting a search of the items costing no more than given, from the most effect gained per gold
+     * - only items with more effect than the equipped effect are listed
+     */
+    public Search search(double equippedEffect, int maxCost)
+    {
+        return new Search(equippedEffect, maxCost);
+    }
+
+    /**
+     * Search over the items of an index, listing them from the most effect gained per gold
+     *
+     * FIELDS
+     * - equippedEffect : double - effect the gain of an item is measured from
+     * - ranges         : PriorityQueue of ranges of items not listed yet, by the best item of the range
+     */
+    public final class Search
+    {
+        private final double equippedEffect;
+        private final PriorityQueue<Range> ranges;
+
+        private Search(double equippedEffect, int maxCost)
+        {
+            this.equippedEffect = equippedEffect;
+            this.ranges = new PriorityQueue<>((a, b) -> this.isBetter(a.best, b.best) ? -1 : this.isBetter(b.best, a.best) ? 1 : 0);
+
+            // Last item costing no more than the maximum cost
+            int low = 0;
+            int high = costs.length;
+            while(low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if(costs[middle] <= maxCost)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            this.offer(0, low - 1);
+        }
+
+        public boolean hasNext()
+        {
+            return !ranges.isEmpty();
+        }
+
+        /**
+         * Method for obtaining the effect gained per gold of the next item, i.e. an upper bound of every item after it
+         */
+        public double getNextGainPerGold()
+        {
+            if(ranges.isEmpty())
+            {
+                throw new NoSuchElementException("Search has no more items");
+            }
+
+            int best = ranges.peek().best;
+            // Free items are worth any amount of gold
+            return costs[best] == 0 ? Double.POSITIVE_INFINITY : (effects[best] - equippedEffect) / costs[best];
+        }
+
+        /**
+         * Method for listing the next item
+         *
+         * RETURN
+         * - int    : position of the item inside the item database
+         */
+        public int next()
+        {
+            Range range = ranges.poll();
+            if(range == null)
+            {
+                throw new NoSuchElementException("Search has no more items");
+            }
+
+            this.offer(range.from, range.best - 1);
+            this.offer(range.best + 1, range.to);
+            return positions[range.best];
+        }
+
+        /**
+         * Method for adding a range of items not listed yet - a range whose best item gains nothing is dropped
+         */
+        private void offer(int from, int to)
+        {
+            if(from <= to)
+            {
+                int best = this.findBest(from, to);
+                if(effects[best] > equippedEffect)
+                {
+                    ranges.add(new Range(from, to, best));
+                }
+            }
+        }
+
+        /**
+         * Method for finding the best item of a range through the hulls of the nodes covering it
+         */
+        private int findBest(int from, int to)
+        {
+            int best = -1;
+            int left = from + leafCount;
+            int right = to + leafCount + 1;
+            while(left < right)
+            {
+                if((left & 1) == 1)
+                {
+                    best = this.better(best, this.findBest(left++));
+                }
+                if((right & 1) == 1)
+                {
+                    best = this.better(best, this.findBest(--right));
+                }
+                left >>= 1;
+                right >>= 1;
+            }
+            return best;
+        }
+
+        /**
+         * Method for finding the best item of a node - gains per gold along its hull rise to the best item and then fall
+         */
+        private int findBest(int node)
+        {
+            int low = hullStarts[node];
+            int high = hullEnds[node] - 1;
+            while(low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if(this.isBetter(hulls[middle + 1], hulls[middle]))
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            return hulls[low];
+        }
+
+        private int better(int a, int b)
+        {
+            return a == -1 || this.isBetter(b, a) ? b : a;
+        }
+
+        /**
+         * Method for checking if item a gains more effect per gold than item b, or the same with more effect
+         * - gains are compared multiplied by both costs, so free items rank above every other item that gains effect
+         */
+        private boolean isBetter(int a, int b)
+        {
+            double gainA = (effects[a] - equippedEffect) * costs[b];
+            double gainB = (effects[b] - equippedEffect) * costs[a];
+            return gainA != gainB ? gainA > gainB : effects[a] > effects[b];
+        }
+    }
+
+    /**
+     * Range of items not listed yet, with its best item
+     */
+    private static final class Range
+    {
+        private final int from;
+        private final int to;
+        private final int best;
+
+        private Range(int from, int to, int best)
+        {
+            this.from = from;
+            this.to = to;
+            this.best = best;
+        }
+    }
+}
@@ -17,6 +17,7 @@ public class ArmourItem extends GameItem
         super(name, minEffect, maxEffect, cost);
 
         this.materialType = materialType;
+        this.invalidateDescription();
     }
 
     public ArmourItem(ArmourItem armour)
@@ -48,6 +49,7 @@ public class ArmourItem extends GameItem
     public void setMaterialType(String materialType)
     {
         this.materialType = materialType;
+        this.invalidateDescription();
     }
 
     @Override
@@ -64,8 +66,9 @@ public class ArmourItem extends GameItem
      * - information on the armour      : String
      */
     @Override
-    public String toString() {
-        return "ARMOUR : " +super.toString()+
+    protected String describe(String name)
+    {
+        return "ARMOUR : " +super.describe(name)+
                 "Defense = " + this.getMinEffect() +
                 " - " + this.getMaxEffect() +
                 ", Material = " +materialType;
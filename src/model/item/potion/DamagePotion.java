@@ -47,9 +47,9 @@ public class DamagePotion extends PotionItem
      * - information on the damage potion       : String
      */
     @Override
-    public String toString()
+    protected String describe(String name)
     {
-        return super.toString() +
+        return super.describe(name) +
                 ", Type = Damage";
     }
 }
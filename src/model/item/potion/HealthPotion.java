@@ -49,9 +49,9 @@ public class HealthPotion extends PotionItem
      * - information on the health potion       : String
      */
     @Override
-    public String toString()
+    protected String describe(String name)
     {
-        return super.toString() +
+        return super.describe(name) +
                 ", Type = Healing";
     }
 }
@@ -42,9 +42,9 @@ public abstract class PotionItem extends GameItem
      * Concatenated with game item to string method to add information specific to potions.
      */
     @Override
-    public String toString()
+    protected String describe(String name)
     {
-        return "POTION : " +super.toString()+
+        return "POTION : " +super.describe(name)+
                 "Effect = " + this.getMinEffect() +
                 " - " + this.getMaxEffect();
     }
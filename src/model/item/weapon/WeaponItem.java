@@ -20,6 +20,7 @@ public abstract class WeaponItem extends GameItem
 
         this.damageType = damageType;
         this.weaponType = weaponType;
+        this.invalidateDescription();
     }
 
     public WeaponItem(WeaponItem weapon)
@@ -45,11 +46,13 @@ public abstract class WeaponItem extends GameItem
     public void setDamageType(String damageType)
     {
         this.damageType = damageType;
+        this.invalidateDescription();
     }
 
     public void setWeaponType(String weaponType)
     {
          this.weaponType = weaponType;
+        this.invalidateDescription();
     }
 
     /**
@@ -65,9 +68,9 @@ public abstract class WeaponItem extends GameItem
     }
 
     @Override
-    public String toString()
+    protected String describe(String name)
     {
-        return "WEAPON : " +super.toString()+
+        return "WEAPON : " +super.describe(name)+
                 "Damage = " + this.getMinEffect() +
                 " - " + this.getMaxEffect() +
                 ", Damage Type = " +damageType+
@@ -0,0 +1,122 @@
+package model.leaderboard;
+
+import model.item.Page;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model class for the leaderboard - the best result of every character name, ranked from the best
+ *
+ * This class is responsible for
+ * - keeping the best result of every name, a worse result of the same name is not ranked
+ * - finding the rank of a name and a page of ranked results in O(log n), through a RankedTree
+ *
+ * Ranks start at 1 for the best result.
+ *
+ * FIELDS
+ * - ranking        : RankedTree of LeaderboardEntry - best result of every name, from the best
+ * - bestEntries    : Map of Key = name, Value = best result of the name
+ * - sequence       : long - sequence of the last result recorded
+ */
+public class Leaderboard
+{
+    /** Leaderboard specific Fields **/
+    private final RankedTree<LeaderboardEntry> ranking;
+    private final Map<String, LeaderboardEntry> bestEntries;
+    private long sequence;
+
+    public Leaderboard()
+    {
+        this.ranking = new RankedTree<>();
+        this.bestEntries = new HashMap<>();
+        this.sequence = 0;
+    }
+
+    /**
+     * Method for recording the result of a game
+     *
+     * RETURN
+     * - LeaderboardEntry   : result recorded, null if the name already has a result at least as good
+     */
+    public synchronized LeaderboardEntry record(String name, int stage, double gold, int enemiesDefeated)
+    {
+        LeaderboardEntry entry = new LeaderboardEntry(name, stage, gold, enemiesDefeated, sequence + 1);
+        LeaderboardEntry previous = bestEntries.get(name);
+        if(previous != null && !entry.isBetterThan(previous))
+        {
+            return null;
+        }
+
+        sequence++;
+        if(previous != null)
+        {
+            ranking.remove(previous);
+        }
+        ranking.add(entry);
+        bestEntries.put(name, entry);
+        return entry;
+    }
+
+    public synchronized int size()
+    {
+        return ranking.size();
+    }
+
+    /**
+     * Method for obtaining the best result of a name
+     *
+     * RETURN
+     * - LeaderboardEntry   : null if the name has no result
+     */
+    public synchronized LeaderboardEntry getEntry(String name)
+    {
+        return bestEntries.get(name);
+    }
+
+    /**
+     * Method for obtaining the rank of a name
+     *
+     * RETURN
+     * - int    : rank starting at 1, 0 if the name has no result
+     */
+    public synchronized int getRank(String name)
+    {
+        LeaderboardEntry entry = bestEntries.get(name);
+        return entry == null ? 0 : ranking.rankOf(entry) + 1;
+    }
+
+    /**
+     * Method for obtaining the best results
+     */
+    public synchronized List<LeaderboardEntry> getTop(int count)
+    {
+        return ranking.range(0, count);
+    }
+
+    /**
+     * Method for obtaining a page of ranked results - the position of an entry is its rank minus 1
+     */
+    public synchronized Page<LeaderboardEntry> getPage(int offset, int limit)
+    {
+        Page.checkWindow(offset, limit);
+
+        List<LeaderboardEntry> elements = ranking.range(offset, limit);
+        List<Integer> positions = new ArrayList<>();
+        for(int i = 0; i < elements.size(); i++)
+        {
+            positions.add(offset + i);
+        }
+        return new Page<>(elements, positions, offset, ranking.size());
+    }
+
+    /**
+     * Method for obtaining every ranked result, from the best
+     */
+    public synchronized List<LeaderboardEntry> getEntries()
+    {
+        return ranking.range(0, ranking.size());
+    }
+}
@@ -0,0 +1,118 @@
+package model.leaderboard;
+
+/**
+ * Model class for the result of a single game on the leaderboard
+ * - immutable
+ * - results are ranked by stage reached, then enemies defeated, then gold, the earlier result first on a tie
+ *
+ * FIELDS
+ * - name               : String - name of the character
+ * - stage              : int - stage reached
+ * - gold               : double - gold at the end of the game
+ * - enemiesDefeated    : int
+ * - sequence           : long - order in which results were recorded, tells apart otherwise equal results
+ */
+public class LeaderboardEntry implements Comparable<LeaderboardEntry>
+{
+    /** LeaderboardEntry specific Fields **/
+    private final String name;
+    private final int stage;
+    private final double gold;
+    private final int enemiesDefeated;
+    private final long sequence;
+
+    public LeaderboardEntry(String name, int stage, double gold, int enemiesDefeated, long sequence)
+    {
+        if(name == null)
+        {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+
+        if(stage < 0 || gold < 0 || enemiesDefeated < 0)
+        {
+            throw new IllegalArgumentException("Stage, gold and enemies defeated cannot be negative");
+        }
+
+        this.name = name;
+        this.stage = stage;
+        this.gold = gold;
+        this.enemiesDefeated = enemiesDefeated;
+        this.sequence = sequence;
+    }
+
+    /** ACCESSORS */
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getStage()
+    {
+        return stage;
+    }
+
+    public double getGold()
+    {
+        return gold;
+    }
+
+    public int getEnemiesDefeated()
+    {
+        return enemiesDefeated;
+    }
+
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * Method for checking if this result ranks above another result, ignoring the order they were recorded in
+     */
+    public boolean isBetterThan(LeaderboardEntry other)
+    {
+        return this.compareScore(other) < 0;
+    }
+
+    /**
+     * Method for ordering results from the best to the worst
+     */
+    @Override
+    public int compareTo(LeaderboardEntry other)
+    {
+        int comparison = this.compareScore(other);
+        return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+    }
+
+    private int compareScore(LeaderboardEntry other)
+    {
+        if(stage != other.stage)
+        {
+            return Integer.compare(other.stage, stage);
+        }
+
+        if(enemiesDefeated != other.enemiesDefeated)
+        {
+            return Integer.compare(other.enemiesDefeated, enemiesDefeated);
+        }
+        return Double.compare(other.gold, gold);
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        return object instanceof LeaderboardEntry && this.compareTo((LeaderboardEntry) object) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(sequence);
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + " - Stage " + stage + ", Enemies Defeated = " + enemiesDefeated + ", Gold = " + gold;
+    }
+}
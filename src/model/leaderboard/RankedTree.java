@@ -0,0 +1,329 @@
+package model.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model class for a sorted set which also finds elements by their rank - a balanced binary search tree whose nodes
+ * know the size of their subtree
+ *
+ * This class is responsible for
+ * - adding and removing elements in O(log n), keeping them in their natural order
+ * - finding the rank of an element, and the element at a rank, in O(log n)
+ * - listing the elements from a rank onwards in O(log n + number of elements listed)
+ *
+ * The tree is kept balanced as an AVL tree - the heights of the two subtrees of a node differ by at most one.
+ * The rank of an element is the number of elements before it, i.e. ranks start at 0.
+ *
+ * FIELDS
+ * - root       : Node - null if the tree is empty
+ * - changed    : boolean - true if the last add or remove changed the tree
+ */
+public class RankedTree<E extends Comparable<? super E>>
+{
+    /** RankedTree specific Fields **/
+    private Node<E> root;
+    private boolean changed;
+
+    public int size()
+    {
+        return size(root);
+    }
+
+    /**
+     * Method for adding an element
+     *
+     * RETURN
+     * - boolean    : false if an equal element is already in the tree
+     */
+    public boolean add(E element)
+    {
+        if(element == null)
+        {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+
+        changed = false;
+        root = this.add(root, element);
+        return changed;
+    }
+
+    private Node<E> add(Node<E> node, E element)
+    {
+        if(node == null)
+        {
+            changed = true;
+            return new Node<>(element);
+        }
+
+        int comparison = element.compareTo(node.element);
+        if(comparison < 0)
+        {
+            node.left = this.add(node.left, element);
+        }
+        else if(comparison > 0)
+        {
+            node.right = this.add(node.right, element);
+        }
+        else
+        {
+            return node;
+        }
+        return balance(node);
+    }
+
+    /**
+     * Method for removing an element
+     *
+     * RETURN
+     * - boolean    : false if no equal element is in the tree
+     */
+    public boolean remove(E element)
+    {
+        if(element == null)
+        {
+            return false;
+        }
+
+        changed = false;
+        root = this.remove(root, element);
+        return changed;
+    }
+
+    private Node<E> remove(Node<E> node, E element)
+    {
+        if(node == null)
+        {
+            return null;
+        }
+
+        int comparison = element.compareTo(node.element);
+        if(comparison < 0)
+        {
+            node.left = this.remove(node.left, element);
+        }
+        else if(comparison > 0)
+        {
+            node.right = this.remove(node.right, element);
+        }
+        else
+        {
+            changed = true;
+            if(node.left == null || node.right == null)
+            {
+                return node.left != null ? node.left : node.right;
+            }
+
+            // Node with two subtrees is replaced by the first element of its right subtree
+            Node<E> successor = node.right;
+            while(successor.left != null)
+            {
+                successor = successor.left;
+            }
+            successor.right = removeFirst(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private static <E> Node<E> removeFirst(Node<E> node)
+    {
+        if(node.left == null)
+        {
+            return node.right;
+        }
+
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Method for finding the rank of an element
+     *
+     * RETURN
+     * - int    : rank of the element starting at 0, -1 if no equal element is in the tree
+     */
+    public int rankOf(E element)
+    {
+        if(element == null)
+        {
+            return -1;
+        }
+
+        int rank = 0;
+        Node<E> node = root;
+        while(node != null)
+        {
+            int comparison = element.compareTo(node.element);
+            if(comparison < 0)
+            {
+                node = node.left;
+            }
+            else if(comparison > 0)
+            {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+            else
+            {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method for obtaining the element at a rank
+     */
+    public E get(int rank)
+    {
+        if(rank < 0 || rank >= this.size())
+        {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is outside of the tree of " + this.size() + " elements");
+        }
+
+        Node<E> node = root;
+        while(true)
+        {
+            int leftSize = size(node.left);
+            if(rank < leftSize)
+            {
+                node = node.left;
+            }
+            else if(rank > leftSize)
+            {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+            else
+            {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * Method for listing elements in order, starting at a rank
+     *
+     * RETURN
+     * - List of E  : at most count elements, fewer once the last element is reached
+     */
+    public List<E> range(int rank, int count)
+    {
+        if(rank < 0 || count < 0)
+        {
+            throw new IllegalArgumentException("Rank and count cannot be negative");
+        }
+
+        List<E> elements = new ArrayList<>(Math.min(count, Math.max(this.size() - rank, 0)));
+        collect(root, rank, count, elements);
+        return elements;
+    }
+
+    /**
+     * Method for adding the elements of a subtree from a rank inside the subtree, subtrees before the rank are skipped
+     */
+    private static <E> void collect(Node<E> node, int rank, int count, List<E> elements)
+    {
+        if(node == null || elements.size() >= count)
+        {
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if(rank < leftSize)
+        {
+            collect(node.left, rank, count, elements);
+        }
+
+        if(rank <= leftSize && elements.size() < count)
+        {
+            elements.add(node.element);
+        }
+        collect(node.right, Math.max(rank - leftSize - 1, 0), count, elements);
+    }
+
+    /**
+     * Method for restoring the balance of a node whose subtrees changed by at most one level, by rotating it
+     */
+    private static <E> Node<E> balance(Node<E> node)
+    {
+        int difference = height(node.left) - height(node.right);
+        if(difference > 1)
+        {
+            if(height(node.left.left) < height(node.left.right))
+            {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+
+        if(difference < -1)
+        {
+            if(height(node.right.right) < height(node.right.left))
+            {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        node.update();
+        return node;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> node)
+    {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> node)
+    {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int size(Node<?> node)
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node)
+    {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Node of the tree - knows the height and the number of elements of its subtree
+     */
+    private static class Node<E>
+    {
+        private final E element;
+        private Node<E> left;
+        private Node<E> right;
+        private int height;
+        private int size;
+
+        Node(E element)
+        {
+            this.element = element;
+            this.height = 1;
+            this.size = 1;
+        }
+
+        void update()
+        {
+            height = Math.max(RankedTree.height(left), RankedTree.height(right)) + 1;
+            size = RankedTree.size(left) + RankedTree.size(right) + 1;
+        }
+    }
+}
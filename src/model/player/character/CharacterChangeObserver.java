@@ -0,0 +1,22 @@
+package model.player.character;
+
+import model.item.GameItem;
+
+/**
+ * Observer Interface - CharacterChangeObserver
+ * - methods for following every change to a character's gold, inventory, equipped items and name
+ * - changes are given as the resulting values, e.g. the number of an item owned after buying some of it
+ * - changes applied together, e.g. by a single shop transaction, are followed by a single showChangesCompleted()
+ */
+public interface CharacterChangeObserver
+{
+    void showGoldChange(CharacterPlayer character, double gold);
+
+    void showItemCountChange(CharacterPlayer character, GameItem item, int count);
+
+    void showEquipChange(CharacterPlayer character, GameItem item);
+
+    void showNameChange(CharacterPlayer character, String name);
+
+    void showChangesCompleted(CharacterPlayer character);
+}
@@ -1,40 +1,63 @@
 package model.player.character;
 
 import model.item.GameItem;
+import model.item.Page;
 import model.item.armour.ArmourItem;
 import model.item.potion.PotionItem;
 import model.item.weapon.WeaponItem;
 import model.player.CombatPlayer;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Model class for CharacterPlayer inheriting from CombatPlayer abstract class
  *
  * FIELDS
- * - inventory      : List of GameItem
+ * - inventory      : Inventory - entries with stable ids, bucketed by item category
  * - equippedWeapon : WeaponItem
  * - equippedArmour : ArmourItem
  *
+ * Equipped items are flagged on their inventory entries, so adding and removing other items never affects them.
+ * Identical unenchanted items share an entry with a quantity, e.g. buying a potion already owned adds one to its count.
+ *
+ * Gold and inventory are guarded by the character's lock, and every change to them increments a version. Callers
+ * can read the character, prepare their changes without holding the lock, then apply them through commit() which
+ * only succeeds if the version is unchanged - see ShopController.
+ *
+ * A transaction which fails part way is rolled back - every change it already made is undone in reverse order, so it
+ * either applies entirely or leaves the character as it was.
+ *
+ * Every change to gold, inventory, equipped items and name is also reported to CharacterChangeObservers. Changes
+ * applied through commit() are reported as a whole once the transaction is applied, undone changes are reported too.
+ *
  * ObserverS/OBSERVERS
- * - potionUseObservers : List of PotionUseObserver
- * - gameOverObservers  : List of GameOverObserver
+ * - potionUseObservers         : List of PotionUseObserver
+ * - gameOverObservers          : List of GameOverObserver
+ * - characterChangeObservers   : List of CharacterChangeObserver
  */
 public class CharacterPlayer extends CombatPlayer
 {
 
     /** Character Player specific Fields **/
-    private List<GameItem> inventory;
+    private final Inventory inventory;
     private WeaponItem equippedWeapon;
     private ArmourItem equippedArmour;
+    private long version;
+    private int transactionDepth;
+    private final Deque<Runnable> undoLog = new ArrayDeque<>();
 
-    private int equippedWeaponIndex;
-    private int equippedArmourIndex;
     /** List of observers **/
     private List<PotionUseObserver> potionUseObservers;
     private List<GameOverObserver> gameOverObservers;
+    private List<CharacterChangeObserver> characterChangeObservers;
 
     /**
      * DEFAULT CONSTRUCTOR
@@ -47,13 +70,14 @@ public class CharacterPlayer extends CombatPlayer
     {
         super("Player", 30, 100);
 
-        inventory = new LinkedList<>();
+        inventory = new Inventory();
 
         equippedWeapon = null;
         equippedArmour = null;
 
         potionUseObservers = new LinkedList<>();
         gameOverObservers = new LinkedList<>();
+        characterChangeObservers = new LinkedList<>();
     }
 
     /**
@@ -66,6 +90,15 @@ public class CharacterPlayer extends CombatPlayer
     public CharacterPlayer(String inName, int inMaxHealth, double inGold)
     {
         super(inName, inMaxHealth, inGold);
+
+        inventory = new Inventory();
+
+        equippedWeapon = null;
+        equippedArmour = null;
+
+        potionUseObservers = new LinkedList<>();
+        gameOverObservers = new LinkedList<>();
+        characterChangeObservers = new LinkedList<>();
     }
 
     /**
@@ -83,17 +116,16 @@ public class CharacterPlayer extends CombatPlayer
     {
         super("Player", 30, 100);
 
-        inventory = new LinkedList<>();
+        inventory = new Inventory();
 
-        inventory.add(weapon);
-        inventory.add(armour);
+        inventory.add(weapon).setEquipped(true);
+        inventory.add(armour).setEquipped(true);
         equippedWeapon = weapon;
-        equippedWeaponIndex = 0;
         equippedArmour = armour;
-        equippedArmourIndex = 1;
 
         potionUseObservers = new LinkedList<>();
         gameOverObservers = new LinkedList<>();
+        characterChangeObservers = new LinkedList<>();
     }
 
     /**
@@ -111,17 +143,16 @@ public class CharacterPlayer extends CombatPlayer
     {
         super(inName, inMaxHealth, inGold);
 
-        inventory = new LinkedList<>();
+        inventory = new Inventory();
 
-        inventory.add(inEquippedArmour);
-        inventory.add(inEquippedWeapon);
+        inventory.add(inEquippedArmour).setEquipped(true);
+        inventory.add(inEquippedWeapon).setEquipped(true);
         equippedWeapon = inEquippedWeapon;
-        equippedWeaponIndex = 0;
         equippedArmour = inEquippedArmour;
-        equippedArmourIndex = 1;
 
         potionUseObservers = new LinkedList<>();
         gameOverObservers = new LinkedList<>();
+        characterChangeObservers = new LinkedList<>();
     }
 
     /**
@@ -177,7 +208,7 @@ public class CharacterPlayer extends CombatPlayer
     /**
      * Method for potion use functionality
      * - checks if item matches any item in inventory
-     * - consumes that potion and then removes from inventory
+     * - consumes that potion and then removes one from its inventory entry
      * - notifies Observers of potion use event
      *
      * RETURN
@@ -186,64 +217,59 @@ public class CharacterPlayer extends CombatPlayer
      * NOTE - Damage effect as integer is returned as this will allow for potions to deal
      * damage in the same way attacking does. More on this inside implementations of potion class.
      */
-    public int usePotion(PotionItem potion) throws CharacterPlayerException
+    public synchronized int usePotion(PotionItem potion) throws CharacterPlayerException
     {
-        for(GameItem item : inventory)
+        InventoryEntry entry = inventory.find(potion);
+        if(entry == null)
         {
-            if(item.getName().equals(potion.getName()))
-            {
-                // Notify observers of potion use
-                notifyPotionUseObservers(potion.getName());
+            throw new CharacterPlayerException("Player does not possess such potion");
+        }
 
-                // Returned integer is effect - only damage will be returned
-                int effect;
-                effect = potion.use(this);
+        // Notify observers of potion use
+        notifyPotionUseObservers(potion.getName());
 
-                // Remove from list due to consumption
-                inventory.remove(item);
+        // Returned integer is effect - only damage will be returned
+        int effect;
+        effect = potion.use(this);
 
-                return effect;
-            }
-        }
+        // Remove from inventory due to consumption
+        inventory.removeOne(entry.getId());
+        version++;
+        notifyItemCountChange(entry.getItem());
+        notifyChangesCompleted();
 
-        // Throw since only will reach this line if a potion is not found
-        throw new CharacterPlayerException("Player does not possess such potion");
+        return effect;
     }
 
     /**
      * Method for checking if item exists in inventory
-     * - Uses isIdentical()
+     * - the item itself is found in O(1), otherwise uses isIdentical() within the item's category
      */
-    public boolean hasItem(GameItem item)
+    public synchronized boolean hasItem(GameItem item)
     {
-        boolean has = false;
-
-        for(GameItem checkItem : inventory)
-        {
-            if(checkItem.isIdentical(item))
-            {
-                has =  true;
-            }
-        }
-        return has;
+        return inventory.contains(item);
     }
 
     /** ACCESSORS */
-    public WeaponItem getEquippedWeapon()
+    public synchronized WeaponItem getEquippedWeapon()
     {
         return equippedWeapon;
     }
 
-    public ArmourItem getEquippedArmour()
+    public synchronized ArmourItem getEquippedArmour()
     {
         return equippedArmour;
     }
 
-    public GameItem getItem(int index) throws CharacterPlayerException
+    /**
+     * Method for obtaining an item by its position in the order items were added - used by item lists
+     * - O(1) while no entry is added or removed between lookups, e.g. while paging through the inventory
+     */
+    public synchronized GameItem getItem(int index) throws CharacterPlayerException
     {
         if(index < inventory.size() && index >= 0)
         {
-            return inventory.get(index);
+            return inventory.getListing(null).get(index).getItem();
         }
         else
         {
@@ -251,182 +277,364 @@ public class CharacterPlayer extends CombatPlayer
         }
     }
 
-    public GameItem getItem(GameItem item) throws CharacterPlayerException
+    public synchronized GameItem getItem(GameItem item) throws CharacterPlayerException
     {
-        if(!inventory.contains(item))
+        InventoryEntry entry = inventory.find(item);
+        if(entry == null)
         {
             throw new CharacterPlayerException("Item does not exist in inventory");
         }
 
-        for(GameItem checkItem : inventory)
+        return entry.getItem();
+    }
+
+    /**
+     * Method for obtaining an inventory entry by its id in O(1)
+     */
+    public synchronized InventoryEntry getInventoryEntry(int id) throws CharacterPlayerException
+    {
+        InventoryEntry entry = inventory.getEntry(id);
+        if(entry == null)
         {
-            if(checkItem.isIdentical(item))
-            {
-                return checkItem;
-            }
+            throw new CharacterPlayerException("Item does not exist in inventory");
         }
 
-        return null;
+        return entry;
+    }
+
+    /**
+     * Method for obtaining the inventory entry of an item - null if the item is not owned
+     */
+    public synchronized InventoryEntry findInventoryEntry(GameItem item)
+    {
+        return inventory.find(item);
+    }
+
+    /**
+     * Method for counting the items owned which are identical to an item, e.g. the quantity of a potion
+     */
+    public synchronized int getItemCount(GameItem item)
+    {
+        return inventory.count(item);
+    }
+
+    /**
+     * Methods for obtaining the inventory entries - copied so they can be iterated while the inventory changes
+     */
+    public synchronized Collection<InventoryEntry> getInventoryEntries()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(inventory.getEntries()));
     }
 
-    public List<GameItem> getInventory()
+    public synchronized Collection<InventoryEntry> getInventoryEntries(Inventory.Category category)
     {
-        return Collections.unmodifiableList(inventory);
+        return Collections.unmodifiableList(new ArrayList<>(inventory.getEntries(category)));
     }
 
-    public List<WeaponItem> getWeapons()
+    /**
+     * Method for obtaining a page of inventory entries
+     * - positions of the page are positions inside the category, or inside the whole inventory if category is null
+     * - entries are listed by position once after they change, a page without filter and order is then found in
+     *   O(limit)
+     *
+     * PARAMETERS
+     * - category   : Inventory.Category - null to list every entry
+     * - filter     : Predicate of InventoryEntry - null to list every entry of the category
+     * - order      : Comparator of InventoryEntry - null to list entries in the order added
+     */
+    public synchronized Page<InventoryEntry> getInventoryPage(Inventory.Category category, int offset, int limit,
+                                                              Predicate<? super InventoryEntry> filter, Comparator<? super InventoryEntry> order)
+    {
+        return Page.of(inventory.getListing(category), offset, limit, filter, order);
+    }
+
+    public synchronized Page<InventoryEntry> getInventoryPage(Inventory.Category category, int offset, int limit)
     {
-        List<WeaponItem> weapons = new LinkedList<>();
-        for(GameItem item : inventory)
+        return this.getInventoryPage(category, offset, limit, null, null);
+    }
+
+    /**
+     * Method for obtaining the number of inventory entries, overall or of a category - stacked items count once
+     */
+    public synchronized int getInventorySize()
+    {
+        return inventory.size();
+    }
+
+    public synchronized int getInventorySize(Inventory.Category category)
+    {
+        return inventory.size(category);
+    }
+
+    public synchronized List<GameItem> getInventory()
+    {
+        return Collections.unmodifiableList(this.collectItems(inventory.getEntries()));
+    }
+
+    public synchronized List<WeaponItem> getWeapons()
+    {
+        return this.collectItems(inventory.getEntries(Inventory.Category.WEAPON));
+    }
+
+    public synchronized List<ArmourItem> getArmours()
+    {
+        return this.collectItems(inventory.getEntries(Inventory.Category.ARMOUR));
+    }
+
+    public synchronized List<PotionItem> getPotions()
+    {
+        return Collections.unmodifiableList(this.collectItems(inventory.getEntries(Inventory.Category.POTION)));
+    }
+
+    /**
+     * Method for listing the items of inventory entries - entries of a category always hold items of that category
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends GameItem> List<T> collectItems(Collection<InventoryEntry> entries)
+    {
+        List<T> items = new ArrayList<>(entries.size());
+        for(InventoryEntry entry : entries)
         {
-            if(item instanceof WeaponItem)
-            {
-                weapons.add((WeaponItem) item);
-            }
+            items.add((T) entry.getItem());
         }
-        return weapons;
+        return items;
+    }
+
+    @Override
+    public synchronized double getGold()
+    {
+        return super.getGold();
     }
 
-    public List<ArmourItem> getArmours()
+    /**
+     * Method for obtaining the version of gold and inventory - changes every time either of them changes
+     */
+    public synchronized long getVersion()
+    {
+        return version;
+    }
+
+    /** MUTATORS */
+
+    /**
+     * Method for applying changes to gold and inventory as a single atomic transaction
+     * - changes are only applied if nothing changed since the expected version was read
+     * - changes are expected to have been validated against that version, if they still fail part way the changes
+     *   already made are undone and the exception is passed on
+     *
+     * RETURN
+     * - boolean    : false if the character changed in the meantime and nothing was applied
+     */
+    public synchronized boolean commit(long expectedVersion, CharacterTransaction changes) throws CharacterPlayerException
     {
-        List<ArmourItem> armours = new LinkedList<>();
-        for(GameItem item : inventory)
+        if(version != expectedVersion)
+        {
+            return false;
+        }
+
+        // Changes are reported once the whole transaction is applied
+        int undoMark = undoLog.size();
+        boolean applied = false;
+        transactionDepth++;
+        try
         {
-            if(item instanceof ArmourItem)
+            changes.apply();
+            applied = true;
+        }
+        finally
+        {
+            if(!applied)
             {
-                armours.add((ArmourItem) item);
+                this.rollback(undoMark, expectedVersion);
             }
+            else if(transactionDepth == 1)
+            {
+                undoLog.clear();
+            }
+
+            transactionDepth--;
+            notifyChangesCompleted();
         }
-        return armours;
+        return true;
     }
 
-    public List<PotionItem> getPotions()
+    /**
+     * Method for undoing the changes made since the undo log held a number of changes, the latest change first
+     */
+    private void rollback(int undoMark, long previousVersion)
     {
-        List<PotionItem> potions = new LinkedList<>();
-        for(GameItem item : inventory)
+        while(undoLog.size() > undoMark)
         {
-            if(item instanceof PotionItem)
-            {
-                potions.add((PotionItem) item);
-            }
+            undoLog.pop().run();
         }
-        return Collections.unmodifiableList(potions);
+        version = previousVersion;
     }
 
-    /** MUTATORS */
-    public void addToInventory(GameItem item)
+    /**
+     * Method for recording how to undo a change, only while a transaction is being applied
+     */
+    private void recordUndo(Runnable undo)
     {
-        if(item == null)
+        if(transactionDepth > 0)
         {
-            throw new IllegalArgumentException("Item cannot be null");
+            undoLog.push(undo);
         }
+    }
 
-        int numDuplicate = 0;
-        for(GameItem checkItem : inventory)
+    @Override
+    public synchronized void setGold(double gold)
+    {
+        double previousGold = super.getGold();
+        super.setGold(gold);
+        version++;
+        this.recordUndo(() ->
         {
-            if(checkItem.equals(item))
-            {
-                numDuplicate++;
-            }
-        }
-        if(numDuplicate != 0)
+            super.setGold(previousGold);
+            notifyGoldChange(previousGold);
+        });
+        notifyGoldChange(gold);
+        notifyChangesCompleted();
+    }
+
+    @Override
+    public synchronized void setName(String name)
+    {
+        super.setName(name);
+        notifyNameChange(name);
+        notifyChangesCompleted();
+    }
+
+    /**
+     * Method for adding an item to inventory
+     * - an identical unenchanted item already owned has its quantity increased in O(1)
+     */
+    public synchronized void addToInventory(GameItem item)
+    {
+        if(item == null)
         {
-            item.setName(item.getName() + " (" + numDuplicate+ ")");
+            throw new IllegalArgumentException("Item cannot be null");
         }
 
-        inventory.add(item);
+        InventoryEntry entry = inventory.add(item);
+        version++;
+        this.recordUndo(() ->
+        {
+            inventory.remove(entry.getId(), 1);
+            notifyItemCountChange(item);
+        });
+        notifyItemCountChange(item);
+        notifyChangesCompleted();
     }
 
     /**
-     * Method for removing items from inventory
-     * - Checks items inside inventory
-     * - if current index does not match equipped weapon/armour index, check further
-     * - if item matches then remove that item
-     * - update the equipped weapon/armour indices appropriately
-     *
-     * NOTE - The way this is implemented is due to the issue of attempting to sell items that are identical
-     * to weapon/armour that are currently equipped. Since items can have completely identical contents,
-     * name, and stats, index pointing to the equipped items in inventory is required.
+     * Method for adding a quantity of an item to inventory in O(1)
+     * - the item stands for all of them, therefore it must not be an enchanted weapon
      */
-    public void removeFromInventory(GameItem item) throws CharacterPlayerException
+    public synchronized void addToInventory(GameItem item, int quantity)
     {
-        boolean found = false;
-        int i = 0;
+        if(item == null)
+        {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
 
-        int numMatch = 0;
+        InventoryEntry entry = inventory.add(item, quantity);
+        version++;
+        this.recordUndo(() ->
+        {
+            inventory.remove(entry.getId(), quantity);
+            notifyItemCountChange(item);
+        });
+        notifyItemCountChange(item);
+        notifyChangesCompleted();
+    }
 
-        // Iterate through inventory until a valid item is found
-        while(!found && i < inventory.size())
+    /**
+     * Method for removing a single item from inventory
+     * - finds the entry of the item, the item itself and identical unenchanted items in O(1)
+     * - the last of an equipped item cannot be removed
+     */
+    public synchronized void removeFromInventory(GameItem item) throws CharacterPlayerException
+    {
+        InventoryEntry entry = inventory.find(item);
+        if(entry == null)
         {
-            // Check if item matches
-            if (item.toString().equals(inventory.get(i).toString()))
-            {
-                // Only check further if current index does not match equipped armour and equipped weapon index
-                if(i != equippedArmourIndex && i != equippedWeaponIndex)
-                {
-                    found = true;
-
-                    // Update equipped weapon/armour indices
-                    if(i < equippedArmourIndex)
-                    {
-                        equippedArmourIndex--;
-                    }
-
-                    if(i < equippedWeaponIndex)
-                    {
-                        equippedWeaponIndex--;
-                    }
-
-                    inventory.remove(i);
-                }
-                numMatch++;
-            }
-            i++;
+            throw new CharacterPlayerException("Item is not found in inventory");
         }
 
-        if(numMatch == 0)
+        this.removeFromInventory(entry.getId());
+    }
+
+    /**
+     * Method for removing a single item from inventory by id in O(1)
+     * - the last of an equipped item cannot be removed
+     */
+    public synchronized void removeFromInventory(int id) throws CharacterPlayerException
+    {
+        this.removeFromInventory(id, 1);
+    }
+
+    /**
+     * Method for removing a quantity of items from inventory by id in O(1)
+     * - the last of an equipped item cannot be removed
+     */
+    public synchronized void removeFromInventory(int id, int quantity) throws CharacterPlayerException
+    {
+        InventoryEntry entry = this.getInventoryEntry(id);
+        if(quantity <= 0 || quantity > entry.getQuantity())
         {
-            throw new CharacterPlayerException("Item is not found in inventory");
+            throw new CharacterPlayerException("Only " + entry.getQuantity() + " of this item can be removed");
         }
-        else if(numMatch == 1 && !found)
+
+        if(entry.isEquipped() && entry.getQuantity() == quantity)
         {
             throw new CharacterPlayerException("Item is currently equipped");
         }
+
+        inventory.remove(id, quantity);
+        version++;
+        this.recordUndo(() ->
+        {
+            inventory.restore(entry, quantity);
+            notifyItemCountChange(entry.getItem());
+        });
+        notifyItemCountChange(entry.getItem());
+        notifyChangesCompleted();
     }
 
     /**
      * Method for equipping weapon
      * - checks if weapon is null
      * - checks if player owns weapon and found in inventory
-     * -
-     *
-     * NOTE - This only equips if weapon is already found inside the inventory. This also
      *
+     * NOTE - This only equips if weapon is already found inside the inventory. The previously equipped weapon
+     * stays inside the inventory.
      */
-    public void equipWeapon(WeaponItem weapon) throws CharacterPlayerException
+    public synchronized void equipWeapon(WeaponItem weapon) throws CharacterPlayerException
     {
         if(weapon == null)
         {
             throw new CharacterPlayerException("Weapon must not be null");
         }
 
-        if(!this.hasItem(weapon))
+        InventoryEntry entry = inventory.find(weapon);
+        if(entry == null)
         {
             throw new CharacterPlayerException("Player does not own this weapon");
         }
 
-        boolean found = false;
-        int i = 0;
-        while(!found && i < inventory.size())
+        // Move equipped flag from the previous weapon entry to the new one
+        WeaponItem previousWeapon = equippedWeapon;
+        this.moveEquippedFlag(previousWeapon, entry.getItem());
+        this.equippedWeapon = (WeaponItem) entry.getItem();
+        version++;
+        this.recordUndo(() ->
         {
-            if(weapon.isIdentical(inventory.get(i)))
-            {
-                found = true;
-                this.equippedWeapon = weapon;
-                this.equippedWeaponIndex = i;
-            }
-            i++;
-        }
+            this.moveEquippedFlag(equippedWeapon, previousWeapon);
+            this.equippedWeapon = previousWeapon;
+            notifyEquipChange(previousWeapon);
+        });
+        notifyEquipChange(equippedWeapon);
+        notifyChangesCompleted();
     }
 
     /**
@@ -436,114 +644,135 @@ public class CharacterPlayer extends CombatPlayer
      *
      * NOTE - This only equips if armour is already found inside the inventory
      */
-    public void equipArmour(ArmourItem armour) throws CharacterPlayerException
+    public synchronized void equipArmour(ArmourItem armour) throws CharacterPlayerException
     {
         if(armour == null)
         {
             throw new CharacterPlayerException("Armour must not be null");
         }
 
-        if(!this.hasItem(armour))
+        InventoryEntry entry = inventory.find(armour);
+        if(entry == null)
         {
             throw new CharacterPlayerException("Player does not own this armour");
         }
 
-        boolean found = false;
-        int i = 0;
-        while(!found && i < inventory.size())
+        // Move equipped flag from the previous armour entry to the new one
+        ArmourItem previousArmour = equippedArmour;
+        this.moveEquippedFlag(previousArmour, entry.getItem());
+        this.equippedArmour = (ArmourItem) entry.getItem();
+        version++;
+        this.recordUndo(() ->
         {
-            if(armour.isIdentical(inventory.get(i)))
-            {
-                found = true;
-                this.equippedArmour = armour;
-                this.equippedArmourIndex = i;
-            }
-            i++;
+            this.moveEquippedFlag(equippedArmour, previousArmour);
+            this.equippedArmour = previousArmour;
+            notifyEquipChange(previousArmour);
+        });
+        notifyEquipChange(equippedArmour);
+        notifyChangesCompleted();
+    }
+
+    /**
+     * Method for moving the equipped flag from the entry of an item to the entry of another item
+     */
+    private void moveEquippedFlag(GameItem from, GameItem to)
+    {
+        InventoryEntry fromEntry = inventory.find(from);
+        if(fromEntry != null)
+        {
+            fromEntry.setEquipped(false);
+        }
+
+        InventoryEntry toEntry = inventory.find(to);
+        if(toEntry != null)
+        {
+            toEntry.setEquipped(true);
         }
     }
 
     @Override
-    public String toString()
+    public synchronized String toString()
     {
-        String inventoryString = "";
+        StringBuilder builder = new StringBuilder(super.toString())
+                .append("\nWeapon    : ").append(equippedWeapon.toString())
+                .append("\nArmour    : ").append(equippedArmour.toString())
+                .append("\nInventory : ");
 
         int index = 1;
-        for(GameItem item : inventory)
+        for(InventoryEntry entry : inventory.getEntries())
         {
-            inventoryString += "\n" +index+ "  -  " +item.toString();
+            builder.append("\n").append(index).append("  -  ").append(entry.toString());
             index++;
         }
-        return super.toString()+
-                "\nWeapon    : " +equippedWeapon.toString()+
-                "\nArmour    : " +equippedArmour.toString()+
-                "\nInventory : " +inventoryString;
+        return builder.toString();
     }
 
     /**
      * Method for obtaining string representation of weapons owned by this player
      */
-    public String getWeaponListString()
+    public synchronized String getWeaponListString()
     {
-        String list = "\n";
+        StringBuilder list = new StringBuilder("\n");
 
         int index = 1;
-        for(WeaponItem weapon : this.getWeapons())
+        for(InventoryEntry entry : inventory.getEntries(Inventory.Category.WEAPON))
         {
-            list = list + index + " - " +weapon.toString() + "\n";
+            list.append(index).append(" - ").append(entry.toString()).append("\n");
             index++;
         }
 
-        return list;
+        return list.toString();
     }
 
     /**
      * Method for obtaining string representation of armours owned by this player
      */
-    public String getArmourListString()
+    public synchronized String getArmourListString()
     {
-        String list = "\n";
+        StringBuilder list = new StringBuilder("\n");
 
         int index = 1;
-        for(ArmourItem armour : this.getArmours())
+        for(InventoryEntry entry : inventory.getEntries(Inventory.Category.ARMOUR))
         {
-            list = list + index + " - " +armour.toString() + "\n";
+            list.append(index).append(" - ").append(entry.toString()).append("\n");
             index++;
         }
 
-        return list;
+        return list.toString();
     }
 
     /**
      * Method for obtaining string representation of potions owned by this player
      */
-    public String getPotionListString()
+    public synchronized String getPotionListString()
     {
-        String list = "\n";
+        StringBuilder list = new StringBuilder("\n");
+
         int index = 1;
-        for(PotionItem potion : this.getPotions())
+        for(InventoryEntry entry : inventory.getEntries(Inventory.Category.POTION))
         {
-            list = list + index + " - " +potion.toString() + "\n";
+            list.append(index).append(" - ").append(entry.toString()).append("\n");
             index++;
         }
 
-        return list;
+        return list.toString();
     }
 
     /**
      * Method for obtaining string representation of items owned by this player
      */
-    public String getItemListString()
+    public synchronized String getItemListString()
     {
-        String list = "\n";
+        StringBuilder list = new StringBuilder("\n");
 
         int index = 1;
-        for(GameItem item : this.getInventory())
+        for(InventoryEntry entry : inventory.getEntries())
         {
-            list = list + index + " - " +item.toString() + "\n";
+            list.append(index).append(" - ").append(entry.toString()).append("\n");
             index++;
         }
 
-        return list;
+        return list.toString();
     }
 
     /**
@@ -587,4 +816,69 @@ public class CharacterPlayer extends CombatPlayer
             gameOverObserver.showEndGame();
         }
     }
+
+    /**
+     * Methods for adding, removing, and notifying CharacterChangeObservers
+     * - changes are only reported as completed outside of a transaction, or once the transaction is applied
+     */
+    public void addCharacterChangeObserver(CharacterChangeObserver characterChangeObserver)
+    {
+        characterChangeObservers.add(characterChangeObserver);
+    }
+
+    public void removeCharacterChangeObserver(CharacterChangeObserver characterChangeObserver)
+    {
+        characterChangeObservers.remove(characterChangeObserver);
+    }
+
+    public void notifyGoldChange(double gold)
+    {
+        for(CharacterChangeObserver characterChangeObserver : characterChangeObservers)
+        {
+            characterChangeObserver.showGoldChange(this, gold);
+        }
+    }
+
+    public void notifyItemCountChange(GameItem item)
+    {
+        if(characterChangeObservers.isEmpty())
+        {
+            return;
+        }
+
+        int count = inventory.count(item);
+        for(CharacterChangeObserver characterChangeObserver : characterChangeObservers)
+        {
+            characterChangeObserver.showItemCountChange(this, item, count);
+        }
+    }
+
+    public void notifyEquipChange(GameItem item)
+    {
+        for(CharacterChangeObserver characterChangeObserver : characterChangeObservers)
+        {
+            characterChangeObserver.showEquipChange(this, item);
+        }
+    }
+
+    public void notifyNameChange(String name)
+    {
+        for(CharacterChangeObserver characterChangeObserver : characterChangeObservers)
+        {
+            characterChangeObserver.showNameChange(this, name);
+        }
+    }
+
+    public void notifyChangesCompleted()
+    {
+        if(transactionDepth > 0)
+        {
+            return;
+        }
+
+        for(CharacterChangeObserver characterChangeObserver : characterChangeObservers)
+        {
+            characterChangeObserver.showChangesCompleted(this);
+        }
+    }
 }
@@ -0,0 +1,10 @@
+package model.player.character;
+
+/**
+ * Functional Interface - CharacterTransaction
+ * - changes to a character's gold and inventory applied together through CharacterPlayer.commit()
+ */
+public interface CharacterTransaction
+{
+    void apply() throws CharacterPlayerException;
+}
@@ -0,0 +1,394 @@
+package model.player.character;
+
+import model.enchantment.WeaponEnchantment;
+import model.item.GameItem;
+import model.item.armour.ArmourItem;
+import model.item.potion.PotionItem;
+import model.item.weapon.WeaponItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model class for a character's inventory
+ * - every item is held by an InventoryEntry with a stable id
+ * - entries are kept in the order added, overall and within a bucket per item category
+ * - entries can be found by id or by the item object they hold in O(1), a category is listed in O(k)
+ * - identical unenchanted items are stacked into a single entry, adding and removing one adjusts its quantity in O(1)
+ *
+ * Items are identical if their descriptions are identical. Descriptions are cached by the items themselves,
+ * therefore finding the stack of an item does not render it again.
+ *
+ * FIELDS
+ * - entries        : Map of Key = id, Value = InventoryEntry - all entries in the order added
+ * - buckets        : Map of Key = Category, Value = Map of Key = id, Value = InventoryEntry
+ * - itemEntries    : Map of Key = GameItem (by reference), Value = InventoryEntry
+ * - stacks         : Map of Key = item description, Value = InventoryEntry - entries of stackable items
+ * - nextId         : int
+ * - listing        : List of InventoryEntry - every entry by position, null until listed after entries changed
+ * - listings       : Map of Key = Category, Value = List of InventoryEntry - entries of a category by position
+ */
+public class Inventory
+{
+    /**
+     * Categories of items, each kept in its own bucket
+     */
+    public enum Category
+    {
+        WEAPON,
+        ARMOUR,
+        POTION,
+        OTHER;
+
+        public static Category of(GameItem item)
+        {
+            if(item instanceof WeaponItem)
+            {
+                return WEAPON;
+            }
+            else if(item instanceof ArmourItem)
+            {
+                return ARMOUR;
+            }
+            else if(item instanceof PotionItem)
+            {
+                return POTION;
+            }
+            return OTHER;
+        }
+    }
+
+    /** Inventory specific Fields **/
+    private final Map<Integer, InventoryEntry> entries;
+    private final Map<Category, Map<Integer, InventoryEntry>> buckets;
+    private final Map<GameItem, InventoryEntry> itemEntries;
+    private final Map<String, InventoryEntry> stacks;
+    private int nextId;
+    private final Map<Category, List<InventoryEntry>> listings;
+    private List<InventoryEntry> listing;
+
+    public Inventory()
+    {
+        this.entries = new LinkedHashMap<>();
+        this.buckets = new EnumMap<>(Category.class);
+        this.itemEntries = new IdentityHashMap<>();
+        this.stacks = new HashMap<>();
+        this.nextId = 1;
+        this.listings = new EnumMap<>(Category.class);
+
+        for(Category category : Category.values())
+        {
+            buckets.put(category, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Method for checking if an item can be stacked with identical items - enchanted weapons are never stacked
+     */
+    public static boolean isStackable(GameItem item)
+    {
+        return !(item instanceof WeaponEnchantment);
+    }
+
+    /**
+     * Method for adding an item to the inventory
+     * - an identical stackable item already inside the inventory has its quantity increased instead
+     *
+     * RETURN
+     * - entry holding the item
+     */
+    public InventoryEntry add(GameItem item)
+    {
+        return this.add(item, 1);
+    }
+
+    /**
+     * Method for adding a quantity of an item to the inventory in O(1)
+     * - the item stands for all of them, so only stackable items can be added more than once
+     *
+     * RETURN
+     * - entry holding the item
+     */
+    public InventoryEntry add(GameItem item, int quantity)
+    {
+        if(item == null)
+        {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+
+        if(quantity <= 0)
+        {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        if(quantity > 1 && !isStackable(item))
+        {
+            throw new IllegalArgumentException("Only stackable items can be added more than once");
+        }
+
+        if(itemEntries.containsKey(item))
+        {
+            throw new IllegalArgumentException("Item is already inside the inventory");
+        }
+
+        String stackKey = null;
+        if(isStackable(item))
+        {
+            stackKey = item.toString();
+            InventoryEntry stack = stacks.get(stackKey);
+            if(stack != null)
+            {
+                stack.setQuantity(stack.getQuantity() + quantity);
+                return stack;
+            }
+        }
+
+        InventoryEntry entry = new InventoryEntry(nextId++, item, stackKey);
+        entry.setQuantity(quantity);
+        entries.put(entry.getId(), entry);
+        buckets.get(entry.getCategory()).put(entry.getId(), entry);
+        itemEntries.put(item, entry);
+        if(stackKey != null)
+        {
+            stacks.put(stackKey, entry);
+        }
+        this.clearListings(entry.getCategory());
+        return entry;
+    }
+
+    /**
+     * Method for removing a single item of an entry by id
+     * - the entry is only removed once its quantity reaches zero
+     *
+     * RETURN
+     * - entry the item was removed from, null if no entry has the id
+     */
+    public InventoryEntry removeOne(int id)
+    {
+        return this.remove(id, 1);
+    }
+
+    /**
+     * Method for removing a quantity of items of an entry by id in O(1)
+     * - the entry is only removed once its quantity reaches zero
+     *
+     * RETURN
+     * - entry the items were removed from, null if no entry has the id
+     */
+    public InventoryEntry remove(int id, int quantity)
+    {
+        InventoryEntry entry = entries.get(id);
+        if(entry == null)
+        {
+            return null;
+        }
+
+        if(quantity <= 0 || quantity > entry.getQuantity())
+        {
+            throw new IllegalArgumentException("Quantity must be between 1 and " + entry.getQuantity());
+        }
+
+        if(quantity < entry.getQuantity())
+        {
+            entry.setQuantity(entry.getQuantity() - quantity);
+            return entry;
+        }
+        return this.remove(id);
+    }
+
+    /**
+     * Method for removing an entry by id, regardless of its quantity
+     *
+     * RETURN
+     * - removed entry, null if no entry has the id
+     */
+    public InventoryEntry remove(int id)
+    {
+        InventoryEntry entry = entries.remove(id);
+        if(entry != null)
+        {
+            buckets.get(entry.getCategory()).remove(id);
+            itemEntries.remove(entry.getItem());
+            if(entry.getStackKey() != null)
+            {
+                stacks.remove(entry.getStackKey());
+            }
+            entry.setQuantity(0);
+            this.clearListings(entry.getCategory());
+        }
+        return entry;
+    }
+
+    /**
+     * Method for giving back a quantity of items removed from an entry, used to undo the removal
+     * - an entry removed entirely is put back under its id, in the place it was removed from
+     */
+    void restore(InventoryEntry entry, int quantity)
+    {
+        if(entries.get(entry.getId()) == entry)
+        {
+            entry.setQuantity(entry.getQuantity() + quantity);
+            return;
+        }
+
+        entry.setQuantity(quantity);
+        putInOrder(entries, entry);
+        putInOrder(buckets.get(entry.getCategory()), entry);
+        itemEntries.put(entry.getItem(), entry);
+        if(entry.getStackKey() != null)
+        {
+            stacks.put(entry.getStackKey(), entry);
+        }
+        this.clearListings(entry.getCategory());
+    }
+
+    /**
+     * Method for putting an entry back into a map of entries in the order added, i.e. the order of their ids
+     */
+    private static void putInOrder(Map<Integer, InventoryEntry> map, InventoryEntry entry)
+    {
+        List<InventoryEntry> ordered = new ArrayList<>(map.values());
+        ordered.add(entry);
+        ordered.sort(Comparator.comparingInt(InventoryEntry::getId));
+
+        map.clear();
+        for(InventoryEntry orderedEntry : ordered)
+        {
+            map.put(orderedEntry.getId(), orderedEntry);
+        }
+    }
+
+    /** ACCESSORS */
+    public InventoryEntry getEntry(int id)
+    {
+        return entries.get(id);
+    }
+
+    /**
+     * Method for finding the entry of an item
+     * - the item object itself and identical stackable items are found in O(1)
+     * - otherwise the first item of the same category with an identical description is returned
+     *
+     * RETURN
+     * - entry of the item, null if not found
+     */
+    public InventoryEntry find(GameItem item)
+    {
+        InventoryEntry entry = itemEntries.get(item);
+        if(entry == null && item != null && isStackable(item))
+        {
+            entry = stacks.get(item.toString());
+        }
+
+        if(entry == null && item != null)
+        {
+            for(InventoryEntry checkEntry : buckets.get(Category.of(item)).values())
+            {
+                if(checkEntry.getItem().isIdentical(item))
+                {
+                    return checkEntry;
+                }
+            }
+        }
+        return entry;
+    }
+
+    public boolean contains(GameItem item)
+    {
+        return this.find(item) != null;
+    }
+
+    /**
+     * Method for counting the items identical to an item - stacked items are counted in O(1), otherwise O(k)
+     */
+    public int count(GameItem item)
+    {
+        if(item == null)
+        {
+            return 0;
+        }
+
+        if(isStackable(item))
+        {
+            InventoryEntry stack = stacks.get(item.toString());
+            return stack == null ? 0 : stack.getQuantity();
+        }
+
+        int count = 0;
+        for(InventoryEntry checkEntry : buckets.get(Category.of(item)).values())
+        {
+            if(checkEntry.getItem().isIdentical(item))
+            {
+                count += checkEntry.getQuantity();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method for obtaining all entries in the order added
+     * - ensures entries cannot be modified
+     */
+    public Collection<InventoryEntry> getEntries()
+    {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * Method for obtaining the entries of a category in the order added
+     * - ensures entries cannot be modified
+     */
+    public Collection<InventoryEntry> getEntries(Category category)
+    {
+        return Collections.unmodifiableCollection(buckets.get(category).values());
+    }
+
+    /**
+     * Method for obtaining the entries in the order added, overall or of a category, as a list indexed by position
+     * - listed in O(k) once entries were added or removed, afterwards returned in O(1)
+     * - ensures entries cannot be modified
+     *
+     * PARAMETERS
+     * - category   : Category - null to list every entry
+     */
+    public List<InventoryEntry> getListing(Category category)
+    {
+        if(category == null)
+        {
+            if(listing == null)
+            {
+                listing = Collections.unmodifiableList(new ArrayList<>(entries.values()));
+            }
+            return listing;
+        }
+        return listings.computeIfAbsent(category,
+                key -> Collections.unmodifiableList(new ArrayList<>(buckets.get(key).values())));
+    }
+
+    private void clearListings(Category category)
+    {
+        listing = null;
+        listings.remove(category);
+    }
+
+    /**
+     * Method for obtaining the number of entries - stacked items count once
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    public int size(Category category)
+    {
+        return buckets.get(category).size();
+    }
+}
@@ -0,0 +1,93 @@
+package model.player.character;
+
+import model.item.GameItem;
+
+/**
+ * Model class for a single slot of a character's inventory
+ * - the id is assigned by the inventory when the item is added and never changes while the item is owned
+ * - equipped status is kept on the entry, so removing other items never affects it
+ * - identical stackable items share a single entry, the quantity counts how many are owned
+ *
+ * FIELDS
+ * - id         : int
+ * - item       : GameItem
+ * - category   : Inventory.Category
+ * - stackKey   : String - description the entry is stacked under, null if the item cannot be stacked
+ * - quantity   : int
+ * - equipped   : boolean
+ */
+public class InventoryEntry
+{
+    /** InventoryEntry specific Fields **/
+    private final int id;
+    private final GameItem item;
+    private final Inventory.Category category;
+    private final String stackKey;
+    private int quantity;
+    private boolean equipped;
+
+    InventoryEntry(int id, GameItem item, String stackKey)
+    {
+        this.id = id;
+        this.item = item;
+        this.category = Inventory.Category.of(item);
+        this.stackKey = stackKey;
+        this.quantity = 1;
+        this.equipped = false;
+    }
+
+    /** ACCESSORS */
+    public int getId()
+    {
+        return id;
+    }
+
+    public GameItem getItem()
+    {
+        return item;
+    }
+
+    public Inventory.Category getCategory()
+    {
+        return category;
+    }
+
+    public boolean isEquipped()
+    {
+        return equipped;
+    }
+
+    public int getQuantity()
+    {
+        return quantity;
+    }
+
+    String getStackKey()
+    {
+        return stackKey;
+    }
+
+    /** MUTATORS */
+    void setEquipped(boolean equipped)
+    {
+        this.equipped = equipped;
+    }
+
+    void setQuantity(int quantity)
+    {
+        this.quantity = quantity;
+    }
+
+    /**
+     * To string method for showing the item with its quantity, e.g. "POTION : ... x37"
+     */
+    @Override
+    public String toString()
+    {
+        if(quantity > 1)
+        {
+            return item.toString() + " x" + quantity;
+        }
+        return item.toString();
+    }
+}
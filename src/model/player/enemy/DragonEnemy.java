@@ -1,6 +1,6 @@
 package model.player.enemy;
 
-import java.util.Random;
+import model.GameRandom;
 
 /**
  * Model class for DragonEnemy inheriting from EnemyPlayer abstract class
@@ -37,8 +37,7 @@ public class DragonEnemy extends EnemyPlayer
     protected int doSpecialAbility(int currentDamage)
     {
         // Generates a random number for probability between 1 to 35
-        Random rand = new Random();
-        int num = rand.nextInt(34) + 1;
+        int num = GameRandom.get().nextInt(34) + 1;
 
         if(num <= 25) // If generated number is 1 to 25
         {
@@ -1,10 +1,10 @@
 package model.player.enemy;
 
+import model.GameRandom;
 import model.player.CombatPlayer;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Model class for EnemyPlayer inheriting from CombatPlayer abstract class
@@ -31,9 +31,6 @@ public abstract class EnemyPlayer extends CombatPlayer
     /** Template method hook for specific enemy type special abilities */
     protected abstract int doSpecialAbility(int currentDamage);
 
-    /** Random declaration to prevent multiple initialisation */
-    private final static Random rand = new Random();
-
     /**
      * Constructor - with all relevant fields
      */
@@ -62,10 +59,10 @@ public abstract class EnemyPlayer extends CombatPlayer
     protected int calculateAttack()
     {
         // Generate damage between min and max values
-        int damage = rand.nextInt(maxDamage - minDamage + 1) + minDamage;
+        int damage = GameRandom.get().nextInt(maxDamage - minDamage + 1) + minDamage;
 
         // Generate random number for probability
-        int num = rand.nextInt(99)+1;
+        int num = GameRandom.get().nextInt(99)+1;
         if(num <= specialProbability)
         {
             //Do ability
@@ -85,7 +82,7 @@ public abstract class EnemyPlayer extends CombatPlayer
     @Override
     protected int calculateDefence(int damage)
     {
-        return rand.nextInt(maxDefence - minDefence) + 1 + minDefence;
+        return GameRandom.get().nextInt(maxDefence - minDefence) + 1 + minDefence;
     }
 
     /** ACCESSORS */
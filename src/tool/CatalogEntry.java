@@ -0,0 +1,41 @@
+package tool;
+
+/**
+ * Tool class for a single item accepted into a generated catalog
+ * - used by the session script generator to know what the shop will list and at which position
+ *
+ * FIELDS
+ * - type   : char of W, A or P
+ * - name   : String
+ * - cost   : int
+ */
+public class CatalogEntry
+{
+    /** CatalogEntry specific Fields **/
+    private final char type;
+    private final String name;
+    private final int cost;
+
+    public CatalogEntry(char type, String name, int cost)
+    {
+        this.type = type;
+        this.name = name;
+        this.cost = cost;
+    }
+
+    /** ACCESSORS */
+    public char getType()
+    {
+        return type;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getCost()
+    {
+        return cost;
+    }
+}
@@ -0,0 +1,372 @@
+package tool;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tool class for generating synthetic item_database.txt files for scale testing
+ * - lines follow the positional comma format parsed by TextFileDataLoader
+ * - type mix, potion mix, duplicate ratio, malformed ratio and cost distribution are configurable
+ * - output is fully determined by the seed, therefore catalogs are reproducible
+ *
+ * The first two lines are always a valid weapon and a valid armour so that every generated catalog
+ * satisfies the database requirements of the game.
+ *
+ * Duplicate lines reuse the name of an earlier accepted item. Half of them are exact copies which the
+ * loaders reject, the other half keep the name with different stats which the loaders accept.
+ *
+ * NOTE - Builder is used since most parameters have sensible defaults
+ */
+public class CatalogGenerator
+{
+    /** Distribution of item costs between the minimum and maximum cost */
+    public enum CostDistribution
+    {
+        UNIFORM,
+        CHEAP_SKEWED,
+        NORMAL
+    }
+
+    /** Kinds of malformed lines - each is rejected by a different ItemFactory check */
+    private enum Malformation
+    {
+        TOO_FEW_FIELDS,
+        MALFORMED_COST,
+        NEGATIVE_COST,
+        MIN_EFFECT_EXCEEDS_MAX,
+        BLANK_NAME,
+        UNKNOWN_TYPE,
+        UNKNOWN_POTION_TYPE
+    }
+
+    private static final Malformation[] MALFORMATIONS = Malformation.values();
+
+    /** Word lists for building item names and attributes */
+    private static final String[] ADJECTIVES = {"Rusty", "Fine", "Heavy", "Ancient", "Gleaming", "Cursed", "Royal", "Crude", "Elven", "Dwarven"};
+    private static final String[] WEAPON_TYPES = {"Sword", "Axe", "Staff", "Dagger", "Mace", "Spear", "Bow"};
+    private static final String[] DAMAGE_TYPES = {"slashing", "piercing", "Bludgeoning", "fire"};
+    private static final String[] MATERIALS = {"Leather", "Chain", "Plate", "Dragon Scale", "Cloth"};
+    private static final String[] ARMOUR_NAMES = {"Armour", "Mail", "Vest", "Cuirass", "Robe"};
+
+    /** CatalogGenerator specific Fields **/
+    private final int itemCount;
+    private final int weaponWeight;
+    private final int armourWeight;
+    private final int potionWeight;
+    private final double damagePotionRatio;
+    private final double duplicateRatio;
+    private final double malformedRatio;
+    private final CostDistribution costDistribution;
+    private final int minCost;
+    private final int maxCost;
+    private final long seed;
+
+    private CatalogGenerator(Builder builder)
+    {
+        this.itemCount = builder.itemCount;
+        this.weaponWeight = builder.weaponWeight;
+        this.armourWeight = builder.armourWeight;
+        this.potionWeight = builder.potionWeight;
+        this.damagePotionRatio = builder.damagePotionRatio;
+        this.duplicateRatio = builder.duplicateRatio;
+        this.malformedRatio = builder.malformedRatio;
+        this.costDistribution = builder.costDistribution;
+        this.minCost = builder.minCost;
+        this.maxCost = builder.maxCost;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Method for writing the catalog
+     *
+     * RETURN
+     * - List of CatalogEntry   : items accepted by the loaders, in the order the shop lists them
+     */
+    public List<CatalogEntry> generate(Writer out) throws IOException
+    {
+        Random random = new Random(seed);
+        List<CatalogEntry> accepted = new ArrayList<>();
+        List<String> acceptedLines = new ArrayList<>();
+        Set<String> acceptedKeys = new HashSet<>();
+
+        for(int i = 0; i < itemCount; i++)
+        {
+            double roll = random.nextDouble();
+            String line;
+
+            if(i >= 2 && roll < malformedRatio)
+            {
+                line = this.createMalformedLine(random, i + 1);
+            }
+            else if(i >= 2 && roll < malformedRatio + duplicateRatio && random.nextBoolean())
+            {
+                // Exact copy - rejected by the loaders as a duplicate
+                line = acceptedLines.get(random.nextInt(acceptedLines.size()));
+            }
+            else
+            {
+                char type;
+                String name;
+                if(i >= 2 && roll < malformedRatio + duplicateRatio)
+                {
+                    // Same name and type but different stats - accepted by the loaders
+                    CatalogEntry original = accepted.get(random.nextInt(accepted.size()));
+                    type = original.getType();
+                    name = original.getName();
+                }
+                else
+                {
+                    // Guarantee at least one weapon and one armour
+                    type = i == 0 ? 'W' : i == 1 ? 'A' : this.chooseType(random);
+                    name = this.createName(random, type, i + 1);
+                }
+
+                // Regenerate stats until the item is not equal to an accepted item
+                int cost;
+                do
+                {
+                    cost = this.nextCost(random);
+                    line = this.createItemLine(random, type, name, cost);
+                }
+                while(!acceptedKeys.add(identityKey(line)));
+
+                accepted.add(new CatalogEntry(type, name, cost));
+                acceptedLines.add(line);
+            }
+
+            out.write(line);
+            out.write('\n');
+        }
+
+        out.flush();
+        return Collections.unmodifiableList(accepted);
+    }
+
+    /**
+     * Method for creating a new item name - the serial number keeps names unique
+     */
+    private String createName(Random random, char type, int serial)
+    {
+        switch(type)
+        {
+            case 'W':
+                return pick(random, ADJECTIVES) + " " + pick(random, WEAPON_TYPES) + " " + serial;
+            case 'A':
+                return pick(random, ADJECTIVES) + " " + pick(random, ARMOUR_NAMES) + " " + serial;
+            default:
+                return pick(random, ADJECTIVES) + " Potion " + serial;
+        }
+    }
+
+    /**
+     * Method for creating a valid item line
+     */
+    private String createItemLine(Random random, char type, String name, int cost)
+    {
+        int minEffect = 1 + random.nextInt(cost / 4 + 5);
+        int maxEffect = minEffect + random.nextInt(cost / 3 + 5);
+
+        String attributes;
+        switch(type)
+        {
+            case 'W':
+                attributes = pick(random, DAMAGE_TYPES) + ", " + pick(random, WEAPON_TYPES);
+                break;
+            case 'A':
+                attributes = pick(random, MATERIALS);
+                break;
+            default:
+                attributes = random.nextDouble() < damagePotionRatio ? "D" : "H";
+                break;
+        }
+
+        return type + ", " + name + ", " + minEffect + ", " + maxEffect + ", " + cost + ", " + attributes;
+    }
+
+    /**
+     * Method for creating a line which the loaders reject
+     */
+    private String createMalformedLine(Random random, int serial)
+    {
+        String name = pick(random, ADJECTIVES) + " Relic " + serial;
+        int cost = this.nextCost(random);
+
+        switch(MALFORMATIONS[random.nextInt(MALFORMATIONS.length)])
+        {
+            case TOO_FEW_FIELDS:
+                return "W, " + name + ", 3";
+            case MALFORMED_COST:
+                return "A, " + name + ", 2, 6, " + cost + "g, " + pick(random, MATERIALS);
+            case NEGATIVE_COST:
+                return "A, " + name + ", 2, 6, -" + cost + ", " + pick(random, MATERIALS);
+            case MIN_EFFECT_EXCEEDS_MAX:
+                return "W, " + name + ", 9, 4, " + cost + ", " + pick(random, DAMAGE_TYPES) + ", " + pick(random, WEAPON_TYPES);
+            case BLANK_NAME:
+                return "P, , 2, 6, " + cost + ", H";
+            case UNKNOWN_TYPE:
+                return "X, " + name + ", 2, 6, " + cost + ", " + pick(random, MATERIALS);
+            default:
+                return "P, " + name + ", 2, 6, " + cost + ", Z";
+        }
+    }
+
+    private char chooseType(Random random)
+    {
+        int roll = random.nextInt(weaponWeight + armourWeight + potionWeight);
+        if(roll < weaponWeight)
+        {
+            return 'W';
+        }
+        else if(roll < weaponWeight + armourWeight)
+        {
+            return 'A';
+        }
+        return 'P';
+    }
+
+    private int nextCost(Random random)
+    {
+        int range = maxCost - minCost;
+        double position;
+        switch(costDistribution)
+        {
+            case CHEAP_SKEWED:
+                // Most items are cheap, few are expensive
+                position = Math.pow(random.nextDouble(), 3.0);
+                break;
+            case NORMAL:
+                // Centred between minimum and maximum cost, clamped to the range
+                position = Math.min(1.0, Math.max(0.0, 0.5 + random.nextGaussian() / 6.0));
+                break;
+            default:
+                position = random.nextDouble();
+                break;
+        }
+        return minCost + (int) Math.round(position * range);
+    }
+
+    /**
+     * Method for obtaining the fields that decide item equality
+     * - potion descriptions do not include the potion type, therefore attributes are left out for every type
+     */
+    private static String identityKey(String line)
+    {
+        String[] fields = line.split(", ");
+        return fields[0] + ", " + fields[1] + ", " + fields[2] + ", " + fields[3] + ", " + fields[4];
+    }
+
+    private static String pick(Random random, String[] words)
+    {
+        return words[random.nextInt(words.length)];
+    }
+
+    /**
+     * Builder class for CatalogGenerator
+     */
+    public static class Builder
+    {
+        private int itemCount = 1000;
+        private int weaponWeight = 4;
+        private int armourWeight = 3;
+        private int potionWeight = 3;
+        private double damagePotionRatio = 0.3;
+        private double duplicateRatio = 0.05;
+        private double malformedRatio = 0.02;
+        private CostDistribution costDistribution = CostDistribution.UNIFORM;
+        private int minCost = 1;
+        private int maxCost = 200;
+        private long seed = 0;
+
+        public Builder withItemCount(int itemCount)
+        {
+            this.itemCount = itemCount;
+            return this;
+        }
+
+        public Builder withTypeMix(int weaponWeight, int armourWeight, int potionWeight)
+        {
+            this.weaponWeight = weaponWeight;
+            this.armourWeight = armourWeight;
+            this.potionWeight = potionWeight;
+            return this;
+        }
+
+        public Builder withDamagePotionRatio(double damagePotionRatio)
+        {
+            this.damagePotionRatio = damagePotionRatio;
+            return this;
+        }
+
+        public Builder withDuplicateRatio(double duplicateRatio)
+        {
+            this.duplicateRatio = duplicateRatio;
+            return this;
+        }
+
+        public Builder withMalformedRatio(double malformedRatio)
+        {
+            this.malformedRatio = malformedRatio;
+            return this;
+        }
+
+        public Builder withCostDistribution(CostDistribution costDistribution)
+        {
+            this.costDistribution = costDistribution;
+            return this;
+        }
+
+        public Builder withCostRange(int minCost, int maxCost)
+        {
+            this.minCost = minCost;
+            this.maxCost = maxCost;
+            return this;
+        }
+
+        public Builder withSeed(long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+
+        public CatalogGenerator build()
+        {
+            if(itemCount < 2)
+            {
+                throw new IllegalArgumentException("Catalog must have at least 2 items");
+            }
+
+            if(weaponWeight < 0 || armourWeight < 0 || potionWeight < 0 || weaponWeight + armourWeight + potionWeight == 0)
+            {
+                throw new IllegalArgumentException("Type mix weights must not be negative and must not all be zero");
+            }
+
+            if(damagePotionRatio < 0.0 || damagePotionRatio > 1.0)
+            {
+                throw new IllegalArgumentException("Damage potion ratio must be between 0 and 1");
+            }
+
+            if(duplicateRatio < 0.0 || malformedRatio < 0.0 || duplicateRatio + malformedRatio > 1.0)
+            {
+                throw new IllegalArgumentException("Duplicate and malformed ratios must not be negative and must not exceed 1 together");
+            }
+
+            if(costDistribution == null)
+            {
+                throw new IllegalArgumentException("Cost distribution must not be null");
+            }
+
+            if(minCost < 0 || maxCost < minCost)
+            {
+                throw new IllegalArgumentException("Cost range must not be negative and minimum must not exceed maximum");
+            }
+
+            return new CatalogGenerator(this);
+        }
+    }
+}
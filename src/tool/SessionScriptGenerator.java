@@ -0,0 +1,415 @@
+package tool;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tool class for generating scripted player sessions that match a generated catalog
+ * - every line is one input exactly as typed into the menu tree
+ * - lines starting with # are markers describing the following inputs and are not inputs themselves
+ * - output is fully determined by the seed, therefore sessions are reproducible
+ *
+ * Shop actions always start and finish at the main menu. Gold and inventory are simulated while generating
+ * so that every purchase, sale and enchantment is valid. Battle rewards are not simulated since battles are
+ * random, therefore the simulated gold is never more than the gold the player actually has. Items bought more than
+ * once share an inventory slot with a quantity, the same way unenchanted items are stacked by the inventory.
+ *
+ * Battles cannot be scripted exactly since their length is random. A battle is written as the choice of the
+ * battle menu followed by attack and continue inputs for the maximum number of turns, closed by an
+ * "#end battle" marker. Inputs left over when the battle ends before the marker are to be skipped.
+ *
+ * NOTE - Builder is used since most parameters have sensible defaults
+ */
+public class SessionScriptGenerator
+{
+    /** Marker closing a battle block */
+    public static final String END_BATTLE_MARKER = "#end battle";
+
+    /** Costs of the default enchantments in the order the enchant menu lists them */
+    private static final int[] ENCHANTMENT_COSTS = {5, 10, 20, 10};
+
+    /** Main menu and shop menu choices as constructed by MenuFactory */
+    private static final String SHOP = "1";
+    private static final String CHANGE_NAME = "2";
+    private static final String CHANGE_WEAPON = "3";
+    private static final String CHANGE_ARMOUR = "4";
+    private static final String BATTLE = "5";
+    private static final String BUY = "1";
+    private static final String SELL = "2";
+    private static final String ENCHANT = "3";
+    private static final String EXIT = "0";
+    private static final String ATTACK = "1";
+
+    /** SessionScriptGenerator specific Fields **/
+    private final int actionCount;
+    private final int buyWeight;
+    private final int sellWeight;
+    private final int enchantWeight;
+    private final int equipWeight;
+    private final int renameWeight;
+    private final int battleWeight;
+    private final int maxBattleTurns;
+    private final int startingGold;
+    private final long seed;
+
+    private SessionScriptGenerator(Builder builder)
+    {
+        this.actionCount = builder.actionCount;
+        this.buyWeight = builder.buyWeight;
+        this.sellWeight = builder.sellWeight;
+        this.enchantWeight = builder.enchantWeight;
+        this.equipWeight = builder.equipWeight;
+        this.renameWeight = builder.renameWeight;
+        this.battleWeight = builder.battleWeight;
+        this.maxBattleTurns = builder.maxBattleTurns;
+        this.startingGold = builder.startingGold;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Method for writing a session against the catalog
+     * - the session exits the game at the end
+     */
+    public void generate(List<CatalogEntry> catalog, Writer out) throws IOException
+    {
+        if(catalog == null || catalog.isEmpty())
+        {
+            throw new IllegalArgumentException("Catalog must not be empty");
+        }
+
+        Random random = new Random(seed);
+        Session session = new Session(catalog, startingGold);
+        int totalWeight = buyWeight + sellWeight + enchantWeight + equipWeight + renameWeight + battleWeight;
+
+        for(int i = 0; i < actionCount; i++)
+        {
+            int roll = random.nextInt(totalWeight);
+            if((roll -= buyWeight) < 0)
+            {
+                this.writeBuy(random, session, out);
+            }
+            else if((roll -= sellWeight) < 0)
+            {
+                this.writeSell(random, session, out);
+            }
+            else if((roll -= enchantWeight) < 0)
+            {
+                this.writeEnchant(random, session, out);
+            }
+            else if((roll -= equipWeight) < 0)
+            {
+                this.writeEquip(random, session, out);
+            }
+            else if((roll -= renameWeight) < 0)
+            {
+                writeLines(out, "#rename", CHANGE_NAME, "Player " + (i + 1));
+            }
+            else
+            {
+                this.writeBattle(out);
+            }
+        }
+
+        writeLines(out, "#exit", EXIT);
+        out.flush();
+    }
+
+    /**
+     * Buy a random affordable item - skipped if nothing is affordable
+     */
+    private void writeBuy(Random random, Session session, Writer out) throws IOException
+    {
+        // Random probing keeps generation fast on large catalogs
+        for(int attempt = 0; attempt < 16; attempt++)
+        {
+            int choice = random.nextInt(session.catalog.size());
+            CatalogEntry entry = session.catalog.get(choice);
+            if(entry.getCost() <= session.gold)
+            {
+                session.gold -= entry.getCost();
+                session.addItem(entry);
+                writeLines(out, "#buy " + entry.getName(), SHOP, BUY, String.valueOf(choice + 1), EXIT);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sell a random item bought during the session - equipped and enchanted items are never sold
+     * - a slot holding several items only loses one of them
+     */
+    private void writeSell(Random random, Session session, Writer out) throws IOException
+    {
+        List<Integer> sellable = new ArrayList<>();
+        for(int i = 0; i < session.inventory.size(); i++)
+        {
+            Slot slot = session.inventory.get(i);
+            if(slot.sellable && slot != session.equippedWeapon && slot != session.equippedArmour)
+            {
+                sellable.add(i);
+            }
+        }
+
+        if(!sellable.isEmpty())
+        {
+            int index = sellable.get(random.nextInt(sellable.size()));
+            Slot slot = session.inventory.get(index);
+            session.removeOne(slot);
+            session.gold += slot.cost / 2;
+            writeLines(out, "#sell", SHOP, SELL, String.valueOf(index + 1), EXIT);
+        }
+    }
+
+    /**
+     * Enchant a random weapon with a random affordable enchantment
+     * - the enchanted weapon is added at the end of the inventory and one of the original is removed
+     */
+    private void writeEnchant(Random random, Session session, Writer out) throws IOException
+    {
+        List<Slot> weapons = session.getSlots('W');
+        int enchantment = random.nextInt(ENCHANTMENT_COSTS.length);
+        int cost = ENCHANTMENT_COSTS[enchantment];
+
+        if(cost <= session.gold)
+        {
+            int choice = random.nextInt(weapons.size());
+            Slot weapon = weapons.get(choice);
+            Slot enchanted = new Slot(null, 'W', weapon.cost + cost, false);
+
+            session.inventory.add(enchanted);
+            session.removeOne(weapon);
+            if(session.equippedWeapon == weapon)
+            {
+                session.equippedWeapon = enchanted;
+            }
+            session.gold -= cost;
+
+            writeLines(out, "#enchant", SHOP, ENCHANT, String.valueOf(choice + 1), String.valueOf(enchantment + 1), EXIT);
+        }
+    }
+
+    /**
+     * Equip a random weapon or armour from the inventory
+     */
+    private void writeEquip(Random random, Session session, Writer out) throws IOException
+    {
+        boolean weapon = random.nextBoolean();
+        List<Slot> slots = session.getSlots(weapon ? 'W' : 'A');
+        int choice = random.nextInt(slots.size());
+
+        if(weapon)
+        {
+            session.equippedWeapon = slots.get(choice);
+            writeLines(out, "#equip weapon", CHANGE_WEAPON, String.valueOf(choice + 1));
+        }
+        else
+        {
+            session.equippedArmour = slots.get(choice);
+            writeLines(out, "#equip armour", CHANGE_ARMOUR, String.valueOf(choice + 1));
+        }
+    }
+
+    /**
+     * Battle with attack and continue inputs for the maximum number of turns
+     */
+    private void writeBattle(Writer out) throws IOException
+    {
+        writeLines(out, "#battle", BATTLE);
+        for(int turn = 0; turn < maxBattleTurns; turn++)
+        {
+            // Attack followed by an empty line for the intermission
+            writeLines(out, ATTACK, "");
+        }
+        writeLines(out, END_BATTLE_MARKER);
+    }
+
+    private static void writeLines(Writer out, String... lines) throws IOException
+    {
+        for(String line : lines)
+        {
+            out.write(line);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Simulated inventory slot - only what is needed to keep scripted actions valid
+     * - slots of catalog items stack, enchanted weapons have no catalog entry and never stack
+     */
+    private static class Slot
+    {
+        private final CatalogEntry entry;
+        private final char type;
+        private final int cost;
+        private final boolean sellable;
+        private int quantity;
+
+        private Slot(CatalogEntry entry, char type, int cost, boolean sellable)
+        {
+            this.entry = entry;
+            this.type = type;
+            this.cost = cost;
+            this.sellable = sellable;
+            this.quantity = 1;
+        }
+    }
+
+    /**
+     * Simulated player state - starts with the equipped weapon and armour like CharacterPlayer
+     * - the starting items are the cheapest of the catalog, the last one listed if several cost the same
+     */
+    private static class Session
+    {
+        private final List<CatalogEntry> catalog;
+        private final List<Slot> inventory = new ArrayList<>();
+        private Slot equippedWeapon;
+        private Slot equippedArmour;
+        private int gold;
+
+        private Session(List<CatalogEntry> catalog, int gold)
+        {
+            this.catalog = catalog;
+            this.gold = gold;
+
+            this.equippedWeapon = new Slot(findCheapest(catalog, 'W'), 'W', 0, false);
+            this.equippedArmour = new Slot(findCheapest(catalog, 'A'), 'A', 0, false);
+            inventory.add(equippedWeapon);
+            inventory.add(equippedArmour);
+        }
+
+        private static CatalogEntry findCheapest(List<CatalogEntry> catalog, char type)
+        {
+            CatalogEntry cheapest = null;
+            for(CatalogEntry entry : catalog)
+            {
+                if(entry.getType() == type && (cheapest == null || entry.getCost() <= cheapest.getCost()))
+                {
+                    cheapest = entry;
+                }
+            }
+            return cheapest;
+        }
+
+        /**
+         * Add a bought item - stacks onto the slot already holding the same catalog item
+         */
+        private void addItem(CatalogEntry entry)
+        {
+            for(Slot slot : inventory)
+            {
+                if(slot.entry == entry)
+                {
+                    slot.quantity++;
+                    return;
+                }
+            }
+            inventory.add(new Slot(entry, entry.getType(), entry.getCost(), true));
+        }
+
+        /**
+         * Remove a single item of a slot - the slot is removed once empty
+         */
+        private void removeOne(Slot slot)
+        {
+            slot.quantity--;
+            if(slot.quantity == 0)
+            {
+                inventory.remove(slot);
+            }
+        }
+
+        private List<Slot> getSlots(char type)
+        {
+            List<Slot> slots = new ArrayList<>();
+            for(Slot slot : inventory)
+            {
+                if(slot.type == type)
+                {
+                    slots.add(slot);
+                }
+            }
+            return slots;
+        }
+    }
+
+    /**
+     * Builder class for SessionScriptGenerator
+     */
+    public static class Builder
+    {
+        private int actionCount = 100;
+        private int buyWeight = 4;
+        private int sellWeight = 2;
+        private int enchantWeight = 2;
+        private int equipWeight = 1;
+        private int renameWeight = 1;
+        private int battleWeight = 3;
+        private int maxBattleTurns = 30;
+        private int startingGold = 100;
+        private long seed = 0;
+
+        public Builder withActionCount(int actionCount)
+        {
+            this.actionCount = actionCount;
+            return this;
+        }
+
+        public Builder withActionMix(int buyWeight, int sellWeight, int enchantWeight, int equipWeight, int renameWeight, int battleWeight)
+        {
+            this.buyWeight = buyWeight;
+            this.sellWeight = sellWeight;
+            this.enchantWeight = enchantWeight;
+            this.equipWeight = equipWeight;
+            this.renameWeight = renameWeight;
+            this.battleWeight = battleWeight;
+            return this;
+        }
+
+        public Builder withMaxBattleTurns(int maxBattleTurns)
+        {
+            this.maxBattleTurns = maxBattleTurns;
+            return this;
+        }
+
+        public Builder withStartingGold(int startingGold)
+        {
+            this.startingGold = startingGold;
+            return this;
+        }
+
+        public Builder withSeed(long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+
+        public SessionScriptGenerator build()
+        {
+            if(actionCount < 0)
+            {
+                throw new IllegalArgumentException("Action count must not be negative");
+            }
+
+            if(buyWeight < 0 || sellWeight < 0 || enchantWeight < 0 || equipWeight < 0 || renameWeight < 0 || battleWeight < 0
+                    || buyWeight + sellWeight + enchantWeight + equipWeight + renameWeight + battleWeight == 0)
+            {
+                throw new IllegalArgumentException("Action mix weights must not be negative and must not all be zero");
+            }
+
+            if(maxBattleTurns <= 0)
+            {
+                throw new IllegalArgumentException("Maximum battle turns must be positive");
+            }
+
+            if(startingGold < 0)
+            {
+                throw new IllegalArgumentException("Starting gold must not be negative");
+            }
+
+            return new SessionScriptGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package tool;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Command line entry point for generating a catalog and matching session scripts
+ *
+ * USAGE
+ * java tool.WorkloadGenerator [--out dir] [--seed n] [--items n] [--duplicates ratio] [--malformed ratio]
+ *                             [--mix w,a,p] [--damage-potions ratio] [--costs UNIFORM|CHEAP_SKEWED|NORMAL]
+ *                             [--cost-range min,max] [--sessions n] [--actions n] [--battle-turns n]
+ *
+ * Writes item_database.txt and session_1.txt ... session_n.txt into the output directory.
+ * Each session uses its own seed derived from the catalog seed.
+ */
+public class WorkloadGenerator
+{
+    private static final String CATALOG_FILENAME = "item_database.txt";
+
+    public static void main(String[] args)
+    {
+        try
+        {
+            File outDirectory = new File(".");
+            long seed = 0;
+            int sessionCount = 1;
+            CatalogGenerator.Builder catalogBuilder = new CatalogGenerator.Builder();
+            SessionScriptGenerator.Builder sessionBuilder = new SessionScriptGenerator.Builder();
+
+            for(int i = 0; i + 1 < args.length; i += 2)
+            {
+                String value = args[i + 1];
+                switch(args[i])
+                {
+                    case "--out":
+                        outDirectory = new File(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--items":
+                        catalogBuilder.withItemCount(Integer.parseInt(value));
+                        break;
+                    case "--duplicates":
+                        catalogBuilder.withDuplicateRatio(Double.parseDouble(value));
+                        break;
+                    case "--malformed":
+                        catalogBuilder.withMalformedRatio(Double.parseDouble(value));
+                        break;
+                    case "--mix":
+                        String[] weights = value.split(",");
+                        catalogBuilder.withTypeMix(Integer.parseInt(weights[0].trim()), Integer.parseInt(weights[1].trim()), Integer.parseInt(weights[2].trim()));
+                        break;
+                    case "--damage-potions":
+                        catalogBuilder.withDamagePotionRatio(Double.parseDouble(value));
+                        break;
+                    case "--costs":
+                        catalogBuilder.withCostDistribution(CatalogGenerator.CostDistribution.valueOf(value.toUpperCase()));
+                        break;
+                    case "--cost-range":
+                        String[] range = value.split(",");
+                        catalogBuilder.withCostRange(Integer.parseInt(range[0].trim()), Integer.parseInt(range[1].trim()));
+                        break;
+                    case "--sessions":
+                        sessionCount = Integer.parseInt(value);
+                        break;
+                    case "--actions":
+                        sessionBuilder.withActionCount(Integer.parseInt(value));
+                        break;
+                    case "--battle-turns":
+                        sessionBuilder.withMaxBattleTurns(Integer.parseInt(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option : " + args[i]);
+                }
+            }
+
+            if(!outDirectory.isDirectory() && !outDirectory.mkdirs())
+            {
+                throw new IOException("Unable to create output directory - " + outDirectory);
+            }
+
+            List<CatalogEntry> catalog;
+            try(Writer out = new BufferedWriter(new FileWriter(new File(outDirectory, CATALOG_FILENAME))))
+            {
+                catalog = catalogBuilder.withSeed(seed).build().generate(out);
+            }
+
+            for(int session = 1; session <= sessionCount; session++)
+            {
+                try(Writer out = new BufferedWriter(new FileWriter(new File(outDirectory, "session_" + session + ".txt"))))
+                {
+                    sessionBuilder.withSeed(seed + session).build().generate(catalog, out);
+                }
+            }
+
+            System.out.println("Generated " + catalog.size() + " catalog items and " + sessionCount + " session(s) in " + outDirectory);
+        }
+        catch(IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException e)
+        {
+            System.out.println("Unable to generate workload - " + e.getMessage());
+        }
+    }
+}
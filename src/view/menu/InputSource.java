@@ -0,0 +1,54 @@
+package view.menu;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface for the source of user input of a session, shared by every menu interface of the session
+ *
+ * Input is read a line at a time, e.g. from the standard input, a socket or a script. A line is only ever
+ * returned once, no matter which menu interface reads it.
+ *
+ * NOTE - null is returned once the input has ended, or if no line is available yet when reading without blocking.
+ * isEnded tells the two apart.
+ */
+public interface InputSource
+{
+    /**
+     * Method for reading the next line, waiting for as long as it takes
+     *
+     * RETURN
+     * - String     : next line without its line terminator, null if the input has ended
+     */
+    String readLine();
+
+    /**
+     * Method for reading the next line, waiting at most the given time
+     *
+     * RETURN
+     * - String     : next line without its line terminator, null if the time ran out or the input has ended
+     */
+    String readLine(long timeout, TimeUnit unit);
+
+    /**
+     * Method for reading the next line only if it is available without waiting
+     *
+     * RETURN
+     * - String     : next line without its line terminator, null if none is available or the input has ended
+     */
+    String pollLine();
+
+    /**
+     * Method for checking if the input has ended and every line has been read
+     */
+    boolean isEnded();
+
+    /**
+     * Method for checking if a person is typing the input - otherwise nothing waits for them, e.g. pauses to read
+     */
+    boolean isInteractive();
+
+    /**
+     * Method for closing the input - lines not yet read are discarded
+     */
+    void close();
+}
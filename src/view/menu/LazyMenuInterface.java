@@ -0,0 +1,128 @@
+package view.menu;
+
+import view.ui.ScreenRenderer;
+
+/**
+ * Class for a menu interface which is only created while the user navigates it
+ * - acts as a Proxy for the menu interface of its definition
+ *
+ * This class is responsible for
+ * - showing the label of the menu interface without creating it
+ * - creating the menu interface when it is shown, and releasing it once the user leaves it
+ * - passing on the renderer, input source and termination to the menu interface while it is shown
+ *
+ * State of the menu interface, e.g. the visible page of a listing, therefore does not outlive a visit.
+ *
+ * FIELDS
+ * - definition     : MenuDefinition - definition the menu interface is created from
+ * - session        : S - session the menu interface is created for
+ * - screen         : ScreenRenderer - renderer of the session, null if not set
+ * - input          : InputSource - input source of the session, null if not set
+ * - menu           : MenuInterface - menu interface being shown, null if not shown
+ */
+public class LazyMenuInterface<S> implements MenuInterface
+{
+    /** LazyMenuInterface Fields **/
+    private final MenuDefinition<S> definition;
+    private final S session;
+    private ScreenRenderer screen;
+    private InputSource input;
+    private MenuInterface menu;
+
+    /**
+     * Constructor
+     */
+    public LazyMenuInterface(MenuDefinition<S> definition, S session)
+    {
+        if(definition == null)
+        {
+            throw new IllegalArgumentException("Menu definition cannot be null");
+        }
+
+        this.definition = definition;
+        this.session = session;
+    }
+
+    /**
+     * Method to show the menu interface
+     * - created from the definition on every visit and released once the user leaves
+     */
+    @Override
+    public void show()
+    {
+        menu = definition.create(session);
+        if(screen != null)
+        {
+            menu.setScreenRenderer(screen);
+        }
+        if(input != null)
+        {
+            menu.setInputSource(input);
+        }
+
+        try
+        {
+            menu.show();
+        }
+        finally
+        {
+            menu = null;
+        }
+    }
+
+    /**
+     * Method to terminate the menu interface - nothing to terminate unless it is being shown
+     */
+    @Override
+    public void terminate()
+    {
+        if(menu != null)
+        {
+            menu.terminate();
+        }
+    }
+
+    @Override
+    public String getMenuLabel()
+    {
+        return definition.getLabel();
+    }
+
+    @Override
+    public void setScreenRenderer(ScreenRenderer screen)
+    {
+        if(screen == null)
+        {
+            throw new IllegalArgumentException("Screen renderer must not be null");
+        }
+
+        this.screen = screen;
+        if(menu != null)
+        {
+            menu.setScreenRenderer(screen);
+        }
+    }
+
+    @Override
+    public void setInputSource(InputSource input)
+    {
+        if(input == null)
+        {
+            throw new IllegalArgumentException("Input source must not be null");
+        }
+
+        this.input = input;
+        if(menu != null)
+        {
+            menu.setInputSource(input);
+        }
+    }
+
+    /**
+     * Method for checking if the menu interface currently exists
+     */
+    public boolean isCreated()
+    {
+        return menu != null;
+    }
+}
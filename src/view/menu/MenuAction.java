@@ -1,6 +1,6 @@
 package view.menu;
 
-import java.util.Scanner;
+import view.ui.ScreenRenderer;
 
 /**
  * Abstract class for MenuAction and implements MenuInterface
@@ -19,16 +19,15 @@ import java.util.Scanner;
  */
 public abstract class MenuAction implements MenuInterface
 {
-    /** Input scanner as a variable to avoid constant redeclaration */
-    private final Scanner input = new Scanner(System.in);
-
     /** MenuAction Fields **/
     protected String menuLabel;
     private String exitOption;
     private boolean done;
+    private ScreenRenderer screen = new ScreenRenderer(System.out);
+    private InputSource input;
 
-    /** Template Method Hook to get specific output of specific MenuAction subclass */
-    protected abstract String getInterfaceOutput();
+    /** Template Method Hook to render specific output of specific MenuAction subclass */
+    protected abstract void render(ScreenRenderer screen);
 
     /** Template Method Hook to check if user input is valid */
     protected abstract boolean isValid(String choiceStr);
@@ -60,14 +59,22 @@ public abstract class MenuAction implements MenuInterface
         while(!done)
         {
             // Output specific interface output from subclass
-            System.out.print(this.getInterfaceOutput());
+            screen.begin();
+            this.render(screen);
+            screen.flush();
 
             // Loop until a valid input is provided
             boolean isValidInput = false;
             while(!isValidInput)
             {
-                // Get input from user
-                String choiceStr = input.nextLine();
+                // Get input from user - the end of the input terminates this MenuAction
+                String choiceStr = this.getInputSource().readLine();
+                if(choiceStr == null)
+                {
+                    this.terminate();
+                    return;
+                }
+
                 // What is valid is defined by subclass
                 isValidInput = this.isValid(choiceStr);
 
@@ -102,6 +109,46 @@ public abstract class MenuAction implements MenuInterface
         this.done = true;
     }
 
+    /**
+     * Method to set the renderer the user interface is rendered with - shared by the whole session
+     */
+    @Override
+    public void setScreenRenderer(ScreenRenderer screen)
+    {
+        if(screen == null)
+        {
+            throw new IllegalArgumentException("Screen renderer must not be null");
+        }
+
+        this.screen = screen;
+    }
+
+    /**
+     * Method to set the source user input is read from - shared by the whole session
+     */
+    @Override
+    public void setInputSource(InputSource input)
+    {
+        if(input == null)
+        {
+            throw new IllegalArgumentException("Input source must not be null");
+        }
+
+        this.input = input;
+    }
+
+    /**
+     * Method to obtain the source user input is read from - the standard input unless set
+     */
+    protected InputSource getInputSource()
+    {
+        if(input == null)
+        {
+            input = StreamInputSource.getStandardInput();
+        }
+        return input;
+    }
+
     /**
      * Method to obtain the menu label for this class which will be outputted as a menu option by the composite class
      * holding this menu interface.
@@ -0,0 +1,130 @@
+package view.menu;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Class for the definition of a menu interface and the menu tree under it
+ *
+ * This class is responsible for
+ * - knowing the label of a menu interface without creating it
+ * - creating the menu interface for a single session, with the menu interfaces under a directory created lazily
+ *
+ * A definition is immutable and holds no session state, therefore a single menu tree definition is shared by
+ * every session. Session state, e.g. the player and controllers, is given by the session when creating.
+ *
+ * FIELDS
+ * - label              : String - label of the menu interface inside its directory
+ * - actionCreator      : Function of S - creates the menu action, null for a directory
+ * - directoryCreator   : Function of S - creates the menu directory, null for an action
+ * - children           : List of MenuDefinition - menu interfaces under a directory, empty for an action
+ */
+public final class MenuDefinition<S>
+{
+    /** MenuDefinition Fields **/
+    private final String label;
+    private final Function<S, ? extends MenuAction> actionCreator;
+    private final Function<S, ? extends MenuDirectory> directoryCreator;
+    private final List<MenuDefinition<S>> children;
+
+    /**
+     * Constructor
+     */
+    private MenuDefinition(String label, Function<S, ? extends MenuAction> actionCreator,
+                           Function<S, ? extends MenuDirectory> directoryCreator, List<MenuDefinition<S>> children)
+    {
+        if(label == null)
+        {
+            throw new IllegalArgumentException("Menu label cannot be null");
+        }
+
+        this.label = label;
+        this.actionCreator = actionCreator;
+        this.directoryCreator = directoryCreator;
+        this.children = children;
+    }
+
+    /**
+     * Method for defining a menu action
+     */
+    public static <S> MenuDefinition<S> action(String label, Function<S, ? extends MenuAction> creator)
+    {
+        if(creator == null)
+        {
+            throw new IllegalArgumentException("Menu action creator cannot be null");
+        }
+
+        return new MenuDefinition<>(label, creator, null, Collections.emptyList());
+    }
+
+    /**
+     * Method for defining a menu directory with the menu interfaces under it, in the order shown
+     */
+    public static <S> MenuDefinition<S> directory(String label, Function<S, ? extends MenuDirectory> creator,
+                                                  List<MenuDefinition<S>> children)
+    {
+        if(creator == null || children == null)
+        {
+            throw new IllegalArgumentException("Menu directory creator and menu interfaces under it cannot be null");
+        }
+
+        for(MenuDefinition<S> child : children)
+        {
+            if(child == null)
+            {
+                throw new IllegalArgumentException("Menu interfaces under a menu directory cannot be null");
+            }
+        }
+
+        return new MenuDefinition<>(label, null, creator, List.copyOf(children));
+    }
+
+    /**
+     * Method for creating the menu interface for a session
+     * - menu interfaces under a directory are only created once the user navigates to them
+     */
+    public MenuInterface create(S session)
+    {
+        if(directoryCreator == null)
+        {
+            return actionCreator.apply(session);
+        }
+        return this.createDirectory(session);
+    }
+
+    /**
+     * Method for creating the menu directory for a session
+     * - menu interfaces under it are only created once the user navigates to them
+     */
+    public MenuDirectory createDirectory(S session)
+    {
+        if(directoryCreator == null)
+        {
+            throw new IllegalStateException(label + " is not a menu directory");
+        }
+
+        MenuDirectory directory = directoryCreator.apply(session);
+        for(MenuDefinition<S> child : children)
+        {
+            directory.add(new LazyMenuInterface<>(child, session));
+        }
+        return directory;
+    }
+
+    /** ACCESSORS */
+    public String getLabel()
+    {
+        return label;
+    }
+
+    public boolean isDirectory()
+    {
+        return directoryCreator != null;
+    }
+
+    public List<MenuDefinition<S>> getChildren()
+    {
+        return children;
+    }
+}
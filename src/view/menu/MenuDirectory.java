@@ -1,9 +1,10 @@
 package view.menu;
 
+import view.ui.ScreenRenderer;
+
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
 /**
  * Abstract class for MenuDirectory and implements MenuInterface
@@ -16,16 +17,15 @@ import java.util.Scanner;
  */
 public abstract class MenuDirectory implements MenuInterface
 {
-    /** Input scanner as a variable to avoid constant redeclaration */
-    private final Scanner input = new Scanner(System.in);
-
     /** MenuDirectory Fields **/
     protected String menuLabel;
     private final List<MenuInterface> menuList = new LinkedList<>();
     private boolean done;
+    private ScreenRenderer screen = new ScreenRenderer(System.out);
+    private InputSource input;
 
-    /** Template Method Hook to get specific output of specific MenuDirectory subclass */
-    protected abstract String getInterfaceOutput();
+    /** Template Method Hook to render specific output of specific MenuDirectory subclass */
+    protected abstract void render(ScreenRenderer screen);
 
     /**
      * Method to show the user interface of MenuDirectory objects
@@ -43,7 +43,9 @@ public abstract class MenuDirectory implements MenuInterface
         while(!done)
         {
             // Output specific interface output from subclass
-            System.out.print(getInterfaceOutput());
+            screen.begin();
+            this.render(screen);
+            screen.flush();
 
             // Loop until a valid input is provided
             boolean isValidInput = false;
@@ -103,6 +105,54 @@ public abstract class MenuDirectory implements MenuInterface
         this.done = true;
     }
 
+    /**
+     * Method to set the renderer the user interface is rendered with - passed on to all underlying menu interfaces
+     */
+    @Override
+    public void setScreenRenderer(ScreenRenderer screen)
+    {
+        if(screen == null)
+        {
+            throw new IllegalArgumentException("Screen renderer must not be null");
+        }
+
+        this.screen = screen;
+        for(MenuInterface item : menuList)
+        {
+            item.setScreenRenderer(screen);
+        }
+    }
+
+    /**
+     * Method to set the source user input is read from - shared by the whole session
+     */
+    @Override
+    public void setInputSource(InputSource input)
+    {
+        if(input == null)
+        {
+            throw new IllegalArgumentException("Input source must not be null");
+        }
+
+        this.input = input;
+        for(MenuInterface item : menuList)
+        {
+            item.setInputSource(input);
+        }
+    }
+
+    /**
+     * Method to obtain the source user input is read from - the standard input unless set
+     */
+    protected InputSource getInputSource()
+    {
+        if(input == null)
+        {
+            input = StreamInputSource.getStandardInput();
+        }
+        return input;
+    }
+
     /**
      * Method to add a menu interface under this MenuDirectory
      */
@@ -114,6 +164,11 @@ public abstract class MenuDirectory implements MenuInterface
         }
 
         menuList.add(item);
+        item.setScreenRenderer(screen);
+        if(input != null)
+        {
+            item.setInputSource(input);
+        }
     }
 
     /**
@@ -134,13 +189,18 @@ public abstract class MenuDirectory implements MenuInterface
      *
      * NOTE - Since MenuDirectory class is simply a Menu Interface which allows user to navigate through the tree,
      * user input are expected to always be numerical. Therefore, this class is implemented so that it only
-     * accepts user input that are integers.
+     * accepts user input that are integers. The end of the input is taken as the exit option.
      */
     private int getInput()
     {
         try
         {
-            return Integer.parseInt(input.nextLine());
+            String line = this.getInputSource().readLine();
+            if(line == null)
+            {
+                return 0;
+            }
+            return Integer.parseInt(line);
         }
         catch(NumberFormatException e)
         {
@@ -158,23 +218,20 @@ public abstract class MenuDirectory implements MenuInterface
     }
 
     /**
-     * Method to obtain a string representation of the MenuDirectory option list
+     * Method to render the MenuDirectory option list into the current section of the screen
      *
      * NOTE - For simplicity, exit option is by default a 0
      */
-    protected String getMenuListString()
+    protected void renderMenuList(ScreenRenderer screen)
     {
-        String list = "";
-
         int index = 1;
 
         for(MenuInterface item : menuList)
         {
-            list += index + " - " + item.getMenuLabel() + "\n";
+            screen.append(index).append(" - ").append(item.getMenuLabel()).newLine();
             index++;
         }
 
-        list = list + "\n0 - Exit";
-        return list;
+        screen.append("\n0 - Exit");
     }
 }
@@ -1,9 +1,15 @@
 package view.menu;
 
+import view.ui.ScreenRenderer;
+
 public interface MenuInterface
 {
     void show();
     String getMenuLabel();
 
     void terminate();
+
+    void setScreenRenderer(ScreenRenderer screen);
+
+    void setInputSource(InputSource input);
 }
@@ -0,0 +1,139 @@
+package view.menu;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input source reading from an in-memory script of lines, e.g. for tests or batch runs
+ * - every line is available straight away, so reading never waits
+ * - lines starting with # are markers describing the following lines, they are skipped when reading
+ * - the input ends once every line of the script has been read
+ *
+ * Markers split a script into blocks. The rest of a block can be skipped up to its closing marker, e.g. the
+ * inputs scripted for battle turns that were not needed because the battle ended early.
+ *
+ * FIELDS
+ * - lines      : Deque of String - lines not read yet
+ * - linesRead  : int - number of lines read, markers and skipped lines are not counted
+ */
+public class ScriptInputSource implements InputSource
+{
+    /** Start of a marker line */
+    public static final String MARKER_PREFIX = "#";
+
+    /** ScriptInputSource Fields **/
+    private final Deque<String> lines;
+    private int linesRead;
+
+    /**
+     * Constructor
+     */
+    public ScriptInputSource(Collection<String> lines)
+    {
+        if(lines == null)
+        {
+            throw new IllegalArgumentException("Script cannot be null");
+        }
+
+        this.lines = new ArrayDeque<>(lines);
+        this.linesRead = 0;
+    }
+
+    @Override
+    public synchronized String readLine()
+    {
+        this.skipMarkers();
+
+        String line = lines.pollFirst();
+        if(line != null)
+        {
+            linesRead++;
+        }
+        return line;
+    }
+
+    @Override
+    public String readLine(long timeout, TimeUnit unit)
+    {
+        return this.readLine();
+    }
+
+    @Override
+    public String pollLine()
+    {
+        return this.readLine();
+    }
+
+    /**
+     * Method for skipping the rest of the current block up to and including its closing marker
+     * - if another marker comes first, the block has already been read past and nothing is skipped
+     *
+     * RETURN
+     * - int        : number of lines skipped
+     */
+    public synchronized int skipPast(String marker)
+    {
+        int skipped = 0;
+        while(!lines.isEmpty())
+        {
+            String line = lines.peekFirst();
+            if(line.startsWith(MARKER_PREFIX))
+            {
+                if(line.equals(marker))
+                {
+                    lines.pollFirst();
+                }
+                return skipped;
+            }
+
+            lines.pollFirst();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    private void skipMarkers()
+    {
+        while(!lines.isEmpty() && lines.peekFirst().startsWith(MARKER_PREFIX))
+        {
+            lines.pollFirst();
+        }
+    }
+
+    @Override
+    public synchronized boolean isEnded()
+    {
+        this.skipMarkers();
+        return lines.isEmpty();
+    }
+
+    /**
+     * A script is never typed by a person
+     */
+    @Override
+    public boolean isInteractive()
+    {
+        return false;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        lines.clear();
+    }
+
+    /**
+     * Method for obtaining the number of lines not read yet, including markers
+     */
+    public synchronized int getRemaining()
+    {
+        return lines.size();
+    }
+
+    public synchronized int getLinesRead()
+    {
+        return linesRead;
+    }
+}
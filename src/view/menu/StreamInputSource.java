@@ -0,0 +1,208 @@
+package view.menu;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input source reading lines from a stream, e.g. the standard input or a socket
+ * - a single reader thread per source reads ahead, so lines can be read without blocking or with a timeout
+ * - the input ends at the end of the stream, if the stream fails, or once closed
+ *
+ * The standard input must only ever be read through a single source, which is shared by
+ * getStandardInput(). Otherwise lines read ahead by one source are lost to the others.
+ *
+ * FIELDS
+ * - reader     : BufferedReader - stream the lines are read from
+ * - lines      : BlockingQueue of String - lines read ahead, followed by END once the input has ended
+ * - ended      : boolean - true once END has been taken from the queue
+ * - error      : IOException - failure of the stream, null if none
+ */
+public class StreamInputSource implements InputSource
+{
+    /** Marks the end of the input inside the queue - compared by reference */
+    private static final String END = new String("END");
+
+    private static StreamInputSource standardInput = null;
+
+    /** StreamInputSource Fields **/
+    private final BufferedReader reader;
+    private final BlockingQueue<String> lines;
+    private volatile boolean ended;
+    private volatile IOException error;
+
+    /**
+     * Constructor
+     */
+    public StreamInputSource(InputStream in)
+    {
+        this(new InputStreamReader(in, Charset.defaultCharset()));
+    }
+
+    public StreamInputSource(Reader reader)
+    {
+        if(reader == null)
+        {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+
+        this.reader = new BufferedReader(reader);
+        this.lines = new LinkedBlockingQueue<>();
+        this.ended = false;
+        this.error = null;
+
+        Thread readerThread = new Thread(this::readAhead, "input-reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    /**
+     * Method for obtaining the single source of the standard input
+     */
+    public static synchronized StreamInputSource getStandardInput()
+    {
+        if(standardInput == null)
+        {
+            standardInput = new StreamInputSource(System.in);
+        }
+        return standardInput;
+    }
+
+    /**
+     * Method run by the reader thread - reads lines until the end of the stream
+     */
+    private void readAhead()
+    {
+        try
+        {
+            String line = reader.readLine();
+            while(line != null && !ended)
+            {
+                lines.put(line);
+                line = reader.readLine();
+            }
+        }
+        catch(IOException e)
+        {
+            error = e;
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            lines.add(END);
+        }
+    }
+
+    @Override
+    public String readLine()
+    {
+        if(ended)
+        {
+            return null;
+        }
+
+        try
+        {
+            return this.take(lines.take());
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public String readLine(long timeout, TimeUnit unit)
+    {
+        if(ended)
+        {
+            return null;
+        }
+
+        try
+        {
+            return this.take(lines.poll(timeout, unit));
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public String pollLine()
+    {
+        if(ended)
+        {
+            return null;
+        }
+        return this.take(lines.poll());
+    }
+
+    /**
+     * Method for taking a line from the queue - the end of the input stays at the head of the queue
+     */
+    private String take(String line)
+    {
+        if(line == END)
+        {
+            ended = true;
+            lines.add(END);
+            return null;
+        }
+        return line;
+    }
+
+    @Override
+    public boolean isEnded()
+    {
+        return ended || lines.peek() == END;
+    }
+
+    @Override
+    public boolean isInteractive()
+    {
+        return true;
+    }
+
+    /**
+     * Method for closing the input - the stream is closed as well, unless it is the standard input
+     */
+    @Override
+    public void close()
+    {
+        ended = true;
+        lines.clear();
+        lines.add(END);
+        if(this != standardInput)
+        {
+            try
+            {
+                reader.close();
+            }
+            catch(IOException e)
+            {
+                error = e;
+            }
+        }
+    }
+
+    /**
+     * Method for obtaining the failure of the stream which ended the input, null if none
+     */
+    public IOException getError()
+    {
+        return error;
+    }
+}
@@ -0,0 +1,115 @@
+package view.ui;
+
+import model.item.Page;
+import model.leaderboard.Leaderboard;
+import model.leaderboard.LeaderboardEntry;
+import model.player.character.CharacterPlayer;
+import model.player.character.GameOverObserver;
+
+import java.util.List;
+
+/**
+ * View class for the leaderboard shown once the game is over
+ *
+ * This class is responsible for
+ * - showing the best results of the leaderboard
+ * - showing the rank of the character, with the results around it if it is not among the best
+ *
+ * The result of the character is expected to be recorded before this is notified, i.e. this is to be added as game
+ * over observer of the character after the leaderboard manager tracks it.
+ *
+ * FIELDS
+ * - character      : CharacterPlayer - character whose rank is shown
+ * - leaderboard    : Leaderboard
+ */
+public class LeaderboardView implements GameOverObserver
+{
+    /** Number of best results shown */
+    public static final int TOP_COUNT = 5;
+
+    /** Number of results shown on each side of the character, if it is not among the best */
+    public static final int NEIGHBOUR_COUNT = 2;
+
+    /** LeaderboardView Fields **/
+    private final CharacterPlayer character;
+    private final Leaderboard leaderboard;
+
+    /**
+     * Constructor
+     */
+    public LeaderboardView(CharacterPlayer character, Leaderboard leaderboard)
+    {
+        if(character == null || leaderboard == null)
+        {
+            throw new IllegalArgumentException("Character and leaderboard cannot be null");
+        }
+
+        this.character = character;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Observer method for showing the leaderboard when the game ends
+     */
+    @Override
+    public void showEndGame()
+    {
+        System.out.println(this.getSummary());
+    }
+
+    /**
+     * Method for obtaining the leaderboard summary of the character
+     *
+     * This method outputs the following:
+     * - rank of the character out of every ranked name
+     * - best results, numbered by rank
+     * - results around the character, if it is ranked below the best results
+     */
+    public String getSummary()
+    {
+        int rank = leaderboard.getRank(character.getName());
+        int size = leaderboard.size();
+
+        StringBuilder summary = new StringBuilder("\nLEADERBOARD\n");
+        if(rank == 0)
+        {
+            summary.append(character.getName()).append(" is not ranked\n");
+        }
+        else
+        {
+            summary.append(character.getName()).append(" is ranked #").append(rank).append(" of ").append(size).append('\n');
+        }
+
+        List<LeaderboardEntry> top = leaderboard.getTop(TOP_COUNT);
+        for(int i = 0; i < top.size(); i++)
+        {
+            this.appendEntry(summary, i + 1, top.get(i), rank);
+        }
+
+        if(rank > TOP_COUNT)
+        {
+            int offset = Math.max(rank - 1 - NEIGHBOUR_COUNT, TOP_COUNT);
+            Page<LeaderboardEntry> page = leaderboard.getPage(offset, rank - offset + NEIGHBOUR_COUNT);
+            if(offset > TOP_COUNT)
+            {
+                summary.append("...\n");
+            }
+
+            List<LeaderboardEntry> elements = page.getElements();
+            List<Integer> positions = page.getPositions();
+            for(int i = 0; i < elements.size(); i++)
+            {
+                this.appendEntry(summary, positions.get(i) + 1, elements.get(i), rank);
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Method for adding a ranked result as a line, the result of the character is marked
+     */
+    private void appendEntry(StringBuilder summary, int entryRank, LeaderboardEntry entry, int rank)
+    {
+        summary.append(entryRank == rank ? "> " : "  ").append(entryRank).append(". ").append(entry).append('\n');
+    }
+}
@@ -38,28 +38,25 @@ public class MainMenuDirectory extends MenuDirectory implements GameOverObserver
     }
 
     /**
-     * Method to define the string output for the main menu options
+     * Method to render the output for the main menu options
      *
      * This method outputs the following:
      * - player information and attributes
      * - list of options available
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withPreHeading("PLAYER ATTRIBUTES")
-                .withPreInfo(characterPlayer.toString())
-                .withHeading("MAIN MENU")
-                .withSubHeading("Welcome to the Curtin Arena!")
-                .withBody(this.getMenuListString())
-                .withPrompt("What would you like to do?")
-                .build();
-
-        return ui.getOutput();
+        screen.preHeading("PLAYER ATTRIBUTES").section(characterPlayer.toString())
+                .heading("MAIN MENU")
+                .subHeading("Welcome to the Curtin Arena!")
+                .beginSection();
+        this.renderMenuList(screen);
+        screen.endSection()
+                .section("What would you like to do?");
     }
 
     /**
@@ -0,0 +1,133 @@
+package view.ui;
+
+import model.item.Page;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * View class for moving through a paged listing shown by a menu interface
+ *
+ * This class is responsible for
+ * - remembering which page of a listing is visible
+ * - recognising the user inputs for moving to the next or previous page
+ * - rendering the visible page only
+ *
+ * Elements are numbered by their position inside the full listing, therefore a choice made on any
+ * page means the same element as it would on a single page listing.
+ *
+ * FIELDS
+ * - pageSize   : int - number of elements shown per page
+ * - offset     : int - position of the first visible element
+ */
+public class PageNavigator
+{
+    /** Inputs for moving between pages */
+    public static final String NEXT_PAGE = "n";
+    public static final String PREVIOUS_PAGE = "p";
+
+    /** Number of elements shown per page unless given */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** PageNavigator Fields **/
+    private final int pageSize;
+    private int offset;
+
+    /**
+     * Constructor
+     */
+    public PageNavigator()
+    {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    public PageNavigator(int pageSize)
+    {
+        if(pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        this.pageSize = pageSize;
+        this.offset = 0;
+    }
+
+    /**
+     * Method for obtaining the visible page
+     * - if the listing shrank past the visible page, the last page is shown instead
+     *
+     * PARAMETERS
+     * - fetch      : IntFunction of Page - obtains the page of the page size starting at the given offset
+     */
+    public <T> Page<T> getPage(IntFunction<Page<T>> fetch)
+    {
+        Page<T> page = fetch.apply(offset);
+        if(page.size() == 0 && offset > 0)
+        {
+            offset = page.getTotalCount() == 0 ? 0 : ((page.getTotalCount() - 1) / pageSize) * pageSize;
+            page = fetch.apply(offset);
+        }
+        return page;
+    }
+
+    /**
+     * Method for checking if a user input moves between pages
+     */
+    public boolean isNavigation(String choiceStr)
+    {
+        return NEXT_PAGE.equalsIgnoreCase(choiceStr) || PREVIOUS_PAGE.equalsIgnoreCase(choiceStr);
+    }
+
+    /**
+     * Method for moving to the next or previous page
+     * - moving past the last page is prevented when the visible page is rendered again
+     */
+    public void navigate(String choiceStr)
+    {
+        if(NEXT_PAGE.equalsIgnoreCase(choiceStr))
+        {
+            offset += pageSize;
+        }
+        else if(PREVIOUS_PAGE.equalsIgnoreCase(choiceStr))
+        {
+            offset = Math.max(0, offset - pageSize);
+        }
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    /**
+     * Method for rendering a page into the current section of the screen, numbered by position inside the full listing
+     * - followed by which elements are shown and the inputs for the other pages, if there are other pages
+     *
+     * PARAMETERS
+     * - label      : Function of T - string representation of a single element
+     */
+    public <T> void render(ScreenRenderer screen, Page<T> page, Function<? super T, String> label)
+    {
+        screen.newLine();
+        for(int i = 0; i < page.size(); i++)
+        {
+            screen.append(page.getPositions().get(i) + 1).append("  -  ")
+                    .append(label.apply(page.getElements().get(i))).newLine();
+        }
+
+        if(page.hasPrevious() || page.hasNext())
+        {
+            screen.append("\nShowing ").append(page.getOffset() + 1).append('-').append(page.getOffset() + page.size())
+                    .append(" of ").append(page.getTotalCount());
+            if(page.hasPrevious())
+            {
+                screen.append("  |  ").append(PREVIOUS_PAGE).append("  -  Previous page");
+            }
+            if(page.hasNext())
+            {
+                screen.append("  |  ").append(NEXT_PAGE).append("  -  Next page");
+            }
+            screen.newLine();
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package view.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * View class which renders the game's user interface straight into an output channel
+ *
+ * This class is responsible for
+ * - laying out screens the same way as UserInterface, section by section
+ * - encoding the screen into a buffer that is reused for every render of the session
+ * - writing the encoded screen to the output channel in a single write
+ *
+ * Dividers are encoded once for all renderers and banners once per renderer, therefore rendering a screen
+ * whose content was rendered before allocates nothing. A renderer belongs to a single session and is not
+ * thread safe.
+ *
+ * Screens are rendered as follows:
+ * - begin
+ * - pre heading with a pre info section, heading, sub heading, body section, footer section, prompt section
+ * - flush
+ *
+ * FIELDS
+ * - out            : OutputStream - channel the screen is written to
+ * - buffer         : byte array - encoded screen, grown as needed and never shrunk
+ * - position       : int - number of bytes encoded since the screen began
+ * - headings       : Map of Key = heading, Value = encoded heading banner
+ * - subHeadings    : Map of Key = sub heading, Value = encoded sub heading banner
+ */
+public class ScreenRenderer
+{
+    /** Width of the banners and dividers */
+    public static final int BANNER_WIDTH = 150;
+
+    /** Character the dividers are made of */
+    public static final char DIVIDER_CHARACTER = '~';
+
+    /** Number of banners kept per renderer before the banners are encoded again */
+    private static final int MAX_BANNERS = 256;
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    /** Encoded divider followed by a new line */
+    private static final byte[] DIVIDER = createDivider();
+
+    /** ScreenRenderer Fields **/
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position;
+    private final Map<String, byte[]> headings;
+    private final Map<String, byte[]> subHeadings;
+
+    /**
+     * Constructor
+     */
+    public ScreenRenderer(OutputStream out)
+    {
+        if(out == null)
+        {
+            throw new IllegalArgumentException("Output channel cannot be null");
+        }
+
+        this.out = out;
+        this.buffer = new byte[INITIAL_CAPACITY];
+        this.position = 0;
+        this.headings = new HashMap<>();
+        this.subHeadings = new HashMap<>();
+    }
+
+    private static byte[] createDivider()
+    {
+        byte[] divider = new byte[BANNER_WIDTH + 1];
+        Arrays.fill(divider, (byte) DIVIDER_CHARACTER);
+        divider[BANNER_WIDTH] = '\n';
+        return divider;
+    }
+
+    /**
+     * Method for beginning a new screen - anything encoded but not flushed is discarded
+     */
+    public ScreenRenderer begin()
+    {
+        position = 0;
+        return this.newLine();
+    }
+
+    /**
+     * Method for adding the pre heading banner with its dividers
+     * - the pre info is expected to follow as a section
+     */
+    public ScreenRenderer preHeading(String preHeading)
+    {
+        return this.heading(preHeading);
+    }
+
+    /**
+     * Method for adding a heading banner with its dividers - headings are spaced out and centred
+     */
+    public ScreenRenderer heading(String heading)
+    {
+        this.write(DIVIDER);
+        this.write(this.getBanner(headings, heading, true));
+        return this.newLine();
+    }
+
+    /**
+     * Method for adding a sub heading banner - sub headings are centred
+     */
+    public ScreenRenderer subHeading(String subHeading)
+    {
+        this.write(this.getBanner(subHeadings, subHeading, false));
+        return this.newLine();
+    }
+
+    /**
+     * Method for adding a whole section with its divider, e.g. the body, footer or prompt
+     */
+    public ScreenRenderer section(CharSequence section)
+    {
+        return this.beginSection().append(section).endSection();
+    }
+
+    /**
+     * Methods for adding a section piece by piece - the section is appended between these
+     */
+    public ScreenRenderer beginSection()
+    {
+        this.write(DIVIDER);
+        return this;
+    }
+
+    public ScreenRenderer endSection()
+    {
+        return this.newLine();
+    }
+
+    /**
+     * Methods for appending content to the current section
+     */
+    public ScreenRenderer append(CharSequence text)
+    {
+        if(text == null)
+        {
+            return this.append("null");
+        }
+
+        int length = text.length();
+        this.ensureCapacity(length);
+        for(int i = 0; i < length; i++)
+        {
+            char c = text.charAt(i);
+            if(c < 0x80)
+            {
+                buffer[position++] = (byte) c;
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1)))
+            {
+                this.encode(Character.toCodePoint(c, text.charAt(++i)));
+            }
+            else
+            {
+                this.encode(c);
+            }
+        }
+        return this;
+    }
+
+    public ScreenRenderer append(char c)
+    {
+        this.ensureCapacity(1);
+        if(c < 0x80)
+        {
+            buffer[position++] = (byte) c;
+        }
+        else
+        {
+            this.encode(c);
+        }
+        return this;
+    }
+
+    /**
+     * Method for appending a number without creating its string representation
+     */
+    public ScreenRenderer append(long number)
+    {
+        if(number == Long.MIN_VALUE)
+        {
+            return this.append("-9223372036854775808");
+        }
+
+        this.ensureCapacity(20);
+        if(number < 0)
+        {
+            buffer[position++] = '-';
+            number = -number;
+        }
+
+        // Digits are written from the last one backwards
+        int end = position + this.countDigits(number);
+        int digit = end;
+        do
+        {
+            buffer[--digit] = (byte) ('0' + (number % 10));
+            number /= 10;
+        }
+        while(number > 0);
+
+        position = end;
+        return this;
+    }
+
+    /**
+     * Method for appending a number rounded to a number of decimals, as "%.Nf" would, without formatting a string
+     * - numbers too large to be rounded exactly are formatted instead
+     */
+    public ScreenRenderer append(double number, int decimals)
+    {
+        if(decimals < 0 || decimals > 9)
+        {
+            throw new IllegalArgumentException("Number of decimals must be between 0 and 9");
+        }
+
+        long scale = 1;
+        for(int i = 0; i < decimals; i++)
+        {
+            scale *= 10;
+        }
+
+        double scaled = Math.abs(number) * scale;
+        if(Double.isNaN(scaled) || scaled >= Long.MAX_VALUE)
+        {
+            return this.append(String.format("%." + decimals + "f", number));
+        }
+
+        long rounded = Math.round(scaled);
+        if(number < 0)
+        {
+            this.append('-');
+        }
+        this.append(rounded / scale);
+
+        if(decimals > 0)
+        {
+            this.append('.');
+            long fraction = rounded % scale;
+            for(long digit = scale / 10; digit > 0; digit /= 10)
+            {
+                this.append((char) ('0' + fraction / digit % 10));
+            }
+        }
+        return this;
+    }
+
+    public ScreenRenderer newLine()
+    {
+        return this.append('\n');
+    }
+
+    /**
+     * Method for writing the screen to the output channel in a single write
+     */
+    public void flush()
+    {
+        try
+        {
+            out.write(buffer, 0, position);
+            out.flush();
+            position = 0;
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException("Screen could not be written", e);
+        }
+    }
+
+    /**
+     * Method for obtaining the banner of a heading, encoding it if not yet known
+     */
+    private byte[] getBanner(Map<String, byte[]> banners, String text, boolean spaced)
+    {
+        byte[] banner = banners.get(text);
+        if(banner == null)
+        {
+            if(banners.size() >= MAX_BANNERS)
+            {
+                banners.clear();
+            }
+
+            String bannerText = spaced ? text.replace("", " ").trim() : text;
+            banner = UserInterface.centreJustify(bannerText, BANNER_WIDTH).getBytes(StandardCharsets.UTF_8);
+            banners.put(text, banner);
+        }
+        return banner;
+    }
+
+    private void write(byte[] bytes)
+    {
+        this.ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Method for encoding a character outside of ASCII as UTF-8
+     */
+    private void encode(int codePoint)
+    {
+        this.ensureCapacity(4);
+        if(codePoint < 0x800)
+        {
+            buffer[position++] = (byte) (0xC0 | (codePoint >> 6));
+        }
+        else if(codePoint < 0x10000)
+        {
+            buffer[position++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        }
+        else
+        {
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        }
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    /**
+     * Method for making room for a number of bytes, plenty for the worst case of encoding that many characters
+     */
+    private void ensureCapacity(int length)
+    {
+        long required = (long) position + (long) length * 3 + 4;
+        if(required > buffer.length)
+        {
+            if(required > Integer.MAX_VALUE - 8)
+            {
+                throw new OutOfMemoryError("Screen is too large to render");
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.max(required, (long) buffer.length * 2));
+        }
+    }
+
+    private int countDigits(long number)
+    {
+        int digits = 1;
+        while(number >= 10)
+        {
+            number /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
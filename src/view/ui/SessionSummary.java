@@ -0,0 +1,157 @@
+package view.ui;
+
+import controller.battle.BattleController;
+import model.player.AttackObserver;
+import model.player.BattleEndObserver;
+import model.player.CombatPlayer;
+import model.player.character.CharacterPlayer;
+import model.player.character.PotionUseObserver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View class for the summary of a whole session, e.g. of a scripted run
+ *
+ * This class is responsible for
+ * - following every battle of the session as an observer of the character and of every enemy created
+ * - counting the battles won and lost and the turns taken by the character
+ * - showing the final gold, stage reached, battles, turns and the throughput of the session
+ *
+ * FIELDS
+ * - character          : CharacterPlayer
+ * - battleController   : BattleController - creates the enemies and knows the stage reached
+ * - battlesWon         : int
+ * - battlesLost        : int
+ * - turns              : int - attacks and potions used by the character
+ * - startTime          : long - nano time the session started, 0 if not started
+ * - endTime            : long - nano time the session finished, 0 if not finished
+ */
+public class SessionSummary implements AttackObserver, PotionUseObserver, BattleEndObserver
+{
+    /** SessionSummary Fields **/
+    private final CharacterPlayer character;
+    private final BattleController battleController;
+    private int battlesWon;
+    private int battlesLost;
+    private int turns;
+    private long startTime;
+    private long endTime;
+
+    /**
+     * Constructor
+     * - starts observing the character and every enemy created from now on
+     */
+    public SessionSummary(CharacterPlayer character, BattleController battleController)
+    {
+        if(character == null || battleController == null)
+        {
+            throw new IllegalArgumentException("Character and battle controller cannot be null");
+        }
+
+        this.character = character;
+        this.battleController = battleController;
+
+        character.addAttackObserver(this);
+        character.addPotionUseObserver(this);
+        character.addBattleOverObserver(this);
+        battleController.addBattleEndObserver(this);
+    }
+
+    /**
+     * Methods for marking the start and the end of the session
+     */
+    public void start()
+    {
+        startTime = System.nanoTime();
+    }
+
+    public void finish()
+    {
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Observer Methods counting the turns of the character
+     */
+    @Override
+    public void showAttackEvent(CombatPlayer player, int damage)
+    {
+        turns++;
+    }
+
+    @Override
+    public void showPotionUseEvent(CombatPlayer player, String potionName)
+    {
+        turns++;
+    }
+
+    /**
+     * Observer Method counting the battles - the character losing is the only loss
+     */
+    @Override
+    public void showBattleEnd(CombatPlayer deadPlayer)
+    {
+        if(deadPlayer == character)
+        {
+            battlesLost++;
+        }
+        else
+        {
+            battlesWon++;
+        }
+    }
+
+    /** ACCESSORS */
+    public int getBattlesWon()
+    {
+        return battlesWon;
+    }
+
+    public int getBattlesLost()
+    {
+        return battlesLost;
+    }
+
+    public int getTurns()
+    {
+        return turns;
+    }
+
+    /**
+     * Method for obtaining how long the session took in milliseconds
+     */
+    public long getElapsedMillis()
+    {
+        long end = endTime == 0 ? System.nanoTime() : endTime;
+        return startTime == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - startTime);
+    }
+
+    /**
+     * Method to define the string output of the summary
+     *
+     * PARAMETERS
+     * - inputs     : int - number of inputs the session read, to show its throughput
+     */
+    public String getOutput(int inputs)
+    {
+        long elapsedMillis = this.getElapsedMillis();
+        double inputsPerSecond = inputs * 1000.0 / Math.max(1, elapsedMillis);
+
+        String body = String.format("Final gold    : %.1f%n", character.getGold()) +
+                "Stage reached : " + battleController.getStage() + "\n" +
+                "Battles       : " + (battlesWon + battlesLost) + " (" + battlesWon + " won, " + battlesLost + " lost)\n" +
+                "Turns         : " + turns + "\n" +
+                "Health        : " + character.getHealth() + "/" + character.getMaxHealth() + "\n" +
+                "Inputs        : " + inputs + "\n" +
+                String.format("Elapsed       : %d ms (%.0f inputs/s)", elapsedMillis, inputsPerSecond);
+
+        UserInterface ui = new UserInterface.Builder()
+                .withHeading("SESSION SUMMARY")
+                .withSubHeading(character.getName())
+                .withBody(body)
+                .withPrompt("Session finished")
+                .build();
+
+        return ui.getOutput();
+    }
+}
@@ -0,0 +1,342 @@
+package view.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * View class which models an ANSI terminal screen of a single session
+ *
+ * This class is responsible for
+ * - keeping the last frame shown on the terminal
+ * - sending only the lines of a new frame which differ from the last frame, or the whole frame on a full redraw
+ * - keeping messages written in between frames visible below the next frame
+ *
+ * A frame is everything written to this stream before it is flushed, therefore a ScreenRenderer rendering into
+ * this stream presents one frame per render. Frames are drawn from the top left of the terminal. Messages, e.g.
+ * battle announcements, must be written through the message stream so that the screen knows about them.
+ *
+ * Lines below the last complete line of a frame are unknown once it is shown, as the user types there, and are
+ * always sent again. The whole frame is redrawn for the first frame, if the frame has more rows than the terminal,
+ * or if differential rendering is turned off.
+ *
+ * FIELDS
+ * - out            : OutputStream - the terminal
+ * - differential   : boolean - false to redraw the whole frame every time
+ * - columns        : int - width of the terminal lines wrap at, 0 if lines are not expected to wrap
+ * - rows           : int - height of the terminal
+ * - frame          : byte array - frame being written, with its length
+ * - pending        : byte array - messages written since the last frame, with its length
+ * - shown          : byte array - last frame shown including its messages
+ * - shownStarts    : int array - offset of every line of the last frame
+ * - shownRows      : int array - terminal row of every line of the last frame
+ * - shownLines     : int - number of complete lines of the last frame, -1 before the first frame
+ * - bytesWritten   : long - bytes sent to the terminal
+ */
+public class TerminalScreen extends OutputStream
+{
+    /** Default height of the terminal */
+    public static final int DEFAULT_ROWS = 60;
+
+    private static final byte[] CLEAR_SCREEN = "\033[H\033[2J".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_LINE = "\033[K".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_BELOW = "\033[J".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int INITIAL_CAPACITY = 8192;
+    private static final int INITIAL_LINES = 64;
+
+    /** TerminalScreen specific Fields **/
+    private final OutputStream out;
+    private final boolean differential;
+    private final int columns;
+    private final int rows;
+    private final OutputStream messageStream;
+
+    private byte[] frame;
+    private int frameLength;
+    private byte[] pending;
+    private int pendingLength;
+
+    private byte[] shown;
+    private int[] shownStarts;
+    private int[] shownRows;
+    private int shownLines;
+
+    // Next frame including its messages, swapped with the shown frame once presented
+    private byte[] next;
+    private int[] nextStarts;
+    private int[] nextRows;
+
+    private byte[] output;
+    private int outputLength;
+    private long bytesWritten;
+
+    /**
+     * Constructor
+     */
+    public TerminalScreen(OutputStream out, boolean differential)
+    {
+        this(out, differential, 0, DEFAULT_ROWS);
+    }
+
+    public TerminalScreen(OutputStream out, boolean differential, int columns, int rows)
+    {
+        if(out == null)
+        {
+            throw new IllegalArgumentException("Terminal cannot be null");
+        }
+
+        if(columns < 0 || rows <= 0)
+        {
+            throw new IllegalArgumentException("Terminal size must be positive");
+        }
+
+        this.out = out;
+        this.differential = differential;
+        this.columns = columns;
+        this.rows = rows;
+        this.messageStream = new MessageStream();
+
+        this.frame = new byte[INITIAL_CAPACITY];
+        this.pending = new byte[INITIAL_CAPACITY];
+        this.shown = new byte[INITIAL_CAPACITY];
+        this.next = new byte[INITIAL_CAPACITY];
+        this.output = new byte[INITIAL_CAPACITY];
+        this.shownStarts = new int[INITIAL_LINES];
+        this.shownRows = new int[INITIAL_LINES];
+        this.nextStarts = new int[INITIAL_LINES];
+        this.nextRows = new int[INITIAL_LINES];
+        this.shownLines = -1;
+    }
+
+    /**
+     * Methods for writing to the frame being built
+     */
+    @Override
+    public synchronized void write(int b)
+    {
+        frame = ensureCapacity(frame, frameLength + 1);
+        frame[frameLength++] = (byte) b;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length)
+    {
+        frame = ensureCapacity(frame, frameLength + length);
+        System.arraycopy(bytes, offset, frame, frameLength, length);
+        frameLength += length;
+    }
+
+    /**
+     * Method for presenting the frame written since the last flush, followed by messages written since the last frame
+     */
+    @Override
+    public synchronized void flush() throws IOException
+    {
+        // Next frame is the frame followed by the pending messages
+        next = ensureCapacity(next, frameLength + pendingLength);
+        System.arraycopy(frame, 0, next, 0, frameLength);
+        System.arraycopy(pending, 0, next, frameLength, pendingLength);
+        int nextLength = frameLength + pendingLength;
+        int nextLines = this.splitLines(nextLength);
+        frameLength = 0;
+        pendingLength = 0;
+
+        outputLength = 0;
+        boolean fullRedraw = !differential || shownLines < 0 || nextRows[nextLines] >= rows;
+        if(fullRedraw)
+        {
+            this.append(CLEAR_SCREEN, 0, CLEAR_SCREEN.length);
+            this.append(next, 0, nextLength);
+        }
+        else
+        {
+            for(int line = 0; line <= nextLines; line++)
+            {
+                int start = nextStarts[line];
+                int end = line < nextLines ? nextStarts[line + 1] - 1 : nextLength;
+
+                // Complete lines shown on the same row with the same content are kept
+                if(line < nextLines && line < shownLines && nextRows[line] == shownRows[line]
+                        && Arrays.equals(next, start, end, shown, shownStarts[line], shownStarts[line + 1] - 1))
+                {
+                    continue;
+                }
+
+                this.appendMoveTo(nextRows[line] + 1);
+                this.append(next, start, end);
+                if(line < nextLines)
+                {
+                    this.append(CLEAR_LINE, 0, CLEAR_LINE.length);
+                }
+            }
+            // Last line is always sent, so the cursor ends after the frame
+            this.append(CLEAR_BELOW, 0, CLEAR_BELOW.length);
+        }
+
+        out.write(output, 0, outputLength);
+        out.flush();
+        bytesWritten += outputLength;
+
+        // Frame just presented becomes the shown frame
+        byte[] bytes = shown;
+        shown = next;
+        next = bytes;
+        int[] starts = shownStarts;
+        shownStarts = nextStarts;
+        nextStarts = starts;
+        int[] lineRows = shownRows;
+        shownRows = nextRows;
+        nextRows = lineRows;
+        shownLines = nextLines;
+    }
+
+    /**
+     * Method for finding the start and terminal row of every line of the next frame
+     *
+     * RETURN
+     * - int        : number of complete lines, the line after them is the last line and may be empty
+     */
+    private int splitLines(int length)
+    {
+        int lines = 0;
+        nextStarts[0] = 0;
+        nextRows[0] = 0;
+        for(int i = 0; i < length; i++)
+        {
+            if(next[i] == '\n')
+            {
+                lines++;
+                if(lines + 1 >= nextStarts.length)
+                {
+                    nextStarts = Arrays.copyOf(nextStarts, nextStarts.length * 2);
+                    nextRows = Arrays.copyOf(nextRows, nextRows.length * 2);
+                }
+                nextStarts[lines] = i + 1;
+                nextRows[lines] = nextRows[lines - 1] + this.getHeight(nextStarts[lines - 1], i);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Method for obtaining the number of terminal rows a line takes up once wrapped
+     */
+    private int getHeight(int start, int end)
+    {
+        if(columns == 0)
+        {
+            return 1;
+        }
+
+        // Continuation bytes of UTF-8 do not take up a column
+        int width = 0;
+        for(int i = start; i < end; i++)
+        {
+            if((next[i] & 0xC0) != 0x80)
+            {
+                width++;
+            }
+        }
+        return Math.max(1, (width + columns - 1) / columns);
+    }
+
+    /**
+     * Method for moving the cursor to the start of a row, counted from 1
+     */
+    private void appendMoveTo(int row)
+    {
+        output = ensureCapacity(output, outputLength + 16);
+        output[outputLength++] = '\033';
+        output[outputLength++] = '[';
+
+        int digits = 1;
+        for(int remaining = row; remaining >= 10; remaining /= 10)
+        {
+            digits++;
+        }
+        for(int i = digits - 1, remaining = row; i >= 0; i--, remaining /= 10)
+        {
+            output[outputLength + i] = (byte) ('0' + remaining % 10);
+        }
+        outputLength += digits;
+
+        output[outputLength++] = ';';
+        output[outputLength++] = '1';
+        output[outputLength++] = 'H';
+    }
+
+    private void append(byte[] bytes, int start, int end)
+    {
+        output = ensureCapacity(output, outputLength + (end - start));
+        System.arraycopy(bytes, start, output, outputLength, end - start);
+        outputLength += end - start;
+    }
+
+    private static byte[] ensureCapacity(byte[] bytes, int required)
+    {
+        if(required > bytes.length)
+        {
+            return Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+        return bytes;
+    }
+
+    /** ACCESSORS */
+
+    /**
+     * Method for obtaining the stream messages are written to - shown straight away and kept below the next frame
+     */
+    public OutputStream getMessageStream()
+    {
+        return messageStream;
+    }
+
+    public synchronized long getBytesWritten()
+    {
+        return bytesWritten;
+    }
+
+    public boolean isDifferential()
+    {
+        return differential;
+    }
+
+    /**
+     * Stream of messages written in between frames
+     */
+    private final class MessageStream extends OutputStream
+    {
+        @Override
+        public void write(int b) throws IOException
+        {
+            synchronized(TerminalScreen.this)
+            {
+                pending = ensureCapacity(pending, pendingLength + 1);
+                pending[pendingLength++] = (byte) b;
+                out.write(b);
+                bytesWritten++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException
+        {
+            synchronized(TerminalScreen.this)
+            {
+                pending = ensureCapacity(pending, pendingLength + length);
+                System.arraycopy(bytes, offset, pending, pendingLength, length);
+                pendingLength += length;
+                out.write(bytes, offset, length);
+                bytesWritten += length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            out.flush();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package view.ui;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * View Class which acts as a builder for the game's user interface
  *
@@ -135,59 +138,56 @@ public class UserInterface
      */
     public String getOutput()
     {
-        // This is the width for the width of the banners/headings etc
-        int bannerWidth = 150;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ScreenRenderer screen = new ScreenRenderer(out);
+
+        screen.begin();
+        this.render(screen);
+        screen.flush();
 
-        // Use StringBuilder to append the built components together
-        StringBuilder strBuilder = new StringBuilder("\n");
+        return out.toString(StandardCharsets.UTF_8);
+    }
 
+    /**
+     * Method for rendering the built components into a screen renderer, which lays them out
+     */
+    public void render(ScreenRenderer screen)
+    {
         // Only append if pre heading is not blank
         if(!preHeading.equals("") && !preInfo.equals(""))
         {
-            // Appends the pre heading banner with dividers
-            strBuilder.append(getSection(centreJustify(preHeading.replace("", " ").trim(), bannerWidth)));
-            // Appends the pre information with dividers
-            strBuilder.append(getSection(preInfo));
+            // Appends the pre heading banner and the pre information with dividers
+            screen.preHeading(preHeading).section(preInfo);
         }
 
         // Appends the heading banner with dividers - headings are compulsory as they display what the section is for
-        strBuilder.append(getSection(centreJustify(heading.replace("", " ").trim(), bannerWidth)));
+        screen.heading(heading);
 
         // Only append if sub heading is not blank
         if(!subHeading.equals(""))
         {
-            // Appends the sub heading banner with dividers
-            strBuilder.append(centreJustify(subHeading, bannerWidth) + "\n");
+            // Appends the sub heading banner
+            screen.subHeading(subHeading);
         }
 
         // Appends the body with dividers - body is compulsory as they display the actual content
-        strBuilder.append(getSection(body));
+        screen.section(body);
 
         // Only append if footer is not blank
         if(!footer.equals(""))
         {
             // Append the footer banner with dividers
-            strBuilder.append(getSection(footer));
+            screen.section(footer);
         }
 
         // Appends the prompt with dividers - prompts are compulsory as they notify the user that it is waiting for user input
-        strBuilder.append(getSection(prompt));
-
-        return strBuilder.toString();
-    }
-
-    /**
-     * Method that creates a divider based on given width
-     */
-    private String getDivider(int dividerWidth)
-    {
-        return String.format("%" +dividerWidth+ "s", " ").replaceAll(" ", "~");
+        screen.section(prompt);
     }
 
     /**
      * Method to centre justify any given string
      */
-    private String centreJustify(String banner, int bannerWidth)
+    static String centreJustify(String banner, int bannerWidth)
     {
         int textWidth = banner.length();
 
@@ -199,12 +199,4 @@ public class UserInterface
 
         return banner;
     }
-
-    /**
-     * Method that gets the ui component section and adding a divider
-     */
-    private String getSection(String section)
-    {
-        return getDivider(150) + "\n" + section + "\n";
-    }
-}
\ No newline at end of file
+}
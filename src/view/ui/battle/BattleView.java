@@ -9,11 +9,9 @@ import model.player.character.PotionUseObserver;
 import model.player.enemy.EnemyPlayer;
 import model.player.enemy.SpecialAbilityObserver;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.ScreenRenderer;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * View class for BattleView and extends MenuItem
@@ -25,6 +23,9 @@ import java.util.Scanner;
  */
 public class BattleView extends MenuAction implements AttackObserver, DefendObserver, DamageDealtObserver, PotionUseObserver, HealObserver, BattleEndObserver, SpecialAbilityObserver
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Start Battle";
+
     /** BattleView Fields **/
     private final CharacterPlayer characterPlayer;
     private final BattleController battleController;
@@ -32,15 +33,13 @@ public class BattleView extends MenuAction implements AttackObserver, DefendObse
     private EnemyPlayer enemy;
     private boolean battleOver;
 
-
-    private static final Scanner input = new Scanner(System.in);
     /**
      * Constructor
      */
     public BattleView(CharacterPlayer characterPlayer, BattleController battleController)
     {
         super();
-        this.menuLabel = "Start Battle";
+        this.menuLabel = MENU_LABEL;
 
         this.characterPlayer = characterPlayer;
         this.battleController = battleController;
@@ -69,31 +68,23 @@ public class BattleView extends MenuAction implements AttackObserver, DefendObse
     }
 
     /**
-     * Method to define the string output for the game's battle mechanics
+     * Method to render the output for the game's battle mechanics
      *
      * This method outputs the following:
      * - player information and attributes
      * - enemy information
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        String menu_list = "1 - Attack!\n" + "2 - Use Potion!";
-
-
-        UserInterface ui = new UserInterface.Builder()
-                .withPreHeading("PLAYER INFO")
-                .withPreInfo(characterPlayer.toString())
-                .withHeading("BATTLEFIELD")
-                .withBody(enemy.toString())
-                .withFooter(menu_list)
-                .withPrompt("Battle Announcer : How would you like to defeat the enemy? - ")
-                .build();
-
-        return ui.getOutput();
+        screen.preHeading("PLAYER INFO").section(characterPlayer.toString())
+                .heading("BATTLEFIELD")
+                .section(enemy.toString())
+                .section("1 - Attack!\n2 - Use Potion!")
+                .section("Battle Announcer : How would you like to defeat the enemy? - ");
     }
 
     /**
@@ -195,8 +186,9 @@ public class BattleView extends MenuAction implements AttackObserver, DefendObse
             {
                 try
                 {
-                    // Get chosen potion from user input
-                    int potionChoice = Integer.parseInt(input.nextLine());
+                    // Get chosen potion from user input - the end of the input goes back
+                    String potionLine = this.getInputSource().readLine();
+                    int potionChoice = potionLine == null ? 0 : Integer.parseInt(potionLine);
 
                     if (potionChoice == 0)
                     {
@@ -480,19 +472,16 @@ public class BattleView extends MenuAction implements AttackObserver, DefendObse
      * Method to wait for user to press enter to continue
      *
      * This allows the user to be able to think through the flow of the
-     * battle and keep up with the pace.
+     * battle and keep up with the pace. Nobody needs to keep up if the input is not typed by a person,
+     * e.g. a script, so there is no pause then.
      */
     private void pressAnyKeyToContinue()
     {
-        System.out.println();
-        System.out.println("Press ENTER to continue...");
-        try
-        {
-            System.in.read();
-        }
-        catch(IOException e)
+        if(this.getInputSource().isInteractive())
         {
-            System.out.println("Please try again");
+            System.out.println();
+            System.out.println("Press ENTER to continue...");
+            this.getInputSource().readLine();
         }
     }
 
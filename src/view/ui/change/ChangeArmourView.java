@@ -5,7 +5,7 @@ import controller.player.CharacterControllerException;
 import model.item.armour.ArmourItem;
 import model.player.character.CharacterPlayer;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.ScreenRenderer;
 
 import java.util.List;
 
@@ -19,6 +19,9 @@ import java.util.List;
  */
 public class ChangeArmourView extends MenuAction
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Change Armour";
+
     /** ChangeArmourView Fields **/
     private final CharacterPlayer character;
     private final CharacterController characterController;
@@ -29,35 +32,30 @@ public class ChangeArmourView extends MenuAction
     public ChangeArmourView(CharacterPlayer character, CharacterController characterController)
     {
         super();
-        this.menuLabel = "Change Armour";
+        this.menuLabel = MENU_LABEL;
 
         this.character = character;
         this.characterController = characterController;
     }
 
     /**
-     * Method to define the string output for changing the character's armour
+     * Method to render the output for changing the character's armour
      *
      * This method outputs the following:
      * - player information and attributes
      * - list of armours
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withPreHeading("PLAYER INFO")
-                .withPreInfo(character.toString())
-                .withHeading("WEAPONRY")
-                .withSubHeading("Your armour choice to defend from evil!")
-                .withBody(character.getArmourListString() + "\n0  -  Exit")
-                .withPrompt("Enter integer of weapon choice : ")
-                .build();
-
-        return ui.getOutput();
+        screen.preHeading("PLAYER INFO").section(character.toString())
+                .heading("WEAPONRY")
+                .subHeading("Your armour choice to defend from evil!")
+                .beginSection().append(character.getArmourListString()).append("\n0  -  Exit").endSection()
+                .section("Enter integer of weapon choice : ");
     }
 
     /**
@@ -4,7 +4,7 @@ import controller.player.CharacterController;
 import controller.player.CharacterControllerException;
 import model.player.character.CharacterPlayer;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.ScreenRenderer;
 
 /**
  * View class for ChangeNameView and extends MenuItem
@@ -16,6 +16,9 @@ import view.ui.UserInterface;
  */
 public class ChangeNameView extends MenuAction
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Change Character Name";
+
     /** ChangeNameView Fields **/
     private final CharacterPlayer character;
     private final CharacterController characterController;
@@ -26,36 +29,31 @@ public class ChangeNameView extends MenuAction
     public ChangeNameView(CharacterPlayer character, CharacterController characterController)
     {
         super();
-        this.menuLabel = "Change Character Name";
+        this.menuLabel = MENU_LABEL;
 
         this.character = character;
         this.characterController = characterController;
     }
 
     /**
-     * Method to define the string output for changing the character's name
+     * Method to render the output for changing the character's name
      *
      * This method outputs the following:
      * - player information and attributes
      * - player's current name
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withPreHeading("PLAYER INFO")
-                .withPreInfo(character.toString())
-                .withHeading("CHANGE NAME")
-                .withSubHeading("Your fighter's name will be displayed wherever you go!")
-                .withBody("Current name : " + character.getName())
-                .withFooter("0  -  Exit")
-                .withPrompt("Enter character name : ")
-                .build();
-
-        return ui.getOutput();
+        screen.preHeading("PLAYER INFO").section(character.toString())
+                .heading("CHANGE NAME")
+                .subHeading("Your fighter's name will be displayed wherever you go!")
+                .beginSection().append("Current name : ").append(character.getName()).endSection()
+                .section("0  -  Exit")
+                .section("Enter character name : ");
     }
 
     /**
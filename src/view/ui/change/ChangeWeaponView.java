@@ -5,7 +5,7 @@ import controller.player.CharacterControllerException;
 import model.item.weapon.WeaponItem;
 import model.player.character.CharacterPlayer;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.ScreenRenderer;
 
 import java.util.List;
 
@@ -19,6 +19,9 @@ import java.util.List;
  */
 public class ChangeWeaponView extends MenuAction
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Change Weapon";
+
     /** ChangeWeaponView Fields **/
     private final CharacterPlayer character;
     private final CharacterController characterController;
@@ -29,35 +32,30 @@ public class ChangeWeaponView extends MenuAction
     public ChangeWeaponView(CharacterPlayer character, CharacterController characterController)
     {
         super();
-        this.menuLabel = "Change Weapon";
+        this.menuLabel = MENU_LABEL;
 
         this.character = character;
         this.characterController = characterController;
     }
 
     /**
-     * Method to define the string output for changing the character's weapon
+     * Method to render the output for changing the character's weapon
      *
      * This method outputs the following:
      * - player information and attributes
      * - list of weapons
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withPreHeading("PLAYER INFO")
-                .withPreInfo(character.toString())
-                .withHeading("WEAPONRY")
-                .withSubHeading("Your weapon choice to save the world!")
-                .withBody(character.getWeaponListString() + "\n0  -  Exit")
-                .withPrompt("Enter integer of weapon choice : ")
-                .build();
-
-        return ui.getOutput();
+        screen.preHeading("PLAYER INFO").section(character.toString())
+                .heading("WEAPONRY")
+                .subHeading("Your weapon choice to save the world!")
+                .beginSection().append(character.getWeaponListString()).append("\n0  -  Exit").endSection()
+                .section("Enter integer of weapon choice : ");
     }
 
     /**
@@ -2,11 +2,17 @@ package view.ui.shop;
 
 import controller.shop.InvalidShopActionException;
 import controller.shop.ShopController;
+import controller.shop.StockLedger;
+import controller.shop.Upgrade;
+import controller.shop.UpgradeAdvisor;
 import model.item.GameItem;
 import model.item.InvalidItemDatabaseException;
 import model.item.ItemDatabase;
+import model.item.Page;
+import model.player.character.CharacterPlayer;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.PageNavigator;
+import view.ui.ScreenRenderer;
 
 /**
  * View class for BuyView and extends MenuItem
@@ -18,42 +24,104 @@ import view.ui.UserInterface;
  */
 public class BuyView extends MenuAction
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Buy Item(s)";
+
+    /** Number of upgrades recommended per item category */
+    private static final int RECOMMENDATION_COUNT = 3;
+
     /** BuyView Fields **/
+    private final CharacterPlayer character;
     private final ItemDatabase itemDatabase;
+    private final UpgradeAdvisor upgradeAdvisor;
     private final ShopController shopController;
+    private final PageNavigator navigator;
 
     /**
      * Constructor
      */
-    public BuyView(ItemDatabase itemDatabase, ShopController shopController)
+    public BuyView(CharacterPlayer character, ItemDatabase itemDatabase, UpgradeAdvisor upgradeAdvisor, ShopController shopController)
     {
         super();
-        this.menuLabel = "Buy Item(s)";
+        this.menuLabel = MENU_LABEL;
 
+        this.character = character;
         this.itemDatabase = itemDatabase;
+        this.upgradeAdvisor = upgradeAdvisor;
         this.shopController = shopController;
+        this.navigator = new PageNavigator();
     }
 
     /**
-     * Method to define the string output for when buying items from the shop
+     * Method to render the output for when buying items from the shop
      *
      * This method outputs the following:
-     * - list of items available from the database
+     * - visible page of items available from the database, with their current price and the stock left
+     * - best weapon and armour upgrades the player can afford
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withHeading("GAME SHOP")
-                .withSubHeading("Section - Buy")
-                .withBody(itemDatabase.getListString() + "\n0  -  Exit")
-                .withPrompt("MERCHANT : Which one would you like to buy?")
-                .build();
-
-        return ui.getOutput();
+        Page<GameItem> page = navigator.getPage(offset -> itemDatabase.getPage(offset, navigator.getPageSize()));
+
+        screen.heading("GAME SHOP")
+                .subHeading("Section - Buy")
+                .beginSection();
+        navigator.render(screen, page, this::getListing);
+        screen.append("\n0  -  Exit\n");
+        this.renderRecommendations(screen);
+        screen.endSection()
+                .section("MERCHANT : Which one would you like to buy?");
+    }
+
+    /**
+     * Method for obtaining the listing of an item
+     * - the current price is shown when the shop's price differs from the item's cost, e.g. with dynamic pricing
+     * - the stock left is shown when the market has limited stock
+     */
+    private String getListing(GameItem item)
+    {
+        int price = shopController.getBuyPrice(item);
+        int stock = shopController.getStock(item);
+        if(price == item.getCost() && stock == StockLedger.UNLIMITED)
+        {
+            return item.toString();
+        }
+
+        StringBuilder listing = new StringBuilder(item.toString());
+        if(price != item.getCost())
+        {
+            listing.append(" [NOW ").append(price).append(" gold]");
+        }
+
+        if(stock != StockLedger.UNLIMITED)
+        {
+            listing.append(" [").append(stock).append(" in stock]");
+        }
+        return listing.toString();
+    }
+
+    /**
+     * Method to render the best upgrades for the player's equipment into the current section
+     */
+    private void renderRecommendations(ScreenRenderer screen)
+    {
+        for(Upgrade upgrade : upgradeAdvisor.recommendWeapons(character, RECOMMENDATION_COUNT))
+        {
+            screen.append("\nRecommended weapon : ").append(upgrade.getItem().getName())
+                    .append(" - +").append(upgrade.getEffectGained(), 1)
+                    .append(" damage for ").append(upgrade.getPrice()).append(" gold");
+        }
+
+        for(Upgrade upgrade : upgradeAdvisor.recommendArmours(character, RECOMMENDATION_COUNT))
+        {
+            screen.append("\nRecommended armour : ").append(upgrade.getItem().getName())
+                    .append(" - +").append(upgrade.getEffectGained(), 1)
+                    .append(" defence for ").append(upgrade.getPrice()).append(" gold");
+        }
     }
 
     /**
@@ -62,6 +130,7 @@ public class BuyView extends MenuAction
      * and passed back to MenuItem class to handle re-prompting user.
      *
      * This action implementation is as follows:
+     * - move to the next or previous page of items if chosen
      * - attempt to get item chosen by the user from the item database
      * - attempt to buy item through the shop controller
      * - if an exception is thrown from the ItemDatabase and ShopController, output the issue
@@ -72,6 +141,13 @@ public class BuyView extends MenuAction
     @Override
     protected boolean doAction(String choiceStr)
     {
+        // Moving between pages renders the menu again
+        if(navigator.isNavigation(choiceStr))
+        {
+            navigator.navigate(choiceStr);
+            return false;
+        }
+
         try
         {
             // Get item from item database
@@ -107,6 +183,12 @@ public class BuyView extends MenuAction
     {
         try
         {
+            // Moving between pages is always valid
+            if(navigator.isNavigation(choiceStr))
+            {
+                return true;
+            }
+
             // Attempt to convert string to integer
             int choice = Integer.parseInt(choiceStr);
 
@@ -1,15 +1,21 @@
 package view.ui.shop;
 
+import controller.shop.EnchantmentOptimizer;
+import controller.shop.EnchantmentPlan;
 import controller.shop.InvalidShopActionException;
 import controller.shop.ShopController;
 import model.enchantment.EnchantmentDatabase;
+import model.enchantment.EnchantmentDefinition;
+import model.item.Page;
 import model.item.weapon.WeaponItem;
 import model.player.character.CharacterPlayer;
+import model.player.character.Inventory;
+import model.player.character.InventoryEntry;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.PageNavigator;
+import view.ui.ScreenRenderer;
 
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * View class for EnchantView and extends MenuItem
@@ -21,42 +27,56 @@ import java.util.Scanner;
  */
 public class EnchantView extends MenuAction
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Enchant Weapon(s)";
+
     /** EnchantView Fields **/
     private final CharacterPlayer character;
     private final EnchantmentDatabase enchantmentDatabase;
+    private final EnchantmentOptimizer enchantmentOptimizer;
     private final ShopController shopController;
+    private final PageNavigator navigator;
+
+    /** Last recommendation, reused while the weapon and the gold of the character stay the same **/
+    private WeaponItem recommendedWeapon;
+    private int recommendedGold;
+    private EnchantmentPlan recommendation;
 
     /**
      * Constructor
      */
-    public EnchantView(CharacterPlayer character, EnchantmentDatabase enchantmentDatabase, ShopController shopController)
+    public EnchantView(CharacterPlayer character, EnchantmentDatabase enchantmentDatabase,
+                       EnchantmentOptimizer enchantmentOptimizer, ShopController shopController)
     {
         super();
-        this.menuLabel = "Enchant Weapon(s)";
+        this.menuLabel = MENU_LABEL;
 
         this.character = character;
         this.enchantmentDatabase = enchantmentDatabase;
+        this.enchantmentOptimizer = enchantmentOptimizer;
 
         this.shopController = shopController;
+        this.navigator = new PageNavigator();
     }
 
     /**
-     * Method to define the string output for enchanting a weapon
+     * Method to render the output for enchanting a weapon
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withHeading("GAME SHOP")
-                .withSubHeading("Section - Enchant")
-                .withBody(character.getWeaponListString() + "\n0  -  Exit")
-                .withPrompt("MERCHANT : Which one would you like to enchant?")
-                .build();
-
-        return ui.getOutput();
+        Page<InventoryEntry> page = navigator.getPage(
+                offset -> character.getInventoryPage(Inventory.Category.WEAPON, offset, navigator.getPageSize()));
+
+        screen.heading("GAME SHOP")
+                .subHeading("Section - Enchant")
+                .beginSection();
+        navigator.render(screen, page, InventoryEntry::toString);
+        screen.append("\n0  -  Exit").endSection()
+                .section("MERCHANT : Which one would you like to enchant?");
     }
 
     /**
@@ -66,6 +86,7 @@ public class EnchantView extends MenuAction
      *
      * This action implementation is as follows:
      * - gets all weapons from player's inventory
+     * - recommends the enchantments with the highest expected damage the player can afford
      * - show user the different types of enchantments available and prompts user which enchantment to use
      * - attempt to enchant the chosen weapon through ShopController
      * - if an exception is thrown from the ShopController class, output the issue
@@ -76,32 +97,55 @@ public class EnchantView extends MenuAction
     @Override
     protected boolean doAction(String choiceStr)
     {
-        Scanner input = new Scanner(System.in);
+        // Moving between pages renders the menu again
+        if(navigator.isNavigation(choiceStr))
+        {
+            navigator.navigate(choiceStr);
+            return false;
+        }
+
         try
         {
             // Get all weapons from player
             List<WeaponItem> weapons = character.getWeapons();
             WeaponItem chosenWeapon = weapons.get(Integer.parseInt(choiceStr) - 1);
 
-            // Show all available enchantment names
-            List<String> enchantmentNames = enchantmentDatabase.retrieveAll();
+            // Recommend the enchantments with the highest expected damage the character can afford
+            EnchantmentPlan plan = this.getRecommendation(chosenWeapon, (int) character.getGold());
+            if(!plan.isEmpty())
+            {
+                System.out.printf("MERCHANT : For your gold I recommend %s - expected damage %.1f%n%n",
+                        plan, plan.getValue());
+            }
+
+            // Show all available enchantments
+            List<EnchantmentDefinition> enchantments = enchantmentDatabase.retrieveAll();
             int index = 1;
-            for(String enchantmentName : enchantmentNames)
+            for(EnchantmentDefinition enchantment : enchantments)
             {
-                System.out.println(index + " - " + enchantmentName);
+                System.out.println(index + " - " + enchantment.getName());
                 index++;
             }
 
             System.out.print("\nYour Choice : ");
 
-            // Retrieve enchantment name based on user input
-            int choice = Integer.parseInt(input.nextLine());
-            String enchantmentName = enchantmentNames.get(choice - 1);
-            // Retrieve enchantment cost based on enchantment name
-            int enchantmentCost = enchantmentDatabase.retrieveCost(enchantmentName);
+            // Retrieve enchantment definition based on user input - nothing is enchanted if the input has ended
+            String choiceLine = this.getInputSource().readLine();
+            if(choiceLine == null)
+            {
+                return false;
+            }
+
+            int choice = Integer.parseInt(choiceLine);
+            if(choice <= 0 || choice > enchantments.size())
+            {
+                System.out.println("Invalid enchantment choice - Please try again");
+                return false;
+            }
+            EnchantmentDefinition enchantment = enchantments.get(choice - 1);
 
-            // Pass enchanting task to controller with the weapon, name, and cost
-            shopController.enchant(chosenWeapon, enchantmentName, enchantmentCost);
+            // Pass enchanting task to controller with the weapon and enchantment
+            shopController.enchant(chosenWeapon, enchantment);
 
             System.out.println("Enchantment Successful!");
             return true;
@@ -111,6 +155,27 @@ public class EnchantView extends MenuAction
             System.out.println(e.getMessage());
             return false;
         }
+        catch(NumberFormatException e)
+        {
+            System.out.println("Invalid input - Please try again");
+            return false;
+        }
+    }
+
+    /**
+     * Method for obtaining the recommended enchantments of a weapon
+     * - the optimizer only runs again once another weapon is chosen or the gold of the character changed, enchanting
+     *   a weapon replaces it with the enchanted weapon
+     */
+    private EnchantmentPlan getRecommendation(WeaponItem weapon, int gold)
+    {
+        if(recommendation == null || recommendedWeapon != weapon || recommendedGold != gold)
+        {
+            recommendation = enchantmentOptimizer.maximiseExpectedDamage(weapon, gold);
+            recommendedWeapon = weapon;
+            recommendedGold = gold;
+        }
+        return recommendation;
     }
 
     /**
@@ -127,11 +192,17 @@ public class EnchantView extends MenuAction
     {
         try
         {
+            // Moving between pages is always valid
+            if(navigator.isNavigation(choiceStr))
+            {
+                return true;
+            }
+
             // Attempt to convert string to integer
             int choice = Integer.parseInt(choiceStr);
 
-            // Invalid if user is either negative or greater than the option list size
-            if(choice > enchantmentDatabase.getSize() || choice < 0)
+            // Invalid if user is either negative or greater than the number of weapons listed
+            if(choice > character.getInventorySize(Inventory.Category.WEAPON) || choice < 0)
             {
                 System.out.print("Input is out of bounds - ");
                 return false;
@@ -4,9 +4,12 @@ import controller.shop.InvalidShopActionException;
 import controller.shop.ShopController;
 import model.item.GameItem;
 import model.player.character.CharacterPlayer;
+import model.item.Page;
 import model.player.character.CharacterPlayerException;
+import model.player.character.InventoryEntry;
 import view.menu.MenuAction;
-import view.ui.UserInterface;
+import view.ui.PageNavigator;
+import view.ui.ScreenRenderer;
 
 /**
  * View class for SellView and extends MenuItem
@@ -18,9 +21,13 @@ import view.ui.UserInterface;
  */
 public class SellView extends MenuAction
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Sell Item(s)";
+
     /** SellView Fields **/
     private final CharacterPlayer character;
     private final ShopController shopController;
+    private final PageNavigator navigator;
 
     /**
      * Constructor
@@ -28,32 +35,41 @@ public class SellView extends MenuAction
     public SellView(CharacterPlayer character, ShopController shopController)
     {
         super();
-        this.menuLabel = "Sell Item(s)";
+        this.menuLabel = MENU_LABEL;
 
         this.character = character;
         this.shopController = shopController;
+        this.navigator = new PageNavigator();
     }
 
     /**
-     * Method to define the string output for when buying items from the shop
+     * Method to render the output for when buying items from the shop
      *
-     * This method outputs the following:\
-     * - list of items from the player inventory
+     * This method outputs the following:
+     * - visible page of items from the player inventory, with the gold the shop currently pays for each
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
+    {
+        Page<InventoryEntry> page = navigator.getPage(offset -> character.getInventoryPage(null, offset, navigator.getPageSize()));
+
+        screen.heading("GAME SHOP")
+                .subHeading("Section - Sell")
+                .beginSection();
+        navigator.render(screen, page, this::getListing);
+        screen.append("\n0  -  Exit").endSection()
+                .section("MERCHANT : Which one would you like to sell?");
+    }
+
+    /**
+     * Method for obtaining the listing of an inventory entry - the shop's current sell price of a single item is shown
+     */
+    private String getListing(InventoryEntry entry)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withHeading("GAME SHOP")
-                .withSubHeading("Section - Sell")
-                .withBody(character.getItemListString() + "\n0  -  Exit")
-                .withPrompt("MERCHANT : Which one would you like to sell?")
-                .build();
-
-        return ui.getOutput();
+        return entry + " [SELLS FOR " + shopController.getSellPrice(entry.getItem()) + " gold]";
     }
 
     /**
@@ -62,6 +78,7 @@ public class SellView extends MenuAction
      * and passed back to MenuItem class to handle re-prompting user.
      *
      * This action implementation is as follows:
+     * - move to the next or previous page of items if chosen
      * - attempt to get item chosen by the user from the player's inventory
      * - attempt to sell item through the shop controller
      * - if an exception is thrown from the CharacterPlayer and ShopController, output the issue
@@ -72,6 +89,13 @@ public class SellView extends MenuAction
     @Override
     protected boolean doAction(String choiceStr)
     {
+        // Moving between pages renders the menu again
+        if(navigator.isNavigation(choiceStr))
+        {
+            navigator.navigate(choiceStr);
+            return false;
+        }
+
         try
         {
             // Get item from the player inventory
@@ -107,11 +131,17 @@ public class SellView extends MenuAction
     {
         try
         {
+            // Moving between pages is always valid
+            if(navigator.isNavigation(choiceStr))
+            {
+                return true;
+            }
+
             // Attempt to convert string to integer
             int choice = Integer.parseInt(choiceStr);
 
             // Invalid if user is either negative or greater than the option list size
-            if(choice > character.getInventory().size() || choice < 0)
+            if(choice > character.getInventorySize() || choice < 0)
             {
                 System.out.print("Input is out of bounds! ");
                 return false;
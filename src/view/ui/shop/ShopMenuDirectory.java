@@ -3,7 +3,7 @@ package view.ui.shop;
 import model.item.ItemDatabase;
 import model.player.character.CharacterPlayer;
 import view.menu.MenuDirectory;
-import view.ui.UserInterface;
+import view.ui.ScreenRenderer;
 
 /**
  * View class for ShopMenuDirectory and extends Menu
@@ -13,6 +13,9 @@ import view.ui.UserInterface;
  */
 public class ShopMenuDirectory extends MenuDirectory
 {
+    /** Label of this view inside its menu directory */
+    public static final String MENU_LABEL = "Go to Shop";
+
     /** ShopMenuDirectory Fields **/
     private final CharacterPlayer player;
     private final ItemDatabase itemDatabase;
@@ -23,37 +26,34 @@ public class ShopMenuDirectory extends MenuDirectory
     public ShopMenuDirectory(CharacterPlayer player, ItemDatabase itemDatabase)
     {
         super();
-        this.menuLabel = "Go to Shop";
+        this.menuLabel = MENU_LABEL;
 
         this.player = player;
         this.itemDatabase = itemDatabase;
     }
 
     /**
-     * Method to define the string output for the shop's menu options
+     * Method to render the output for the shop's menu options
      *
      * This method outputs the following:
      * - player information and attributes
      * - list of items available
      * - list of options available
      *
-     * NOTE - UserInterface class is used to build the string output and returns the
-     * built string structure based on components wished to include in the ui
+     * NOTE - ScreenRenderer lays out the components wished to include in the ui and renders
+     * them straight into the session's output
      */
     @Override
-    protected String getInterfaceOutput()
+    protected void render(ScreenRenderer screen)
     {
-        UserInterface ui = new UserInterface.Builder()
-                .withPreHeading("PLAYER INFO")
-                .withPreInfo(player.toString())
-                .withHeading("GAME SHOP")
-                .withSubHeading("We have all the tools you need for everyday battles.")
-                .withBody(itemDatabase.getListString())
-                .withFooter(this.getMenuListString())
-                .withPrompt("What would you like to do?")
-                .build();
-
-        return ui.getOutput();
+        screen.preHeading("PLAYER INFO").section(player.toString())
+                .heading("GAME SHOP")
+                .subHeading("We have all the tools you need for everyday battles.")
+                .section(itemDatabase.getListString())
+                .beginSection();
+        this.renderMenuList(screen);
+        screen.endSection()
+                .section("What would you like to do?");
     }
 
 }